@@ -0,0 +1,178 @@
+package com.example.backend.config;
+
+import com.example.backend.dto.BeneficioResponseDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String CACHE_BENEFICIOS = "beneficios";
+
+    /**
+     * Configura o cache de benefícios por ID, limitado por tamanho e tempo de expiração.
+     * A interceptação de cache é executada antes da transação: um acerto no cache não abre
+     * transação nem conexão, e as atualizações ocorrem somente após o commit. As estatísticas
+     * (acertos, falhas e remoções) são publicadas pelo actuator em /actuator/metrics/cache.*.
+     *
+     * @param tamanhoMaximo Quantidade máxima de benefícios mantidos em cache
+     * @param expiracao Tempo máximo de permanência de um benefício após ser gravado no cache
+     * @return CacheManager ciente de transações com o cache de benefícios
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${beneficio.cache.tamanho-maximo:10000}") final long tamanhoMaximo,
+            @Value("${beneficio.cache.expiracao:PT30S}") final Duration expiracao) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new BeneficioVersionadoCache(
+                CACHE_BENEFICIOS,
+                Caffeine.newBuilder()
+                        .maximumSize(tamanhoMaximo)
+                        .expireAfterWrite(expiracao)
+                        .recordStats()
+                        .build())));
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Cache Caffeine que considera o campo version do benefício: uma gravação só substitui o
+     * valor em cache se não for mais antiga que ele.
+     * <p>
+     * A remoção (após o commit de uma transferência ou exclusão) não apaga a chave: deixa um marcador
+     * {@link Removido} com a geração da remoção. Cada consulta que não encontra o benefício registra, na
+     * thread, a geração em que começou; a gravação feita ao final dela só substitui o marcador se a
+     * consulta começou depois da remoção. Assim, uma leitura lenta iniciada antes de uma transferência não
+     * recoloca o saldo anterior no cache, e a primeira leitura posterior o recarrega. A decisão não usa o
+     * campo version: créditos em partições alteram o saldo sem alterar a versão da linha principal.
+     * Gravações sem consulta anterior ({@code @CachePut}, feitas após o commit) não substituem o marcador,
+     * pois podem ter lido as partições antes da remoção. O esvaziamento completo descarta da mesma forma
+     * as leituras iniciadas antes dele. Os marcadores expiram junto com os valores.
+     */
+    static class BeneficioVersionadoCache extends CaffeineCache {
+
+        /* Geração de uma gravação sem consulta anterior registrada na thread. */
+        private static final long SEM_LEITURA = -1L;
+
+        private final AtomicLong geracao = new AtomicLong();
+
+        private final ThreadLocal<Leitura> leitura = new ThreadLocal<>();
+
+        private final AtomicLong ultimaLimpeza = new AtomicLong();
+
+        BeneficioVersionadoCache(
+                final String name, final com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+            super(name, cache, false);
+        }
+
+        @Override
+        protected Object lookup(final Object key) {
+            Object valor = super.lookup(key);
+            if (valor == null || valor instanceof Removido) {
+                leitura.set(new Leitura(key, geracao.get()));
+                return null;
+            }
+            return valor;
+        }
+
+        @Override
+        public void put(final Object key, final Object value) {
+            long inicio = inicioLeitura(key);
+            if (inicio != SEM_LEITURA && inicio < ultimaLimpeza.get()) {
+                return;
+            }
+            Object candidato = toStoreValue(value);
+            getNativeCache().asMap().compute(key, (chave, atual) -> escolher(atual, candidato, inicio));
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(final Object key, final Object value) {
+            long inicio = inicioLeitura(key);
+            Object candidato = toStoreValue(value);
+            Object[] existente = new Object[1];
+            getNativeCache().asMap().compute(key, (chave, atual) -> {
+                if (atual == null || atual instanceof Removido) {
+                    return inicio != SEM_LEITURA && inicio < ultimaLimpeza.get()
+                            ? atual
+                            : escolher(atual, candidato, inicio);
+                }
+                existente[0] = atual;
+                return atual;
+            });
+            return toValueWrapper(existente[0]);
+        }
+
+        @Override
+        public void evict(final Object key) {
+            remover(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(final Object key) {
+            return remover(key);
+        }
+
+        @Override
+        public void clear() {
+            ultimaLimpeza.set(geracao.incrementAndGet());
+            super.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            ultimaLimpeza.set(geracao.incrementAndGet());
+            return super.invalidate();
+        }
+
+        /* Substitui o valor pelo marcador de remoção; devolve se havia benefício em cache. */
+        private boolean remover(final Object key) {
+            Object anterior = getNativeCache().asMap().put(key, new Removido(geracao.incrementAndGet()));
+            return anterior != null && !(anterior instanceof Removido);
+        }
+
+        /* Geração em que começou a consulta da chave nesta thread, consumindo o registro. */
+        private long inicioLeitura(final Object key) {
+            Leitura lida = leitura.get();
+            leitura.remove();
+            return lida != null && lida.key().equals(key) ? lida.geracao() : SEM_LEITURA;
+        }
+
+        private static Object escolher(final Object atual, final Object candidato, final long inicio) {
+            if (atual instanceof Removido removido) {
+                return inicio != SEM_LEITURA && inicio >= removido.geracao() ? candidato : atual;
+            }
+            return maisRecente(atual, candidato);
+        }
+
+        private static Object maisRecente(final Object atual, final Object candidato) {
+            if (atual instanceof BeneficioResponseDto emCache
+                    && emCache.getVersion() != null
+                    && candidato instanceof BeneficioResponseDto novo
+                    && novo.getVersion() != null
+                    && emCache.getVersion() > novo.getVersion()) {
+                return atual;
+            }
+            return candidato;
+        }
+
+        /* Consulta sem acerto em andamento na thread: chave e geração em que começou. */
+        private record Leitura(Object key, long geracao) {
+        }
+
+        /* Marcador de remoção: geração da remoção. */
+        private record Removido(long geracao) {
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.config;
 import java.util.Arrays;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
@@ -25,6 +26,8 @@ public class CorsConfig {
         config.setAllowedOrigins(Arrays.asList("http://localhost:80", "http://localhost:4200"));
         config.setAllowedHeaders(Arrays.asList("*"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        // ETag lida pelo frontend para enviar em If-Match
+        config.setExposedHeaders(Arrays.asList(HttpHeaders.ETAG));
 
         source.registerCorsConfiguration("/**", config);
         return new CorsFilter(source);
@@ -1,8 +1,10 @@
 package com.example.backend.config;
 
 import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.MonitorTransferencia;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,12 +18,20 @@ public class EjbConfig {
      * um componente Spring tradicional.
      *
      * @param em EntityManager gerenciado pelo Spring para acesso ao banco de dados
+     * @param monitorTransferencia Recebe a duração das etapas das transferências (métricas)
+     * @param tempoLimiteBloqueio Espera máxima pelos bloqueios pessimistas, em milissegundos
+     *                            (negativo usa a espera padrão do banco)
      * @return Instância configurada do BeneficioEjbService com EntityManager
      *         injetado
      */
     @Bean
-    public BeneficioEjbService beneficioEjbService(@Nonnull final EntityManager em) {
+    public BeneficioEjbService beneficioEjbService(
+            @Nonnull final EntityManager em,
+            @Nonnull final MonitorTransferencia monitorTransferencia,
+            @Value("${beneficio.transferencia.bloqueio.tempo-limite:-1}") final long tempoLimiteBloqueio) {
         BeneficioEjbService ejb = new BeneficioEjbService(em);
+        ejb.setMonitor(monitorTransferencia);
+        ejb.setTempoLimiteBloqueio(tempoLimiteBloqueio);
         return ejb;
     }
 
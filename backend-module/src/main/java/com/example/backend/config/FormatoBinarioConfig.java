@@ -0,0 +1,137 @@
+package com.example.backend.config;
+
+import com.example.ejb.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class FormatoBinarioConfig implements WebMvcConfigurer {
+
+    /* Casas decimais dos valores monetários trafegados como inteiros (centavos). */
+    public static final int ESCALA_CENTAVOS = Money.ESCALA;
+
+    private final ObjectMapper cborMapper;
+
+    /**
+     * Configura o formato CBOR (application/cbor), negociado pelo cabeçalho Accept (respostas) e
+     * Content-Type (requisições), para clientes máquina a máquina. JSON continua sendo o padrão.
+     * <p>
+     * O mapper CBOR parte do mesmo Jackson2ObjectMapperBuilder do JSON (módulos e datas) e envia
+     * os valores BigDecimal e {@link Money} como inteiros em centavos, sem a conversão de/para texto decimal.
+     *
+     * @param builder Builder do ObjectMapper configurado pelo Spring Boot
+     */
+    public FormatoBinarioConfig(final Jackson2ObjectMapperBuilder builder) {
+        this.cborMapper = builder.factory(new CBORFactory()).build();
+        this.cborMapper.registerModule(moduloCentavos());
+    }
+
+    /**
+     * Substitui o conversor CBOR padrão do Spring MVC (que usa um mapper próprio) pelo configurado
+     * aqui, logo após o conversor JSON para que JSON continue sendo escolhido quando o cliente
+     * aceita qualquer tipo.
+     */
+    @Override
+    public void extendMessageConverters(@NonNull final List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        int posicao = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                posicao = i + 1;
+                break;
+            }
+        }
+        converters.add(posicao, new MappingJackson2CborHttpMessageConverter(cborMapper));
+    }
+
+    /**
+     * @return Módulo Jackson que serializa BigDecimal e Money como inteiro em centavos e aceita inteiros em
+     *         centavos (ou números decimais) na leitura
+     */
+    public static SimpleModule moduloCentavos() {
+        SimpleModule modulo = new SimpleModule("Centavos");
+        modulo.addSerializer(BigDecimal.class, new CentavosSerializer());
+        modulo.addDeserializer(BigDecimal.class, new CentavosDeserializer());
+        modulo.addSerializer(Money.class, new MoneyCentavosSerializer());
+        modulo.addDeserializer(Money.class, new MoneyCentavosDeserializer());
+        return modulo;
+    }
+
+    static final class CentavosSerializer extends StdScalarSerializer<BigDecimal> {
+
+        CentavosSerializer() {
+            super(BigDecimal.class);
+        }
+
+        /* Valores com mais de duas casas significativas não são arredondados: a escrita falha. */
+        @Override
+        public void serialize(final BigDecimal valor, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            gen.writeNumber(Money.centavos(valor));
+        }
+    }
+
+    static final class CentavosDeserializer extends StdScalarDeserializer<BigDecimal> {
+
+        CentavosDeserializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public BigDecimal deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return BigDecimal.valueOf(p.getLongValue(), Money.ESCALA);
+            }
+            return NumberDeserializers.BigDecimalDeserializer.instance.deserialize(p, ctxt);
+        }
+    }
+
+    static final class MoneyCentavosSerializer extends StdScalarSerializer<Money> {
+
+        MoneyCentavosSerializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(final Money valor, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            gen.writeNumber(valor.getCentavos());
+        }
+    }
+
+    static final class MoneyCentavosDeserializer extends StdScalarDeserializer<Money> {
+
+        private final MoneyJsonConfig.MoneyDeserializer decimal = new MoneyJsonConfig.MoneyDeserializer();
+
+        MoneyCentavosDeserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return Money.deCentavos(p.getLongValue());
+            }
+            return decimal.deserialize(p, ctxt);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LimiteTransferenciasConfig implements WebMvcConfigurer {
+
+    private final int concorrenciaMaxima;
+
+    private final Duration espera;
+
+    /**
+     * Configura o limite de transferências síncronas simultâneas. O limite deve ser menor que o
+     * pool de conexões (spring.datasource.hikari.maximum-pool-size), descontados também os workers
+     * da fila assíncrona, para que sempre restem conexões para as consultas.
+     *
+     * @param concorrenciaMaxima Quantidade máxima de transferências em execução
+     * @param espera Tempo máximo de espera por uma vaga antes de responder HTTP 429
+     */
+    public LimiteTransferenciasConfig(
+            @Value("${beneficio.transferencia.concorrencia-maxima:15}") final int concorrenciaMaxima,
+            @Value("${beneficio.transferencia.concorrencia-espera:PT2S}") final Duration espera) {
+        this.concorrenciaMaxima = concorrenciaMaxima;
+        this.espera = espera;
+    }
+
+    @Bean
+    public LimiteTransferenciasInterceptor limiteTransferenciasInterceptor() {
+        return new LimiteTransferenciasInterceptor(concorrenciaMaxima, espera);
+    }
+
+    @Override
+    public void addInterceptors(@NonNull final InterceptorRegistry registry) {
+        registry.addInterceptor(limiteTransferenciasInterceptor())
+                .addPathPatterns("/api/v1/beneficios/transferir", "/api/v1/beneficios/transferir/lote");
+    }
+}
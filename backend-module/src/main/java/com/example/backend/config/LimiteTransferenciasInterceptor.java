@@ -0,0 +1,73 @@
+package com.example.backend.config;
+
+import com.example.backend.exception.LimiteTransferenciasException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limita a quantidade de transferências síncronas executadas ao mesmo tempo.
+ * <p>
+ * Transferências aguardam bloqueios de linha ("SELECT ... FOR UPDATE") mantendo uma conexão do pool.
+ * Sem limite, transferências concorrentes sobre os mesmos benefícios ocupam todas as conexões e as
+ * consultas, que não disputam bloqueios, passam a esperar pelo pool. A permissão é obtida antes da
+ * transação (e, portanto, antes da conexão) e liberada ao final da requisição; quem não a obtém no
+ * tempo de espera recebe HTTP 429.
+ */
+public class LimiteTransferenciasInterceptor implements HandlerInterceptor {
+
+    private static final String ATRIBUTO_PERMISSAO = LimiteTransferenciasInterceptor.class.getName() + ".permissao";
+
+    private final Semaphore permissoes;
+
+    private final long esperaNanos;
+
+    public LimiteTransferenciasInterceptor(final int concorrenciaMaxima, final Duration espera) {
+        if (concorrenciaMaxima < 1) {
+            throw new IllegalArgumentException("Concorrência máxima de transferências deve ser maior que zero");
+        }
+        this.permissoes = new Semaphore(concorrenciaMaxima);
+        this.esperaNanos = espera.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final Object handler) {
+        try {
+            if (!permissoes.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                throw new LimiteTransferenciasException(
+                        "Limite de transferências simultâneas atingido, tente novamente mais tarde");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LimiteTransferenciasException("Transferência interrompida aguardando execução");
+        }
+        request.setAttribute(ATRIBUTO_PERMISSAO, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull final HttpServletRequest request,
+            @NonNull final HttpServletResponse response,
+            @NonNull final Object handler,
+            final Exception ex) {
+        if (request.getAttribute(ATRIBUTO_PERMISSAO) != null) {
+            request.removeAttribute(ATRIBUTO_PERMISSAO);
+            permissoes.release();
+        }
+    }
+
+    /**
+     * @return quantidade de permissões livres no momento
+     */
+    public int permissoesDisponiveis() {
+        return permissoes.availablePermits();
+    }
+}
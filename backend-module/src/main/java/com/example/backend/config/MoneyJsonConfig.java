@@ -0,0 +1,78 @@
+package com.example.backend.config;
+
+import com.example.ejb.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.boot.jackson.JsonComponent;
+
+/**
+ * Serializador e desserializador de {@link Money}, registrados pelo Spring Boot no ObjectMapper da aplicação
+ * (JSON e, a partir do mesmo builder, CBOR, que em seguida substitui a representação pelos centavos). O valor
+ * trafega como número decimal com duas casas, como o BigDecimal que ele substitui nos DTOs, sem alterar o
+ * formato do JSON.
+ */
+@JsonComponent
+public class MoneyJsonConfig {
+
+    static {
+        // Na documentação OpenAPI, Money aparece como o número decimal trafegado
+        SpringDocUtils.getConfig().replaceWithClass(Money.class, BigDecimal.class);
+    }
+
+    /**
+     * @return Módulo Jackson de {@link Money}, para ObjectMappers criados fora do contexto
+     */
+    public static SimpleModule modulo() {
+        SimpleModule modulo = new SimpleModule("Money");
+        modulo.addSerializer(Money.class, new MoneySerializer());
+        modulo.addDeserializer(Money.class, new MoneyDeserializer());
+        return modulo;
+    }
+
+    static final class MoneySerializer extends StdScalarSerializer<Money> {
+
+        MoneySerializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(final Money valor, final JsonGenerator gen, final SerializerProvider provider)
+                throws IOException {
+            gen.writeNumber(valor.toBigDecimal());
+        }
+    }
+
+    /* Aceita o que o BigDecimal aceitava (números e textos decimais); mais de duas casas não é arredondado. */
+    static final class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+        MoneyDeserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(final JsonParser p, final DeserializationContext ctxt) throws IOException {
+            BigDecimal valor = NumberDeserializers.BigDecimalDeserializer.instance.deserialize(p, ctxt);
+            if (valor == null) {
+                return null;
+            }
+            if (!Money.exato(valor)) {
+                throw InvalidFormatException.from(p, Money.MENSAGEM_CASAS_DECIMAIS, valor, Money.class);
+            }
+            try {
+                return Money.of(valor);
+            } catch (IllegalArgumentException e) {
+                throw InvalidFormatException.from(p, e.getMessage(), valor, Money.class);
+            }
+        }
+    }
+}
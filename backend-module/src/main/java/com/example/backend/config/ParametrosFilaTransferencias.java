@@ -0,0 +1,42 @@
+package com.example.backend.config;
+
+import com.example.backend.validator.BeneficioValidator;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da fila de transferências assíncronas ({@code beneficio.transferencia.fila.*}).
+ *
+ * @param capacidade Solicitações aguardando processamento; excedentes recebem HTTP 429
+ * @param workers Threads que consomem a fila
+ * @param tamanhoLote Solicitações aplicadas por transferência em lote
+ * @param retencao Permanência de uma chave de idempotência após a conclusão da solicitação
+ * @param maximoChaves Chaves de solicitações concluídas mantidas; excedentes são descartadas antes do fim da
+ *     retenção. Chaves de solicitações pendentes não contam e nunca são descartadas
+ * @throws IllegalArgumentException se algum parâmetro estiver fora dos limites
+ */
+@ConfigurationProperties(prefix = "beneficio.transferencia.fila")
+public record ParametrosFilaTransferencias(
+        @DefaultValue("1000") int capacidade,
+        @DefaultValue("2") int workers,
+        @DefaultValue("100") int tamanhoLote,
+        @DefaultValue("PT1H") Duration retencao,
+        @DefaultValue("100000") long maximoChaves) {
+
+    public ParametrosFilaTransferencias {
+        if (capacidade < 1 || workers < 1) {
+            throw new IllegalArgumentException("Capacidade e quantidade de workers devem ser maiores que zero");
+        }
+        if (tamanhoLote < 1 || tamanhoLote > BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA) {
+            throw new IllegalArgumentException(
+                    "Tamanho do lote deve estar entre 1 e " + BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA);
+        }
+        if (retencao.isNegative() || retencao.isZero()) {
+            throw new IllegalArgumentException("Retenção das chaves deve ser maior que zero");
+        }
+        if (maximoChaves < 1) {
+            throw new IllegalArgumentException("Quantidade máxima de chaves deve ser maior que zero");
+        }
+    }
+}
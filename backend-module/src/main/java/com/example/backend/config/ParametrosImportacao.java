@@ -0,0 +1,25 @@
+package com.example.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da importação de benefícios em massa ({@code beneficio.importacao.*}).
+ *
+ * @param tamanhoLote Linhas validadas e gravadas por bloco (uma transação por bloco)
+ * @param paralelismo Workers de validação; zero usa um por processador disponível
+ * @param maximoErros Linhas recusadas relatadas na resposta; as demais são apenas contadas
+ * @throws IllegalArgumentException se algum parâmetro estiver fora dos limites
+ */
+@ConfigurationProperties(prefix = "beneficio.importacao")
+public record ParametrosImportacao(
+        @DefaultValue("1000") int tamanhoLote,
+        @DefaultValue("0") int paralelismo,
+        @DefaultValue("1000") int maximoErros) {
+
+    public ParametrosImportacao {
+        if (tamanhoLote < 1 || paralelismo < 0 || maximoErros < 0) {
+            throw new IllegalArgumentException("Configuração de importação inválida");
+        }
+    }
+}
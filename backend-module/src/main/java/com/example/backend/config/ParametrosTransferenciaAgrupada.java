@@ -0,0 +1,36 @@
+package com.example.backend.config;
+
+import com.example.backend.validator.BeneficioValidator;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da estratégia de transferência com commit agrupado ({@code beneficio.transferencia.agrupada.*}).
+ *
+ * @param janela Espera máxima por novas transferências para o mesmo commit
+ * @param tamanhoGrupo Transferências por commit
+ * @param capacidade Transferências aguardando o commit; excedentes recebem HTTP 429
+ * @param esperaMaxima Espera máxima de quem chama pelo commit do seu grupo
+ * @throws IllegalArgumentException se algum parâmetro estiver fora dos limites
+ */
+@ConfigurationProperties(prefix = "beneficio.transferencia.agrupada")
+public record ParametrosTransferenciaAgrupada(
+        @DefaultValue("PT0.002S") Duration janela,
+        @DefaultValue("100") int tamanhoGrupo,
+        @DefaultValue("1000") int capacidade,
+        @DefaultValue("PT30S") Duration esperaMaxima) {
+
+    public ParametrosTransferenciaAgrupada {
+        if (tamanhoGrupo < 1 || tamanhoGrupo > BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA) {
+            throw new IllegalArgumentException(
+                    "Tamanho do grupo deve estar entre 1 e " + BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA);
+        }
+        if (capacidade < 1 || janela.isNegative()) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero e janela não pode ser negativa");
+        }
+        if (esperaMaxima.isNegative() || esperaMaxima.isZero()) {
+            throw new IllegalArgumentException("Espera máxima pelo commit do grupo deve ser maior que zero");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.backend.config;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da estratégia de transferência em memória ({@code beneficio.transferencia.memoria.*}).
+ *
+ * @param faixas Faixas de bloqueio do mapa de saldos, arredondadas para potência de dois
+ * @param diario Arquivo do diário
+ * @param diarioCapacidade Registros aguardando checkpoint (64 bytes cada)
+ * @param diarioSincronizar Se cada registro é sincronizado com o disco antes de a transferência ser concluída;
+ *      sem a sincronização, transferências concluídas podem ser perdidas na queda do sistema operacional
+ * @param checkpoint Intervalo entre os checkpoints
+ * @param ociosidade Intervalo entre as varreduras que removem da memória os benefícios sem uso
+ * @param instancia Dono da concessão do diário no banco; vazio usa o host e o caminho do diário
+ * @param concessao Validade da concessão do diário, renovada a cada terço dela
+ * @throws IllegalArgumentException se algum parâmetro estiver fora dos limites
+ */
+@ConfigurationProperties(prefix = "beneficio.transferencia.memoria")
+public record ParametrosTransferenciaEmMemoria(
+        @DefaultValue("1024") int faixas,
+        @DefaultValue("dados/transferencias.wal") Path diario,
+        @DefaultValue("1048576") int diarioCapacidade,
+        @DefaultValue("true") boolean diarioSincronizar,
+        @DefaultValue("PT0.2S") Duration checkpoint,
+        @DefaultValue("PT5M") Duration ociosidade,
+        @DefaultValue("") String instancia,
+        @DefaultValue("PT30S") Duration concessao) {
+
+    /** Quantidade máxima de faixas (2^20). */
+    public static final int MAXIMO_FAIXAS = 1_048_576;
+
+    public ParametrosTransferenciaEmMemoria {
+        if (faixas < 1 || faixas > MAXIMO_FAIXAS) {
+            throw new IllegalArgumentException("Quantidade de faixas deve estar entre 1 e " + MAXIMO_FAIXAS);
+        }
+        if (checkpoint.isNegative() || checkpoint.isZero() || ociosidade.isNegative() || ociosidade.isZero()) {
+            throw new IllegalArgumentException("Intervalos de checkpoint e de ociosidade devem ser positivos");
+        }
+        if (concessao.isNegative() || concessao.isZero()) {
+            throw new IllegalArgumentException("Concessão do diário deve ser positiva");
+        }
+    }
+
+    /**
+     * @return dono da concessão do diário: a instância configurada ou, sem ela, o host e o caminho do diário
+     */
+    public String dono() {
+        if (!instancia.isBlank()) {
+            return instancia;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return host + ":" + diario.toAbsolutePath();
+    }
+}
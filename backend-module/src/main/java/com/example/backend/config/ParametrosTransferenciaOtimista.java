@@ -0,0 +1,29 @@
+package com.example.backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Parâmetros da estratégia otimista de transferência ({@code beneficio.transferencia.otimista.*}).
+ *
+ * @param tentativas Quantidade máxima de tentativas por transferência
+ * @param esperaInicial Espera máxima antes da segunda tentativa; dobra a cada conflito
+ * @param esperaMaxima Limite da espera entre tentativas
+ * @throws IllegalArgumentException se algum parâmetro estiver fora dos limites
+ */
+@ConfigurationProperties(prefix = "beneficio.transferencia.otimista")
+public record ParametrosTransferenciaOtimista(
+        @DefaultValue("5") int tentativas,
+        @DefaultValue("PT0.005S") Duration esperaInicial,
+        @DefaultValue("PT0.2S") Duration esperaMaxima) {
+
+    public ParametrosTransferenciaOtimista {
+        if (tentativas < 1) {
+            throw new IllegalArgumentException("Quantidade de tentativas deve ser maior que zero");
+        }
+        if (esperaInicial.isNegative() || esperaMaxima.isNegative()) {
+            throw new IllegalArgumentException("Esperas entre tentativas não podem ser negativas");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.config;
+
+import com.example.backend.validator.ValidadorRequisicao;
+import jakarta.validation.Validator;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.SmartValidator;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ValidacaoConfig implements WebMvcConfigurer {
+
+    private final Validator validator;
+
+    /**
+     * Configura a validação dos corpos de requisição (@Valid) com o mesmo Validator do contexto
+     * usado pelo ObjectsValidator, de modo que a aplicação crie uma única ValidatorFactory.
+     *
+     * @param validator Validator do Bean Validation criado pelo Spring Boot
+     */
+    public ValidacaoConfig(final Validator validator) {
+        this.validator = validator;
+    }
+
+    @Override
+    public SmartValidator getValidator() {
+        return new ValidadorRequisicao(validator);
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.backend.controller;
 
-import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
-import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.ResumoStatusDto;
 import com.example.backend.service.BeneficioService;
+import com.example.backend.service.VersaoBeneficios;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,42 +14,53 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import lombok.extern.slf4j.Slf4j;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
-import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+/**
+ * Consultas de benefícios, com respostas condicionais (ETag e If-None-Match). Cadastro, transferências e
+ * importação/exportação ficam em {@link CadastroBeneficioController}, {@link TransferenciaController} e
+ * {@link ImportacaoExportacaoController}, sob o mesmo caminho.
+ */
 @RestController
 @CrossOrigin(
         origins = {"http://localhost:80", "http://localhost:4200"},
+        exposedHeaders = HttpHeaders.ETAG,
         maxAge = BeneficioController.MAX_AGE)
 @RequestMapping("/api/v1/beneficios")
 @Tag(name = "Benefícios", description = "Endpoint de gestão de benefícios bancários")
-@Slf4j
 public class BeneficioController {
     public static final long MAX_AGE = 3600L;
 
     private final BeneficioService beneficioService;
 
-    public BeneficioController(final BeneficioService service) {
+    private final ObjectMapper objectMapper;
+
+    public BeneficioController(final BeneficioService service, final ObjectMapper objectMapper) {
         this.beneficioService = Objects.requireNonNull(service, "BeneficioService não pode ser nulo");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "ObjectMapper não pode ser nulo");
     }
 
     @Operation(
             summary = "Listar todos os benefícios",
-            description = "Retorna uma lista com todos os benefícios cadastrados no sistema")
+            description = "Retorna uma lista com todos os benefícios cadastrados no sistema. Responde 304 quando "
+                    + "a ETag enviada em If-None-Match ainda corresponde à versão da coleção")
     @ApiResponses(
             value = {
                 @ApiResponse(
@@ -56,170 +70,214 @@ public class BeneficioController {
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = List.class))),
+                @ApiResponse(responseCode = "304", description = "Benefícios não alterados desde a ETag informada"),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<BeneficioResponseDto>> buscarTodosBeneficios() {
-        List<BeneficioResponseDto> beneficios = beneficioService.buscarTodosBeneficios();
-        return ResponseEntity.ok(beneficios);
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<BeneficioResponseDto>> buscarTodosBeneficios(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        return respostaCondicional(
+                ifNoneMatch,
+                PrecondicoesEtag.etag(beneficioService.buscarVersaoBeneficios(), accept),
+                beneficioService::buscarTodosBeneficios);
     }
 
     @Operation(
-            summary = "Buscar benefício por ID",
-            description = "Retorna um benefício específico baseado no ID fornecido")
+            summary = "Listar benefícios paginados",
+            description = "Retorna uma página de benefícios ordenada por ID, usando paginação por cursor (keyset). "
+                    + "Envie o proximoCursor retornado para obter a página seguinte")
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
-                        description = "Benefício encontrado e retornado com sucesso",
+                        description = "Página de benefícios retornada com sucesso",
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
-                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                                        schema = @Schema(implementation = PaginaBeneficioDto.class))),
+                @ApiResponse(responseCode = "304", description = "Benefícios não alterados desde a ETag informada"),
+                @ApiResponse(responseCode = "400", description = "Cursor ou limite inválidos"),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BeneficioResponseDto> buscarBeneficioById(
-            @Parameter(description = "ID único do benefício", required = true, example = "1") @PathVariable
-                    final Long id) {
-        return ResponseEntity.ok(beneficioService.buscarBeneficioPorId(id));
+    @GetMapping(path = "/pagina", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<PaginaBeneficioDto> buscarPaginaBeneficios(
+            @Parameter(description = "ID do último benefício da página anterior", example = "50")
+                    @RequestParam(required = false)
+                    final Long cursor,
+            @Parameter(description = "Quantidade máxima de itens da página", example = "50")
+                    @RequestParam(required = false)
+                    final Integer limite,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        return respostaCondicional(
+                ifNoneMatch,
+                PrecondicoesEtag.etag(versaoConsulta(cursor, limite), accept),
+                () -> beneficioService.buscarPaginaBeneficios(cursor, limite));
     }
 
     @Operation(
-            summary = "Criar novo benefício",
-            description = "Cria um novo benefício no sistema com os dados fornecidos")
+            summary = "Resumir benefícios por status",
+            description = "Retorna a quantidade e o saldo total dos benefícios ativos e dos cancelados, "
+                    + "a partir de contadores mantidos em memória, sem percorrer a tabela")
     @ApiResponses(
             value = {
                 @ApiResponse(
-                        responseCode = "201",
-                        description = "Benefício criado com sucesso",
+                        responseCode = "200",
+                        description = "Totais por status retornados com sucesso",
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
-                @ApiResponse(responseCode = "400", description = "Dados inválidos ou incompletos"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao criar benefício"),
+                                        schema = @Schema(implementation = List.class))),
+                @ApiResponse(responseCode = "304", description = "Benefícios não alterados desde a ETag informada"),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @PostMapping(path = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BeneficioResponseDto> criarBeneficio(
-            @Parameter(description = "Dados do benefício a ser criado", required = true) @Valid @RequestBody
-                    final BeneficioRequestDto beneficioDto) {
-        BeneficioResponseDto savedBeneficio = beneficioService.criarBeneficio(beneficioDto);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(savedBeneficio);
+    @GetMapping(path = "/resumo", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<ResumoStatusDto>> resumirPorStatus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        return respostaCondicional(
+                ifNoneMatch,
+                PrecondicoesEtag.etag(beneficioService.buscarVersaoBeneficios(), accept),
+                beneficioService::resumirPorStatus);
     }
 
     @Operation(
-            summary = "Realizar transferência entre benefícios",
-            description = "Transfere um valor de um benefício para outro, com validação de saldo e status")
-    @ApiResponses(
-            value = {
-                @ApiResponse(responseCode = "200", description = "Transferência realizada com sucesso"),
-                @ApiResponse(responseCode = "400", description = "Dados de transferência inválidos"),
-                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao realizar transferência"),
-                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-            })
-    @PostMapping(path = "/transferir")
-    public ResponseEntity<Void> realizarTransferencia(
-            @Parameter(description = "Dados da transferência (fromId, toId, valor)", required = true)
-                    @Valid
-                    @RequestBody
-                    final TransferenciaDto dto) {
-        beneficioService.realizarTransferencia(dto);
-        return ResponseEntity.ok().build();
-    }
-
-    @Operation(summary = "Atualizar benefício", description = "Atualiza os dados de um benefício existente")
+            summary = "Buscar benefícios por nome ou descrição",
+            description = "Retorna os benefícios cujo nome ou descrição contenham o termo, sem diferenciar "
+                    + "maiúsculas e acentos, dos mais relevantes para os menos relevantes. Termos com até dois "
+                    + "caracteres buscam pelo início das palavras")
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
-                        description = "Benefício atualizado com sucesso",
+                        description = "Benefícios encontrados retornados com sucesso",
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
-                @ApiResponse(responseCode = "400", description = "Dados inválidos ou incompletos"),
-                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao atualizar benefício"),
+                                        schema = @Schema(implementation = List.class))),
+                @ApiResponse(responseCode = "304", description = "Benefícios não alterados desde a ETag informada"),
+                @ApiResponse(responseCode = "400", description = "Termo ou limite inválidos"),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @PutMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BeneficioResponseDto> alterarBeneficio(
-            @Parameter(description = "ID único do benefício a atualizar", required = true, example = "1") @PathVariable
-                    final Long id,
-            @Parameter(description = "Novos dados do benefício", required = true) @Valid @RequestBody
-                    final BeneficioRequestDto beneficio) {
-        BeneficioResponseDto updBeneficio = beneficioService.alterarBeneficio(id, beneficio);
-        log.info("Benefício atualizado: {}", updBeneficio);
-        return ResponseEntity.status(HttpStatus.OK)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(updBeneficio);
+    @GetMapping(path = "/busca", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<List<BeneficioResponseDto>> buscarBeneficiosPorNome(
+            @Parameter(description = "Nome, descrição ou parte deles", example = "refeicao") @RequestParam
+                    final String termo,
+            @Parameter(description = "Quantidade máxima de itens", example = "20")
+                    @RequestParam(required = false)
+                    final Integer limite,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        return respostaCondicional(
+                ifNoneMatch,
+                PrecondicoesEtag.etag(versaoConsulta(termo, limite), accept),
+                () -> beneficioService.filtrarBeneficiosPorNome(termo, limite));
     }
 
-    @Operation(summary = "Ativar benefício", description = "Ativa um benefício que estava cancelado")
+    @Operation(
+            summary = "Listar todos os benefícios em streaming",
+            description = "Retorna todos os benefícios como um array JSON escrito à medida que os registros são "
+                    + "lidos do banco, com uso de memória constante independente do tamanho da tabela")
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
-                        description = "Benefício ativado com sucesso",
+                        description = "Array de benefícios transmitido com sucesso",
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
-                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao ativar benefício"),
+                                        schema = @Schema(implementation = List.class))),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @PutMapping(path = "/{id}/ativar", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BeneficioResponseDto> ativarBeneficio(
-            @Parameter(description = "ID único do benefício a ativar", required = true, example = "1") @PathVariable
-                    final Long id) {
-        BeneficioResponseDto updBeneficio = beneficioService.alterarStatusBeneficio(id, true);
-        return new ResponseEntity<>(updBeneficio, HttpStatus.OK);
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> transmitirTodosBeneficios() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                beneficioService.percorrerTodosBeneficios(beneficio -> {
+                    try {
+                        generator.writeObject(beneficio);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(
-            summary = "Cancelar benefício",
-            description = "Cancela um benefício ativo, impedindo operações futuras com ele")
+            summary = "Buscar benefício por ID",
+            description = "Retorna um benefício específico baseado no ID fornecido, com a ETag da sua versão. "
+                    + "Responde 304, sem carregar o benefício, quando a ETag enviada em If-None-Match é a atual")
     @ApiResponses(
             value = {
                 @ApiResponse(
                         responseCode = "200",
-                        description = "Benefício cancelado com sucesso",
+                        description = "Benefício encontrado e retornado com sucesso",
                         content =
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "304", description = "Benefício não alterado desde a ETag informada"),
                 @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao cancelar benefício"),
                 @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
             })
-    @PutMapping(path = "/{id}/cancelar", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<BeneficioResponseDto> cancelarBeneficio(
-            @Parameter(description = "ID único do benefício a cancelar", required = true, example = "1") @PathVariable
-                    final Long id) {
-        BeneficioResponseDto updBeneficio = beneficioService.alterarStatusBeneficio(id, false);
-        return new ResponseEntity<>(updBeneficio, HttpStatus.OK);
+    @GetMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> buscarBeneficioById(
+            @Parameter(description = "ID único do benefício", required = true, example = "1") @PathVariable
+                    final Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept) {
+        String versao = beneficioService.buscarVersaoBeneficio(id);
+        String etag = PrecondicoesEtag.etag(versao, accept);
+        if (PrecondicoesEtag.naoModificado(ifNoneMatch, etag)) {
+            return naoModificado(etag);
+        }
+        BeneficioResponseDto beneficio = beneficioService.buscarBeneficioPorId(id);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        // O benefício vem do cache, que pode estar sendo atualizado: a ETag só acompanha a mesma versão
+        if (VersaoBeneficios.mesmaVersao(versao, beneficio.getVersion())) {
+            resposta.eTag(etag);
+        }
+        return resposta.body(beneficio);
     }
 
-    @Operation(summary = "Remover benefício", description = "Remove permanentemente um benefício do sistema")
-    @ApiResponses(
-            value = {
-                @ApiResponse(responseCode = "204", description = "Benefício removido com sucesso"),
-                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
-                @ApiResponse(responseCode = "422", description = "Erro de negócio ao remover benefício"),
-                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
-            })
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> removerBeneficio(
-            @Parameter(description = "ID único do benefício a remover", required = true, example = "1") @PathVariable
-                    final Long id) {
-        beneficioService.removerBeneficio(id);
-        return ResponseEntity.noContent().build();
+    /*
+     * Versão da coleção acrescida de um resumo dos parâmetros da consulta: páginas e buscas diferentes
+     * recebem ETags diferentes, e a ETag de uma consulta não valida a resposta de outra.
+     */
+    private String versaoConsulta(final Object... parametros) {
+        String versao = beneficioService.buscarVersaoBeneficios();
+        return versao == null ? null : versao + "-q" + Integer.toHexString(Arrays.hashCode(parametros));
+    }
+
+    /*
+     * Consulta condicional sobre a coleção de benefícios. A versão é lida antes da consulta: uma
+     * escrita concorrente pode, no máximo, fazer a próxima requisição receber a resposta completa.
+     */
+    private static <T> ResponseEntity<T> respostaCondicional(
+            final String ifNoneMatch, final String etag, final Supplier<T> consulta) {
+        if (PrecondicoesEtag.naoModificado(ifNoneMatch, etag)) {
+            return naoModificado(etag);
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (etag != null) {
+            resposta.eTag(etag);
+        }
+        return resposta.body(consulta.get());
+    }
+
+    /*
+     * JSON e CBOR recebem ETags distintas (PrecondicoesEtag.etag), e Vary: Accept impede que um cache
+     * devolva uma representação a um cliente que pediu a outra.
+     */
+    private static <T> ResponseEntity<T> naoModificado(final String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
     }
 }
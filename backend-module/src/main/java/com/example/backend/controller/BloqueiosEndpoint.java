@@ -0,0 +1,42 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.EsperaBloqueioDto;
+import com.example.backend.service.EsperasBloqueio;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do Actuator (/actuator/bloqueios) com os benefícios mais disputados nas transferências
+ * pessimistas: os que somaram o maior tempo de espera por bloqueio na janela recente.
+ */
+@Component
+@Endpoint(id = "bloqueios")
+public class BloqueiosEndpoint {
+
+    private final EsperasBloqueio esperasBloqueio;
+
+    private final int limitePadrao;
+
+    public BloqueiosEndpoint(
+            final EsperasBloqueio esperasBloqueio,
+            @Value("${beneficio.transferencia.bloqueio.mais-disputados:10}") final int limitePadrao) {
+        this.esperasBloqueio = esperasBloqueio;
+        this.limitePadrao = limitePadrao;
+    }
+
+    /**
+     * @param limite Quantidade máxima de benefícios (opcional)
+     * @return Janela considerada e benefícios do mais para o menos disputado
+     */
+    @ReadOperation
+    public Map<String, Object> maisDisputados(@Nullable final Integer limite) {
+        List<EsperaBloqueioDto> beneficios =
+                esperasBloqueio.maisDisputados(limite == null ? limitePadrao : limite);
+        return Map.of("janela", esperasBloqueio.getJanela().toString(), "beneficios", beneficios);
+    }
+}
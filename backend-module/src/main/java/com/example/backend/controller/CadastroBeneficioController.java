@@ -0,0 +1,206 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.service.BeneficioService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Cadastro de benefícios: inclusão, alteração (com If-Match), ativação, cancelamento, particionamento e
+ * remoção.
+ */
+@RestController
+@CrossOrigin(
+        origins = {"http://localhost:80", "http://localhost:4200"},
+        exposedHeaders = HttpHeaders.ETAG,
+        maxAge = BeneficioController.MAX_AGE)
+@RequestMapping("/api/v1/beneficios")
+@Tag(name = "Benefícios", description = "Endpoint de gestão de benefícios bancários")
+@Slf4j
+public class CadastroBeneficioController {
+
+    private final BeneficioService beneficioService;
+
+    public CadastroBeneficioController(final BeneficioService service) {
+        this.beneficioService = Objects.requireNonNull(service, "BeneficioService não pode ser nulo");
+    }
+
+    @Operation(
+            summary = "Criar novo benefício",
+            description = "Cria um novo benefício no sistema com os dados fornecidos")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Benefício criado com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "400", description = "Dados inválidos ou incompletos"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao criar benefício"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PostMapping(path = "", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> criarBeneficio(
+            @Parameter(description = "Dados do benefício a ser criado", required = true) @Valid @RequestBody
+                    final BeneficioRequestDto beneficioDto) {
+        BeneficioResponseDto savedBeneficio = beneficioService.criarBeneficio(beneficioDto);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(savedBeneficio);
+    }
+
+    @Operation(
+            summary = "Atualizar benefício",
+            description = "Atualiza os dados de um benefício existente. Com If-Match, a alteração só é aplicada "
+                    + "se a ETag informada ainda for a versão atual do benefício")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Benefício atualizado com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "400", description = "Dados inválidos ou incompletos"),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "412", description = "Benefício alterado após a ETag informada"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao atualizar benefício"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PutMapping(path = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> alterarBeneficio(
+            @Parameter(description = "ID único do benefício a atualizar", required = true, example = "1") @PathVariable
+                    final Long id,
+            @Parameter(description = "Novos dados do benefício", required = true) @Valid @RequestBody
+                    final BeneficioRequestDto beneficio,
+            @Parameter(description = "ETag da versão alterada pelo cliente", example = "\"3\"")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    final String ifMatch) {
+        BeneficioResponseDto updBeneficio =
+                beneficioService.alterarBeneficio(id, beneficio, PrecondicoesEtag.versoesAceitas(ifMatch));
+        log.debug("Benefício atualizado: {}", updBeneficio);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(updBeneficio);
+    }
+
+    @Operation(summary = "Ativar benefício", description = "Ativa um benefício que estava cancelado")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Benefício ativado com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao ativar benefício"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PutMapping(path = "/{id}/ativar", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> ativarBeneficio(
+            @Parameter(description = "ID único do benefício a ativar", required = true, example = "1") @PathVariable
+                    final Long id) {
+        BeneficioResponseDto updBeneficio = beneficioService.alterarStatusBeneficio(id, true);
+        return new ResponseEntity<>(updBeneficio, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Cancelar benefício",
+            description = "Cancela um benefício ativo, impedindo operações futuras com ele")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Benefício cancelado com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao cancelar benefício"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PutMapping(
+            path = "/{id}/cancelar",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> cancelarBeneficio(
+            @Parameter(description = "ID único do benefício a cancelar", required = true, example = "1") @PathVariable
+                    final Long id) {
+        BeneficioResponseDto updBeneficio = beneficioService.alterarStatusBeneficio(id, false);
+        return new ResponseEntity<>(updBeneficio, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Particionar benefício",
+            description = "Define a quantidade de partições (sub-saldos) de um benefício muito utilizado como destino"
+                    + " de transferências. Créditos são distribuídos entre as partições, sem disputar o bloqueio"
+                    + " de uma única linha; o saldo retornado é sempre o total. Quantidade 0 desfaz o particionamento")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Benefício particionado com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = BeneficioResponseDto.class))),
+                @ApiResponse(responseCode = "400", description = "Quantidade de partições inválida"),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PutMapping(
+            path = "/{id}/particoes",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<BeneficioResponseDto> particionarBeneficio(
+            @Parameter(description = "ID único do benefício a particionar", required = true, example = "1")
+                    @PathVariable
+                    final Long id,
+            @Parameter(description = "Quantidade de partições (0 a 64)", required = true, example = "8")
+                    @RequestParam
+                    final int quantidade) {
+        BeneficioResponseDto updBeneficio = beneficioService.particionarBeneficio(id, quantidade);
+        return new ResponseEntity<>(updBeneficio, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Remover benefício", description = "Remove permanentemente um benefício do sistema")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "204", description = "Benefício removido com sucesso"),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao remover benefício"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> removerBeneficio(
+            @Parameter(description = "ID único do benefício a remover", required = true, example = "1") @PathVariable
+                    final Long id) {
+        beneficioService.removerBeneficio(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.backend.controller;
+
+import java.util.Locale;
+
+/**
+ * Avaliação do cabeçalho Accept-Encoding (RFC 9110, seção 12.5.3) para a compressão gzip.
+ * <p>
+ * A codificação é aceita se for listada explicitamente com peso ({@code q}) maior que zero ou, sem
+ * menção explícita, se o curinga {@code *} tiver peso maior que zero. {@code gzip;q=0} recusa a
+ * compressão mesmo com curinga, e {@code x-gzip} não é considerado, pois a resposta é rotulada
+ * {@code Content-Encoding: gzip}.
+ */
+final class CodificacaoAceita {
+
+    private static final String GZIP = "gzip";
+
+    private static final String CURINGA = "*";
+
+    private static final String PARAMETRO_PESO = "q=";
+
+    /* Peso de uma codificação ausente do cabeçalho. */
+    private static final double AUSENTE = -1;
+
+    private CodificacaoAceita() { }
+
+    /**
+     * @param acceptEncoding Valor do cabeçalho Accept-Encoding; pode ser nulo
+     * @return se o cliente aceita a resposta comprimida com gzip
+     */
+    static boolean gzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = AUSENTE;
+        double curinga = AUSENTE;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].strip().toLowerCase(Locale.ROOT);
+            if (GZIP.equals(codificacao)) {
+                gzip = Math.max(gzip, peso(partes));
+            } else if (CURINGA.equals(codificacao)) {
+                curinga = Math.max(curinga, peso(partes));
+            }
+        }
+        return gzip != AUSENTE ? gzip > 0 : curinga > 0;
+    }
+
+    /* Peso informado no parâmetro q; 1 quando omitido e 0 quando inválido. */
+    private static double peso(final String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].strip().toLowerCase(Locale.ROOT);
+            if (parametro.startsWith(PARAMETRO_PESO)) {
+                try {
+                    return Double.parseDouble(parametro.substring(PARAMETRO_PESO.length()).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
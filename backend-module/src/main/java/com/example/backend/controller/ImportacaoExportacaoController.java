@@ -0,0 +1,141 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.ImportacaoResponseDto;
+import com.example.backend.service.ExportacaoBeneficios;
+import com.example.backend.service.ImportacaoBeneficios;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Importação e exportação de benefícios em massa, lidas e escritas à medida que são recebidas ou lidas do
+ * banco, com uso de memória constante.
+ */
+@RestController
+@CrossOrigin(
+        origins = {"http://localhost:80", "http://localhost:4200"},
+        exposedHeaders = HttpHeaders.ETAG,
+        maxAge = BeneficioController.MAX_AGE)
+@RequestMapping("/api/v1/beneficios")
+@Tag(name = "Benefícios", description = "Endpoint de gestão de benefícios bancários")
+public class ImportacaoExportacaoController {
+
+    private static final int TAMANHO_BUFFER_GZIP = 8192;
+
+    private final ImportacaoBeneficios importacaoBeneficios;
+
+    private final ExportacaoBeneficios exportacaoBeneficios;
+
+    public ImportacaoExportacaoController(
+            final ImportacaoBeneficios importacaoBeneficios, final ExportacaoBeneficios exportacaoBeneficios) {
+        this.importacaoBeneficios =
+                Objects.requireNonNull(importacaoBeneficios, "ImportacaoBeneficios não pode ser nula");
+        this.exportacaoBeneficios =
+                Objects.requireNonNull(exportacaoBeneficios, "ExportacaoBeneficios não pode ser nula");
+    }
+
+    @Operation(
+            summary = "Importar benefícios em massa",
+            description = "Importa benefícios a partir de um CSV (cabeçalho com nome, descricao, valor e ativo) "
+                    + "ou de NDJSON (um objeto por linha), lido à medida que é recebido e gravado em lotes. "
+                    + "Linhas inválidas são recusadas individualmente e listadas na resposta")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Importação concluída; verifique as linhas recusadas",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ImportacaoResponseDto.class))),
+                @ApiResponse(responseCode = "400", description = "Cabeçalho do CSV inválido"),
+                @ApiResponse(responseCode = "415", description = "Formato não suportado"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PostMapping(
+            path = "/importacao",
+            consumes = {ImportacaoBeneficios.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ImportacaoResponseDto> importarBeneficios(final HttpServletRequest request)
+            throws IOException {
+        ImportacaoBeneficios.Formato formato =
+                MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        ? ImportacaoBeneficios.Formato.NDJSON
+                        : ImportacaoBeneficios.Formato.CSV;
+        return ResponseEntity.ok(importacaoBeneficios.importar(formato, request.getInputStream()));
+    }
+
+    @Operation(
+            summary = "Exportar benefícios e saldos",
+            description = "Exporta os benefícios em NDJSON (um objeto por linha) ou CSV, escritos à medida que são "
+                    + "lidos do banco, com uso de memória constante. Aceita filtros por status e parte do nome e "
+                    + "comprime a resposta com gzip quando o cliente envia Accept-Encoding: gzip")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Benefícios exportados com sucesso",
+                        content = {
+                            @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                            @Content(mediaType = ImportacaoBeneficios.TEXT_CSV_VALUE)
+                        }),
+                @ApiResponse(responseCode = "400", description = "Formato ou filtros inválidos"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @GetMapping(path = "/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarBeneficios(
+            @Parameter(description = "Formato da exportação (NDJSON ou CSV)", example = "CSV")
+                    @RequestParam(defaultValue = "NDJSON")
+                    final ExportacaoBeneficios.Formato formato,
+            @Parameter(description = "Status dos benefícios (todos quando omitido)", example = "true")
+                    @RequestParam(required = false)
+                    final Boolean ativo,
+            @Parameter(description = "Nome ou parte do nome", example = "vale") @RequestParam(required = false)
+                    final String nome,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) final String acceptEncoding) {
+        exportacaoBeneficios.validarFiltros(nome);
+        boolean gzip = CodificacaoAceita.gzip(acceptEncoding);
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream compactado = new GZIPOutputStream(outputStream, TAMANHO_BUFFER_GZIP);
+                exportacaoBeneficios.exportar(formato, ativo, nome, compactado);
+                compactado.finish();
+            } else {
+                exportacaoBeneficios.exportar(formato, ativo, nome, outputStream);
+            }
+        };
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getMediaType()))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment()
+                                .filename("beneficios." + formato.getExtensao())
+                                .build()
+                                .toString());
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(body);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.backend.controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Avaliação dos cabeçalhos condicionais If-None-Match e If-Match (RFC 9110, seção 13.1).
+ * <p>
+ * As versões dos benefícios são enviadas como ETags fortes ({@code "3"}). If-None-Match usa a
+ * comparação fraca, em que {@code W/"3"} corresponde a {@code "3"}; If-Match usa a comparação forte,
+ * em que ETags fracas nunca correspondem.
+ * <p>
+ * Uma ETag forte identifica uma representação: a representação CBOR da mesma versão recebe o sufixo
+ * {@value #SUFIXO_CBOR} ({@code "3-cbor"}), de modo que um cache nunca valide os bytes JSON com a ETag
+ * do CBOR ou vice-versa. Em If-Match o sufixo é ignorado, já que ambas identificam a mesma versão.
+ */
+final class PrecondicoesEtag {
+
+    static final String SUFIXO_CBOR = "-cbor";
+
+    /* Representações das consultas, na ordem de "produces": a primeira é escolhida em caso de empate. */
+    private static final List<MediaType> REPRESENTACOES =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR);
+
+    private static final String CURINGA = "*";
+
+    private static final String PREFIXO_FRACA = "W/";
+
+    private static final char ASPAS = '"';
+
+    private PrecondicoesEtag() { }
+
+    /**
+     * @param versao Versão atual do recurso; pode ser nula
+     * @param accept Valor do cabeçalho Accept; pode ser nulo
+     * @return ETag da representação que será enviada para o Accept informado (nula sem versão)
+     */
+    static String etag(final String versao, final String accept) {
+        return versao != null && representacaoCbor(accept) ? versao + SUFIXO_CBOR : versao;
+    }
+
+    /**
+     * @param ifNoneMatch Valor do cabeçalho If-None-Match; pode ser nulo
+     * @param versao ETag atual da representação, obtida por {@link #etag(String, String)}; pode ser nula
+     * @return se alguma ETag informada corresponde à versão atual (comparação fraca)
+     */
+    static boolean naoModificado(final String ifNoneMatch, final String versao) {
+        if (ifNoneMatch == null || versao == null) {
+            return false;
+        }
+        for (String etag : separar(ifNoneMatch)) {
+            if (CURINGA.equals(etag) || versao.equals(valor(removerFraca(etag)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param ifMatch Valor do cabeçalho If-Match; pode ser nulo
+     * @return versões aceitas para a alteração (comparação forte, sem as ETags fracas), possivelmente
+     *      vazia; nula sem o cabeçalho ou com {@code *}, quando a versão não é verificada
+     * @throws IllegalArgumentException se o cabeçalho não contiver ETags válidas
+     */
+    static Set<String> versoesAceitas(final String ifMatch) throws IllegalArgumentException {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<String> etags = separar(ifMatch);
+        if (etags.isEmpty()) {
+            throw new IllegalArgumentException("Cabeçalho If-Match inválido");
+        }
+        Set<String> versoes = new LinkedHashSet<>();
+        for (String etag : etags) {
+            if (CURINGA.equals(etag)) {
+                return null;
+            }
+            if (!etag.startsWith(PREFIXO_FRACA)) {
+                versoes.add(removerSufixo(valor(etag)));
+            }
+        }
+        return versoes;
+    }
+
+    /*
+     * Repete a escolha da negociação de conteúdo do Spring MVC entre JSON e CBOR: os tipos aceitos são
+     * ordenados por especificidade e qualidade e vale o primeiro compatível, com empate resolvido pela
+     * ordem das representações. Um Accept inválido é recusado pela negociação; aqui mantém a ETag do JSON.
+     */
+    private static boolean representacaoCbor(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            for (MediaType representacao : REPRESENTACOES) {
+                if (aceito.getQualityValue() > 0 && aceito.isCompatibleWith(representacao)) {
+                    return MediaType.APPLICATION_CBOR.equals(representacao);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String removerSufixo(final String versao) {
+        return versao.endsWith(SUFIXO_CBOR) ? versao.substring(0, versao.length() - SUFIXO_CBOR.length()) : versao;
+    }
+
+    /* Separa a lista de ETags; vírgulas dentro das aspas fazem parte da ETag. */
+    private static List<String> separar(final String cabecalho) {
+        List<String> etags = new ArrayList<>();
+        boolean entreAspas = false;
+        int inicio = 0;
+        for (int i = 0; i < cabecalho.length(); i++) {
+            char c = cabecalho.charAt(i);
+            if (c == ASPAS) {
+                entreAspas = !entreAspas;
+            } else if (c == ',' && !entreAspas) {
+                adicionar(etags, cabecalho.substring(inicio, i));
+                inicio = i + 1;
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("ETag sem aspas de fechamento: " + cabecalho);
+        }
+        adicionar(etags, cabecalho.substring(inicio));
+        return etags;
+    }
+
+    private static void adicionar(final List<String> etags, final String etag) {
+        String aparada = etag.strip();
+        if (!aparada.isEmpty()) {
+            etags.add(aparada);
+        }
+    }
+
+    private static String removerFraca(final String etag) {
+        return etag.startsWith(PREFIXO_FRACA) ? etag.substring(PREFIXO_FRACA.length()) : etag;
+    }
+
+    /* Conteúdo entre aspas; ETags sem aspas, enviadas por alguns clientes, são aceitas como estão. */
+    private static String valor(final String etag) {
+        if (etag.length() > 1 && etag.charAt(0) == ASPAS && etag.charAt(etag.length() - 1) == ASPAS) {
+            return etag.substring(1, etag.length() - 1);
+        }
+        return etag;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.backend.controller;
+
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.SolicitacaoTransferenciaDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.service.BeneficioService;
+import com.example.backend.service.FilaTransferencias;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Transferências entre benefícios: síncrona, em lote e assíncrona (fila com chave de idempotência), e o
+ * histórico de transferências de cada benefício.
+ */
+@RestController
+@CrossOrigin(
+        origins = {"http://localhost:80", "http://localhost:4200"},
+        exposedHeaders = HttpHeaders.ETAG,
+        maxAge = BeneficioController.MAX_AGE)
+@RequestMapping("/api/v1/beneficios")
+@Tag(name = "Benefícios", description = "Endpoint de gestão de benefícios bancários")
+public class TransferenciaController {
+
+    private final BeneficioService beneficioService;
+
+    private final FilaTransferencias filaTransferencias;
+
+    public TransferenciaController(final BeneficioService service, final FilaTransferencias filaTransferencias) {
+        this.beneficioService = Objects.requireNonNull(service, "BeneficioService não pode ser nulo");
+        this.filaTransferencias = Objects.requireNonNull(filaTransferencias, "FilaTransferencias não pode ser nula");
+    }
+
+    @Operation(
+            summary = "Realizar transferência entre benefícios",
+            description = "Transfere um valor de um benefício para outro, com validação de saldo e status")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Transferência realizada com sucesso"),
+                @ApiResponse(responseCode = "400", description = "Dados de transferência inválidos"),
+                @ApiResponse(responseCode = "404", description = "Benefício não encontrado"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao realizar transferência"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PostMapping(path = "/transferir")
+    public ResponseEntity<Void> realizarTransferencia(
+            @Parameter(description = "Dados da transferência (fromId, toId, valor)", required = true)
+                    @Valid
+                    @RequestBody
+                    final TransferenciaDto dto) {
+        beneficioService.realizarTransferencia(dto);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(
+            summary = "Realizar transferências em lote",
+            description = "Aplica uma lista de transferências em uma única transação, bloqueando os benefícios "
+                    + "envolvidos uma única vez, e retorna o resultado de cada item")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Lote processado; cada item informa se foi aplicado ou recusado",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = TransferenciaLoteResponseDto.class))),
+                @ApiResponse(responseCode = "400", description = "Lote vazio ou acima do tamanho máximo"),
+                @ApiResponse(responseCode = "422", description = "Erro de negócio ao realizar transferências"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PostMapping(
+            path = "/transferir/lote",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<TransferenciaLoteResponseDto> realizarTransferenciaEmLote(
+            @Parameter(description = "Lista de transferências (fromId, toId, valor)", required = true) @RequestBody
+                    final List<TransferenciaDto> transferencias) {
+        return ResponseEntity.ok(beneficioService.realizarTransferenciaEmLote(transferencias));
+    }
+
+    @Operation(
+            summary = "Submeter transferência assíncrona",
+            description = "Enfileira a transferência e retorna imediatamente; a situação é consultada pela chave "
+                    + "informada em Idempotency-Key. Repetir a chave devolve a solicitação original sem nova execução")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "202",
+                        description = "Transferência enfileirada (ou repetida e ainda pendente)",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = SolicitacaoTransferenciaDto.class))),
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Chave repetida de transferência já processada",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = SolicitacaoTransferenciaDto.class))),
+                @ApiResponse(responseCode = "400", description = "Dados de transferência ou chave inválidos"),
+                @ApiResponse(responseCode = "422", description = "Chave já utilizada em outra transferência"),
+                @ApiResponse(responseCode = "429", description = "Fila de transferências cheia"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @PostMapping(
+            path = "/transferir/async",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<SolicitacaoTransferenciaDto> submeterTransferencia(
+            @Parameter(description = "Chave de idempotência da transferência", required = true, example = "pedido-123")
+                    @RequestHeader("Idempotency-Key")
+                    final String chave,
+            @Parameter(description = "Dados da transferência (fromId, toId, valor)", required = true)
+                    @Valid
+                    @RequestBody
+                    final TransferenciaDto dto) {
+        SolicitacaoTransferenciaDto solicitacao = filaTransferencias.submeter(chave, dto);
+        HttpStatus status = solicitacao.getStatus() == SolicitacaoTransferenciaDto.Status.PENDENTE
+                ? HttpStatus.ACCEPTED
+                : HttpStatus.OK;
+        return ResponseEntity.status(status)
+                .location(ServletUriComponentsBuilder.fromCurrentRequestUri()
+                        .path("/{chave}")
+                        .buildAndExpand(chave)
+                        .toUri())
+                .body(solicitacao);
+    }
+
+    @Operation(
+            summary = "Consultar transferência assíncrona",
+            description = "Retorna a situação (PENDENTE, CONCLUIDA, RECUSADA ou INDETERMINADA) de uma "
+                    + "transferência submetida")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Situação da transferência retornada com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = SolicitacaoTransferenciaDto.class))),
+                @ApiResponse(responseCode = "404", description = "Solicitação não encontrada ou expirada"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @GetMapping(
+            path = "/transferir/async/{chave}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<SolicitacaoTransferenciaDto> consultarTransferencia(
+            @Parameter(description = "Chave de idempotência da transferência", required = true, example = "pedido-123")
+                    @PathVariable
+                    final String chave) {
+        return ResponseEntity.ok(filaTransferencias.consultar(chave));
+    }
+
+    @Operation(
+            summary = "Listar histórico de transferências do benefício",
+            description = "Retorna uma página das transferências em que o benefício é origem ou destino, da mais "
+                    + "recente para a mais antiga, usando paginação por cursor (keyset). Envie o proximoCursor "
+                    + "retornado para obter a página seguinte")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Página do histórico retornada com sucesso",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PaginaTransferenciaDto.class))),
+                @ApiResponse(responseCode = "400", description = "ID, cursor ou limite inválidos"),
+                @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+            })
+    @GetMapping(
+            path = "/{id}/transferencias",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<PaginaTransferenciaDto> buscarTransferencias(
+            @Parameter(description = "ID único do benefício", required = true, example = "1") @PathVariable
+                    final Long id,
+            @Parameter(description = "ID do último lançamento da página anterior", example = "120")
+                    @RequestParam(required = false)
+                    final Long cursor,
+            @Parameter(description = "Quantidade máxima de itens da página", example = "50")
+                    @RequestParam(required = false)
+                    final Integer limite) {
+        return ResponseEntity.ok(beneficioService.buscarTransferencias(id, cursor, limite));
+    }
+}
@@ -1,12 +1,12 @@
 package com.example.backend.dto;
 
 import com.example.backend.validator.BeneficioValidator;
+import com.example.ejb.model.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -31,12 +31,11 @@ public class BeneficioRequestDto {
             example = "Vale Refeição",
             minLength = BeneficioValidator.NOME_MIN_LENGTH,
             maxLength = BeneficioValidator.NOME_MAX_LENGTH)
-    @NotBlank(message = "Nome é obrigatório")
+    @NotBlank(message = BeneficioValidator.MENSAGEM_NOME_OBRIGATORIO)
     @Size(
             min = BeneficioValidator.NOME_MIN_LENGTH,
             max = BeneficioValidator.NOME_MAX_LENGTH,
-            message = "Nome deve ter entre " + BeneficioValidator.NOME_MIN_LENGTH + " e "
-                    + BeneficioValidator.NOME_MAX_LENGTH + " caracteres")
+            message = BeneficioValidator.MENSAGEM_NOME_TAMANHO)
     private String nome;
 
     @Schema(
@@ -45,17 +44,17 @@ public class BeneficioRequestDto {
             maxLength = BeneficioValidator.DESCRICAO_MAX_LENGTH)
     @Size(
             max = BeneficioValidator.DESCRICAO_MAX_LENGTH,
-            message = "Descrição deve ter no máximo " + BeneficioValidator.DESCRICAO_MAX_LENGTH + " caracteres")
+            message = BeneficioValidator.MENSAGEM_DESCRICAO_TAMANHO)
     private String descricao;
 
     @Schema(description = "Valor do benefício", example = "500.00", minimum = BeneficioValidator.MIN_VALOR_BENEFICIO)
-    @NotNull(message = "Valor é obrigatório")
+    @NotNull(message = BeneficioValidator.MENSAGEM_VALOR_OBRIGATORIO)
     @DecimalMin(
             value = BeneficioValidator.MIN_VALOR_BENEFICIO,
-            message = "Valor deve ser maior que " + BeneficioValidator.MIN_VALOR_BENEFICIO)
-    private BigDecimal valor;
+            message = BeneficioValidator.MENSAGEM_VALOR_MINIMO)
+    private Money valor;
 
     @Schema(description = "Status do benefício (ativo ou cancelado)", example = "true")
-    @NotNull(message = "Status é obrigatório")
+    @NotNull(message = BeneficioValidator.MENSAGEM_STATUS_OBRIGATORIO)
     private Boolean ativo;
 }
@@ -1,10 +1,10 @@
 package com.example.backend.dto;
 
 import com.example.backend.validator.BeneficioValidator;
+import com.example.ejb.model.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Size;
-import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -50,7 +50,7 @@ public class BeneficioResponseDto {
     @DecimalMin(
             value = BeneficioValidator.MIN_VALOR_BENEFICIO,
             message = "Valor deve ser maior que " + BeneficioValidator.MIN_VALOR_BENEFICIO)
-    private BigDecimal valor;
+    private Money valor;
 
     @Schema(description = "Status do benefício (ativo ou cancelado)", example = "true")
     private Boolean ativo;
@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO com o motivo da recusa de uma linha da importação em massa.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "ErroImportacao", description = "Linha recusada na importação de benefícios")
+public class ErroImportacaoDto {
+
+    @Schema(description = "Número da linha no arquivo enviado (iniciando em um)", example = "7")
+    private long linha;
+
+    @Schema(description = "Motivo da recusa", example = "Valor inválido: 12,50")
+    private String mensagem;
+}
@@ -0,0 +1,35 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO com as esperas por bloqueio pessimista de um benefício em uma janela de tempo.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "EsperaBloqueio", description = "Esperas por bloqueio de um benefício nas transferências recentes")
+public class EsperaBloqueioDto {
+
+    @Schema(description = "ID do benefício bloqueado", example = "1")
+    private Long beneficioId;
+
+    @Schema(description = "Quantidade de bloqueios obtidos (ou desistidos) na janela", example = "42")
+    private long esperas;
+
+    @Schema(description = "Soma dos tempos de espera, em milissegundos", example = "315.2")
+    private double tempoTotalMs;
+
+    @Schema(description = "Maior tempo de espera, em milissegundos", example = "48.7")
+    private double tempoMaximoMs;
+
+    @Schema(description = "Tempo médio de espera, em milissegundos", example = "7.5")
+    private double tempoMedioMs;
+}
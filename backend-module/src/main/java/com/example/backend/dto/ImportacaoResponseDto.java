@@ -0,0 +1,33 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO de resposta de uma importação de benefícios em massa.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "ImportacaoResponse", description = "Resumo e linhas recusadas de uma importação de benefícios")
+public class ImportacaoResponseDto {
+
+    @Schema(description = "Quantidade de registros lidos (sem cabeçalho e linhas em branco)", example = "1000")
+    private long total;
+
+    @Schema(description = "Quantidade de benefícios gravados", example = "998")
+    private long importados;
+
+    @Schema(description = "Quantidade de registros recusados", example = "2")
+    private long rejeitados;
+
+    @Schema(description = "Linhas recusadas e o motivo, limitadas às primeiras recusas")
+    private List<ErroImportacaoDto> erros;
+}
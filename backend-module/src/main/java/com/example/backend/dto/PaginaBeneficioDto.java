@@ -0,0 +1,32 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO de uma página de benefícios obtida por paginação keyset (cursor no ID).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "PaginaBeneficio", description = "Página de benefícios ordenada por ID com cursor para a próxima página")
+public class PaginaBeneficioDto {
+
+    @Schema(description = "Benefícios da página, em ordem crescente de ID")
+    private List<BeneficioResponseDto> itens;
+
+    @Schema(description = "Quantidade máxima de itens solicitada", example = "50")
+    private int limite;
+
+    @Schema(
+            description = "Cursor a ser enviado para obter a próxima página; nulo quando não há mais itens",
+            example = "51")
+    private Long proximoCursor;
+}
@@ -0,0 +1,34 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO de uma página do histórico de transferências obtida por paginação keyset (cursor no ID).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(
+        name = "PaginaTransferencia",
+        description = "Página do histórico de transferências, da mais recente para a mais antiga, com cursor")
+public class PaginaTransferenciaDto {
+
+    @Schema(description = "Lançamentos da página, em ordem decrescente de ID")
+    private List<TransferenciaHistoricoDto> itens;
+
+    @Schema(description = "Quantidade máxima de itens solicitada", example = "50")
+    private int limite;
+
+    @Schema(
+            description = "Cursor a ser enviado para obter a próxima página; nulo quando não há mais itens",
+            example = "52")
+    private Long proximoCursor;
+}
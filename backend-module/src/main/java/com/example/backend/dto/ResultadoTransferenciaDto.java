@@ -0,0 +1,41 @@
+package com.example.backend.dto;
+
+import com.example.ejb.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO com o resultado de um item de uma transferência em lote.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "ResultadoTransferencia", description = "Resultado individual de um item da transferência em lote")
+public class ResultadoTransferenciaDto {
+
+    @Schema(description = "Posição do item no lote enviado (iniciando em zero)", example = "0")
+    private int indice;
+
+    @Schema(description = "ID do benefício de origem", example = "1")
+    private Long fromId;
+
+    @Schema(description = "ID do benefício de destino", example = "2")
+    private Long toId;
+
+    @Schema(description = "Valor da transferência", example = "150.50")
+    private Money valor;
+
+    @Schema(description = "Indica se o item foi aplicado", example = "true")
+    private boolean sucesso;
+
+    @Schema(
+            description = "Motivo da recusa quando o item não foi aplicado",
+            example = "Saldo insuficiente para transferência")
+    private String mensagem;
+}
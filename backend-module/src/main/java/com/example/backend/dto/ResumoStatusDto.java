@@ -0,0 +1,30 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO com a quantidade e o saldo total dos benefícios de um status.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "ResumoStatus", description = "Quantidade e saldo total dos benefícios de um status")
+public class ResumoStatusDto {
+
+    @Schema(description = "Status dos benefícios (true = ativos, false = cancelados)", example = "true")
+    private boolean ativo;
+
+    @Schema(description = "Quantidade de benefícios com o status", example = "2")
+    private long quantidade;
+
+    @Schema(description = "Soma dos saldos, incluindo as partições", example = "1500.00")
+    private BigDecimal valorTotal;
+}
@@ -0,0 +1,57 @@
+package com.example.backend.dto;
+
+import com.example.ejb.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO com a situação de uma transferência submetida de forma assíncrona.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "SolicitacaoTransferencia", description = "Situação de uma transferência submetida à fila assíncrona")
+public class SolicitacaoTransferenciaDto {
+
+    /**
+     * Situação da solicitação: aguardando processamento, aplicada, recusada ou com desfecho desconhecido
+     * (falha ao confirmar o commit; não é executada novamente).
+     */
+    public enum Status {
+        PENDENTE,
+        CONCLUIDA,
+        RECUSADA,
+        INDETERMINADA
+    }
+
+    @Schema(description = "Chave de idempotência informada no cabeçalho Idempotency-Key", example = "pedido-123")
+    private String chave;
+
+    @Schema(description = "Situação da solicitação", example = "PENDENTE")
+    private Status status;
+
+    @Schema(description = "ID do benefício de origem", example = "1")
+    private Long fromId;
+
+    @Schema(description = "ID do benefício de destino", example = "2")
+    private Long toId;
+
+    @Schema(description = "Valor da transferência", example = "150.50")
+    private Money valor;
+
+    @Schema(description = "Motivo da recusa quando a transferência não foi aplicada", example = "Saldo insuficiente")
+    private String mensagem;
+
+    @Schema(description = "Data e hora do recebimento da solicitação", example = "2024-05-10T14:30:00Z")
+    private Instant recebidaEm;
+
+    @Schema(description = "Data e hora do processamento; nula enquanto pendente", example = "2024-05-10T14:30:01Z")
+    private Instant processadaEm;
+}
@@ -1,10 +1,10 @@
 package com.example.backend.dto;
 
 import com.example.backend.validator.BeneficioValidator;
+import com.example.ejb.model.Money;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,20 +23,20 @@ import lombok.Setter;
 public class TransferenciaDto {
 
     @Schema(description = "ID do benefício de origem (onde o valor será debitado)", example = "1")
-    @NotNull(message = "ID de origem é obrigatório")
+    @NotNull(message = BeneficioValidator.MENSAGEM_ORIGEM_OBRIGATORIA)
     private Long fromId;
 
     @Schema(description = "ID do benefício de destino (onde o valor será creditado)", example = "2")
-    @NotNull(message = "ID de destino é obrigatório")
+    @NotNull(message = BeneficioValidator.MENSAGEM_DESTINO_OBRIGATORIO)
     private Long toId;
 
     @Schema(
             description = "Valor a ser transferido entre benefícios",
             example = "150.50",
             minimum = BeneficioValidator.MIN_VALOR_TRANSFERENCIA)
-    @NotNull(message = "Valor da transferência é obrigatório")
+    @NotNull(message = BeneficioValidator.MENSAGEM_VALOR_TRANSFERENCIA_OBRIGATORIO)
     @DecimalMin(
             value = BeneficioValidator.MIN_VALOR_TRANSFERENCIA,
-            message = "Valor de transferência deve ser maior que " + BeneficioValidator.MIN_VALOR_TRANSFERENCIA)
-    private BigDecimal valor;
+            message = BeneficioValidator.MENSAGEM_VALOR_TRANSFERENCIA_MINIMO)
+    private Money valor;
 }
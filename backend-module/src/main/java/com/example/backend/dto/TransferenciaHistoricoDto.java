@@ -0,0 +1,47 @@
+package com.example.backend.dto;
+
+import com.example.ejb.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO de um lançamento do histórico de transferências.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "TransferenciaHistorico", description = "Lançamento do histórico de transferências entre benefícios")
+public class TransferenciaHistoricoDto {
+
+    @Schema(description = "ID do lançamento", example = "101")
+    private Long id;
+
+    @Schema(description = "ID do benefício de origem", example = "1")
+    private Long fromId;
+
+    @Schema(description = "ID do benefício de destino", example = "2")
+    private Long toId;
+
+    @Schema(description = "Valor transferido", example = "150.50")
+    private Money valor;
+
+    @Schema(description = "Data e hora da transferência", example = "2024-05-10T14:30:00Z")
+    private Instant dataHora;
+
+    @Schema(
+            description = "Saldo da origem após a transferência; nulo quando não registrado",
+            example = "849.50")
+    private Money saldoOrigem;
+
+    @Schema(
+            description = "Saldo do destino após a transferência; nulo quando não registrado",
+            example = "650.50")
+    private Money saldoDestino;
+}
@@ -0,0 +1,33 @@
+package com.example.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO de resposta de uma transferência em lote.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(name = "TransferenciaLoteResponse", description = "Resumo e resultados de uma transferência em lote")
+public class TransferenciaLoteResponseDto {
+
+    @Schema(description = "Quantidade de itens recebidos no lote", example = "3")
+    private int total;
+
+    @Schema(description = "Quantidade de itens aplicados com sucesso", example = "2")
+    private int sucessos;
+
+    @Schema(description = "Quantidade de itens recusados", example = "1")
+    private int falhas;
+
+    @Schema(description = "Resultado de cada item, na ordem recebida")
+    private List<ResultadoTransferenciaDto> resultados;
+}
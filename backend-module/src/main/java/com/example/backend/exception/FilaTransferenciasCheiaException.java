@@ -0,0 +1,11 @@
+package com.example.backend.exception;
+
+/* Exceção lançada quando a fila de transferências assíncronas atinge a capacidade máxima. */
+public class FilaTransferenciasCheiaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FilaTransferenciasCheiaException(final String message) {
+        super(message);
+    }
+}
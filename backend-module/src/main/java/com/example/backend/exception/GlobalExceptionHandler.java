@@ -117,4 +117,25 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         ResponseError error = responseError(e.getMessage(), HttpStatus.BAD_REQUEST);
         return handleExceptionInternal(e, error, new HttpHeaders(headers()), HttpStatus.BAD_REQUEST, request);
     }
+
+    /* Manipulador para versão divergente da informada em If-Match, que retorna um erro 412 */
+    @ExceptionHandler(VersaoDivergenteException.class)
+    ResponseEntity<Object> handleVersaoDivergenteException(
+            @NonNull final VersaoDivergenteException e, @NonNull final WebRequest request) {
+        ResponseError error = responseError(e.getMessage(), HttpStatus.PRECONDITION_FAILED);
+        return handleExceptionInternal(e, error, new HttpHeaders(headers()), HttpStatus.PRECONDITION_FAILED, request);
+    }
+
+    /*
+     * Manipulador para sobrecarga (fila de transferências cheia ou limite de transferências simultâneas),
+     *  que retorna um erro 429 com sugestão de nova tentativa
+     */
+    @ExceptionHandler({FilaTransferenciasCheiaException.class, LimiteTransferenciasException.class})
+    ResponseEntity<Object> handleTooManyRequests(@NonNull final RuntimeException e, @NonNull final WebRequest request) {
+        ResponseError error = responseError(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        MultiValueMap<String, String> httpHeaders = headers();
+        httpHeaders.add(HttpHeaders.RETRY_AFTER, "1");
+        return handleExceptionInternal(
+                e, error, new HttpHeaders(httpHeaders), HttpStatus.TOO_MANY_REQUESTS, request);
+    }
 }
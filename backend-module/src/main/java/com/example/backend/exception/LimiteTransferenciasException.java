@@ -0,0 +1,11 @@
+package com.example.backend.exception;
+
+/* Exceção lançada quando o limite de transferências simultâneas é atingido. */
+public class LimiteTransferenciasException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LimiteTransferenciasException(final String message) {
+        super(message);
+    }
+}
@@ -29,28 +29,28 @@ public class ResponseError {
     /**
      * @return the timestamp
      */
-    String getTimestamp() {
+    public String getTimestamp() {
         return timestamp.toString();
     }
 
     /**
      * @return the error
      */
-    String getError() {
+    public String getError() {
         return error;
     }
 
     /**
      * @return the statusCode
      */
-    int getStatusCode() {
+    public int getStatusCode() {
         return statusCode;
     }
 
     /**
      * @return the status
      */
-    String getStatus() {
+    public String getStatus() {
         return status;
     }
 }
@@ -0,0 +1,11 @@
+package com.example.backend.exception;
+
+/* Exceção lançada quando a versão informada em If-Match não é a versão atual do benefício. */
+public class VersaoDivergenteException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public VersaoDivergenteException(final String message) {
+        super(message);
+    }
+}
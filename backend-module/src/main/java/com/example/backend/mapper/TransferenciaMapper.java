@@ -0,0 +1,85 @@
+package com.example.backend.mapper;
+
+import com.example.backend.dto.ResultadoTransferenciaDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaHistoricoDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.ejb.entity.Transferencia;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.ResultadoTransferencia;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Classe Mapper responsável pela conversão entre os DTOs de transferência e os modelos do módulo EJB.
+ */
+public class TransferenciaMapper {
+
+    /**
+     * Converte um TransferenciaDto para um item de transferência do EJB
+     * @param dto DTO de transferência
+     * @return ItemTransferencia correspondente, ou um item vazio se o DTO for null (recusado pelo EJB)
+     */
+    public static ItemTransferencia mapItem(final TransferenciaDto dto) {
+        if (dto == null) {
+            return new ItemTransferencia();
+        }
+        return new ItemTransferencia(dto.getFromId(), dto.getToId(), dto.getValor());
+    }
+
+    /**
+     * Converte o resultado de um item de transferência do EJB para DTO
+     * @param resultado resultado do item processado
+     * @return ResultadoTransferenciaDto correspondente, ou null se o resultado for null
+     */
+    public static ResultadoTransferenciaDto mapResultado(final ResultadoTransferencia resultado) {
+        if (resultado == null) {
+            return null;
+        }
+        return ResultadoTransferenciaDto.builder()
+                .indice(resultado.getIndice())
+                .fromId(resultado.getFromId())
+                .toId(resultado.getToId())
+                .valor(resultado.getValor())
+                .sucesso(resultado.isSucesso())
+                .mensagem(resultado.getMensagem())
+                .build();
+    }
+
+    /**
+     * Converte a lista de resultados do EJB para o DTO de resposta do lote
+     * @param resultados resultados de cada item, na ordem do lote
+     * @return TransferenciaLoteResponseDto com totais e resultados individuais
+     */
+    public static TransferenciaLoteResponseDto mapLote(final List<ResultadoTransferencia> resultados) {
+        List<ResultadoTransferenciaDto> itens =
+                resultados.stream().map(TransferenciaMapper::mapResultado).collect(Collectors.toList());
+        int sucessos = (int) itens.stream().filter(ResultadoTransferenciaDto::isSucesso).count();
+        return TransferenciaLoteResponseDto.builder()
+                .total(itens.size())
+                .sucessos(sucessos)
+                .falhas(itens.size() - sucessos)
+                .resultados(itens)
+                .build();
+    }
+
+    /**
+     * Converte um lançamento do histórico de transferências para DTO
+     * @param transferencia lançamento do histórico
+     * @return TransferenciaHistoricoDto correspondente, ou null se o lançamento for null
+     */
+    public static TransferenciaHistoricoDto mapHistorico(final Transferencia transferencia) {
+        if (transferencia == null) {
+            return null;
+        }
+        return TransferenciaHistoricoDto.builder()
+                .id(transferencia.getId())
+                .fromId(transferencia.getOrigemId())
+                .toId(transferencia.getDestinoId())
+                .valor(transferencia.getValor())
+                .dataHora(transferencia.getDataHora())
+                .saldoOrigem(transferencia.getSaldoOrigem())
+                .saldoDestino(transferencia.getSaldoDestino())
+                .build();
+    }
+}
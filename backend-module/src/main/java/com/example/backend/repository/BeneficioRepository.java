@@ -1,25 +1,42 @@
 package com.example.backend.repository;
 
+import com.example.backend.dto.BeneficioResponseDto;
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 /**
  * Repositório para a entidade Beneficio.
+ * <p>
+ * O VALOR do benefício e das partições é mapeado como Money; o JPQL não aceita aritmética sobre o atributo
+ * convertido, por isso as somas o leem com {@code CAST(... AS BigDecimal)} e devolvem BigDecimal.
  */
 @Repository
 public interface BeneficioRepository extends JpaRepository<Beneficio, Long> {
 
     /**
-     * Filtra benefícios por parte do nome usando filtro case-insensitive com LIKE.
+     * Filtra benefícios por parte do nome usando filtro case-insensitive com LIKE. Percorre a
+     * tabela inteira: usado apenas enquanto o índice de busca em memória não está carregado.
      *
      * @param nome Nome ou parte do nome do benefício a ser pesquisado
-     * @return Lista de benefícios que correspondem ao critério de busca
+     * @param pageable Limite de registros retornados
+     * @return Lista de benefícios que correspondem ao critério de busca, em ordem de ID
      */
-    @Query("SELECT tab FROM Beneficio tab WHERE LOWER(tab.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Beneficio> searchByNome(String nome);
+    @Query("SELECT tab FROM Beneficio tab WHERE LOWER(tab.nome) LIKE LOWER(CONCAT('%', :nome, '%')) ORDER BY tab.id")
+    List<Beneficio> searchByNome(String nome, Pageable pageable);
 
     /**
      * Filtra benefícios pelo status (ativo ou cancelado).
@@ -27,6 +44,173 @@ public interface BeneficioRepository extends JpaRepository<Beneficio, Long> {
      * @param status Status do benefício (true = ativo, false = cancelado)
      * @return Lista de benefícios com o status informado
      */
-    @Query("select tab from Beneficio tab where tab.ativo = :status")
+    @Query("select tab from Beneficio tab where tab.ativo = :status order by tab.id")
     List<Beneficio> searchByStatus(Boolean status);
+
+    /**
+     * Conta os benefícios e soma o VALOR da linha principal, agrupados por status.
+     *
+     * @return Quantidade e saldo (sem partições) de cada status existente
+     */
+    @Query("SELECT tab.ativo AS ativo, COUNT(tab) AS quantidade, SUM(CAST(tab.valor AS BigDecimal)) AS valor "
+            + "FROM Beneficio tab GROUP BY tab.ativo")
+    List<TotalStatus> sumByStatus();
+
+    /**
+     * Soma o saldo das partições agrupado pelo status do benefício.
+     *
+     * @return Saldo das partições de cada status com benefícios particionados
+     */
+    @Query("SELECT tab.ativo AS ativo, SUM(CAST(p.valor AS BigDecimal)) AS valor "
+            + "FROM BeneficioParticao p, Beneficio tab WHERE p.beneficioId = tab.id GROUP BY tab.ativo")
+    List<SaldoStatus> sumParticoesByStatus();
+
+    /**
+     * Busca uma página de benefícios por paginação keyset: apenas os registros com ID maior
+     * que o cursor, em ordem de ID, usando o índice da chave primária em vez de OFFSET.
+     *
+     * @param cursor Último ID retornado na página anterior (0 para a primeira página)
+     * @param pageable Limite de registros da página (deve ser sempre a primeira página)
+     * @return Lista de benefícios com ID maior que o cursor, limitada ao tamanho da página
+     */
+    @Query("SELECT tab FROM Beneficio tab WHERE tab.id > :cursor ORDER BY tab.id")
+    List<Beneficio> searchPageAfter(Long cursor, Pageable pageable);
+
+    /**
+     * Percorre todos os benefícios já projetados em DTO, buscando as linhas do banco em blocos.
+     * Como os DTOs não são entidades gerenciadas, o contexto de persistência não cresce durante
+     * a leitura. Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return Stream de benefícios em ordem crescente de ID
+     */
+    default Stream<BeneficioResponseDto> streamAll() {
+        return streamLinhas().map(linha -> BeneficioResponseDto.builder()
+                .id(linha.get("id", Long.class))
+                .nome(linha.get("nome", String.class))
+                .descricao(linha.get("descricao", String.class))
+                .valor(Money.of(linha.get("valor", BigDecimal.class)))
+                .ativo(linha.get("ativo", Boolean.class))
+                .version(linha.get("versao", Long.class))
+                .build());
+    }
+
+    /**
+     * Linhas de {@link #streamAll()}, com o saldo total somado no banco. O saldo é lido como BigDecimal e
+     * convertido para Money no mapeamento.
+     *
+     * @return Stream de linhas em ordem crescente de ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT tab.id AS id, tab.nome AS nome, tab.descricao AS descricao, CAST(tab.valor AS BigDecimal)"
+            + " + COALESCE((SELECT SUM(CAST(p.valor AS BigDecimal)) FROM BeneficioParticao p"
+            + " WHERE p.beneficioId = tab.id), 0) AS valor, tab.ativo AS ativo, tab.version AS versao "
+            + "FROM Beneficio tab ORDER BY tab.id")
+    Stream<Tuple> streamLinhas();
+
+    /**
+     * Soma o saldo das partições de um benefício particionado.
+     *
+     * @param id Identificador do benefício
+     * @return Soma do VALOR das partições (zero se não houver partições)
+     */
+    @Query("SELECT COALESCE(SUM(CAST(p.valor AS BigDecimal)), 0) FROM BeneficioParticao p WHERE p.beneficioId = :id")
+    BigDecimal sumParticoes(Long id);
+
+    /**
+     * Soma o saldo das partições agrupado por benefício, apenas para os benefícios informados.
+     * Apenas benefícios particionados possuem partições.
+     *
+     * @param ids Identificadores dos benefícios particionados
+     * @return Saldo das partições de cada benefício informado que possui partições
+     */
+    @Query("SELECT p.beneficioId AS beneficioId, SUM(CAST(p.valor AS BigDecimal)) AS valor "
+            + "FROM BeneficioParticao p WHERE p.beneficioId IN (:ids) GROUP BY p.beneficioId")
+    List<SaldoParticoes> sumParticoesPorBeneficio(Collection<Long> ids);
+
+    /**
+     * Busca apenas a versão de um benefício, sem carregar a entidade: a VERSION da linha principal
+     * e a soma das versões das partições, que mudam a cada crédito em uma partição.
+     *
+     * @param id Identificador do benefício
+     * @return Versões do benefício, se existir
+     */
+    @Query("SELECT tab.version AS version, "
+            + "(SELECT COALESCE(SUM(p.version), 0L) FROM BeneficioParticao p WHERE p.beneficioId = tab.id) "
+            + "AS versaoParticoes FROM Beneficio tab WHERE tab.id = :id")
+    Optional<VersaoBeneficio> findVersaoById(Long id);
+
+    /**
+     * Lê a versão da coleção mantida no banco: a soma das fatias de VERSAO_COLECAO, incrementadas pelas
+     * escritas de benefícios de qualquer instância. Lê apenas as poucas linhas das fatias, sem percorrer
+     * os benefícios.
+     *
+     * @return Soma das fatias da versão da coleção
+     */
+    @Query(value = "SELECT CAST(COALESCE(SUM(VERSAO), 0) AS BIGINT) FROM VERSAO_COLECAO", nativeQuery = true)
+    long findVersaoColecao();
+
+    /**
+     * Incrementa uma fatia da versão da coleção na transação corrente, após enviar ao banco as alterações
+     * pendentes do contexto de persistência, para que a linha da fatia seja a última bloqueada.
+     *
+     * @param fatia Fatia a incrementar, entre zero e o número de fatias menos um
+     * @return Quantidade de fatias incrementadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE VERSAO_COLECAO SET VERSAO = VERSAO + 1 WHERE FATIA = :fatia", nativeQuery = true)
+    int incrementarVersaoColecao(int fatia);
+
+    /**
+     * Remove as partições de um benefício.
+     *
+     * @param id Identificador do benefício
+     */
+    @Modifying
+    @Query("DELETE FROM BeneficioParticao p WHERE p.beneficioId = :id")
+    void deleteParticoes(Long id);
+
+    /**
+     * Projeção da quantidade e do saldo dos benefícios de um status.
+     */
+    interface TotalStatus {
+
+        Boolean getAtivo();
+
+        Long getQuantidade();
+
+        BigDecimal getValor();
+    }
+
+    /**
+     * Projeção do saldo das partições dos benefícios de um status.
+     */
+    interface SaldoStatus {
+
+        Boolean getAtivo();
+
+        BigDecimal getValor();
+    }
+
+    /**
+     * Projeção do saldo das partições de um benefício.
+     */
+    interface SaldoParticoes {
+
+        Long getBeneficioId();
+
+        BigDecimal getValor();
+    }
+
+    /**
+     * Projeção das versões de um benefício.
+     */
+    interface VersaoBeneficio {
+
+        Long getVersion();
+
+        Long getVersaoParticoes();
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.backend.repository;
+
+import com.example.ejb.entity.Transferencia;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para o histórico de transferências (somente leitura pela aplicação: os lançamentos
+ * são incluídos pelo serviço EJB na mesma transação da transferência).
+ */
+@Repository
+public interface TransferenciaRepository extends JpaRepository<Transferencia, Long> {
+
+    /**
+     * Busca uma página do histórico de um benefício por paginação keyset: lançamentos em que o
+     * benefício é origem ou destino, com ID menor que o cursor, do mais recente para o mais antigo.
+     * Usa os índices (ORIGEM_ID, ID) e (DESTINO_ID, ID) em vez de OFFSET.
+     *
+     * @param beneficioId Identificador do benefício
+     * @param cursor Último ID retornado na página anterior (Long.MAX_VALUE para a primeira página)
+     * @param pageable Limite de registros da página (deve ser sempre a primeira página)
+     * @return Lançamentos do benefício com ID menor que o cursor, limitados ao tamanho da página
+     */
+    @Query("SELECT tab FROM Transferencia tab "
+            + "WHERE (tab.origemId = :beneficioId OR tab.destinoId = :beneficioId) AND tab.id < :cursor "
+            + "ORDER BY tab.id DESC")
+    List<Transferencia> searchPageByBeneficioBefore(Long beneficioId, Long cursor, Pageable pageable);
+}
@@ -0,0 +1,60 @@
+package com.example.backend.service;
+
+import com.example.ejb.model.Money;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Log de auditoria amostrado das transferências, com os dados em pares chave-valor
+ * (origem, destino, valor e resultado) no logger {@value #LOGGER}.
+ * <p>
+ * A escrita fica a cargo do appender assíncrono configurado no logback.xml, que descarta eventos
+ * quando a fila está cheia em vez de bloquear a transferência. Com amostragem zero (padrão) ou o
+ * logger desabilitado, nenhum evento é criado.
+ */
+@Component
+public class AuditoriaTransferencias {
+
+    public static final String LOGGER = "com.example.backend.auditoria";
+
+    private static final Logger auditoria = LoggerFactory.getLogger(LOGGER);
+
+    private final double amostragem;
+
+    public AuditoriaTransferencias(@Value("${beneficio.auditoria.amostragem:0}") final double amostragem) {
+        if (amostragem < 0 || amostragem > 1) {
+            throw new IllegalArgumentException("Amostragem da auditoria deve estar entre 0 e 1");
+        }
+        this.amostragem = amostragem;
+    }
+
+    /**
+     * Registra uma transferência individual, se sorteada na amostragem.
+     *
+     * @param fromId ID do benefício de origem
+     * @param toId ID do benefício de destino
+     * @param valor Valor transferido
+     * @param resultado Resultado da transferência
+     */
+    public void registrar(
+            final Long fromId,
+            final Long toId,
+            final Money valor,
+            final MetricasTransferencia.Resultado resultado) {
+        if (amostragem == 0 || !auditoria.isInfoEnabled()) {
+            return;
+        }
+        if (amostragem < 1 && ThreadLocalRandom.current().nextDouble() >= amostragem) {
+            return;
+        }
+        auditoria.atInfo()
+                .addKeyValue("origem", fromId)
+                .addKeyValue("destino", toId)
+                .addKeyValue("valor", valor)
+                .addKeyValue("resultado", resultado)
+                .log("transferencia");
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.backend.service;
+
+import com.example.backend.config.CacheConfig;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.entity.Transferencia;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import com.example.ejb.model.Money;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Acesso ao banco da {@link TransferenciaEmMemoria}: carga dos benefícios, gravação dos checkpoints e
+ * transferências feitas no banco.
+ * <p>
+ * Cada operação participa da transação corrente ou, sem ela, usa uma transação própria: um checkpoint
+ * solicitado por uma alteração de benefício é gravado na transação dela, com a conexão que ela já detém, e
+ * desfeito com ela.
+ * <p>
+ * O checkpoint é a única linha de DIARIO_TRANSFERENCIAS: os saldos em memória só são consistentes com uma
+ * instância aplicando transferências por banco. A linha guarda a concessão dessa instância (dono e
+ * validade), adquirida na inicialização e renovada a cada gravação; uma gravação sem a concessão falha.
+ */
+@Component
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "MEMORIA")
+public class BancoTransferenciasEmMemoria {
+
+    private static final String SELECT_BENEFICIO = "SELECT VALOR, ATIVO, PARTICOES FROM BENEFICIO WHERE ID = ?";
+
+    /* Posições das colunas de SELECT_BENEFICIO. */
+    private static final int COLUNA_VALOR = 1;
+    private static final int COLUNA_ATIVO = 2;
+    private static final int COLUNA_PARTICOES = 3;
+
+    private static final String UPDATE_SALDO =
+            "UPDATE BENEFICIO SET VALOR = VALOR + ?, VERSION = VERSION + 1 WHERE ID = ?";
+
+    private static final String SELECT_CHECKPOINT = "SELECT SEQUENCIA FROM DIARIO_TRANSFERENCIAS WHERE ID = 1";
+
+    private static final String INSERT_CHECKPOINT =
+            "INSERT INTO DIARIO_TRANSFERENCIAS (ID, SEQUENCIA, DONO, VALIDADE) VALUES (1, 0, ?, ?)";
+
+    private static final String UPDATE_CHECKPOINT =
+            "UPDATE DIARIO_TRANSFERENCIAS SET SEQUENCIA = ?, VALIDADE = ? WHERE ID = 1 AND DONO = ?";
+
+    /* Concessão livre, vencida ou já do mesmo dono (reinício da instância). */
+    private static final String ADQUIRIR_CONCESSAO = "UPDATE DIARIO_TRANSFERENCIAS SET DONO = ?, VALIDADE = ? "
+            + "WHERE ID = 1 AND (DONO IS NULL OR DONO = ? OR VALIDADE IS NULL OR VALIDADE < ?)";
+
+    private static final String RENOVAR_CONCESSAO =
+            "UPDATE DIARIO_TRANSFERENCIAS SET VALIDADE = ? WHERE ID = 1 AND DONO = ?";
+
+    private static final String LIBERAR_CONCESSAO =
+            "UPDATE DIARIO_TRANSFERENCIAS SET DONO = NULL, VALIDADE = NULL WHERE ID = 1 AND DONO = ?";
+
+    private static final String SELECT_CONCESSAO = "SELECT DONO, VALIDADE FROM DIARIO_TRANSFERENCIAS WHERE ID = 1";
+
+    private final BeneficioEjbService ejbService;
+
+    private final TransferenciaRepository transferenciaRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transacao;
+
+    private final Cache cacheBeneficios;
+
+    BancoTransferenciasEmMemoria(
+            final BeneficioEjbService ejbService,
+            final TransferenciaRepository transferenciaRepository,
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            final CacheManager cacheManager) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.transferenciaRepository =
+                Objects.requireNonNull(transferenciaRepository, "TransferenciaRepository não pode ser nulo");
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate não pode ser nulo");
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.cacheBeneficios = cacheManager.getCache(CacheConfig.CACHE_BENEFICIOS);
+    }
+
+    /**
+     * @return última sequência do diário gravada no banco, ou nulo se o banco ainda não tem checkpoint
+     */
+    Long lerCheckpoint() {
+        List<Long> checkpoints = jdbcTemplate.queryForList(SELECT_CHECKPOINT, Long.class);
+        return checkpoints.isEmpty() ? null : checkpoints.get(0);
+    }
+
+    /**
+     * Cria o checkpoint do banco, sem registros gravados, com a concessão do dono.
+     *
+     * @param dono Instância que grava o diário
+     * @param concessao Validade da concessão a partir de agora
+     */
+    void criarCheckpoint(final String dono, final Duration concessao) {
+        jdbcTemplate.update(INSERT_CHECKPOINT, dono, validade(concessao));
+    }
+
+    /**
+     * Adquire a concessão do checkpoint existente se estiver livre, vencida ou já for do dono.
+     *
+     * @param dono Instância que grava o diário
+     * @param concessao Validade da concessão a partir de agora
+     * @throws IllegalStateException se outra instância tiver a concessão válida
+     */
+    void adquirirConcessao(final String dono, final Duration concessao) throws IllegalStateException {
+        Timestamp agora = Timestamp.from(Instant.now());
+        if (jdbcTemplate.update(ADQUIRIR_CONCESSAO, dono, validade(concessao), dono, agora) != 1) {
+            Map<String, Object> atual = jdbcTemplate.queryForMap(SELECT_CONCESSAO);
+            throw new IllegalStateException(String.format(
+                    "Diário de transferências em uso pela instância %s até %s",
+                    atual.get("DONO"),
+                    atual.get("VALIDADE")));
+        }
+    }
+
+    /**
+     * @param dono Instância que grava o diário
+     * @param concessao Validade da concessão a partir de agora
+     * @return se a concessão ainda era do dono e foi renovada
+     */
+    boolean renovarConcessao(final String dono, final Duration concessao) {
+        return jdbcTemplate.update(RENOVAR_CONCESSAO, validade(concessao), dono) == 1;
+    }
+
+    /**
+     * Libera a concessão, se ainda for do dono, para que outra instância possa iniciar sem aguardar o
+     * vencimento.
+     *
+     * @param dono Instância que grava o diário
+     */
+    void liberarConcessao(final String dono) {
+        jdbcTemplate.update(LIBERAR_CONCESSAO, dono);
+    }
+
+    /**
+     * @param id Identificador do benefício
+     * @return saldo e status do benefício, ainda não incluído no mapa
+     * @throws IllegalArgumentException se o benefício não existir
+     */
+    ContasEmMemoria.Conta lerConta(final long id) throws IllegalArgumentException {
+        List<ContasEmMemoria.Conta> lidas = jdbcTemplate.query(
+                SELECT_BENEFICIO,
+                (rs, linha) -> new ContasEmMemoria.Conta(
+                        Money.centavos(rs.getBigDecimal(COLUNA_VALOR)),
+                        rs.getBoolean(COLUNA_ATIVO),
+                        rs.getInt(COLUNA_PARTICOES) > 0),
+                id);
+        if (lidas.isEmpty()) {
+            throw new BeneficioNaoEncontradoException(BeneficioEjbService.MENSAGEM_NAO_ENCONTRADO);
+        }
+        return lidas.get(0);
+    }
+
+    /**
+     * Grava, na transação corrente ou em uma própria, os lançamentos do histórico, a variação de saldo de
+     * cada benefício e a sequência do último registro, renovando a concessão; após o commit, remove os
+     * benefícios alterados do cache. Se algum benefício não for atualizado ou a concessão não for mais do
+     * dono, a exceção desfaz a transação.
+     *
+     * @param registros Registros do diário, em ordem de sequência
+     * @param variacoes Variação de saldo de cada benefício nos registros, em centavos
+     * @param dono Instância que grava o diário
+     * @param concessao Validade da concessão a partir de agora
+     * @throws IllegalStateException se algum benefício não existir mais ou a concessão tiver sido perdida
+     */
+    void gravar(
+            final List<DiarioTransferencias.Registro> registros,
+            final Map<Long, Long> variacoes,
+            final String dono,
+            final Duration concessao)
+            throws IllegalStateException {
+        List<Object[]> atualizacoes = new ArrayList<>(variacoes.size());
+        variacoes.forEach((id, variacao) -> {
+            if (variacao != 0) {
+                atualizacoes.add(new Object[] {centavos(variacao), id});
+            }
+        });
+        long sequencia = registros.get(registros.size() - 1).sequencia();
+        transacao.executeWithoutResult(status -> {
+            transferenciaRepository.saveAll(
+                    registros.stream().map(BancoTransferenciasEmMemoria::lancamento).toList());
+            int[] atualizados = jdbcTemplate.batchUpdate(UPDATE_SALDO, atualizacoes);
+            for (int i = 0; i < atualizados.length; i++) {
+                if (atualizados[i] == 0) {
+                    throw new IllegalStateException(
+                            "Benefício " + atualizacoes.get(i)[1] + " não encontrado ao gravar o checkpoint");
+                }
+            }
+            if (jdbcTemplate.update(UPDATE_CHECKPOINT, sequencia, validade(concessao), dono) != 1) {
+                throw new IllegalStateException(
+                        "Concessão do diário de transferências perdida pela instância " + dono);
+            }
+            if (cacheBeneficios != null) {
+                Transacoes.aposCommit(() -> variacoes.keySet().forEach(cacheBeneficios::evict));
+            }
+        });
+    }
+
+    /**
+     * Transferência feita no banco pela transferência pessimista, na transação corrente ou em uma própria.
+     */
+    void transferir(final Long fromId, final Long toId, final Money valor) {
+        transacao.executeWithoutResult(status -> ejbService.transfer(fromId, toId, valor));
+    }
+
+    private static Transferencia lancamento(final DiarioTransferencias.Registro registro) {
+        return Transferencia.builder()
+                .origemId(registro.origemId())
+                .destinoId(registro.destinoId())
+                .valor(Money.deCentavos(registro.centavos()))
+                .dataHora(Instant.ofEpochMilli(registro.instante()))
+                .saldoOrigem(Money.deCentavos(registro.saldoOrigem()))
+                .saldoDestino(Money.deCentavos(registro.saldoDestino()))
+                .build();
+    }
+
+    private static Timestamp validade(final Duration concessao) {
+        return Timestamp.from(Instant.now().plus(concessao));
+    }
+
+    private static BigDecimal centavos(final long centavos) {
+        return BigDecimal.valueOf(centavos, Money.ESCALA);
+    }
+}
@@ -2,33 +2,62 @@ package com.example.backend.service;
 
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.ResumoStatusDto;
 import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.VersaoDivergenteException;
 import com.example.ejb.exception.BusinessException;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import lombok.NonNull;
 
 public interface BeneficioService {
 
     List<BeneficioResponseDto> buscarTodosBeneficios() throws BusinessException;
 
+    PaginaBeneficioDto buscarPaginaBeneficios(Long cursor, Integer limite)
+            throws IllegalArgumentException, BusinessException;
+
+    void percorrerTodosBeneficios(@NonNull Consumer<BeneficioResponseDto> consumidor) throws BusinessException;
+
     BeneficioResponseDto buscarBeneficioPorId(@NonNull Long id)
             throws EntityNotFoundException, IllegalArgumentException, BusinessException;
 
     BeneficioResponseDto criarBeneficio(@NonNull BeneficioRequestDto beneficio)
             throws IllegalArgumentException, BusinessException;
 
-    BeneficioResponseDto alterarBeneficio(@NonNull Long id, @NonNull BeneficioRequestDto beneficio)
-            throws EntityNotFoundException, IllegalArgumentException, BusinessException;
+    String buscarVersaoBeneficio(@NonNull Long id) throws EntityNotFoundException, IllegalArgumentException;
+
+    String buscarVersaoBeneficios();
+
+    BeneficioResponseDto alterarBeneficio(
+            @NonNull Long id, @NonNull BeneficioRequestDto beneficio, Set<String> versoesAceitas)
+            throws EntityNotFoundException, IllegalArgumentException, VersaoDivergenteException, BusinessException;
 
     BeneficioResponseDto alterarStatusBeneficio(@NonNull Long id, boolean status)
             throws BusinessException, IllegalArgumentException, EntityNotFoundException;
 
+    BeneficioResponseDto particionarBeneficio(@NonNull Long id, int quantidade)
+            throws IllegalArgumentException, EntityNotFoundException, BusinessException;
+
     void removerBeneficio(@NonNull Long id) throws EntityNotFoundException, IllegalArgumentException, BusinessException;
 
     void realizarTransferencia(@NonNull TransferenciaDto dto) throws IllegalArgumentException, BusinessException;
 
-    List<BeneficioResponseDto> filtrarBeneficiosPorNome(String nome) throws BusinessException;
+    TransferenciaLoteResponseDto realizarTransferenciaEmLote(@NonNull List<TransferenciaDto> transferencias)
+            throws IllegalArgumentException, BusinessException;
+
+    PaginaTransferenciaDto buscarTransferencias(@NonNull Long id, Long cursor, Integer limite)
+            throws IllegalArgumentException, BusinessException;
+
+    List<BeneficioResponseDto> filtrarBeneficiosPorNome(String nome, Integer limite)
+            throws IllegalArgumentException, BusinessException;
 
     List<BeneficioResponseDto> filtrarBeneficiosPorStatus(boolean ativo) throws BusinessException;
+
+    List<ResumoStatusDto> resumirPorStatus();
 }
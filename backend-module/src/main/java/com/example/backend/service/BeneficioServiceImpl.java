@@ -1,8 +1,14 @@
 package com.example.backend.service;
 
+import com.example.backend.config.CacheConfig;
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.ResumoStatusDto;
 import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.VersaoDivergenteException;
 import com.example.backend.mapper.BeneficioMapper;
 import com.example.backend.repository.BeneficioRepository;
 import com.example.backend.validator.ObjectsValidator;
@@ -11,17 +17,24 @@ import com.example.ejb.entity.Beneficio;
 import com.example.ejb.exception.BusinessException;
 import jakarta.annotation.Nonnull;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.persistence.OptimisticLockException;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementação do serviço responsável pelo gerenciamento de beneficios.
+ * <p>
+ * Define as transações e o cache de cada operação; as transferências ficam a cargo de
+ * {@link TransferenciasBeneficios} e as consultas, com as estruturas em memória que as atendem, de
+ * {@link ConsultasBeneficios}.
  */
 @Service
 @Slf4j
@@ -33,11 +46,21 @@ public class BeneficioServiceImpl implements BeneficioService {
 
     private final ObjectsValidator<BeneficioRequestDto> validador;
 
-    @Autowired
-    public BeneficioServiceImpl(final BeneficioRepository repository, final BeneficioEjbService ejbService) {
+    private final TransferenciasBeneficios transferencias;
+
+    private final ConsultasBeneficios consultas;
+
+    public BeneficioServiceImpl(
+            final BeneficioRepository repository,
+            final BeneficioEjbService ejbService,
+            final ObjectsValidator<BeneficioRequestDto> validador,
+            final TransferenciasBeneficios transferencias,
+            final ConsultasBeneficios consultas) {
         this.repository = Objects.requireNonNull(repository, "BeneficioRepository não pode ser nulo");
         this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
-        this.validador = new ObjectsValidator<BeneficioRequestDto>();
+        this.validador = Objects.requireNonNull(validador, "ObjectsValidator não pode ser nulo");
+        this.transferencias = Objects.requireNonNull(transferencias, "TransferenciasBeneficios não pode ser nulo");
+        this.consultas = Objects.requireNonNull(consultas, "ConsultasBeneficios não pode ser nulo");
     }
 
     /**
@@ -50,6 +73,7 @@ public class BeneficioServiceImpl implements BeneficioService {
      * @throws BusinessException se ocorrer um erro de negócio ao criar o benefício
      */
     @Override
+    @CachePut(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#result.id")
     @Transactional
     public BeneficioResponseDto criarBeneficio(@Nonnull final BeneficioRequestDto dto)
             throws IllegalArgumentException, BusinessException {
@@ -62,8 +86,9 @@ public class BeneficioServiceImpl implements BeneficioService {
         if (entityIn == null) {
             throw new BusinessException("Erro ao converter dados.");
         }
-        log.info("Benefício mapeado para entidade: {}", entityIn.getNome());
+        log.debug("Benefício mapeado para entidade: {}", entityIn.getNome());
         Beneficio entityOut = repository.saveAndFlush(entityIn); // Salva a beneficio no repositório
+        consultas.registrarInclusao(entityOut);
 
         return BeneficioMapper.mapResponse(entityOut);
     }
@@ -71,54 +96,75 @@ public class BeneficioServiceImpl implements BeneficioService {
     /**
      * Realiza uma transferência de valor entre dois benefícios.
      * Valida saldo suficiente e status ativo dos benefícios.
-     * Utiliza o serviço EJB com locking pessimista para evitar condições de corrida.
+     * A execução e a transação ficam a cargo da {@link EstrategiaTransferencia} configurada
+     * (bloqueio pessimista por padrão, ou controle otimista com novas tentativas).
      *
      * @param dto Dados da transferência contendo ID de origem, destino e valor
      * @throws IllegalArgumentException se os dados forem inválidos
      * @throws BusinessException se ocorrer erro na operação
      */
     @Override
-    @Transactional
+    @Caching(
+            evict = {
+                @CacheEvict(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#dto.fromId"),
+                @CacheEvict(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#dto.toId")
+            })
     public void realizarTransferencia(@Nonnull final TransferenciaDto dto)
             throws IllegalArgumentException, BusinessException {
-        validateTransferenciaDto(dto);
-        try {
-            ejbService.transfer(dto.getFromId(), dto.getToId(), dto.getValor());
-            log.info(
-                    "Transferência realizada com sucesso entre benefícios ID={}, ID={}",
-                    dto.getFromId(),
-                    dto.getToId());
-        } catch (IllegalArgumentException ex) {
-            log.error("Argumento inválido ao realizar transferência: {}", ex.getMessage());
-            throw ex;
-        } catch (BusinessException ex) {
-            log.error("Erro de negócio ao realizar transferência: {}", ex.getMessage());
-            throw ex;
-        } catch (OptimisticLockException e) {
-            throw new BusinessException("Erro de concorrência ao realizar transferência. Por favor, tente novamente.");
-        } catch (Exception ex) {
-            log.error("Erro ao realizar transferência: {}", ex.getMessage());
-            throw new BusinessException("Erro ao realizar transferência: " + ex.getMessage(), ex);
-        }
+        transferencias.transferir(dto);
     }
 
-    private void validateTransferenciaDto(@Nonnull final TransferenciaDto dto) {
-        // Validação básica dos dados de transferência
-        if (null == dto.getFromId() || null == dto.getToId()) {
-            throw new IllegalArgumentException("IDs de origem e destino são obrigatórios");
+    /**
+     * Realiza um lote de transferências em uma única transação.
+     * Os benefícios envolvidos são bloqueados uma única vez, em ordem de ID, pelo serviço EJB,
+     * e cada item é aplicado ou recusado individualmente. Como um lote pode envolver
+     * milhares de benefícios, o cache de benefícios é esvaziado por completo ao final.
+     *
+     * @param lote Itens da transferência em lote, aplicados na ordem recebida
+     * @return TransferenciaLoteResponseDto com o resultado de cada item
+     * @throws IllegalArgumentException se o lote for vazio ou exceder o tamanho máximo
+     * @throws BusinessException se ocorrer erro na operação
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_BENEFICIOS, allEntries = true)
+    @Transactional
+    public TransferenciaLoteResponseDto realizarTransferenciaEmLote(@Nonnull final List<TransferenciaDto> lote)
+            throws IllegalArgumentException, BusinessException {
+        return transferencias.transferirLote(lote);
+    }
+
+    /**
+     * Altera a quantidade de partições (sub-saldos) de um benefício.
+     * Benefícios particionados recebem créditos em partições distintas, sem disputar o bloqueio
+     * da linha principal; o saldo exibido é sempre a soma da linha principal com as partições.
+     *
+     * @param id Identificador único do benefício
+     * @param quantidade Quantidade de partições (0 desfaz o particionamento)
+     * @return BeneficioResponseDto com o saldo total do benefício
+     * @throws IllegalArgumentException se o ID ou a quantidade forem inválidos
+     * @throws EntityNotFoundException se o benefício não for encontrado
+     */
+    @Override
+    @CachePut(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#id")
+    @Transactional
+    public BeneficioResponseDto particionarBeneficio(@Nonnull final Long id, final int quantidade)
+            throws IllegalArgumentException, EntityNotFoundException {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Identificador inválido");
         }
-        log.info(
-                "Iniciando transferência entre benefícios ID={}, ID={}, VALOR={}",
-                dto.getFromId(),
-                dto.getToId(),
-                dto.getValor());
-        if (dto.getFromId().equals(dto.getToId())) {
-            throw new IllegalArgumentException("Não é possível realizar transferência para o mesmo benefício");
+        if (quantidade < 0 || quantidade > BeneficioEjbService.MAX_PARTICOES) {
+            throw new IllegalArgumentException(
+                    "Quantidade de partições deve estar entre 0 e " + BeneficioEjbService.MAX_PARTICOES);
         }
-        if (dto.getValor() == null || dto.getValor().signum() <= 0) {
-            throw new IllegalArgumentException("Valor de transferência deve ser positivo");
+        if (!repository.existsById(id)) {
+            throw new EntityNotFoundException("Beneficio não encontrado");
         }
-        log.info("Iniciando transferência entre benefícios ID={}, ID={}", dto.getFromId(), dto.getToId());
+        log.info("Particionando benefício ID={} em {} partições", id, quantidade);
+        transferencias.alterandoBeneficios(List.of(id));
+        Beneficio particionado = ejbService.particionar(id, quantidade);
+        transferencias.descartarAposCommit(id);
+        consultas.registrarAlteracao();
+        return consultas.mapComParticoes(particionado);
     }
 
     /**
@@ -132,6 +178,7 @@ public class BeneficioServiceImpl implements BeneficioService {
      * @throws EntityNotFoundException se o benefício não for encontrado
      */
     @Override
+    @CachePut(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#id")
     @Transactional
     public BeneficioResponseDto alterarStatusBeneficio(@Nonnull final Long id, final boolean status)
             throws BusinessException, IllegalArgumentException, EntityNotFoundException {
@@ -139,50 +186,74 @@ public class BeneficioServiceImpl implements BeneficioService {
             throw new IllegalArgumentException("Identificador do benefício inválido");
         }
         log.info("Alterando status do benefício ID: {}", id);
-        Beneficio entity =
-                repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+        transferencias.alterandoBeneficios(List.of(id));
+        // Bloqueia também as partições: um crédito concorrente em uma partição não é aceito após o cancelamento
+        Beneficio entity = ejbService.bloquearComParticoes(id);
+        if (entity == null) {
+            throw new EntityNotFoundException("Beneficio não encontrado");
+        }
+        boolean statusAnterior = Boolean.TRUE.equals(entity.getAtivo());
         entity.setAtivo(status);
         Beneficio saved = repository.saveAndFlush(entity);
         log.info("Status do benefício ID={} alterado para: {}", id, status ? "Ativo" : "Cancelado");
-        return BeneficioMapper.mapResponse(saved);
+        BeneficioResponseDto response = consultas.mapComParticoes(saved);
+        if (statusAnterior != status) {
+            transferencias.descartarAposCommit(id);
+            consultas.registrarStatus(statusAnterior, response);
+        }
+        return response;
     }
 
     /**
      * Atualiza os dados de um benefício existente.
-     * Valida os dados fornecidos antes de persistir as alterações.
+     * Valida os dados fornecidos antes de persistir as alterações. Quando informadas, as versões aceitas
+     * (If-Match) são comparadas com a versão atual dentro da transação; alterações concorrentes entre a
+     * comparação e a gravação são detectadas pelo controle otimista (@Version) da entidade.
      *
      * @param id Identificador único do benefício a ser atualizado
      * @param dto Novos dados do benefício
+     * @param versoesAceitas Versões que o cliente alterou, obtidas das ETags; nulo para não verificar
      * @return BeneficioResponseDto com os dados atualizados
      * @throws EntityNotFoundException se o benefício não for encontrado
      * @throws IllegalArgumentException se os dados fornecidos forem inválidos
+     * @throws VersaoDivergenteException se a versão atual não está entre as versões aceitas
      * @throws BusinessException se ocorrer um erro de negócio ao atualizar o benefício
      */
     @Override
+    @CachePut(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#id")
     @Transactional
-    public BeneficioResponseDto alterarBeneficio(@Nonnull final Long id, @Nonnull final BeneficioRequestDto dto)
-            throws EntityNotFoundException, IllegalArgumentException, BusinessException {
+    public BeneficioResponseDto alterarBeneficio(
+            @Nonnull final Long id, @Nonnull final BeneficioRequestDto dto, final Set<String> versoesAceitas)
+            throws EntityNotFoundException, IllegalArgumentException, VersaoDivergenteException, BusinessException {
         if (id <= 0) {
             throw new IllegalArgumentException("Identificador inválido");
         }
-        log.info("Alterando dados do benefício ID={} com os seguintes dados: {}", id, dto.toString());
+        log.info("Alterando dados do benefício ID={}", id);
+        log.debug("Novos dados do benefício ID={}: {}", id, dto);
         Beneficio validated = BeneficioMapper.mapRequest(validador.validate(dto)); // Valida o beneficio antes de salvar
 
         if (validated == null) {
             throw new BusinessException("Erro ao validar objeto");
         }
 
-        Beneficio entity =
-                repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+        Beneficio entity = buscarParaAlteracao(id, versoesAceitas);
+        BeneficioResponseDto anterior = consultas.mapComParticoes(entity);
+        if (entity.isParticionado()) {
+            // O valor informado substitui o saldo total: as partições são consolidadas na linha principal antes
+            ejbService.consolidarParticoes(id);
+        }
 
         entity.updateData(validated);
         Beneficio saved = repository.saveAndFlush(entity);
+        transferencias.descartarAposCommit(id);
+        consultas.registrarAlteracao(anterior, saved);
         log.info("Benefício ID={} alterado com sucesso", id);
         return BeneficioMapper.mapResponse(saved);
     }
 
     /**
      * Busca um benefício específico pelo seu identificador único.
+     * O resultado é mantido em cache e atualizado ou removido a cada alteração do benefício.
      *
      * @param id Identificador único do benefício
      * @return BeneficioResponseDto com os dados do benefício encontrado
@@ -190,16 +261,39 @@ public class BeneficioServiceImpl implements BeneficioService {
      * @throws IllegalArgumentException se o ID fornecido for inválido
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#id")
     @Transactional(readOnly = true)
     public BeneficioResponseDto buscarBeneficioPorId(@Nonnull final Long id)
             throws EntityNotFoundException, IllegalArgumentException {
+        return consultas.buscarPorId(id);
+    }
+
+    /**
+     * Busca apenas a versão de um benefício, usada na ETag, sem carregar nem converter a entidade.
+     *
+     * @param id Identificador único do benefício
+     * @return Versão atual do benefício
+     * @throws EntityNotFoundException se o benefício não for encontrado
+     * @throws IllegalArgumentException se o ID fornecido for inválido
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public String buscarVersaoBeneficio(@Nonnull final Long id)
+            throws EntityNotFoundException, IllegalArgumentException {
         if (id <= 0) {
             throw new IllegalArgumentException("Identificador inválido");
         }
-        return repository
-                .findById(id)
-                .map(BeneficioMapper::mapResponse)
-                .orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+        return consultas.buscarVersao(id);
+    }
+
+    /**
+     * Retorna a versão da coleção de benefícios, alterada a cada escrita confirmada por esta instância.
+     *
+     * @return Versão atual da coleção
+     */
+    @Override
+    public String buscarVersaoBeneficios() {
+        return consultas.getVersaoColecao();
     }
 
     /**
@@ -210,7 +304,54 @@ public class BeneficioServiceImpl implements BeneficioService {
     @Override
     @Transactional(readOnly = true)
     public List<BeneficioResponseDto> buscarTodosBeneficios() {
-        return repository.findAll().stream().map(BeneficioMapper::mapResponse).collect(Collectors.toList());
+        return consultas.buscarTodos();
+    }
+
+    /**
+     * Retorna uma página de benefícios usando paginação keyset (cursor no ID).
+     * Busca um registro além do limite para saber se existe uma próxima página,
+     * sem necessidade de consulta de contagem.
+     *
+     * @param cursor Último ID da página anterior; nulo para a primeira página
+     * @param limite Quantidade máxima de itens; nulo para o limite padrão
+     * @return PaginaBeneficioDto com os itens e o cursor da próxima página
+     * @throws IllegalArgumentException se o cursor ou o limite forem inválidos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaBeneficioDto buscarPaginaBeneficios(final Long cursor, final Integer limite)
+            throws IllegalArgumentException {
+        return consultas.buscarPagina(cursor, limite);
+    }
+
+    /**
+     * Retorna uma página do histórico de transferências de um benefício (como origem ou destino),
+     * da mais recente para a mais antiga, usando paginação keyset (cursor no ID do lançamento).
+     * O histórico é mantido mesmo após a remoção do benefício.
+     *
+     * @param id Identificador do benefício
+     * @param cursor ID do último lançamento da página anterior; nulo para a primeira página
+     * @param limite Quantidade máxima de itens; nulo para o limite padrão
+     * @return PaginaTransferenciaDto com os lançamentos e o cursor da próxima página
+     * @throws IllegalArgumentException se o ID, o cursor ou o limite forem inválidos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaTransferenciaDto buscarTransferencias(
+            @Nonnull final Long id, final Long cursor, final Integer limite) throws IllegalArgumentException {
+        return consultas.buscarTransferencias(id, cursor, limite);
+    }
+
+    /**
+     * Percorre todos os benefícios cadastrados, entregando cada um ao consumidor assim que
+     * é lido do banco. O uso de memória independe do tamanho da tabela.
+     *
+     * @param consumidor Função que recebe cada benefício, em ordem crescente de ID
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodosBeneficios(@Nonnull final Consumer<BeneficioResponseDto> consumidor) {
+        consultas.percorrerTodos(consumidor);
     }
 
     /**
@@ -223,24 +364,38 @@ public class BeneficioServiceImpl implements BeneficioService {
     @Override
     @Transactional(readOnly = true)
     public List<BeneficioResponseDto> filtrarBeneficiosPorStatus(final boolean ativo) {
-        return repository.searchByStatus(ativo).stream()
-                .map(BeneficioMapper::mapResponse)
-                .collect(Collectors.toList());
+        return consultas.filtrarPorStatus(ativo);
     }
 
     /**
-     * Filtra benefícios pelo nome usando busca parcial.
-     * Útil para realizar buscas por nome ou parte do nome do benefício.
+     * Retorna a quantidade e o saldo total (incluindo partições) dos benefícios ativos e cancelados.
+     * Os valores vêm dos {@link ContadoresStatusBeneficio} em memória, sem consulta ao banco;
+     * enquanto os contadores não estão carregados, são agregados no banco.
+     *
+     * @return Totais dos benefícios ativos e, em seguida, dos cancelados
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ResumoStatusDto> resumirPorStatus() {
+        return consultas.resumirPorStatus();
+    }
+
+    /**
+     * Filtra benefícios por parte do nome ou da descrição, sem diferenciar maiúsculas e acentos.
+     * A busca usa o {@link IndiceBuscaBeneficios} em memória, com os mais relevantes primeiro; os
+     * benefícios encontrados são lidos pela chave primária. Enquanto o índice não está carregado,
+     * a busca é feita no banco por nome (LIKE), em ordem de ID.
      *
      * @param nome Nome ou parte do nome a ser pesquisado
+     * @param limite Quantidade máxima de itens; nulo para o limite padrão
      * @return Lista de BeneficioResponseDtos que correspondem ao critério de busca
+     * @throws IllegalArgumentException se o termo ou o limite forem inválidos
      */
     @Override
     @Transactional(readOnly = true)
-    public List<BeneficioResponseDto> filtrarBeneficiosPorNome(final String nome) {
-        return repository.searchByNome(nome).stream()
-                .map(BeneficioMapper::mapResponse)
-                .collect(Collectors.toList());
+    public List<BeneficioResponseDto> filtrarBeneficiosPorNome(final String nome, final Integer limite)
+            throws IllegalArgumentException {
+        return consultas.filtrarPorNome(nome, limite);
     }
 
     /**
@@ -253,21 +408,41 @@ public class BeneficioServiceImpl implements BeneficioService {
      * @throws EntityNotFoundException se o benefício não for encontrado
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.CACHE_BENEFICIOS, key = "#beneficioId")
     @Transactional
     public void removerBeneficio(@Nonnull final Long beneficioId)
             throws BusinessException, IllegalArgumentException, EntityNotFoundException {
         if (beneficioId <= 0) {
             throw new IllegalArgumentException("Identificador inválido para remoção.");
         }
-
-        BeneficioResponseDto beneficio = repository
+        transferencias.alterandoBeneficios(List.of(beneficioId));
+        Beneficio beneficio = repository
                 .findById(beneficioId)
-                .map(BeneficioMapper::mapResponse)
                 .orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
         if (beneficio == null) {
             throw new BusinessException("Beneficio não encontrado para remoção.");
         }
+        BeneficioResponseDto removido = consultas.mapComParticoes(beneficio);
+        if (beneficio.isParticionado()) {
+            repository.deleteParticoes(beneficioId);
+        }
         repository.deleteById(beneficioId);
+        transferencias.descartarAposCommit(beneficioId);
+        consultas.registrarRemocao(removido);
         log.info("Benefício removido: ID={}", beneficioId);
     }
+
+    /*
+     * Avisa a estratégia de transferência antes de ler o benefício e confere a versão atual com as
+     * versões aceitas (If-Match), quando informadas.
+     */
+    private Beneficio buscarParaAlteracao(final Long id, final Set<String> versoesAceitas) {
+        transferencias.alterandoBeneficios(List.of(id));
+        Beneficio entity =
+                repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+        if (versoesAceitas != null && !versoesAceitas.contains(consultas.buscarVersao(id))) {
+            throw new VersaoDivergenteException("Benefício alterado por outra requisição; consulte a versão atual");
+        }
+        return entity;
+    }
 }
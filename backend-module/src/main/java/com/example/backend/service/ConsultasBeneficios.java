@@ -0,0 +1,368 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.ResumoStatusDto;
+import com.example.backend.dto.TransferenciaHistoricoDto;
+import com.example.backend.mapper.BeneficioMapper;
+import com.example.backend.mapper.TransferenciaMapper;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.backend.validator.BeneficioValidator;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.Transferencia;
+import com.example.ejb.model.Money;
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Consultas do {@link BeneficioServiceImpl} e as estruturas em memória que as atendem sem ida ao banco:
+ * {@link IndiceBuscaBeneficios}, {@link ContadoresStatusBeneficio} e {@link VersaoBeneficios}. As
+ * estruturas são carregadas ao final da inicialização e atualizadas após o commit de cada alteração
+ * ({@code registrar*}).
+ * <p>
+ * Transação e cache ficam a cargo do {@link BeneficioServiceImpl}; os saldos devolvidos incluem as
+ * partições dos benefícios particionados.
+ */
+@Component
+public class ConsultasBeneficios {
+
+    private final BeneficioRepository repository;
+
+    private final TransferenciaRepository transferenciaRepository;
+
+    private final IndiceBuscaBeneficios indiceBusca;
+
+    private final ContadoresStatusBeneficio contadoresStatus;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    public ConsultasBeneficios(
+            final BeneficioRepository repository,
+            final TransferenciaRepository transferenciaRepository,
+            final IndiceBuscaBeneficios indiceBusca,
+            final ContadoresStatusBeneficio contadoresStatus,
+            final VersaoBeneficios versaoBeneficios) {
+        this.repository = Objects.requireNonNull(repository, "BeneficioRepository não pode ser nulo");
+        this.transferenciaRepository =
+                Objects.requireNonNull(transferenciaRepository, "TransferenciaRepository não pode ser nulo");
+        this.indiceBusca = Objects.requireNonNull(indiceBusca, "IndiceBuscaBeneficios não pode ser nulo");
+        this.contadoresStatus =
+                Objects.requireNonNull(contadoresStatus, "ContadoresStatusBeneficio não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+    }
+
+    /**
+     * @see BeneficioService#buscarBeneficioPorId(Long)
+     */
+    public BeneficioResponseDto buscarPorId(final Long id) throws EntityNotFoundException, IllegalArgumentException {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Identificador inválido");
+        }
+        return repository
+                .findById(id)
+                .map(this::mapComParticoes)
+                .orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+    }
+
+    /**
+     * Busca apenas a versão de um benefício, usada na ETag, sem carregar nem converter a entidade.
+     *
+     * @param id Identificador único do benefício
+     * @return Versão atual do benefício
+     * @throws EntityNotFoundException se o benefício não for encontrado
+     */
+    public String buscarVersao(final Long id) throws EntityNotFoundException {
+        return repository
+                .findVersaoById(id)
+                .map(versao -> VersaoBeneficios.versao(versao.getVersion(), versao.getVersaoParticoes()))
+                .orElseThrow(() -> new EntityNotFoundException("Beneficio não encontrado"));
+    }
+
+    /**
+     * @return Versão da coleção de benefícios, alterada a cada escrita confirmada em qualquer instância
+     */
+    public String getVersaoColecao() {
+        return versaoBeneficios.getVersaoColecao();
+    }
+
+    /**
+     * @see BeneficioService#buscarTodosBeneficios()
+     */
+    public List<BeneficioResponseDto> buscarTodos() {
+        return mapComParticoes(repository.findAll());
+    }
+
+    /**
+     * @see BeneficioService#buscarPaginaBeneficios(Long, Integer)
+     */
+    public PaginaBeneficioDto buscarPagina(final Long cursor, final Integer limite) throws IllegalArgumentException {
+        if (cursor != null && cursor < 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        int tamanho = tamanhoPagina(limite);
+        List<Beneficio> encontrados =
+                repository.searchPageAfter(cursor != null ? cursor : 0L, PageRequest.of(0, tamanho + 1));
+        boolean possuiProxima = encontrados.size() > tamanho;
+        List<BeneficioResponseDto> itens =
+                mapComParticoes(encontrados.subList(0, Math.min(tamanho, encontrados.size())));
+        return PaginaBeneficioDto.builder()
+                .itens(itens)
+                .limite(tamanho)
+                .proximoCursor(possuiProxima ? itens.get(itens.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * @see BeneficioService#buscarTransferencias(Long, Long, Integer)
+     */
+    public PaginaTransferenciaDto buscarTransferencias(final Long id, final Long cursor, final Integer limite)
+            throws IllegalArgumentException {
+        if (id <= 0) {
+            throw new IllegalArgumentException("Identificador inválido");
+        }
+        if (cursor != null && cursor <= 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        int tamanho = tamanhoPagina(limite);
+        List<Transferencia> encontradas = transferenciaRepository.searchPageByBeneficioBefore(
+                id, cursor != null ? cursor : Long.MAX_VALUE, PageRequest.of(0, tamanho + 1));
+        boolean possuiProxima = encontradas.size() > tamanho;
+        List<TransferenciaHistoricoDto> itens = encontradas.subList(0, Math.min(tamanho, encontradas.size())).stream()
+                .map(TransferenciaMapper::mapHistorico)
+                .collect(Collectors.toList());
+        return PaginaTransferenciaDto.builder()
+                .itens(itens)
+                .limite(tamanho)
+                .proximoCursor(possuiProxima ? itens.get(itens.size() - 1).getId() : null)
+                .build();
+    }
+
+    /**
+     * @see BeneficioService#percorrerTodosBeneficios(Consumer)
+     */
+    public void percorrerTodos(final Consumer<BeneficioResponseDto> consumidor) {
+        try (Stream<BeneficioResponseDto> beneficios = repository.streamAll()) {
+            beneficios.forEach(consumidor);
+        }
+    }
+
+    /**
+     * @see BeneficioService#filtrarBeneficiosPorStatus(boolean)
+     */
+    public List<BeneficioResponseDto> filtrarPorStatus(final boolean ativo) {
+        return mapComParticoes(repository.searchByStatus(ativo));
+    }
+
+    /**
+     * Quantidade e saldo total dos benefícios ativos e cancelados, dos contadores em memória ou, enquanto
+     * eles não estão carregados, agregados no banco.
+     *
+     * @return Totais dos benefícios ativos e, em seguida, dos cancelados
+     */
+    public List<ResumoStatusDto> resumirPorStatus() {
+        if (contadoresStatus.isPronto()) {
+            return contadoresStatus.resumo();
+        }
+        return totalizarPorStatus();
+    }
+
+    /**
+     * Busca por parte do nome ou da descrição no índice em memória, com os mais relevantes primeiro, ou,
+     * enquanto o índice não está carregado ou se estiver desligado, no banco por nome (LIKE), em ordem de ID.
+     *
+     * @see BeneficioService#filtrarBeneficiosPorNome(String, Integer)
+     */
+    public List<BeneficioResponseDto> filtrarPorNome(final String nome, final Integer limite)
+            throws IllegalArgumentException {
+        String termo = nome != null ? nome.strip() : "";
+        if (termo.isEmpty() || termo.length() > BeneficioValidator.NOME_MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Termo de busca deve ter entre 1 e " + BeneficioValidator.NOME_MAX_LENGTH + " caracteres");
+        }
+        int tamanho = limite != null ? limite : BeneficioValidator.LIMITE_PADRAO_BUSCA;
+        if (tamanho <= 0 || tamanho > BeneficioValidator.LIMITE_MAXIMO_BUSCA) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + BeneficioValidator.LIMITE_MAXIMO_BUSCA);
+        }
+        if (!indiceBusca.isPronto()) {
+            return mapComParticoes(repository.searchByNome(termo, PageRequest.of(0, tamanho)));
+        }
+        List<Long> ids = indiceBusca.buscar(termo, tamanho);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Beneficio> encontrados = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Beneficio::getId, Function.identity()));
+        // Mantém a ordem de relevância do índice; IDs removidos por outra instância são descartados
+        return mapComParticoes(ids.stream()
+                .map(encontrados::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Carrega os contadores por status com os totais do banco, ao final da inicialização da aplicação, e
+     * agenda as recargas periódicas que trazem as alterações de outras instâncias.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarContadoresStatus() {
+        contadoresStatus.iniciar(this::totalizarPorStatus);
+    }
+
+    /**
+     * Carrega o índice de busca com os benefícios cadastrados, ao final da inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarIndiceBusca() {
+        try (Stream<BeneficioResponseDto> beneficios = repository.streamAll()) {
+            indiceBusca.reconstruir(beneficios);
+        }
+    }
+
+    /**
+     * Inclui o benefício criado no índice de busca e nos contadores, após o commit.
+     */
+    public void registrarInclusao(final Beneficio incluido) {
+        versaoBeneficios.registrarNaTransacao();
+        Transacoes.aposCommit(() -> {
+            indiceBusca.indexar(incluido.getId(), incluido.getNome(), incluido.getDescricao());
+            contadoresStatus.incluir(Boolean.TRUE.equals(incluido.getAtivo()), incluido.getValor().toBigDecimal());
+        });
+    }
+
+    /**
+     * Altera a versão da coleção na transação corrente, para alterações que não afetam busca nem contadores.
+     */
+    public void registrarAlteracao() {
+        versaoBeneficios.registrarNaTransacao();
+    }
+
+    /**
+     * Move o saldo do benefício entre os contadores de ativos e cancelados, após o commit.
+     *
+     * @param statusAnterior Status antes da alteração
+     * @param alterado Benefício com o novo status e o saldo total
+     */
+    public void registrarStatus(final boolean statusAnterior, final BeneficioResponseDto alterado) {
+        versaoBeneficios.registrarNaTransacao();
+        Transacoes.aposCommit(() -> {
+            contadoresStatus.alterar(
+                    statusAnterior,
+                    alterado.getValor().toBigDecimal(),
+                    Boolean.TRUE.equals(alterado.getAtivo()),
+                    alterado.getValor().toBigDecimal());
+        });
+    }
+
+    /**
+     * Atualiza o índice de busca e os contadores com os novos dados do benefício, após o commit.
+     *
+     * @param anterior Benefício antes da alteração, com o saldo total
+     * @param alterado Benefício alterado
+     */
+    public void registrarAlteracao(final BeneficioResponseDto anterior, final Beneficio alterado) {
+        versaoBeneficios.registrarNaTransacao();
+        Transacoes.aposCommit(() -> {
+            indiceBusca.indexar(alterado.getId(), alterado.getNome(), alterado.getDescricao());
+            contadoresStatus.alterar(
+                    Boolean.TRUE.equals(anterior.getAtivo()),
+                    anterior.getValor().toBigDecimal(),
+                    Boolean.TRUE.equals(alterado.getAtivo()),
+                    alterado.getValor().toBigDecimal());
+        });
+    }
+
+    /**
+     * Remove o benefício do índice de busca e dos contadores, após o commit.
+     *
+     * @param removido Benefício removido, com o saldo total
+     */
+    public void registrarRemocao(final BeneficioResponseDto removido) {
+        versaoBeneficios.registrarNaTransacao();
+        Transacoes.aposCommit(() -> {
+            indiceBusca.remover(removido.getId());
+            contadoresStatus.excluir(Boolean.TRUE.equals(removido.getAtivo()), removido.getValor().toBigDecimal());
+        });
+    }
+
+    /**
+     * Converte o benefício para DTO com o saldo total: linha principal somada às partições.
+     */
+    public BeneficioResponseDto mapComParticoes(final Beneficio beneficio) {
+        BeneficioResponseDto dto = BeneficioMapper.mapResponse(beneficio);
+        if (dto != null && beneficio.isParticionado()) {
+            BigDecimal saldoParticoes = repository.sumParticoes(beneficio.getId());
+            if (saldoParticoes != null) {
+                dto.setValor(dto.getValor().somar(Money.of(saldoParticoes)));
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Converte uma lista de benefícios para DTOs com o saldo total. O saldo das partições é
+     * consultado uma única vez, somente para os benefícios particionados da lista.
+     */
+    private List<BeneficioResponseDto> mapComParticoes(final List<Beneficio> beneficios) {
+        List<BeneficioResponseDto> dtos =
+                beneficios.stream().map(BeneficioMapper::mapResponse).collect(Collectors.toList());
+        List<Long> particionados = beneficios.stream()
+                .filter(Beneficio::isParticionado)
+                .map(Beneficio::getId)
+                .collect(Collectors.toList());
+        if (particionados.isEmpty()) {
+            return dtos;
+        }
+        Map<Long, BigDecimal> saldos = repository.sumParticoesPorBeneficio(particionados).stream()
+                .collect(Collectors.toMap(
+                        BeneficioRepository.SaldoParticoes::getBeneficioId,
+                        BeneficioRepository.SaldoParticoes::getValor));
+        for (BeneficioResponseDto dto : dtos) {
+            BigDecimal saldoParticoes = saldos.get(dto.getId());
+            if (saldoParticoes != null) {
+                dto.setValor(dto.getValor().somar(Money.of(saldoParticoes)));
+            }
+        }
+        return dtos;
+    }
+
+    private static int tamanhoPagina(final Integer limite) {
+        int tamanho = limite != null ? limite : BeneficioValidator.LIMITE_PADRAO_PAGINA;
+        if (tamanho <= 0 || tamanho > BeneficioValidator.LIMITE_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException(
+                    "Limite deve estar entre 1 e " + BeneficioValidator.LIMITE_MAXIMO_PAGINA);
+        }
+        return tamanho;
+    }
+
+    /* Agrega no banco a quantidade e o saldo por status, somando as partições dos benefícios particionados. */
+    private List<ResumoStatusDto> totalizarPorStatus() {
+        ResumoStatusDto ativos = new ResumoStatusDto(true, 0, BigDecimal.ZERO);
+        ResumoStatusDto cancelados = new ResumoStatusDto(false, 0, BigDecimal.ZERO);
+        for (BeneficioRepository.TotalStatus total : repository.sumByStatus()) {
+            ResumoStatusDto resumo = Boolean.TRUE.equals(total.getAtivo()) ? ativos : cancelados;
+            resumo.setQuantidade(resumo.getQuantidade() + total.getQuantidade());
+            resumo.setValorTotal(resumo.getValorTotal().add(total.getValor()));
+        }
+        for (BeneficioRepository.SaldoStatus saldo : repository.sumParticoesByStatus()) {
+            ResumoStatusDto resumo = Boolean.TRUE.equals(saldo.getAtivo()) ? ativos : cancelados;
+            resumo.setValorTotal(resumo.getValorTotal().add(saldo.getValor()));
+        }
+        return List.of(ativos, cancelados);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ResumoStatusDto;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Quantidade e saldo total dos benefícios por status, mantidos em memória.
+ * <p>
+ * Os contadores são carregados na inicialização e ajustados a cada criação, alteração, mudança de
+ * status ou remoção feita por esta instância. Transferências não os alteram: origem e destino são
+ * sempre benefícios ativos, e o débito de um compensa o crédito do outro; o mesmo vale para o
+ * particionamento, que apenas redistribui o saldo.
+ * <p>
+ * Alterações feitas por outras instâncias (ou fora da aplicação) só são vistas na próxima carga, por
+ * isso os contadores são recarregados do banco periodicamente (beneficio.resumo.recarga). Os ajustes
+ * registrados enquanto a consulta da recarga executa são guardados e reaplicados sobre os totais lidos,
+ * em vez de serem sobrescritos por eles; um ajuste cujo commit antecedeu a consulta por poucos instantes
+ * pode ser contado duas vezes até a recarga seguinte.
+ */
+@Component
+@Slf4j
+public class ContadoresStatusBeneficio {
+
+    private final Totais ativos = new Totais();
+
+    private final Totais cancelados = new Totais();
+
+    /* Ajustes registrados durante a recarga em andamento, reaplicados sobre os totais lidos. */
+    private final Totais ativosDuranteCarga = new Totais();
+
+    private final Totais canceladosDuranteCarga = new Totais();
+
+    private boolean carregando;
+
+    private final AtomicBoolean pronto = new AtomicBoolean();
+
+    private final Duration intervaloRecarga;
+
+    private ScheduledExecutorService agendador;
+
+    /**
+     * @param intervaloRecarga Intervalo entre as recargas periódicas do banco; zero ou negativo as desliga
+     */
+    public ContadoresStatusBeneficio(@Value("${beneficio.resumo.recarga:PT5M}") final Duration intervaloRecarga) {
+        this.intervaloRecarga = intervaloRecarga;
+    }
+
+    /**
+     * @return se os contadores já foram carregados e podem responder às consultas
+     */
+    public boolean isPronto() {
+        return pronto.get();
+    }
+
+    /**
+     * Carrega os contadores com os totais do banco e agenda as recargas periódicas.
+     *
+     * @param totalizar Consulta dos totais por status no banco
+     */
+    public void iniciar(@Nonnull final Supplier<List<ResumoStatusDto>> totalizar) {
+        recarregar(totalizar);
+        agendarRecargas(totalizar);
+    }
+
+    private synchronized void agendarRecargas(final Supplier<List<ResumoStatusDto>> totalizar) {
+        if (agendador != null || intervaloRecarga.isZero() || intervaloRecarga.isNegative()) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "recarga-resumo-status");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = intervaloRecarga.toNanos();
+        agendador.scheduleWithFixedDelay(
+                () -> recarregarAgendado(totalizar), intervalo, intervalo, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Interrompe as recargas periódicas.
+     */
+    @PreDestroy
+    public synchronized void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+            agendador = null;
+        }
+    }
+
+    /**
+     * Recarrega os contadores com os totais do banco. Os ajustes registrados durante a consulta são
+     * reaplicados sobre os totais lidos.
+     *
+     * @param totalizar Consulta dos totais por status no banco
+     */
+    public void recarregar(@Nonnull final Supplier<List<ResumoStatusDto>> totalizar) {
+        synchronized (this) {
+            ativosDuranteCarga.zerar();
+            canceladosDuranteCarga.zerar();
+            carregando = true;
+        }
+        List<ResumoStatusDto> totais;
+        try {
+            totais = totalizar.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                carregando = false;
+            }
+            throw e;
+        }
+        reconstruir(totais);
+    }
+
+    /**
+     * Substitui os contadores pelos totais informados, somados aos ajustes registrados durante a recarga
+     * em andamento, se houver.
+     *
+     * @param totais Quantidade e saldo total de cada status; status ausentes são zerados
+     */
+    public synchronized void reconstruir(@Nonnull final List<ResumoStatusDto> totais) {
+        ativos.zerar();
+        cancelados.zerar();
+        for (ResumoStatusDto total : totais) {
+            totais(total.isAtivo()).somar(total.getQuantidade(), total.getValorTotal());
+        }
+        if (carregando) {
+            ativos.somar(ativosDuranteCarga.quantidade, ativosDuranteCarga.valor);
+            cancelados.somar(canceladosDuranteCarga.quantidade, canceladosDuranteCarga.valor);
+            carregando = false;
+        }
+        pronto.set(true);
+        log.info(
+                "Contadores por status carregados: {} ativos, {} cancelados",
+                ativos.quantidade,
+                cancelados.quantidade);
+    }
+
+    /**
+     * Registra a inclusão de um benefício.
+     *
+     * @param ativo Status do benefício incluído
+     * @param valor Saldo total do benefício
+     */
+    public synchronized void incluir(final boolean ativo, @Nonnull final BigDecimal valor) {
+        ajustar(ativo, 1, valor);
+    }
+
+    /**
+     * Registra a inclusão de vários benefícios de um mesmo status.
+     *
+     * @param ativo Status dos benefícios incluídos
+     * @param quantidade Quantidade de benefícios incluídos
+     * @param valor Soma dos saldos dos benefícios
+     */
+    public synchronized void incluir(final boolean ativo, final long quantidade, @Nonnull final BigDecimal valor) {
+        ajustar(ativo, quantidade, valor);
+    }
+
+    /**
+     * Registra a remoção de um benefício.
+     *
+     * @param ativo Status do benefício removido
+     * @param valor Saldo total do benefício
+     */
+    public synchronized void excluir(final boolean ativo, @Nonnull final BigDecimal valor) {
+        ajustar(ativo, -1, valor.negate());
+    }
+
+    /**
+     * Registra a alteração de um benefício, de status e saldo anteriores para os novos.
+     */
+    public synchronized void alterar(
+            final boolean ativoAnterior,
+            @Nonnull final BigDecimal valorAnterior,
+            final boolean ativo,
+            @Nonnull final BigDecimal valor) {
+        excluir(ativoAnterior, valorAnterior);
+        incluir(ativo, valor);
+    }
+
+    /**
+     * @return Totais dos benefícios ativos e, em seguida, dos cancelados
+     */
+    public synchronized List<ResumoStatusDto> resumo() {
+        return List.of(ativos.mapResponse(true), cancelados.mapResponse(false));
+    }
+
+    private void recarregarAgendado(final Supplier<List<ResumoStatusDto>> totalizar) {
+        try {
+            recarregar(totalizar);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao recarregar os contadores por status; mantidos os totais atuais", e);
+        }
+    }
+
+    private void ajustar(final boolean ativo, final long quantidade, final BigDecimal valor) {
+        totais(ativo).somar(quantidade, valor);
+        if (carregando) {
+            (ativo ? ativosDuranteCarga : canceladosDuranteCarga).somar(quantidade, valor);
+        }
+    }
+
+    private Totais totais(final boolean ativo) {
+        return ativo ? ativos : cancelados;
+    }
+
+    /* Acessado apenas sob o monitor de ContadoresStatusBeneficio. */
+    private static final class Totais {
+
+        private long quantidade;
+
+        private BigDecimal valor = BigDecimal.ZERO;
+
+        void zerar() {
+            quantidade = 0;
+            valor = BigDecimal.ZERO;
+        }
+
+        void somar(final long quantidadeDelta, final BigDecimal valorDelta) {
+            quantidade += quantidadeDelta;
+            if (valorDelta != null) {
+                valor = valor.add(valorDelta);
+            }
+        }
+
+        ResumoStatusDto mapResponse(final boolean ativo) {
+            return ResumoStatusDto.builder()
+                    .ativo(ativo)
+                    .quantidade(quantidade)
+                    .valorTotal(valor)
+                    .build();
+        }
+    }
+}
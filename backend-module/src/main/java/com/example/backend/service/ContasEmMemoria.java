@@ -0,0 +1,274 @@
+package com.example.backend.service;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saldos e status dos benefícios mantidos pela {@link TransferenciaEmMemoria}: mapa de chaves {@code long}
+ * dividido em faixas, cada uma com o seu bloqueio.
+ * <p>
+ * Contas sem uso desde a varredura anterior e sem registros do diário ainda não gravados no banco são
+ * removidas por {@link #removerOciosas(long)}, de forma que o mapa acompanha os benefícios em uso, e não
+ * todos os que já foram transferidos.
+ */
+final class ContasEmMemoria {
+
+    /* Multiplicador de Fibonacci: espalha IDs sequenciais pelos bits altos. */
+    private static final long ESPALHAMENTO = 0x9E3779B97F4A7C15L;
+
+    /* Primeiro bit do hash usado na escolha da faixa; os bits baixos escolhem a posição na faixa. */
+    private static final int BIT_FAIXA = 40;
+
+    private final Faixa[] faixas;
+
+    /**
+     * @param quantidadeFaixas Quantidade de faixas, arredondada para a potência de dois seguinte
+     */
+    ContasEmMemoria(final int quantidadeFaixas) {
+        // A faixa é escolhida pelos bits mais altos do hash, com uma máscara
+        int quantidade = Integer.highestOneBit(quantidadeFaixas);
+        this.faixas = new Faixa[quantidade < quantidadeFaixas ? quantidade << 1 : quantidade];
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] = new Faixa(i);
+        }
+    }
+
+    int getQuantidadeFaixas() {
+        return faixas.length;
+    }
+
+    Faixa faixa(final long id) {
+        return faixas[(int) (espalhar(id) >>> BIT_FAIXA) & (faixas.length - 1)];
+    }
+
+    /* Bloqueia as faixas em ordem de índice, evitando deadlock entre transferências em sentidos opostos. */
+    static void bloquear(final Faixa primeira, final Faixa segunda) {
+        if (primeira.indice == segunda.indice) {
+            primeira.trava.lock();
+        } else if (primeira.indice < segunda.indice) {
+            primeira.trava.lock();
+            segunda.trava.lock();
+        } else {
+            segunda.trava.lock();
+            primeira.trava.lock();
+        }
+    }
+
+    static void desbloquear(final Faixa primeira, final Faixa segunda) {
+        primeira.trava.unlock();
+        if (primeira.indice != segunda.indice) {
+            segunda.trava.unlock();
+        }
+    }
+
+    /**
+     * Remove as contas não usadas desde a varredura anterior cujos registros já foram gravados no banco.
+     * As contas removidas deixam de ser válidas e são recarregadas do banco no próximo uso.
+     *
+     * @param ultimoCheckpoint Última sequência do diário gravada no banco
+     * @return quantidade de contas removidas
+     */
+    int removerOciosas(final long ultimoCheckpoint) {
+        int removidas = 0;
+        for (Faixa faixa : faixas) {
+            faixa.trava.lock();
+            try {
+                removidas += faixa.removerOciosas(ultimoCheckpoint);
+            } finally {
+                faixa.trava.unlock();
+            }
+        }
+        return removidas;
+    }
+
+    private static long espalhar(final long id) {
+        return id * ESPALHAMENTO;
+    }
+
+    /** Saldo e status de um benefício em memória; alterados apenas com a faixa bloqueada. */
+    static final class Conta {
+
+        /* Saldo atual em centavos: saldo do banco somado às variações ainda não gravadas. */
+        long saldo;
+
+        /* Variação ainda não gravada no banco, em centavos; mantida quando a conta é descartada. */
+        long pendente;
+
+        /* Sequência do último registro do diário com a conta; zero se nenhum. */
+        long ultimaSequencia;
+
+        boolean ativo;
+
+        boolean particionado;
+
+        boolean valida;
+
+        /* Usada desde a última varredura de contas ociosas. */
+        boolean usada;
+
+        Conta(final long saldo, final boolean ativo, final boolean particionado) {
+            this.saldo = saldo;
+            this.ativo = ativo;
+            this.particionado = particionado;
+        }
+    }
+
+    /**
+     * Faixa do mapa de benefícios: tabela de endereçamento aberto com chaves {@code long} (zero indica posição
+     * livre), acessada apenas com a trava da faixa.
+     */
+    static final class Faixa {
+
+        private static final int CAPACIDADE_INICIAL = 16;
+
+        /* Ocupação máxima da tabela: uma a cada FATOR_OCUPACAO posições. */
+        private static final int FATOR_OCUPACAO = 2;
+
+        final ReentrantLock trava = new ReentrantLock();
+
+        /* Sinalizada ao fim de cada alteração, liberando as cargas que a aguardam. */
+        private final Condition alteracaoConcluida = trava.newCondition();
+
+        private final int indice;
+
+        /* Benefícios com alteração em andamento em outra transação, com a quantidade de alterações. */
+        private final Map<Long, Integer> emAlteracao = new ConcurrentHashMap<>();
+
+        private long[] chaves = new long[CAPACIDADE_INICIAL];
+
+        private Conta[] contas = new Conta[CAPACIDADE_INICIAL];
+
+        private int tamanho;
+
+        /* Incrementada a cada descarte: uma carga iniciada antes de um descarte não é aproveitada. */
+        private long geracao;
+
+        Faixa(final int indice) {
+            this.indice = indice;
+        }
+
+        long getGeracao() {
+            return geracao;
+        }
+
+        Conta buscar(final long id) {
+            int mascara = chaves.length - 1;
+            for (int i = (int) espalhar(id) & mascara; chaves[i] != 0; i = (i + 1) & mascara) {
+                if (chaves[i] == id) {
+                    return contas[i];
+                }
+            }
+            return null;
+        }
+
+        /* Atualiza a conta com o saldo lido do banco, somando as variações pendentes, ou a inclui. */
+        Conta carregar(final long id, final Conta lida) {
+            Conta conta = buscar(id);
+            if (conta == null) {
+                conta = lida;
+                incluir(id, conta);
+            } else {
+                conta.saldo = lida.saldo + conta.pendente;
+                conta.ativo = lida.ativo;
+                conta.particionado = lida.particionado;
+            }
+            conta.valida = true;
+            conta.usada = true;
+            return conta;
+        }
+
+        /* Descarta a conta e impede a sua carga até a alteração correspondente ser concluída. */
+        void iniciarAlteracao(final long id) {
+            emAlteracao.merge(id, 1, Integer::sum);
+            descartar(id);
+        }
+
+        void concluirAlteracao(final long id) {
+            emAlteracao.computeIfPresent(id, (chave, quantidade) -> quantidade == 1 ? null : quantidade - 1);
+            alteracaoConcluida.signalAll();
+        }
+
+        /* Aguarda, com a trava da faixa, até que o benefício não tenha alterações em andamento. */
+        void aguardarAlteracoes(final long id) {
+            while (emAlteracao.containsKey(id)) {
+                alteracaoConcluida.awaitUninterruptibly();
+            }
+        }
+
+        void descartar(final long id) {
+            geracao++;
+            Conta conta = buscar(id);
+            if (conta != null) {
+                conta.valida = false;
+            }
+        }
+
+        /* Recria a tabela apenas com as contas em uso ou com registros ainda não gravados no banco. */
+        private int removerOciosas(final long ultimoCheckpoint) {
+            long[] chavesAnteriores = chaves;
+            Conta[] contasAnteriores = contas;
+            int mantidas = 0;
+            for (int i = 0; i < chavesAnteriores.length; i++) {
+                Conta conta = contasAnteriores[i];
+                if (conta == null) {
+                    continue;
+                }
+                if (conta.usada || conta.ultimaSequencia > ultimoCheckpoint) {
+                    conta.usada = false;
+                    mantidas++;
+                } else {
+                    conta.valida = false;
+                    contasAnteriores[i] = null;
+                }
+            }
+            int removidas = tamanho - mantidas;
+            if (removidas > 0) {
+                recriar(chavesAnteriores, contasAnteriores, mantidas);
+            }
+            return removidas;
+        }
+
+        /* Recria a tabela, com capacidade para as contas mantidas, a partir das posições não nulas. */
+        private void recriar(final long[] chavesAnteriores, final Conta[] contasAnteriores, final int mantidas) {
+            int capacidade = Math.max(CAPACIDADE_INICIAL, Integer.highestOneBit(FATOR_OCUPACAO * mantidas + 1) << 1);
+            chaves = new long[capacidade];
+            contas = new Conta[capacidade];
+            tamanho = 0;
+            for (int i = 0; i < chavesAnteriores.length; i++) {
+                if (contasAnteriores[i] != null) {
+                    incluir(chavesAnteriores[i], contasAnteriores[i]);
+                }
+            }
+        }
+
+        private void incluir(final long id, final Conta conta) {
+            if (id <= 0) {
+                throw new BeneficioNaoEncontradoException(BeneficioEjbService.MENSAGEM_NAO_ENCONTRADO);
+            }
+            if (FATOR_OCUPACAO * (tamanho + 1) > chaves.length) {
+                long[] chavesAnteriores = chaves;
+                Conta[] contasAnteriores = contas;
+                chaves = new long[chavesAnteriores.length << 1];
+                contas = new Conta[chaves.length];
+                tamanho = 0;
+                for (int i = 0; i < chavesAnteriores.length; i++) {
+                    if (chavesAnteriores[i] != 0) {
+                        incluir(chavesAnteriores[i], contasAnteriores[i]);
+                    }
+                }
+            }
+            int mascara = chaves.length - 1;
+            int i = (int) espalhar(id) & mascara;
+            while (chaves[i] != 0) {
+                i = (i + 1) & mascara;
+            }
+            chaves[i] = id;
+            contas[i] = conta;
+            tamanho++;
+        }
+    }
+}
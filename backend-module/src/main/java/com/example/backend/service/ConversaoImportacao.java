@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.ejb.model.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversão das linhas da importação de benefícios em massa, em CSV ou NDJSON, para
+ * {@link BeneficioRequestDto}.
+ */
+final class ConversaoImportacao {
+
+    /*
+     * Tamanho máximo de um registro CSV em várias linhas: bem acima de nome, descrição, valor e status
+     * juntos, limita a leitura de uma entrada com aspas que nunca se fecham.
+     */
+    static final int TAMANHO_MAXIMO_REGISTRO = 4096;
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of("nome", "valor", "ativo");
+
+    /**
+     * Converte o texto de uma linha; lança IllegalArgumentException com o motivo da recusa.
+     */
+    @FunctionalInterface
+    interface Conversor {
+        BeneficioRequestDto converter(String texto);
+    }
+
+    private ConversaoImportacao() { }
+
+    /**
+     * @param objectMapper Leitor de JSON
+     * @return conversor de linhas NDJSON, cada uma com um objeto JSON
+     */
+    static Conversor json(final ObjectMapper objectMapper) {
+        return texto -> converterJson(objectMapper, texto);
+    }
+
+    private static BeneficioRequestDto converterJson(final ObjectMapper objectMapper, final String texto) {
+        try {
+            BeneficioRequestDto dto = objectMapper.readValue(texto, BeneficioRequestDto.class);
+            if (dto == null) {
+                throw new IllegalArgumentException("Linha não contém um objeto JSON");
+            }
+            return dto;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * @param cabecalho Primeira linha do CSV, com as colunas nome, descricao (opcional), valor e ativo
+     *      em qualquer ordem; nula se a entrada estiver vazia
+     * @return conversor das linhas seguintes
+     * @throws IllegalArgumentException se o cabeçalho for inválido
+     */
+    static Conversor csv(final String cabecalho) throws IllegalArgumentException {
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Cabeçalho do CSV não informado");
+        }
+        Map<String, Integer> colunas = new ConcurrentHashMap<>();
+        List<String> nomes = separarCampos(cabecalho.strip());
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.keySet().containsAll(COLUNAS_OBRIGATORIAS)) {
+            throw new IllegalArgumentException("Cabeçalho do CSV deve conter as colunas " + COLUNAS_OBRIGATORIAS);
+        }
+        int nome = colunas.get("nome");
+        int descricao = colunas.getOrDefault("descricao", -1);
+        int valor = colunas.get("valor");
+        int ativo = colunas.get("ativo");
+        return texto -> {
+            List<String> campos = separarCampos(texto);
+            if (campos.size() != nomes.size()) {
+                throw new IllegalArgumentException(
+                        "Quantidade de colunas inválida: esperadas " + nomes.size() + ", recebidas " + campos.size());
+            }
+            return BeneficioRequestDto.builder()
+                    .nome(campos.get(nome))
+                    .descricao(descricao >= 0 && !campos.get(descricao).isEmpty() ? campos.get(descricao) : null)
+                    .valor(converterValor(campos.get(valor)))
+                    .ativo(converterAtivo(campos.get(ativo)))
+                    .build();
+        };
+    }
+
+    private static Money converterValor(final String campo) {
+        if (campo.isBlank()) {
+            return null;
+        }
+        BigDecimal valor;
+        try {
+            valor = new BigDecimal(campo.strip());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + campo);
+        }
+        return Money.of(valor);
+    }
+
+    private static Boolean converterAtivo(final String campo) {
+        String ativo = campo.strip().toLowerCase(Locale.ROOT);
+        if (ativo.isEmpty()) {
+            return null;
+        }
+        if (!ativo.equals("true") && !ativo.equals("false")) {
+            throw new IllegalArgumentException("Status inválido: " + campo);
+        }
+        return Boolean.valueOf(ativo);
+    }
+
+    /**
+     * Verifica se o texto termina dentro de um campo entre aspas, ou seja, se o registro CSV continua na
+     * próxima linha. Aspas duplicadas dentro do campo não alteram a paridade.
+     *
+     * @param texto Registro lido até o momento
+     * @return se há quantidade ímpar de aspas
+     */
+    static boolean aspasAbertas(final CharSequence texto) {
+        boolean abertas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                abertas = !abertas;
+            }
+        }
+        return abertas;
+    }
+
+    /**
+     * Separa os campos de um registro CSV delimitado por vírgulas. Campos entre aspas podem conter
+     * vírgulas, aspas duplicadas e quebras de linha.
+     */
+    static List<String> separarCampos(final String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char caractere = linha.charAt(i);
+            if (entreAspas) {
+                if (caractere != '"') {
+                    campo.append(caractere);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(caractere);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.backend.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (write-ahead log) das transferências aplicadas em memória, gravado em um arquivo mapeado em memória.
+ * <p>
+ * Cada transferência ocupa um registro de tamanho fixo, identificado por uma sequência contínua; o registro
+ * de sequência {@code s} fica na posição {@code s % capacidade}. O arquivo é circular: uma posição só é
+ * reutilizada depois que o registro anterior foi gravado no banco (checkpoint) e, com o diário cheio, novos
+ * registros são recusados até o próximo checkpoint. Cada registro tem um CRC32, de forma que um registro
+ * gravado pela metade em uma queda é descartado na recuperação.
+ * <p>
+ * A inclusão não usa bloqueio: a sequência é reservada com compare-and-set e cada thread escreve na posição
+ * do seu registro, publicando-o ao gravar a sequência por último (escrita com semântica release). A
+ * inclusão só retorna depois de publicados todos os registros anteriores, de forma que as transferências
+ * concluídas formam sempre um prefixo contínuo da sequência: na recuperação, uma lacuna só pode preceder
+ * registros de transferências que não foram concluídas, e esses registros são descartados. O checkpoint lê
+ * o mesmo prefixo ({@link #pendentes(int)}).
+ * <p>
+ * Uma falha ao escrever um registro inutiliza o diário: a sequência não é publicada, o registro é apagado (se
+ * possível) e a inclusão falha, assim como as inclusões em andamento com sequência posterior, que também apagam
+ * os seus registros, e todas as seguintes. O prefixo publicado antes da falha continua sendo gravado no banco,
+ * e nenhuma transferência recusada é reaplicada na recuperação.
+ * <p>
+ * As gravações vão para o cache de páginas do sistema operacional e sobrevivem à queda do processo. Para
+ * sobreviver também à queda do sistema operacional, cada registro é sincronizado com o disco antes de a
+ * inclusão retornar, ao custo de uma escrita síncrona por transferência; sem a sincronização (opção
+ * explícita de quem cria o diário), transferências concluídas podem ser perdidas nessa queda.
+ */
+public final class DiarioTransferencias implements Closeable {
+
+    /* Tamanho de cada registro: sete campos long, o CRC32 e quatro bytes de preenchimento. */
+    static final int TAMANHO_REGISTRO = 64;
+
+    /* Posições dos campos no registro, em bytes; a sequência fica no início e é gravada por último. */
+    private static final int SEQUENCIA = 0;
+    private static final int ORIGEM = Long.BYTES;
+    private static final int DESTINO = ORIGEM + Long.BYTES;
+    private static final int CENTAVOS = DESTINO + Long.BYTES;
+    private static final int INSTANTE = CENTAVOS + Long.BYTES;
+    private static final int SALDO_ORIGEM = INSTANTE + Long.BYTES;
+    private static final int SALDO_DESTINO = SALDO_ORIGEM + Long.BYTES;
+    private static final int TAMANHO_DADOS = SALDO_DESTINO + Long.BYTES;
+
+    /* Acesso à sequência com semântica release/acquire; alinhada, pois os registros têm 64 bytes. */
+    private static final VarHandle SEQUENCIA_REGISTRO =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /* Esperas ativas pela publicação dos registros anteriores antes de ceder o processador. */
+    private static final int ESPERAS_ATIVAS = 100;
+
+    /* Registro montado e CRC de cada thread, reaproveitados a cada inclusão. */
+    private static final ThreadLocal<Montagem> MONTAGEM = ThreadLocal.withInitial(Montagem::new);
+
+    private final FileChannel canal;
+
+    private final MappedByteBuffer mapa;
+
+    private final int capacidade;
+
+    private final boolean sincronizar;
+
+    private final AtomicLong proximaSequencia = new AtomicLong(1);
+
+    private final AtomicLong ultimoCheckpoint = new AtomicLong();
+
+    /* Maior sequência publicada com todas as anteriores também publicadas. */
+    private final AtomicLong publicada = new AtomicLong();
+
+    /* Sequência cuja escrita falhou, ou zero: nenhuma sequência a partir dela é publicada. */
+    private final AtomicLong falha = new AtomicLong();
+
+    /**
+     * Abre (ou cria) o arquivo do diário.
+     *
+     * @param arquivo Arquivo do diário
+     * @param capacidade Quantidade de registros ainda não gravados no banco que o diário comporta
+     * @param sincronizar Se cada registro deve ser sincronizado com o disco antes de a transferência ser concluída
+     * @throws IOException se o arquivo não puder ser aberto ou mapeado
+     */
+    public DiarioTransferencias(final Path arquivo, final int capacidade, final boolean sincronizar)
+            throws IOException {
+        if (capacidade < 1 || capacidade > Integer.MAX_VALUE / TAMANHO_REGISTRO) {
+            throw new IllegalArgumentException(
+                    "Capacidade do diário deve estar entre 1 e " + Integer.MAX_VALUE / TAMANHO_REGISTRO);
+        }
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        this.canal = FileChannel.open(
+                arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacidade * TAMANHO_REGISTRO);
+        this.capacidade = capacidade;
+        this.sincronizar = sincronizar;
+    }
+
+    /**
+     * Lê os registros posteriores ao último checkpoint e posiciona o diário para continuar a sequência.
+     * Apenas a parte contínua a partir do checkpoint é devolvida: um registro ausente ou inválido (CRC
+     * divergente) encerra a recuperação. Os registros válidos após a lacuna, de inclusões que não chegaram a
+     * retornar, são apagados do arquivo, para que não sejam confundidos com os que reutilizarem as suas
+     * sequências. Deve ser chamado antes de qualquer inclusão.
+     *
+     * @param checkpoint Última sequência já gravada no banco
+     * @return Registros a reaplicar, em ordem de sequência
+     */
+    public List<Registro> recuperar(final long checkpoint) {
+        List<Registro> validos = new ArrayList<>();
+        for (int posicao = 0; posicao < capacidade; posicao++) {
+            Registro registro = ler(posicao * TAMANHO_REGISTRO);
+            if (registro != null && registro.sequencia() > checkpoint) {
+                validos.add(registro);
+            }
+        }
+        validos.sort(Comparator.comparingLong(Registro::sequencia));
+        List<Registro> recuperados = new ArrayList<>(validos.size());
+        for (Registro registro : validos) {
+            if (registro.sequencia() != checkpoint + recuperados.size() + 1) {
+                break;
+            }
+            recuperados.add(registro);
+        }
+        if (recuperados.size() < validos.size()) {
+            for (Registro descartado : validos.subList(recuperados.size(), validos.size())) {
+                mapa.putLong(posicao(descartado.sequencia()) + SEQUENCIA, 0L);
+            }
+            mapa.force();
+        }
+        long ultima = checkpoint + recuperados.size();
+        ultimoCheckpoint.set(checkpoint);
+        publicada.set(ultima);
+        proximaSequencia.set(ultima + 1);
+        return recuperados;
+    }
+
+    /**
+     * Descarta todos os registros e reinicia a sequência após o checkpoint informado. Deve ser chamado
+     * antes de qualquer inclusão.
+     *
+     * @param checkpoint Última sequência já gravada no banco
+     */
+    public void reiniciar(final long checkpoint) {
+        for (int posicao = 0; posicao < capacidade * TAMANHO_REGISTRO; posicao += Long.BYTES) {
+            mapa.putLong(posicao, 0L);
+        }
+        mapa.force();
+        ultimoCheckpoint.set(checkpoint);
+        publicada.set(checkpoint);
+        proximaSequencia.set(checkpoint + 1);
+    }
+
+    /**
+     * Inclui o registro de uma transferência com a próxima sequência. Pode ser chamado por várias threads
+     * ao mesmo tempo; retorna apenas após a publicação dos registros de sequência anterior.
+     *
+     * @return Registro incluído, ou nulo se o diário estiver cheio (aguardando checkpoint)
+     * @throws IllegalStateException se o registro não puder ser gravado ou o diário estiver inutilizado por uma
+     *      falha anterior; o registro não é publicado
+     */
+    public Registro anexar(
+            final long origemId,
+            final long destinoId,
+            final long centavos,
+            final long saldoOrigem,
+            final long saldoDestino)
+            throws IllegalStateException {
+        verificarFalha();
+        long sequencia;
+        do {
+            sequencia = proximaSequencia.get();
+            if (sequencia - ultimoCheckpoint.get() > capacidade) {
+                return null;
+            }
+        } while (!proximaSequencia.compareAndSet(sequencia, sequencia + 1));
+        Registro registro = new Registro(
+                sequencia, origemId, destinoId, centavos, System.currentTimeMillis(), saldoOrigem, saldoDestino);
+        try {
+            escrever(registro);
+        } catch (RuntimeException e) {
+            falha.compareAndSet(0, sequencia);
+            String apagado = apagar(sequencia) ? "" : " (registro não apagado: verificar antes de reiniciar)";
+            throw new IllegalStateException(
+                    "Falha ao gravar a transferência no diário: " + e.getMessage() + apagado, e);
+        }
+        publicar(sequencia);
+        return registro;
+    }
+
+    /**
+     * Registros publicados após o último checkpoint, em ordem de sequência, até o primeiro ainda não
+     * publicado: uma sequência reservada por uma inclusão em andamento encerra a leitura.
+     *
+     * @param limite Quantidade máxima de registros devolvidos
+     * @return Registros a gravar no banco
+     */
+    public List<Registro> pendentes(final int limite) {
+        return pendentes(ultimoCheckpoint.get(), limite);
+    }
+
+    /**
+     * Registros publicados após a sequência informada, como em {@link #pendentes(int)}: usado quando
+     * registros posteriores ao último checkpoint já foram gravados em uma transação ainda não confirmada.
+     *
+     * @param posterior Última sequência já gravada, não devolvida
+     * @param limite Quantidade máxima de registros devolvidos
+     * @return Registros a gravar no banco
+     */
+    public List<Registro> pendentes(final long posterior, final int limite) {
+        List<Registro> registros = new ArrayList<>();
+        long ultima = publicada.get();
+        long primeira = Math.max(posterior, ultimoCheckpoint.get()) + 1;
+        for (long sequencia = primeira; sequencia <= ultima && registros.size() < limite; sequencia++) {
+            Registro registro = ler(posicao(sequencia));
+            if (registro == null || registro.sequencia() != sequencia) {
+                break;
+            }
+            registros.add(registro);
+        }
+        return registros;
+    }
+
+    /**
+     * Libera as posições dos registros já gravados no banco.
+     *
+     * @param sequencia Última sequência gravada no banco
+     */
+    public void registrarCheckpoint(final long sequencia) {
+        ultimoCheckpoint.set(sequencia);
+    }
+
+    /**
+     * @return última sequência gravada no banco
+     */
+    public long getUltimoCheckpoint() {
+        return ultimoCheckpoint.get();
+    }
+
+    /**
+     * @return quantidade de registros ainda não gravados no banco, incluindo inclusões em andamento
+     */
+    public long getPendentes() {
+        return proximaSequencia.get() - 1 - ultimoCheckpoint.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        mapa.force();
+        canal.close();
+    }
+
+    private int posicao(final long sequencia) {
+        return (int) (sequencia % capacidade) * TAMANHO_REGISTRO;
+    }
+
+    /*
+     * Aguarda a publicação do registro anterior e avança a sequência publicada. A espera dura apenas a
+     * escrita das inclusões concorrentes com sequência menor, que já reservaram as suas posições; se uma
+     * delas falhar, o registro é apagado sem ser publicado.
+     */
+    private void publicar(final long sequencia) throws IllegalStateException {
+        for (int esperas = 0; publicada.get() != sequencia - 1; esperas++) {
+            long falhou = falha.get();
+            if (falhou != 0 && falhou < sequencia) {
+                apagar(sequencia);
+                verificarFalha();
+            }
+            if (esperas < ESPERAS_ATIVAS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        publicada.set(sequencia);
+    }
+
+    private void verificarFalha() throws IllegalStateException {
+        long falhou = falha.get();
+        if (falhou != 0) {
+            throw new IllegalStateException(
+                    "Diário de transferências inutilizado pela falha ao gravar a sequência " + falhou);
+        }
+    }
+
+    /*
+     * Apaga um registro não publicado, para que não seja reaplicado na recuperação. Retorna falso se o arquivo
+     * não pôde ser alterado: o registro pode ter sido gravado por inteiro e voltar na recuperação.
+     */
+    private boolean apagar(final long sequencia) {
+        int inicio = posicao(sequencia);
+        try {
+            SEQUENCIA_REGISTRO.setRelease(mapa, inicio + SEQUENCIA, 0L);
+            mapa.force(inicio, TAMANHO_REGISTRO);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /* Grava os campos e o CRC e, por último, publica o registro gravando a sequência. */
+    private void escrever(final Registro registro) {
+        Montagem montagem = MONTAGEM.get();
+        ByteBuffer dados = montagem.dados;
+        dados.putLong(SEQUENCIA, registro.sequencia())
+                .putLong(ORIGEM, registro.origemId())
+                .putLong(DESTINO, registro.destinoId())
+                .putLong(CENTAVOS, registro.centavos())
+                .putLong(INSTANTE, registro.instante())
+                .putLong(SALDO_ORIGEM, registro.saldoOrigem())
+                .putLong(SALDO_DESTINO, registro.saldoDestino());
+        int inicio = posicao(registro.sequencia());
+        mapa.put(inicio + ORIGEM, dados, ORIGEM, TAMANHO_DADOS - ORIGEM);
+        mapa.putInt(inicio + TAMANHO_DADOS, montagem.crc(dados));
+        SEQUENCIA_REGISTRO.setRelease(mapa, inicio + SEQUENCIA, registro.sequencia());
+        if (sincronizar) {
+            mapa.force(inicio, TAMANHO_REGISTRO);
+        }
+    }
+
+    /* Registro gravado na posição, ou nulo se ainda não publicado ou com CRC divergente. */
+    private Registro ler(final int inicio) {
+        long sequencia = (long) SEQUENCIA_REGISTRO.getAcquire(mapa, inicio + SEQUENCIA);
+        if (sequencia <= 0 || posicao(sequencia) != inicio) {
+            return null;
+        }
+        Montagem montagem = MONTAGEM.get();
+        ByteBuffer dados = montagem.dados;
+        dados.put(0, mapa, inicio, TAMANHO_DADOS);
+        if (mapa.getInt(inicio + TAMANHO_DADOS) != montagem.crc(dados) || dados.getLong(SEQUENCIA) != sequencia) {
+            return null;
+        }
+        return new Registro(
+                sequencia,
+                dados.getLong(ORIGEM),
+                dados.getLong(DESTINO),
+                dados.getLong(CENTAVOS),
+                dados.getLong(INSTANTE),
+                dados.getLong(SALDO_ORIGEM),
+                dados.getLong(SALDO_DESTINO));
+    }
+
+    /**
+     * Registro de uma transferência no diário. Valores e saldos resultantes em centavos; instante em
+     * milissegundos desde a época.
+     */
+    public record Registro(
+            long sequencia,
+            long origemId,
+            long destinoId,
+            long centavos,
+            long instante,
+            long saldoOrigem,
+            long saldoDestino) { }
+
+    /* Cópia dos dados de um registro e o CRC usado para calculá-lo, de uso exclusivo de uma thread. */
+    private static final class Montagem {
+
+        private final ByteBuffer dados = ByteBuffer.allocate(TAMANHO_DADOS);
+
+        private final CRC32 crc = new CRC32();
+
+        int crc(final ByteBuffer registro) {
+            crc.reset();
+            crc.update(registro.array(), 0, TAMANHO_DADOS);
+            return (int) crc.getValue();
+        }
+    }
+}
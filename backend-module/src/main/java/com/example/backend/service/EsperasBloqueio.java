@@ -0,0 +1,167 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.EsperaBloqueioDto;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Esperas por bloqueio pessimista de cada benefício em uma janela deslizante, para identificar os
+ * benefícios mais disputados.
+ * <p>
+ * A janela é dividida em {@value #FATIAS} fatias de tempo; cada fatia acumula, por benefício, a
+ * quantidade de esperas, o tempo total e o maior tempo. Ao avançar o relógio a fatia mais antiga é
+ * reaproveitada, de modo que o consumo de memória se limita aos benefícios bloqueados na janela
+ * (e a no máximo {@code maximoBeneficios} benefícios por fatia; os excedentes são ignorados).
+ * Registrar uma espera não bloqueia outras threads, exceto na virada de uma fatia.
+ */
+@Component
+public class EsperasBloqueio {
+
+    static final int FATIAS = 6;
+
+    /* Posições das somas por benefício em maisDisputados: quantidade, tempo total e tempo máximo. */
+    private static final int QUANTIDADE = 0;
+
+    private static final int TOTAL = 1;
+
+    private static final int MAXIMO = 2;
+
+    private static final int CAMPOS_SOMA = 3;
+
+    private final Fatia[] fatias = new Fatia[FATIAS];
+
+    private final long duracaoFatia;
+
+    private final int maximoBeneficios;
+
+    private final LongSupplier relogio;
+
+    @Autowired
+    public EsperasBloqueio(
+            @Value("${beneficio.transferencia.bloqueio.janela:PT60S}") final Duration janela,
+            @Value("${beneficio.transferencia.bloqueio.maximo-beneficios:10000}") final int maximoBeneficios) {
+        this(janela, maximoBeneficios, System::nanoTime);
+    }
+
+    EsperasBloqueio(final Duration janela, final int maximoBeneficios, final LongSupplier relogio) {
+        if (janela.toNanos() < FATIAS || maximoBeneficios < 1) {
+            throw new IllegalArgumentException("Configuração da janela de bloqueios inválida");
+        }
+        this.duracaoFatia = janela.toNanos() / FATIAS;
+        this.maximoBeneficios = maximoBeneficios;
+        this.relogio = relogio;
+        for (int i = 0; i < FATIAS; i++) {
+            fatias[i] = new Fatia();
+        }
+    }
+
+    /**
+     * @return duração da janela considerada nas consultas
+     */
+    public Duration getJanela() {
+        return Duration.ofNanos(duracaoFatia * FATIAS);
+    }
+
+    /**
+     * Registra uma espera por bloqueio.
+     *
+     * @param beneficioId Benefício bloqueado
+     * @param nanos Tempo de espera em nanossegundos
+     */
+    public void registrar(final Long beneficioId, final long nanos) {
+        long periodo = relogio.getAsLong() / duracaoFatia;
+        Fatia fatia = fatias[(int) Math.floorMod(periodo, (long) FATIAS)];
+        if (fatia.periodo.get() != periodo) {
+            fatia.reiniciar(periodo);
+        }
+        Espera espera = fatia.esperas.get(beneficioId);
+        if (espera == null) {
+            if (fatia.esperas.size() >= maximoBeneficios) {
+                return;
+            }
+            espera = fatia.esperas.computeIfAbsent(beneficioId, id -> new Espera());
+        }
+        espera.quantidade.increment();
+        espera.total.add(nanos);
+        espera.maximo.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Benefícios com maior tempo total de espera por bloqueio na janela.
+     *
+     * @param limite Quantidade máxima de benefícios
+     * @return Benefícios do mais para o menos disputado
+     */
+    public List<EsperaBloqueioDto> maisDisputados(final int limite) {
+        long atual = relogio.getAsLong() / duracaoFatia;
+        Map<Long, long[]> somas = new ConcurrentHashMap<>();
+        for (Fatia fatia : fatias) {
+            long periodo = fatia.periodo.get();
+            if (periodo > atual || atual - periodo >= FATIAS) {
+                continue;
+            }
+            fatia.esperas.forEach((id, espera) -> {
+                long[] soma = somas.computeIfAbsent(id, chave -> new long[CAMPOS_SOMA]);
+                soma[QUANTIDADE] += espera.quantidade.sum();
+                soma[TOTAL] += espera.total.sum();
+                soma[MAXIMO] = Math.max(soma[MAXIMO], espera.maximo.get());
+            });
+        }
+        return somas.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> e) -> e.getValue()[TOTAL])
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(Math.max(0, limite))
+                .map(e -> EsperaBloqueioDto.builder()
+                        .beneficioId(e.getKey())
+                        .esperas(e.getValue()[QUANTIDADE])
+                        .tempoTotalMs(milissegundos(e.getValue()[TOTAL]))
+                        .tempoMaximoMs(milissegundos(e.getValue()[MAXIMO]))
+                        .tempoMedioMs(milissegundos(e.getValue()[TOTAL] / Math.max(1, e.getValue()[QUANTIDADE])))
+                        .build())
+                .toList();
+    }
+
+    private static double milissegundos(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Esperas acumuladas de um período de tempo.
+     */
+    private static final class Fatia {
+
+        private final AtomicLong periodo = new AtomicLong(Long.MIN_VALUE);
+
+        private final Map<Long, Espera> esperas = new ConcurrentHashMap<>();
+
+        synchronized void reiniciar(final long novoPeriodo) {
+            if (periodo.get() < novoPeriodo) {
+                esperas.clear();
+                periodo.set(novoPeriodo);
+            }
+        }
+    }
+
+    /**
+     * Esperas de um benefício em uma fatia.
+     */
+    private static final class Espera {
+
+        private final LongAdder quantidade = new LongAdder();
+
+        private final LongAdder total = new LongAdder();
+
+        private final AtomicLong maximo = new AtomicLong();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.backend.service;
+
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import java.util.Collection;
+
+/**
+ * Estratégia de execução de uma transferência entre benefícios.
+ * A implementação ativa é escolhida por implantação através da propriedade
+ * {@value #PROPRIEDADE} e é responsável pela demarcação da transação.
+ */
+public interface EstrategiaTransferencia {
+
+    /** Propriedade que seleciona a estratégia de transferência. */
+    String PROPRIEDADE = "beneficio.transferencia.estrategia";
+
+    /**
+     * Transfere o valor do benefício de origem para o benefício de destino.
+     *
+     * @param fromId ID do benefício de origem
+     * @param toId ID do benefício de destino
+     * @param valor Valor a ser transferido
+     * @throws IllegalArgumentException se os dados forem inválidos
+     * @throws BusinessException se a transferência for recusada pelas regras de negócio
+     */
+    void transferir(Long fromId, Long toId, Money valor) throws IllegalArgumentException, BusinessException;
+
+    /**
+     * Informa, dentro da transação e antes de ler os benefícios, que eles serão alterados por outra
+     * operação (alteração, status, partições, remoção ou transferência em lote). Estratégias que mantêm
+     * saldos fora do banco devem gravá-los no banco e não aplicar transferências com esses benefícios até
+     * o fim da transação; as demais não fazem nada.
+     *
+     * @param ids IDs dos benefícios que serão alterados
+     */
+    default void alterandoBeneficios(Collection<Long> ids) {
+        // Saldos mantidos apenas no banco
+    }
+
+    /**
+     * Informa, após o commit, que os benefícios foram alterados por outra operação (alteração, status,
+     * partições, remoção ou transferência em lote). Estratégias que mantêm saldos fora do banco devem
+     * descartá-los; as demais não fazem nada.
+     *
+     * @param ids IDs dos benefícios alterados
+     */
+    default void beneficiosAlterados(Collection<Long> ids) {
+        // Saldos mantidos apenas no banco
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.backend.service;
+
+import com.example.backend.validator.BeneficioValidator;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Exportação de benefícios e saldos em NDJSON (um objeto JSON por linha) ou CSV.
+ * <p>
+ * As linhas são lidas de um cursor JDBC somente leitura e de avanço único, buscadas em blocos do
+ * tamanho configurado, e escritas na saída à medida que chegam, sem criar um DTO por registro nem
+ * passar pelo contexto de persistência. O uso de memória independe da quantidade exportada.
+ * <p>
+ * O saldo exportado inclui as partições dos benefícios particionados, como nas demais consultas.
+ */
+@Service
+@Slf4j
+public class ExportacaoBeneficios {
+
+    static final String SELECT_BENEFICIOS = "SELECT tab.ID, tab.NOME, tab.DESCRICAO, "
+            + "tab.VALOR + COALESCE((SELECT SUM(p.VALOR) FROM BENEFICIO_PARTICAO p WHERE p.BENEFICIO_ID = tab.ID), 0), "
+            + "tab.ATIVO, tab.VERSION FROM BENEFICIO tab";
+
+    private static final String[] COLUNAS = {"id", "nome", "descricao", "valor", "ativo", "version"};
+
+    /* Posições das colunas de SELECT_BENEFICIOS no cursor (base 1) e em COLUNAS (base 0). */
+    private static final int COLUNA_ID = 1;
+    private static final int COLUNA_NOME = 2;
+    private static final int COLUNA_DESCRICAO = 3;
+    private static final int COLUNA_VALOR = 4;
+    private static final int COLUNA_ATIVO = 5;
+    private static final int COLUNA_VERSION = 6;
+
+    /**
+     * Formatos aceitos na exportação.
+     */
+    public enum Formato {
+        NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson"),
+        CSV(ImportacaoBeneficios.TEXT_CSV_VALUE + ";charset=UTF-8", "csv");
+
+        private final String mediaType;
+
+        private final String extensao;
+
+        Formato(final String mediaType, final String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtensao() {
+            return extensao;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transacaoLeitura;
+
+    private final ObjectMapper objectMapper;
+
+    private final int tamanhoBusca;
+
+    public ExportacaoBeneficios(
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            final ObjectMapper objectMapper,
+            @Value("${beneficio.exportacao.tamanho-busca:500}") final int tamanhoBusca) {
+        if (tamanhoBusca < 1) {
+            throw new IllegalArgumentException("Configuração de exportação inválida");
+        }
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate não pode ser nulo");
+        // Alguns drivers (ex.: PostgreSQL) só respeitam o fetch size fora do modo auto-commit
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.objectMapper = Objects.requireNonNull(objectMapper, "ObjectMapper não pode ser nulo");
+        this.tamanhoBusca = tamanhoBusca;
+    }
+
+    /**
+     * Valida os filtros da exportação. Deve ser chamado antes de iniciar a resposta, para que
+     * filtros inválidos ainda possam ser recusados com erro.
+     *
+     * @param nome Parte do nome (opcional)
+     * @throws IllegalArgumentException se o filtro de nome for maior que o nome de um benefício
+     */
+    public void validarFiltros(final String nome) throws IllegalArgumentException {
+        if (nome != null && nome.strip().length() > BeneficioValidator.NOME_MAX_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Filtro de nome deve ter no máximo " + BeneficioValidator.NOME_MAX_LENGTH + " caracteres");
+        }
+    }
+
+    /**
+     * Escreve os benefícios que atendem aos filtros na saída, em ordem crescente de ID.
+     *
+     * @param formato Formato da saída
+     * @param ativo Status dos benefícios exportados (opcional; todos quando nulo)
+     * @param nome Parte do nome, sem diferenciar maiúsculas (opcional)
+     * @param saida Destino dos registros; não é fechado
+     * @return Quantidade de benefícios exportados
+     * @throws IOException se a saída não puder ser escrita (ex.: cliente desconectado)
+     */
+    public long exportar(
+            @Nonnull final Formato formato, final Boolean ativo, final String nome, @Nonnull final OutputStream saida)
+            throws IOException {
+        validarFiltros(nome);
+        String termo = nome == null || nome.isBlank() ? null : nome.strip().toLowerCase(Locale.ROOT);
+        PreparedStatementCreator consulta = consulta(ativo, termo);
+        try (EscritorBeneficios escritor =
+                formato == Formato.CSV ? new EscritorCsv(saida) : new EscritorNdjson(objectMapper, saida)) {
+            long[] exportados = {0};
+            transacaoLeitura.executeWithoutResult(status -> jdbcTemplate.query(consulta, (RowCallbackHandler) rs -> {
+                try {
+                    escritor.escrever(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exportados[0]++;
+            }));
+            log.info("Exportação {} concluída com {} benefícios", formato, exportados[0]);
+            return exportados[0];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /* Consulta com cursor somente leitura e de avanço único, buscado em blocos de tamanhoBusca linhas. */
+    private PreparedStatementCreator consulta(final Boolean ativo, final String termo) {
+        StringBuilder sql = new StringBuilder(SELECT_BENEFICIOS).append(" WHERE 1 = 1");
+        if (ativo != null) {
+            sql.append(" AND tab.ATIVO = ?");
+        }
+        if (termo != null) {
+            sql.append(" AND LOWER(tab.NOME) LIKE ? ESCAPE '\\'");
+        }
+        sql.append(" ORDER BY tab.ID");
+        return conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(tamanhoBusca);
+            int parametro = 1;
+            if (ativo != null) {
+                ps.setBoolean(parametro++, ativo);
+            }
+            if (termo != null) {
+                ps.setString(parametro, "%" + escaparLike(termo) + "%");
+            }
+            return ps;
+        };
+    }
+
+    /* Escapa os curingas do LIKE para que o filtro seja tratado como texto literal. */
+    static String escaparLike(final String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Escreve as linhas do cursor em um formato, reaproveitando o mesmo escritor em toda a exportação.
+     * As colunas seguem a ordem de {@link #SELECT_BENEFICIOS}.
+     */
+    private interface EscritorBeneficios extends AutoCloseable {
+
+        void escrever(ResultSet rs) throws SQLException, IOException;
+
+        /* Descarrega o que restou no buffer sem fechar a saída. */
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class EscritorNdjson implements EscritorBeneficios {
+
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(final ObjectMapper objectMapper, final OutputStream saida) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida, JsonEncoding.UTF8);
+            this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void escrever(final ResultSet rs) throws SQLException, IOException {
+            gerador.writeStartObject();
+            gerador.writeNumberField(COLUNAS[COLUNA_ID - 1], rs.getLong(COLUNA_ID));
+            gerador.writeStringField(COLUNAS[COLUNA_NOME - 1], rs.getString(COLUNA_NOME));
+            gerador.writeStringField(COLUNAS[COLUNA_DESCRICAO - 1], rs.getString(COLUNA_DESCRICAO));
+            gerador.writeNumberField(COLUNAS[COLUNA_VALOR - 1], rs.getBigDecimal(COLUNA_VALOR));
+            gerador.writeBooleanField(COLUNAS[COLUNA_ATIVO - 1], rs.getBoolean(COLUNA_ATIVO));
+            gerador.writeNumberField(COLUNAS[COLUNA_VERSION - 1], rs.getLong(COLUNA_VERSION));
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            gerador.close();
+        }
+    }
+
+    private static final class EscritorCsv implements EscritorBeneficios {
+
+        private final Writer escritor;
+
+        EscritorCsv(final OutputStream saida) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            this.escritor.write(String.join(",", COLUNAS));
+            this.escritor.write('\n');
+        }
+
+        @Override
+        public void escrever(final ResultSet rs) throws SQLException, IOException {
+            escritor.write(Long.toString(rs.getLong(COLUNA_ID)));
+            escritor.write(',');
+            escreverTexto(rs.getString(COLUNA_NOME));
+            escritor.write(',');
+            escreverTexto(rs.getString(COLUNA_DESCRICAO));
+            escritor.write(',');
+            BigDecimal valor = rs.getBigDecimal(COLUNA_VALOR);
+            escritor.write(valor.toPlainString());
+            escritor.write(',');
+            escritor.write(rs.getBoolean(COLUNA_ATIVO) ? "true" : "false");
+            escritor.write(',');
+            escritor.write(Long.toString(rs.getLong(COLUNA_VERSION)));
+            escritor.write('\n');
+        }
+
+        /* Campos com vírgula, aspas ou quebra de linha vão entre aspas, com as aspas duplicadas. */
+        private void escreverTexto(final String texto) throws IOException {
+            if (texto == null) {
+                return;
+            }
+            boolean aspas = false;
+            for (int i = 0; i < texto.length() && !aspas; i++) {
+                char c = texto.charAt(i);
+                aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!aspas) {
+                escritor.write(texto);
+                return;
+            }
+            escritor.write('"');
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (c == '"') {
+                    escritor.write('"');
+                }
+                escritor.write(c);
+            }
+            escritor.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            escritor.flush();
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ParametrosFilaTransferencias;
+import com.example.backend.dto.ResultadoTransferenciaDto;
+import com.example.backend.dto.SolicitacaoTransferenciaDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.FilaTransferenciasCheiaException;
+import com.example.ejb.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fila em memória para transferências submetidas de forma assíncrona.
+ * <p>
+ * Cada solicitação é identificada pela chave de idempotência informada pelo cliente: uma chave
+ * repetida devolve a solicitação original, sem nova execução. A fila é limitada; quando está cheia
+ * a submissão é recusada ({@link FilaTransferenciasCheiaException}, HTTP 429) em vez de acumular
+ * trabalho. Os workers retiram da fila todas as solicitações disponíveis, até o tamanho do lote, e
+ * as aplicam com a transferência em lote, que bloqueia os benefícios envolvidos uma única vez, em
+ * ordem de ID. Qualquer conjunto de transferências pode compartilhar um lote, pois os itens são
+ * aplicados em ordem e recusados individualmente.
+ * <p>
+ * A fila e as chaves não são persistidas: solicitações pendentes são perdidas em caso de reinício.
+ * Uma chave nunca expira enquanto a solicitação está pendente; o período de retenção configurado
+ * começa a contar quando ela chega a uma situação final. As chaves concluídas são limitadas à quantidade
+ * máxima configurada: acima dela, as menos usadas são descartadas antes do fim da retenção, e uma
+ * repetição dessas chaves é tratada como nova solicitação. As pendentes são limitadas pela própria fila.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ParametrosFilaTransferencias.class)
+public class FilaTransferencias {
+
+    public static final int TAMANHO_MAXIMO_CHAVE = 100;
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    static final String MENSAGEM_INDETERMINADA =
+            "Não foi possível confirmar se a transferência foi aplicada; consulte os saldos antes de reenviar";
+
+    private final BeneficioService beneficioService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Solicitacao> fila;
+
+    private final Cache<String, Solicitacao> solicitacoes;
+
+    private final int quantidadeWorkers;
+
+    private final int tamanhoLote;
+
+    private ExecutorService workers;
+
+    public FilaTransferencias(
+            final BeneficioService beneficioService,
+            final PlatformTransactionManager transactionManager,
+            final ParametrosFilaTransferencias parametros) {
+        this.beneficioService = Objects.requireNonNull(beneficioService, "BeneficioService não pode ser nulo");
+        this.transactionTemplate = new TransactionTemplate(
+                Objects.requireNonNull(transactionManager, "PlatformTransactionManager não pode ser nulo"));
+        this.fila = new ArrayBlockingQueue<>(parametros.capacidade());
+        this.quantidadeWorkers = parametros.workers();
+        this.tamanhoLote = parametros.tamanhoLote();
+        // Solicitações pendentes ocupam no máximo a capacidade da fila e têm peso zero, fora do limite
+        this.solicitacoes = Caffeine.newBuilder()
+                .maximumWeight(parametros.maximoChaves())
+                .weigher(Solicitacao::peso)
+                .expireAfter(Solicitacao.expiracao(parametros.retencao()))
+                .build();
+    }
+
+    /**
+     * Inicia os workers que consomem a fila.
+     */
+    @PostConstruct
+    public void iniciar() {
+        AtomicInteger sequencia = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(quantidadeWorkers, tarefa -> {
+            Thread thread = new Thread(tarefa, "fila-transferencias-" + sequencia.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < quantidadeWorkers; i++) {
+            workers.execute(this::consumir);
+        }
+        log.info(
+                "Fila de transferências iniciada: capacidade={}, workers={}, lote={}",
+                fila.remainingCapacity(),
+                quantidadeWorkers,
+                tamanhoLote);
+    }
+
+    /**
+     * Interrompe os workers. Solicitações ainda na fila permanecem pendentes.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS);
+        }
+        if (!fila.isEmpty()) {
+            log.warn("Fila de transferências encerrada com {} solicitações pendentes", fila.size());
+        }
+    }
+
+    /**
+     * Submete uma transferência para processamento assíncrono.
+     *
+     * @param chave Chave de idempotência informada pelo cliente
+     * @param dto Dados da transferência
+     * @return Situação da solicitação: a nova solicitação pendente ou, para chave repetida, a original
+     * @throws IllegalArgumentException se a chave ou os dados forem inválidos
+     * @throws BusinessException se a chave já tiver sido usada com outra transferência
+     * @throws FilaTransferenciasCheiaException se a fila estiver cheia
+     */
+    public SolicitacaoTransferenciaDto submeter(@Nonnull final String chave, @Nonnull final TransferenciaDto dto)
+            throws IllegalArgumentException, BusinessException, FilaTransferenciasCheiaException {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        if (null == dto.getFromId() || null == dto.getToId() || null == dto.getValor()) {
+            throw new IllegalArgumentException("IDs de origem e destino e valor são obrigatórios");
+        }
+        Solicitacao nova = new Solicitacao(chave, dto);
+        Solicitacao existente = solicitacoes.asMap().putIfAbsent(chave, nova);
+        if (existente != null) {
+            if (!existente.mesmaTransferencia(dto)) {
+                throw new BusinessException("Idempotency-Key já utilizada em outra transferência");
+            }
+            log.info(
+                    "Solicitação repetida para a chave {}: devolvendo situação {}",
+                    chave,
+                    existente.situacao.get().status());
+            return existente.mapResponse();
+        }
+        if (!fila.offer(nova)) {
+            solicitacoes.asMap().remove(chave, nova);
+            throw new FilaTransferenciasCheiaException("Fila de transferências cheia, tente novamente mais tarde");
+        }
+        return nova.mapResponse();
+    }
+
+    /**
+     * Consulta a situação de uma transferência submetida.
+     *
+     * @param chave Chave de idempotência da solicitação
+     * @return Situação atual da solicitação
+     * @throws EntityNotFoundException se não houver solicitação para a chave (ou se já tiver expirado)
+     */
+    public SolicitacaoTransferenciaDto consultar(@Nonnull final String chave) throws EntityNotFoundException {
+        Solicitacao solicitacao = solicitacoes.getIfPresent(chave);
+        if (solicitacao == null) {
+            throw new EntityNotFoundException("Solicitação de transferência não encontrada");
+        }
+        return solicitacao.mapResponse();
+    }
+
+    /* Laço de um worker: aguarda a primeira solicitação e leva junto as demais já disponíveis. */
+    private void consumir() {
+        List<Solicitacao> lote = new ArrayList<>(tamanhoLote);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            fila.drainTo(lote, tamanhoLote - 1);
+            processar(lote);
+            lote.clear();
+        }
+    }
+
+    /**
+     * Aplica um lote de solicitações. Uma solicitação isolada usa a estratégia de transferência
+     * configurada; várias usam a transferência em lote, em uma transação aberta aqui para que se saiba
+     * como ela terminou. Só se o lote foi desfeito (ex.: tempo de espera por bloqueio) cada solicitação é
+     * aplicada isoladamente; se a falha ocorreu após o commit, valem os resultados do lote, e se o
+     * desfecho do commit é desconhecido as solicitações ficam {@code INDETERMINADA}, sem nova execução.
+     * Ao final, começa a contar a retenção das chaves.
+     */
+    void processar(final List<Solicitacao> lote) {
+        try {
+            if (lote.size() == 1) {
+                processarIsolada(lote.get(0));
+            } else {
+                processarLote(lote);
+            }
+        } finally {
+            lote.forEach(this::iniciarRetencao);
+        }
+    }
+
+    private void processarLote(final List<Solicitacao> lote) {
+        AtomicInteger desfecho = new AtomicInteger(TransactionSynchronization.STATUS_UNKNOWN);
+        TransferenciaLoteResponseDto[] resposta = new TransferenciaLoteResponseDto[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Transacoes.aoConcluir(desfecho::set);
+                resposta[0] = beneficioService.realizarTransferenciaEmLote(
+                        lote.stream().map(Solicitacao::transferencia).toList());
+            });
+        } catch (RuntimeException e) {
+            if (desfecho.get() == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                log.warn("Lote de {} transferências desfeito, aplicando individualmente: {}",
+                        lote.size(), e.getMessage());
+                lote.forEach(this::processarIsolada);
+                return;
+            }
+            if (desfecho.get() != TransactionSynchronization.STATUS_COMMITTED || resposta[0] == null) {
+                log.error("Desfecho desconhecido do lote de {} transferências: {}", lote.size(), e.getMessage());
+                lote.forEach(Solicitacao::indeterminar);
+                return;
+            }
+            log.warn("Falha após o commit do lote de {} transferências: {}", lote.size(), e.getMessage());
+        }
+        for (ResultadoTransferenciaDto resultado : resposta[0].getResultados()) {
+            lote.get(resultado.getIndice()).concluir(resultado.isSucesso(), resultado.getMensagem());
+        }
+    }
+
+    /* Regrava a solicitação concluída para que a expiração passe a contar a retenção. */
+    private void iniciarRetencao(final Solicitacao solicitacao) {
+        solicitacoes.asMap().replace(solicitacao.chave, solicitacao, solicitacao);
+    }
+
+    private void processarIsolada(final Solicitacao solicitacao) {
+        try {
+            beneficioService.realizarTransferencia(solicitacao.transferencia());
+            solicitacao.concluir(true, null);
+        } catch (RuntimeException e) {
+            solicitacao.concluir(false, e.getMessage());
+        }
+    }
+
+    /**
+     * Solicitação na fila. Os dados da transferência são copiados no recebimento; a situação é
+     * alterada apenas pelo worker que a processa.
+     */
+    static final class Solicitacao {
+
+        private final String chave;
+
+        private final TransferenciaDto transferencia;
+
+        private final Instant recebidaEm = Instant.now();
+
+        /* Situação, mensagem e data de processamento publicadas juntas pelo worker. */
+        private final AtomicReference<Situacao> situacao =
+                new AtomicReference<>(new Situacao(SolicitacaoTransferenciaDto.Status.PENDENTE, null, null));
+
+        Solicitacao(final String chave, final TransferenciaDto dto) {
+            this.chave = chave;
+            this.transferencia = new TransferenciaDto(dto.getFromId(), dto.getToId(), dto.getValor());
+        }
+
+        TransferenciaDto transferencia() {
+            return transferencia;
+        }
+
+        boolean mesmaTransferencia(final TransferenciaDto dto) {
+            return Objects.equals(transferencia.getFromId(), dto.getFromId())
+                    && Objects.equals(transferencia.getToId(), dto.getToId())
+                    && dto.getValor() != null
+                    && transferencia.getValor().compareTo(dto.getValor()) == 0;
+        }
+
+        void concluir(final boolean sucesso, final String motivo) {
+            SolicitacaoTransferenciaDto.Status status = sucesso
+                    ? SolicitacaoTransferenciaDto.Status.CONCLUIDA
+                    : SolicitacaoTransferenciaDto.Status.RECUSADA;
+            situacao.set(new Situacao(status, motivo, Instant.now()));
+        }
+
+        void indeterminar() {
+            situacao.set(new Situacao(
+                    SolicitacaoTransferenciaDto.Status.INDETERMINADA, MENSAGEM_INDETERMINADA, Instant.now()));
+        }
+
+        boolean isPendente() {
+            return situacao.get().status() == SolicitacaoTransferenciaDto.Status.PENDENTE;
+        }
+
+        /* Peso no limite de chaves: zero enquanto pendente, para que só as concluídas sejam descartadas. */
+        static int peso(final String chave, final Solicitacao solicitacao) {
+            return solicitacao.isPendente() ? 0 : 1;
+        }
+
+        SolicitacaoTransferenciaDto mapResponse() {
+            Situacao atual = situacao.get();
+            return SolicitacaoTransferenciaDto.builder()
+                    .chave(chave)
+                    .status(atual.status())
+                    .fromId(transferencia.getFromId())
+                    .toId(transferencia.getToId())
+                    .valor(transferencia.getValor())
+                    .mensagem(atual.mensagem())
+                    .recebidaEm(recebidaEm)
+                    .processadaEm(atual.processadaEm())
+                    .build();
+        }
+
+        /**
+         * @param retencao Permanência da chave após a conclusão
+         * @return Expiração das chaves de idempotência
+         */
+        static Expiry<String, Solicitacao> expiracao(final Duration retencao) {
+            return new RetencaoAposConclusao(retencao);
+        }
+
+        private record Situacao(SolicitacaoTransferenciaDto.Status status, String mensagem, Instant processadaEm) { }
+
+        /**
+         * Expiração das chaves: sem prazo enquanto a solicitação está pendente (na fila ou em execução),
+         * para que uma repetição não a execute novamente, e pelo período de retenção após a conclusão.
+         */
+        private static final class RetencaoAposConclusao implements Expiry<String, Solicitacao> {
+
+            private final long retencaoNanos;
+
+            RetencaoAposConclusao(final Duration retencao) {
+                this.retencaoNanos = retencao.toNanos();
+            }
+
+            @Override
+            public long expireAfterCreate(final String chave, final Solicitacao solicitacao, final long agora) {
+                return duracao(solicitacao);
+            }
+
+            @Override
+            public long expireAfterUpdate(
+                    final String chave, final Solicitacao solicitacao, final long agora, final long duracaoAtual) {
+                return duracao(solicitacao);
+            }
+
+            @Override
+            public long expireAfterRead(
+                    final String chave, final Solicitacao solicitacao, final long agora, final long duracaoAtual) {
+                return duracaoAtual;
+            }
+
+            private long duracao(final Solicitacao solicitacao) {
+                return solicitacao.isPendente() ? Long.MAX_VALUE : retencaoNanos;
+            }
+        }
+    }
+}
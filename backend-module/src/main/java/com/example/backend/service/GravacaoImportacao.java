@@ -0,0 +1,132 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Gravação dos blocos da importação de benefícios em massa.
+ * <p>
+ * Cada bloco é gravado com JDBC em lote (um único comando preparado executado com vários conjuntos
+ * de parâmetros), sem passar pelo contexto de persistência, em sua própria transação. Os IDs são
+ * reservados na sequence BENEFICIO_SEQ em blocos, como faz o Hibernate. Após o commit, somente os
+ * benefícios do bloco são incluídos no índice de busca e nos contadores por status.
+ */
+@Component
+public class GravacaoImportacao {
+
+    static final String INSERT_BENEFICIO =
+            "INSERT INTO BENEFICIO (ID, NOME, DESCRICAO, VALOR, ATIVO, VERSION, PARTICOES)"
+                    + " VALUES (?, ?, ?, ?, ?, 0, 0)";
+
+    /* Reserva um bloco de Beneficio.ALOCACAO_IDS IDs: o valor lido é o primeiro (pooled-lo). */
+    static final String SELECT_BLOCO_IDS = "SELECT NEXT VALUE FOR BENEFICIO_SEQ";
+
+    /* Posições dos parâmetros de INSERT_BENEFICIO. */
+    private static final int PARAMETRO_ID = 1;
+    private static final int PARAMETRO_NOME = 2;
+    private static final int PARAMETRO_DESCRICAO = 3;
+    private static final int PARAMETRO_VALOR = 4;
+    private static final int PARAMETRO_ATIVO = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transacao;
+
+    private final IndiceBuscaBeneficios indiceBusca;
+
+    private final ContadoresStatusBeneficio contadoresStatus;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    public GravacaoImportacao(
+            final JdbcTemplate jdbcTemplate,
+            final PlatformTransactionManager transactionManager,
+            final IndiceBuscaBeneficios indiceBusca,
+            final ContadoresStatusBeneficio contadoresStatus,
+            final VersaoBeneficios versaoBeneficios) {
+        this.jdbcTemplate = Objects.requireNonNull(jdbcTemplate, "JdbcTemplate não pode ser nulo");
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.indiceBusca = Objects.requireNonNull(indiceBusca, "IndiceBuscaBeneficios não pode ser nulo");
+        this.contadoresStatus =
+                Objects.requireNonNull(contadoresStatus, "ContadoresStatusBeneficio não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+    }
+
+    /**
+     * Grava um bloco de benefícios já validados em uma única transação.
+     *
+     * @param beneficios Benefícios do bloco
+     * @throws DataAccessException se a gravação falhar; nenhum benefício do bloco é gravado
+     * @throws TransactionException se o commit falhar; nenhum benefício do bloco é gravado
+     */
+    public void gravar(@Nonnull final List<BeneficioRequestDto> beneficios)
+            throws DataAccessException, TransactionException {
+        if (beneficios.isEmpty()) {
+            return;
+        }
+        List<Long> ids = transacao.execute(status -> {
+            versaoBeneficios.registrarNaTransacao();
+            List<Long> reservados = reservarIds(beneficios.size());
+            Iterator<Long> proximo = reservados.iterator();
+            jdbcTemplate.batchUpdate(INSERT_BENEFICIO, beneficios, beneficios.size(), (ps, dto) -> {
+                ps.setLong(PARAMETRO_ID, proximo.next());
+                ps.setString(PARAMETRO_NOME, dto.getNome());
+                ps.setString(PARAMETRO_DESCRICAO, dto.getDescricao());
+                ps.setBigDecimal(PARAMETRO_VALOR, dto.getValor().toBigDecimal());
+                ps.setBoolean(PARAMETRO_ATIVO, dto.getAtivo());
+            });
+            return reservados;
+        });
+        Iterator<Long> id = Objects.requireNonNull(ids).iterator();
+        indiceBusca.indexarTodos(beneficios.stream().map(dto -> BeneficioResponseDto.builder()
+                .id(id.next())
+                .nome(dto.getNome())
+                .descricao(dto.getDescricao())
+                .build()));
+        incluirNosContadores(beneficios);
+    }
+
+    /* IDs para as inclusões, com uma consulta à sequence a cada Beneficio.ALOCACAO_IDS linhas. */
+    private List<Long> reservarIds(final int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        while (ids.size() < quantidade) {
+            Long primeiro = jdbcTemplate.queryForObject(SELECT_BLOCO_IDS, Long.class);
+            if (primeiro == null) {
+                throw new IllegalStateException("Sequence BENEFICIO_SEQ não retornou valor");
+            }
+            for (long id = primeiro; id < primeiro + Beneficio.ALOCACAO_IDS && ids.size() < quantidade; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void incluirNosContadores(final List<BeneficioRequestDto> beneficios) {
+        for (boolean ativo : new boolean[] {true, false}) {
+            int quantidade = 0;
+            Money valor = Money.ZERO;
+            for (BeneficioRequestDto dto : beneficios) {
+                if (dto.getAtivo() == ativo) {
+                    quantidade++;
+                    valor = valor.somar(dto.getValor());
+                }
+            }
+            if (quantidade > 0) {
+                contadoresStatus.incluir(ativo, quantidade, valor.toBigDecimal());
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ParametrosImportacao;
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.ErroImportacaoDto;
+import com.example.backend.dto.ImportacaoResponseDto;
+import com.example.backend.service.ConversaoImportacao.Conversor;
+import com.example.backend.validator.ObjectsValidator;
+import com.example.ejb.exception.BusinessException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * Importação de benefícios em massa a partir de CSV ou NDJSON (um objeto JSON por linha).
+ * <p>
+ * O corpo é lido linha a linha, em blocos do tamanho do lote, e nunca é carregado por inteiro.
+ * Cada bloco é convertido e validado em paralelo com as mesmas regras do {@link BeneficioRequestDto}
+ * enquanto o bloco anterior é gravado pela {@link GravacaoImportacao}, cada um em sua própria
+ * transação: uma falha de gravação recusa apenas as linhas do bloco. As linhas inválidas são
+ * recusadas individualmente e relatadas na resposta.
+ * <p>
+ * A cada bloco gravado, os contadores por status são ajustados e apenas os benefícios incluídos são
+ * acrescentados ao índice de busca, sem recarregá-lo.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(ParametrosImportacao.class)
+public class ImportacaoBeneficios {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    /**
+     * Formatos aceitos na importação.
+     */
+    public enum Formato {
+        CSV,
+        NDJSON
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectsValidator<BeneficioRequestDto> validador;
+
+    private final GravacaoImportacao gravacao;
+
+    private final ForkJoinPool validacao;
+
+    private final int tamanhoLote;
+
+    private final int maximoErros;
+
+    public ImportacaoBeneficios(
+            final ObjectMapper objectMapper,
+            final ObjectsValidator<BeneficioRequestDto> validador,
+            final GravacaoImportacao gravacao,
+            final ParametrosImportacao parametros) {
+        this.objectMapper = Objects.requireNonNull(objectMapper, "ObjectMapper não pode ser nulo");
+        this.validador = Objects.requireNonNull(validador, "ObjectsValidator não pode ser nulo");
+        this.gravacao = Objects.requireNonNull(gravacao, "GravacaoImportacao não pode ser nulo");
+        this.tamanhoLote = parametros.tamanhoLote();
+        this.maximoErros = parametros.maximoErros();
+        // Paralelismo zero usa um worker por processador disponível
+        int paralelismo = parametros.paralelismo();
+        this.validacao = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Encerra os workers de validação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        validacao.shutdown();
+    }
+
+    /**
+     * Importa os benefícios lidos da entrada. Em CSV, a primeira linha é o cabeçalho, com as colunas
+     * nome, descricao (opcional), valor e ativo em qualquer ordem; valores usam ponto decimal.
+     *
+     * @param formato Formato da entrada
+     * @param entrada Conteúdo em UTF-8; é consumido até o fim, mas não é fechado
+     * @return Resumo da importação com as linhas recusadas
+     * @throws IllegalArgumentException se o cabeçalho do CSV for inválido
+     * @throws BusinessException se a entrada não puder ser lida
+     */
+    public ImportacaoResponseDto importar(@Nonnull final Formato formato, @Nonnull final InputStream entrada)
+            throws IllegalArgumentException, BusinessException {
+        Relatorio relatorio = new Relatorio(maximoErros);
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        try {
+            if (formato == Formato.CSV) {
+                relatorio.linhas++;
+                processar(leitor, ConversaoImportacao.csv(leitor.readLine()), relatorio, true);
+            } else {
+                processar(leitor, ConversaoImportacao.json(objectMapper), relatorio, false);
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Erro ao ler o conteúdo da importação: " + e.getMessage(), e);
+        }
+        log.info(
+                "Importação concluída: {} registros, {} importados, {} recusados",
+                relatorio.total,
+                relatorio.importados,
+                relatorio.rejeitados);
+        return relatorio.mapResponse();
+    }
+
+    /*
+     * Lê os registros restantes em blocos do tamanho do lote, validando um bloco enquanto grava o anterior.
+     * No CSV, um registro com campo entre aspas aberto continua nas linhas seguintes (quebra de linha no
+     * campo, como escrita pela exportação) e é numerado pela sua primeira linha.
+     */
+    private void processar(
+            final BufferedReader leitor, final Conversor conversor, final Relatorio relatorio, final boolean csv)
+            throws IOException {
+        ForkJoinTask<List<Resultado>> pendente = null;
+        List<Linha> bloco = new ArrayList<>(tamanhoLote);
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            relatorio.linhas++;
+            long numero = relatorio.linhas;
+            if (csv) {
+                texto = completarRegistro(leitor, texto, relatorio);
+            }
+            if (texto.isBlank()) {
+                continue;
+            }
+            bloco.add(new Linha(numero, texto));
+            if (bloco.size() == tamanhoLote) {
+                pendente = avancar(pendente, bloco, conversor, relatorio);
+                bloco = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!bloco.isEmpty()) {
+            pendente = avancar(pendente, bloco, conversor, relatorio);
+        }
+        if (pendente != null) {
+            gravar(pendente.join(), relatorio);
+        }
+    }
+
+    /* Junta as linhas seguintes enquanto houver campo entre aspas aberto, até o tamanho máximo do registro. */
+    private static String completarRegistro(final BufferedReader leitor, final String texto, final Relatorio relatorio)
+            throws IOException {
+        if (!ConversaoImportacao.aspasAbertas(texto)) {
+            return texto;
+        }
+        StringBuilder registro = new StringBuilder(texto);
+        String continuacao;
+        while (registro.length() < ConversaoImportacao.TAMANHO_MAXIMO_REGISTRO
+                && ConversaoImportacao.aspasAbertas(registro)
+                && (continuacao = leitor.readLine()) != null) {
+            relatorio.linhas++;
+            registro.append('\n').append(continuacao);
+        }
+        return registro.toString();
+    }
+
+    /* Inicia a validação do bloco e, enquanto ela executa, grava o bloco validado anteriormente. */
+    private ForkJoinTask<List<Resultado>> avancar(
+            final ForkJoinTask<List<Resultado>> anterior,
+            final List<Linha> bloco,
+            final Conversor conversor,
+            final Relatorio relatorio) {
+        relatorio.total += bloco.size();
+        ForkJoinTask<List<Resultado>> proximo = validacao.submit(() -> bloco.parallelStream()
+                .map(linha -> converter(linha, conversor))
+                .collect(Collectors.toList()));
+        if (anterior != null) {
+            gravar(anterior.join(), relatorio);
+        }
+        return proximo;
+    }
+
+    private Resultado converter(final Linha linha, final Conversor conversor) {
+        try {
+            BeneficioRequestDto dto = validador.validate(conversor.converter(linha.texto()));
+            return new Resultado(linha.numero(), dto, null);
+        } catch (IllegalArgumentException e) {
+            return new Resultado(linha.numero(), null, e.getMessage());
+        }
+    }
+
+    private void gravar(final List<Resultado> resultados, final Relatorio relatorio) {
+        List<Resultado> validos = new ArrayList<>(resultados.size());
+        for (Resultado resultado : resultados) {
+            if (resultado.erro() != null) {
+                relatorio.rejeitar(resultado.linha(), resultado.erro());
+            } else {
+                validos.add(resultado);
+            }
+        }
+        if (validos.isEmpty()) {
+            return;
+        }
+        try {
+            gravacao.gravar(validos.stream().map(Resultado::dto).collect(Collectors.toList()));
+            relatorio.importados += validos.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Falha ao gravar bloco de {} benefícios importados: {}", validos.size(), e.getMessage());
+            String mensagem = "Bloco não gravado: " + e.getMessage();
+            validos.forEach(resultado -> relatorio.rejeitar(resultado.linha(), mensagem));
+        }
+    }
+
+    private record Linha(long numero, String texto) { }
+
+    private record Resultado(long linha, BeneficioRequestDto dto, String erro) { }
+
+    /* Totais da importação; alterado apenas pela thread que lê a entrada. */
+    private static final class Relatorio {
+
+        private final int maximoErros;
+
+        private final List<ErroImportacaoDto> erros = new ArrayList<>();
+
+        /* Linhas lidas, incluindo o cabeçalho e as em branco: numera as linhas recusadas. */
+        private long linhas;
+
+        private long total;
+
+        private long importados;
+
+        private long rejeitados;
+
+        Relatorio(final int maximoErros) {
+            this.maximoErros = maximoErros;
+        }
+
+        void rejeitar(final long linha, final String mensagem) {
+            rejeitados++;
+            if (erros.size() < maximoErros) {
+                erros.add(new ErroImportacaoDto(linha, mensagem));
+            }
+        }
+
+        ImportacaoResponseDto mapResponse() {
+            return ImportacaoResponseDto.builder()
+                    .total(total)
+                    .importados(importados)
+                    .rejeitados(rejeitados)
+                    .erros(erros)
+                    .build();
+        }
+    }
+}
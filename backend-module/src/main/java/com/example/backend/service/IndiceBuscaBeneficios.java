@@ -0,0 +1,418 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.BeneficioResponseDto;
+import jakarta.annotation.Nonnull;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Índice de busca em memória sobre o nome e a descrição dos benefícios.
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acentos e com espaços simples) e decompostos em
+ * trigramas; cada trigrama aponta para a lista ordenada dos IDs (long) dos benefícios que o contêm.
+ * Uma consulta com três ou mais
+ * caracteres encontra qualquer trecho do texto: os candidatos são os benefícios presentes em todas
+ * as listas dos trigramas da consulta, confirmados em seguida no texto. Consultas com um ou dois
+ * caracteres encontram apenas o início das palavras, indexado à parte. O custo de uma busca depende
+ * da quantidade de candidatos, e não do tamanho da tabela.
+ * <p>
+ * O índice é carregado uma vez na inicialização e mantido a cada criação, alteração ou remoção
+ * feita por esta instância. Alterações de outras instâncias não são vistas: quem consulta confirma no
+ * banco os IDs retornados, o que descarta os removidos, mas benefícios criados ou renomeados em outra
+ * instância não são encontrados. Por isso o índice é adequado apenas a uma instância por banco; com
+ * várias, deve ser desligado (beneficio.busca.indice-memoria=false) e a busca passa a ser feita no banco.
+ */
+@Component
+@Slf4j
+public class IndiceBuscaBeneficios {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[\\s\\p{Cntrl}]+");
+
+    private static final int TAMANHO_TRIGRAMA = 3;
+
+    /* Bits de cada caractere no trigrama codificado como long. */
+    private static final int BITS_CARACTERE = Character.SIZE;
+
+    /* Relevância: quanto menor, melhor. */
+    private static final int NOME_IGUAL = 0;
+    private static final int NOME_INICIO = 1;
+    private static final int NOME_PALAVRA = 2;
+    private static final int NOME_TRECHO = 3;
+    private static final int DESCRICAO_PALAVRA = 4;
+    private static final int DESCRICAO_TRECHO = 5;
+    private static final int SEM_CORRESPONDENCIA = -1;
+
+    private static final Comparator<Resultado> RELEVANCIA = Comparator.comparingInt(Resultado::relevancia)
+            .thenComparingInt(Resultado::tamanhoNome)
+            .thenComparingLong(Resultado::id);
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private final Map<Long, Postagens> beneficiosPorTrigrama = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean pronto = new AtomicBoolean();
+
+    private final boolean habilitado;
+
+    /**
+     * @param habilitado Se o índice é mantido; desligado, nunca fica pronto e não guarda benefícios
+     */
+    public IndiceBuscaBeneficios(@Value("${beneficio.busca.indice-memoria:true}") final boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * @return se o índice já foi carregado e pode responder às buscas
+     */
+    public boolean isPronto() {
+        return pronto.get();
+    }
+
+    /**
+     * Descarta o conteúdo do índice e o recarrega a partir dos benefícios informados.
+     * Enquanto a carga não termina o índice não está pronto.
+     *
+     * @param beneficios Todos os benefícios cadastrados
+     */
+    public void reconstruir(@Nonnull final Stream<BeneficioResponseDto> beneficios) {
+        if (!habilitado) {
+            log.info("Índice de busca de benefícios desligado; buscas feitas no banco");
+            return;
+        }
+        pronto.set(false);
+        trava.writeLock().lock();
+        try {
+            entradas.clear();
+            beneficiosPorTrigrama.clear();
+            beneficios.forEach(beneficio -> incluir(beneficio.getId(), beneficio.getNome(), beneficio.getDescricao()));
+            log.info("Índice de busca de benefícios carregado com {} benefícios", entradas.size());
+        } finally {
+            trava.writeLock().unlock();
+        }
+        pronto.set(true);
+    }
+
+    /**
+     * Inclui um benefício no índice ou substitui os textos já indexados.
+     *
+     * @param id Identificador do benefício
+     * @param nome Nome do benefício
+     * @param descricao Descrição do benefício (opcional)
+     */
+    public void indexar(@Nonnull final Long id, final String nome, final String descricao) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            excluir(id);
+            incluir(id, nome, descricao);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui vários benefícios no índice, ou substitui os textos já indexados, com uma única aquisição
+     * da trava de escrita.
+     *
+     * @param beneficios Benefícios a indexar
+     */
+    public void indexarTodos(@Nonnull final Stream<BeneficioResponseDto> beneficios) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            beneficios.forEach(beneficio -> {
+                excluir(beneficio.getId());
+                incluir(beneficio.getId(), beneficio.getNome(), beneficio.getDescricao());
+            });
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um benefício do índice.
+     *
+     * @param id Identificador do benefício
+     */
+    public void remover(@Nonnull final Long id) {
+        if (!habilitado) {
+            return;
+        }
+        trava.writeLock().lock();
+        try {
+            excluir(id);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca benefícios cujo nome ou descrição contenham o termo, sem diferenciar maiúsculas e acentos.
+     * A ordem é: nome igual ao termo, nome iniciado pelo termo, palavra do nome iniciada pelo termo,
+     * termo em outro trecho do nome e, por último, correspondências apenas na descrição; empates são
+     * resolvidos pelo nome mais curto e depois pelo ID.
+     *
+     * @param termo Texto buscado
+     * @param limite Quantidade máxima de IDs retornados
+     * @return IDs dos benefícios encontrados, do mais para o menos relevante
+     */
+    public List<Long> buscar(@Nonnull final String termo, final int limite) {
+        String consulta = normalizar(termo);
+        if (consulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        boolean somenteInicioPalavra = consulta.length() < TAMANHO_TRIGRAMA;
+        Queue<Resultado> melhores = new PriorityQueue<>(limite + 1, RELEVANCIA.reversed());
+        trava.readLock().lock();
+        try {
+            Postagens[] listas = listasDaConsulta(consulta, somenteInicioPalavra);
+            if (listas.length > 0) {
+                selecionar(listas, consulta, somenteInicioPalavra, limite, melhores);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(RELEVANCIA);
+        return ordenados.stream().map(Resultado::id).toList();
+    }
+
+    /* Listas dos trigramas da consulta, da menor para a maior; vazio se algum trigrama não existe. */
+    private Postagens[] listasDaConsulta(final String consulta, final boolean somenteInicioPalavra) {
+        long[] trigramas = trigramasConsulta(consulta, somenteInicioPalavra);
+        Postagens[] listas = new Postagens[trigramas.length];
+        for (int i = 0; i < trigramas.length; i++) {
+            listas[i] = beneficiosPorTrigrama.get(trigramas[i]);
+            if (listas[i] == null) {
+                return new Postagens[0];
+            }
+        }
+        Arrays.sort(listas, Comparator.comparingInt(Postagens::tamanho));
+        return listas;
+    }
+
+    /* Percorre a menor lista, confirma cada candidato nas demais e no texto e mantém os mais relevantes. */
+    private void selecionar(
+            final Postagens[] listas,
+            final String consulta,
+            final boolean somenteInicioPalavra,
+            final int limite,
+            final Queue<Resultado> melhores) {
+        Postagens menor = listas[0];
+        for (int i = 0; i < menor.tamanho(); i++) {
+            long id = menor.id(i);
+            if (!presenteEmTodas(id, listas)) {
+                continue;
+            }
+            Entrada entrada = entradas.get(id);
+            int relevancia = entrada.relevancia(consulta, somenteInicioPalavra);
+            if (relevancia != SEM_CORRESPONDENCIA) {
+                melhores.add(new Resultado(id, relevancia, entrada.nome().length()));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        }
+    }
+
+    private void incluir(final Long id, final String nome, final String descricao) {
+        Entrada entrada = new Entrada(normalizar(nome), normalizar(descricao));
+        entradas.put(id, entrada);
+        for (long trigrama : entrada.trigramas()) {
+            beneficiosPorTrigrama.computeIfAbsent(trigrama, chave -> new Postagens()).adicionar(id);
+        }
+    }
+
+    private void excluir(final Long id) {
+        Entrada anterior = entradas.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (long trigrama : anterior.trigramas()) {
+            Postagens ids = beneficiosPorTrigrama.get(trigrama);
+            if (ids != null && ids.remover(id) && ids.tamanho() == 0) {
+                beneficiosPorTrigrama.remove(trigrama);
+            }
+        }
+    }
+
+    private static boolean presenteEmTodas(final long id, final Postagens[] listas) {
+        for (int i = 1; i < listas.length; i++) {
+            if (!listas[i].contem(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converte o texto para a forma indexada: minúsculas, sem acentos e com espaços simples.
+     */
+    static String normalizar(final String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos).replaceAll(" ").strip().toLowerCase(Locale.ROOT);
+    }
+
+    /* Trigramas que a consulta exige. Início de palavra é codificado com espaço antes do termo. */
+    private static long[] trigramasConsulta(final String consulta, final boolean somenteInicioPalavra) {
+        if (somenteInicioPalavra) {
+            char segundo = consulta.length() > 1 ? consulta.charAt(1) : '\0';
+            return new long[] {trigrama(' ', consulta.charAt(0), segundo)};
+        }
+        long[] trigramas = new long[consulta.length() - TAMANHO_TRIGRAMA + 1];
+        for (int i = 0; i < trigramas.length; i++) {
+            trigramas[i] = trigrama(consulta, i);
+        }
+        return distintos(trigramas, trigramas.length);
+    }
+
+    private static long trigrama(final char primeiro, final char segundo, final char terceiro) {
+        return (((long) primeiro << BITS_CARACTERE | segundo) << BITS_CARACTERE) | terceiro;
+    }
+
+    /* Trigrama iniciado na posição informada do texto. */
+    private static long trigrama(final String texto, final int inicio) {
+        long codigo = 0;
+        for (int i = inicio; i < inicio + TAMANHO_TRIGRAMA; i++) {
+            codigo = (codigo << BITS_CARACTERE) | texto.charAt(i);
+        }
+        return codigo;
+    }
+
+    /* Os primeiros {@code tamanho} valores, ordenados e sem repetições. */
+    private static long[] distintos(final long[] valores, final int tamanho) {
+        Arrays.sort(valores, 0, tamanho);
+        int unicos = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (unicos == 0 || valores[i] != valores[unicos - 1]) {
+                valores[unicos++] = valores[i];
+            }
+        }
+        return Arrays.copyOf(valores, unicos);
+    }
+
+    /**
+     * Textos normalizados de um benefício.
+     */
+    private record Entrada(String nome, String descricao) {
+
+        /* O trigrama da posição e, no início de uma palavra, o do seu primeiro caractere. */
+        private static final int TRIGRAMAS_POR_POSICAO = 2;
+
+        /* Todos os trigramas dos textos delimitados por espaço, mais o primeiro caractere de cada palavra. */
+        long[] trigramas() {
+            long[] trigramas = new long[TRIGRAMAS_POR_POSICAO * (nome.length() + descricao.length())];
+            int quantidade = 0;
+            for (String texto : List.of(nome, descricao)) {
+                String delimitado = " " + texto + " ";
+                for (int i = 0; i + TAMANHO_TRIGRAMA <= delimitado.length(); i++) {
+                    char primeiro = delimitado.charAt(i);
+                    trigramas[quantidade++] = trigrama(delimitado, i);
+                    if (primeiro == ' ') {
+                        trigramas[quantidade++] = trigrama(' ', delimitado.charAt(i + 1), '\0');
+                    }
+                }
+            }
+            return distintos(trigramas, quantidade);
+        }
+
+        int relevancia(final String consulta, final boolean somenteInicioPalavra) {
+            if (nome.equals(consulta)) {
+                return NOME_IGUAL;
+            }
+            if (nome.startsWith(consulta)) {
+                return NOME_INICIO;
+            }
+            if (nome.contains(" " + consulta)) {
+                return NOME_PALAVRA;
+            }
+            if (!somenteInicioPalavra && nome.contains(consulta)) {
+                return NOME_TRECHO;
+            }
+            if (descricao.startsWith(consulta) || descricao.contains(" " + consulta)) {
+                return DESCRICAO_PALAVRA;
+            }
+            if (!somenteInicioPalavra && descricao.contains(consulta)) {
+                return DESCRICAO_TRECHO;
+            }
+            return SEM_CORRESPONDENCIA;
+        }
+    }
+
+    private record Resultado(long id, int relevancia, int tamanhoNome) { }
+
+    /**
+     * IDs dos benefícios que contêm um trigrama, em ordem crescente e sem objetos por ID. Os IDs
+     * crescem com a inclusão dos benefícios, de forma que a inclusão é quase sempre no fim do vetor.
+     */
+    private static final class Postagens {
+
+        private static final int CAPACIDADE_INICIAL = 4;
+
+        private long[] ids = new long[CAPACIDADE_INICIAL];
+
+        private int tamanho;
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        long id(final int posicao) {
+            return ids[posicao];
+        }
+
+        boolean contem(final long id) {
+            return Arrays.binarySearch(ids, 0, tamanho, id) >= 0;
+        }
+
+        void adicionar(final long id) {
+            int posicao = tamanho == 0 || ids[tamanho - 1] < id ? tamanho : Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0 && posicao < tamanho) {
+                return;
+            }
+            posicao = posicao < 0 ? -posicao - 1 : posicao;
+            if (tamanho == ids.length) {
+                ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1));
+            }
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            tamanho++;
+        }
+
+        boolean remover(final long id) {
+            int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+            tamanho--;
+            return true;
+        }
+    }
+}
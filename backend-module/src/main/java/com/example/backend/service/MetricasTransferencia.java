@@ -0,0 +1,208 @@
+package com.example.backend.service;
+
+import com.example.ejb.MonitorTransferencia;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de latência e vazão das transferências, publicadas pelo Micrometer (ex.: em
+ * /actuator/prometheus).
+ * <p>
+ * <ul>
+ *   <li>{@value #METRICA_DURACAO}: duração total de cada transferência individual ou lote, por
+ *       resultado (sucesso, recusada ou erro);</li>
+ *   <li>{@value #METRICA_ETAPA}: duração das etapas executadas pelo serviço EJB (bloqueio,
+ *       validação e flush), recebidas como {@link MonitorTransferencia};</li>
+ *   <li>{@value #METRICA_RECUSAS}: transferências e itens de lote recusados, por motivo;</li>
+ *   <li>{@value #METRICA_EM_ANDAMENTO}: transferências em execução no momento.</li>
+ * </ul>
+ * As esperas por bloqueio de cada benefício são repassadas a {@link EsperasBloqueio}, que não vira
+ * tag (a cardinalidade seria a quantidade de benefícios).
+ * Os temporizadores publicam histogramas e os percentis 50, 95 e 99, e são todos registrados na
+ * criação: medir uma transferência não consulta o registro de métricas.
+ */
+@Component
+public class MetricasTransferencia implements MonitorTransferencia {
+
+    public static final String METRICA_DURACAO = "beneficio.transferencia.duracao";
+
+    public static final String METRICA_ETAPA = "beneficio.transferencia.etapa";
+
+    public static final String METRICA_RECUSAS = "beneficio.transferencia.recusas";
+
+    public static final String METRICA_EM_ANDAMENTO = "beneficio.transferencia.em.andamento";
+
+    private static final double[] PERCENTIS = {0.5, 0.95, 0.99};
+
+    /* Validação e flush levam microssegundos: os buckets padrão começam em 1 ms. */
+    private static final Duration ETAPA_MINIMA = Duration.ofNanos(10_000);
+
+    private static final Duration ETAPA_MAXIMA = Duration.ofSeconds(30);
+
+    /**
+     * Forma de execução da transferência.
+     */
+    public enum Tipo {
+        INDIVIDUAL,
+        LOTE
+    }
+
+    /**
+     * Resultado de uma transferência.
+     */
+    public enum Resultado {
+        SUCESSO,
+        RECUSADA,
+        ERRO
+    }
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    /* Medidores indexados pelo ordinal das enumerações, preenchidos apenas no construtor. */
+    private final Timer[][] duracoes = new Timer[Tipo.values().length][];
+
+    private final Timer[] etapas = new Timer[Etapa.values().length];
+
+    private final Counter[][] recusas = new Counter[Tipo.values().length][];
+
+    private final EsperasBloqueio esperasBloqueio;
+
+    public MetricasTransferencia(
+            final MeterRegistry meterRegistry,
+            @Value("${" + EstrategiaTransferencia.PROPRIEDADE + ":PESSIMISTA}") final String estrategia,
+            final EsperasBloqueio esperasBloqueio) {
+        this.esperasBloqueio = esperasBloqueio;
+        String tagEstrategia = tag(estrategia);
+        for (Tipo tipo : Tipo.values()) {
+            duracoes[tipo.ordinal()] = registrarDuracoes(meterRegistry, tagEstrategia, tipo);
+            recusas[tipo.ordinal()] = registrarRecusas(meterRegistry, tagEstrategia, tipo);
+        }
+        for (Etapa etapa : Etapa.values()) {
+            etapas[etapa.ordinal()] = registrarEtapa(meterRegistry, tagEstrategia, etapa);
+        }
+        Gauge.builder(METRICA_EM_ANDAMENTO, emAndamento, AtomicInteger::get)
+                .description("Transferências em execução")
+                .tag("estrategia", tagEstrategia)
+                .register(meterRegistry);
+    }
+
+    private static Timer[] registrarDuracoes(
+            final MeterRegistry meterRegistry, final String tagEstrategia, final Tipo tipo) {
+        Timer[] porResultado = new Timer[Resultado.values().length];
+        for (Resultado resultado : Resultado.values()) {
+            porResultado[resultado.ordinal()] = Timer.builder(METRICA_DURACAO)
+                    .description("Duração total das transferências")
+                    .tag("estrategia", tagEstrategia)
+                    .tag("tipo", tag(tipo.name()))
+                    .tag("resultado", tag(resultado.name()))
+                    .publishPercentiles(PERCENTIS)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return porResultado;
+    }
+
+    private static Counter[] registrarRecusas(
+            final MeterRegistry meterRegistry, final String tagEstrategia, final Tipo tipo) {
+        Counter[] porMotivo = new Counter[MotivoRecusa.values().length];
+        for (MotivoRecusa motivo : MotivoRecusa.values()) {
+            porMotivo[motivo.ordinal()] = Counter.builder(METRICA_RECUSAS)
+                    .description("Transferências recusadas por motivo")
+                    .tag("estrategia", tagEstrategia)
+                    .tag("tipo", tag(tipo.name()))
+                    .tag("motivo", tag(motivo.name()))
+                    .register(meterRegistry);
+        }
+        return porMotivo;
+    }
+
+    private static Timer registrarEtapa(
+            final MeterRegistry meterRegistry, final String tagEstrategia, final Etapa etapa) {
+        return Timer.builder(METRICA_ETAPA)
+                .description("Duração das etapas de uma transferência no serviço EJB")
+                .tag("estrategia", tagEstrategia)
+                .tag("etapa", tag(etapa.name()))
+                .publishPercentiles(PERCENTIS)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(ETAPA_MINIMA)
+                .maximumExpectedValue(ETAPA_MAXIMA)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa uma transferência individual medindo a duração e o resultado. Recusas
+     * ({@link IllegalArgumentException} e {@link BusinessException}) são contadas por motivo.
+     *
+     * @param transferencia Execução da transferência
+     */
+    public void medir(final Runnable transferencia) {
+        medir(Tipo.INDIVIDUAL, () -> {
+            transferencia.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa um lote de transferências medindo a duração e o resultado do lote como um todo.
+     * Os itens recusados devem ser informados em {@link #registrarRecusa(Tipo, MotivoRecusa)}.
+     *
+     * @param lote Execução do lote
+     * @return Resultado da execução
+     */
+    public <T> T medirLote(final Supplier<T> lote) {
+        return medir(Tipo.LOTE, lote);
+    }
+
+    /**
+     * Conta uma recusa pelo seu motivo.
+     *
+     * @param tipo Forma de execução da transferência recusada
+     * @param motivo Motivo da recusa; nulo é contado como {@link MotivoRecusa#OUTRO}
+     */
+    public void registrarRecusa(final Tipo tipo, final MotivoRecusa motivo) {
+        recusas[tipo.ordinal()][(motivo == null ? MotivoRecusa.OUTRO : motivo).ordinal()].increment();
+    }
+
+    @Override
+    public void registrar(final Etapa etapa, final long nanos) {
+        etapas[etapa.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bloqueio(final Long beneficioId, final long nanos) {
+        esperasBloqueio.registrar(beneficioId, nanos);
+    }
+
+    private <T> T medir(final Tipo tipo, final Supplier<T> execucao) {
+        emAndamento.incrementAndGet();
+        long inicio = System.nanoTime();
+        Resultado resultado = Resultado.ERRO;
+        try {
+            T retorno = execucao.get();
+            resultado = Resultado.SUCESSO;
+            return retorno;
+        } catch (IllegalArgumentException | BusinessException e) {
+            resultado = Resultado.RECUSADA;
+            registrarRecusa(tipo, MotivoRecusa.de(e));
+            throw e;
+        } finally {
+            duracoes[tipo.ordinal()][resultado.ordinal()].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            emAndamento.decrementAndGet();
+        }
+    }
+
+    private static String tag(final String valor) {
+        return valor.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.backend.service;
+
+import java.util.function.IntConsumer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilitários de sincronização com a transação corrente.
+ */
+final class Transacoes {
+
+    private Transacoes() { }
+
+    /**
+     * Executa a ação após o commit da transação corrente, para que as estruturas em memória não recebam
+     * alterações desfeitas por rollback. Sem transação ativa, executa imediatamente.
+     */
+    static void aposCommit(final Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Executa a ação antes do commit da transação corrente, dentro dela, uma única vez por transação para a
+     * mesma chave: as chamadas seguintes com a chave são ignoradas. Sem transação ativa, executa imediatamente.
+     */
+    static void antesCommit(final Object chave, final Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        for (TransactionSynchronization registrada : TransactionSynchronizationManager.getSynchronizations()) {
+            if (registrada instanceof AntesCommit antes && antes.chave().equals(chave)) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new AntesCommit(chave, acao));
+    }
+
+    /**
+     * Informa, ao término da transação corrente, como ela terminou: um dos {@code STATUS_*} de
+     * {@link TransactionSynchronization} (commit, rollback ou desconhecido), inclusive quando o commit ou
+     * as ações posteriores a ele lançam exceção.
+     */
+    static void aoConcluir(final IntConsumer desfecho) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                desfecho.accept(status);
+            }
+        });
+    }
+
+    private record AntesCommit(Object chave, Runnable acao) implements TransactionSynchronization {
+
+        @Override
+        public void beforeCommit(final boolean readOnly) {
+            acao.run();
+        }
+    }
+}
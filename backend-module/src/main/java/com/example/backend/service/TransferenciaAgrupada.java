@@ -0,0 +1,305 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ParametrosTransferenciaAgrupada;
+import com.example.backend.exception.FilaTransferenciasCheiaException;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.ResultadoTransferencia;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Estratégia de transferência com commit agrupado (group commit): as transferências simultâneas são
+ * entregues a um coletor, que reúne as que chegam dentro da janela configurada (ou até o tamanho do
+ * grupo) e as aplica com a transferência em lote, em uma única transação. Os benefícios do grupo são
+ * bloqueados uma única vez, em ordem de ID, e cada transferência é aplicada ou recusada
+ * individualmente, sem afetar as demais: as validações ocorrem antes de qualquer alteração, de forma
+ * que uma recusa não deixa alterações parciais. Quem chama aguarda o commit do grupo, por no máximo
+ * {@code esperaMaxima}, e recebe o resultado da própria transferência, com as mesmas exceções da
+ * estratégia pessimista.
+ * <p>
+ * Um grupo com uma única transferência usa a transferência pessimista. Se o grupo inteiro falhar
+ * (ex.: tempo de espera por bloqueio), cada transferência é aplicada isoladamente. Indicada para
+ * picos de muitas transferências independentes, em que o custo do commit de cada uma domina; em
+ * troca, cada transferência pode aguardar até a janela de agrupamento. A métrica
+ * {@value #METRICA_TAMANHO_GRUPO} registra o tamanho de cada grupo (a contagem é a quantidade de
+ * commits).
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "AGRUPADA")
+@EnableConfigurationProperties(ParametrosTransferenciaAgrupada.class)
+public class TransferenciaAgrupada implements EstrategiaTransferencia {
+
+    public static final String METRICA_TAMANHO_GRUPO = "beneficio.transferencia.agrupada.tamanho";
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    private final BeneficioEjbService ejbService;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Pedido> fila;
+
+    private final Duration janela;
+
+    private final int tamanhoGrupo;
+
+    private final Duration esperaMaxima;
+
+    private final DistributionSummary tamanhos;
+
+    private final AtomicBoolean encerrada = new AtomicBoolean();
+
+    private Thread coletor;
+
+    public TransferenciaAgrupada(
+            final BeneficioEjbService ejbService,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry,
+            final ParametrosTransferenciaAgrupada parametros,
+            final VersaoBeneficios versaoBeneficios) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.fila = new ArrayBlockingQueue<>(parametros.capacidade());
+        this.janela = parametros.janela();
+        this.tamanhoGrupo = parametros.tamanhoGrupo();
+        this.esperaMaxima = parametros.esperaMaxima();
+        this.tamanhos = DistributionSummary.builder(METRICA_TAMANHO_GRUPO)
+                .description("Transferências aplicadas por commit na estratégia agrupada")
+                .tag("estrategia", "agrupada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inicia o coletor que agrupa e aplica as transferências.
+     */
+    @PostConstruct
+    public void iniciar() {
+        coletor = new Thread(this::coletar, "transferencias-agrupadas");
+        coletor.setDaemon(true);
+        coletor.start();
+        log.info("Transferências agrupadas: janela={}, grupo={}", janela, tamanhoGrupo);
+    }
+
+    /**
+     * Interrompe o coletor. Transferências ainda não aplicadas são recusadas.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        encerrada.set(true);
+        if (coletor != null) {
+            coletor.interrupt();
+            coletor.join(TimeUnit.SECONDS.toMillis(ESPERA_ENCERRAMENTO_SEGUNDOS));
+        }
+        List<Pedido> pendentes = new ArrayList<>();
+        fila.drainTo(pendentes);
+        pendentes.forEach(Pedido::recusarEncerramento);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws FilaTransferenciasCheiaException se houver mais transferências aguardando que a capacidade
+     */
+    @Override
+    public void transferir(final Long fromId, final Long toId, final Money valor)
+            throws IllegalArgumentException, BusinessException {
+        Pedido pedido = new Pedido(fromId, toId, valor);
+        if (encerrada.get()) {
+            pedido.recusarEncerramento();
+        } else if (!fila.offer(pedido)) {
+            throw new FilaTransferenciasCheiaException(
+                    "Limite de transferências aguardando commit atingido, tente novamente mais tarde");
+        } else if (encerrada.get() && fila.remove(pedido)) {
+            // O encerramento pode ter esvaziado a fila antes da inclusão deste pedido
+            pedido.recusarEncerramento();
+        }
+        aguardar(pedido);
+    }
+
+    /*
+     * Aguarda o commit do grupo do pedido por no máximo esperaMaxima (ex.: coletor interrompido). Um
+     * pedido que ainda está na fila é retirado e recusado; um que já está em um grupo em andamento
+     * pode ter sido aplicado, e a recusa informa isso.
+     */
+    private void aguardar(final Pedido pedido) throws IllegalArgumentException, BusinessException {
+        String semResultado = pedido.aguardar(esperaMaxima);
+        if (semResultado != null) {
+            throw recusarSemResultado(pedido, semResultado);
+        }
+    }
+
+    private BusinessException recusarSemResultado(final Pedido pedido, final String motivo) {
+        if (fila.remove(pedido)) {
+            log.warn("{}: transferência retirada da fila sem ser aplicada", motivo);
+            return new BusinessException(
+                    MotivoRecusa.INDISPONIVEL, motivo + "; transferência não realizada, tente novamente");
+        }
+        log.warn("{}: transferência em um grupo em andamento", motivo);
+        return new BusinessException(
+                MotivoRecusa.INDISPONIVEL,
+                motivo + "; consulte o histórico para confirmar se a transferência foi aplicada");
+    }
+
+    /* Laço do coletor: aguarda a primeira transferência e reúne as que chegarem dentro da janela. */
+    private void coletar() {
+        List<Pedido> grupo = new ArrayList<>(tamanhoGrupo);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                grupo.add(fila.take());
+                long prazo = System.nanoTime() + janela.toNanos();
+                while (grupo.size() < tamanhoGrupo) {
+                    fila.drainTo(grupo, tamanhoGrupo - grupo.size());
+                    long restante = prazo - System.nanoTime();
+                    if (grupo.size() >= tamanhoGrupo || restante <= 0) {
+                        break;
+                    }
+                    Pedido pedido = fila.poll(restante, TimeUnit.NANOSECONDS);
+                    if (pedido == null) {
+                        break;
+                    }
+                    grupo.add(pedido);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                grupo.forEach(Pedido::recusarEncerramento);
+                return;
+            }
+            aplicar(grupo);
+            grupo.clear();
+        }
+    }
+
+    /**
+     * Aplica um grupo de transferências em uma única transação e conclui cada pedido com o seu resultado.
+     */
+    void aplicar(final List<Pedido> grupo) {
+        tamanhos.record(grupo.size());
+        if (grupo.size() == 1) {
+            aplicarIsolado(grupo.get(0));
+            return;
+        }
+        List<ResultadoTransferencia> resultados;
+        try {
+            resultados = transactionTemplate.execute(status -> {
+                versaoBeneficios.registrarNaTransacao();
+                return ejbService.transferLote(grupo.stream().map(Pedido::item).toList());
+            });
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Falha no grupo de {} transferências, aplicando individualmente: {}",
+                    grupo.size(),
+                    e.getMessage());
+            grupo.forEach(this::aplicarIsolado);
+            return;
+        }
+        for (ResultadoTransferencia resultado : Objects.requireNonNull(resultados)) {
+            grupo.get(resultado.getIndice()).concluir(resultado);
+        }
+    }
+
+    private void aplicarIsolado(final Pedido pedido) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                ejbService.transfer(pedido.item().getFromId(), pedido.item().getToId(), pedido.item().getValor());
+                versaoBeneficios.registrarNaTransacao();
+            });
+            pedido.resultado.complete(null);
+        } catch (RuntimeException e) {
+            pedido.resultado.completeExceptionally(e);
+        }
+    }
+
+    /** Transferência aguardando o commit do seu grupo. */
+    static final class Pedido {
+
+        private final ItemTransferencia item;
+
+        private final CompletableFuture<Void> resultado = new CompletableFuture<>();
+
+        Pedido(final Long fromId, final Long toId, final Money valor) {
+            this.item = new ItemTransferencia(fromId, toId, valor);
+        }
+
+        ItemTransferencia item() {
+            return item;
+        }
+
+        CompletableFuture<Void> resultado() {
+            return resultado;
+        }
+
+        /*
+         * Conclui o pedido com o resultado do lote, recusando com a mesma exceção da transferência
+         *  individual: IllegalArgumentException para parâmetros inválidos ou benefício inexistente e
+         *  BusinessException para as regras de negócio.
+         */
+        void concluir(final ResultadoTransferencia resultado) {
+            if (resultado.isSucesso()) {
+                this.resultado.complete(null);
+            } else if (resultado.getMotivo() == MotivoRecusa.NAO_ENCONTRADO) {
+                this.resultado.completeExceptionally(new BeneficioNaoEncontradoException(resultado.getMensagem()));
+            } else if (resultado.getRecusa() == ResultadoTransferencia.Recusa.ARGUMENTO_INVALIDO) {
+                this.resultado.completeExceptionally(new IllegalArgumentException(resultado.getMensagem()));
+            } else {
+                this.resultado.completeExceptionally(
+                        new BusinessException(resultado.getMotivo(), resultado.getMensagem()));
+            }
+        }
+
+        /*
+         * Aguarda o resultado por no máximo a espera informada, lançando a exceção da recusa. Devolve o
+         *  motivo se a espera terminou sem resultado (interrupção ou tempo esgotado), ou nulo se concluído.
+         */
+        String aguardar(final Duration espera) {
+            try {
+                resultado.get(espera.toNanos(), TimeUnit.NANOSECONDS);
+                return null;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException causa) {
+                    throw causa;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "Transferência interrompida aguardando o commit do grupo";
+            } catch (TimeoutException e) {
+                return "Tempo de espera pelo commit do grupo esgotado";
+            }
+        }
+
+        void recusarEncerramento() {
+            resultado.completeExceptionally(
+                    new BusinessException(
+                            MotivoRecusa.INDISPONIVEL,
+                            "Transferência não realizada: serviço em encerramento, tente novamente"));
+        }
+    }
+}
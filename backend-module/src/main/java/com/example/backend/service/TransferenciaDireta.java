@@ -0,0 +1,36 @@
+package com.example.backend.service;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import java.util.Objects;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Estratégia de transferência por atualizações condicionais: um UPDATE para o débito e outro para o
+ * crédito, sem carregar as entidades no contexto de persistência. As regras de saldo e status ficam
+ * na cláusula WHERE e a transação garante que o débito e o crédito sejam aplicados juntos.
+ */
+@Service
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "DIRETA")
+public class TransferenciaDireta implements EstrategiaTransferencia {
+
+    private final BeneficioEjbService ejbService;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    public TransferenciaDireta(final BeneficioEjbService ejbService, final VersaoBeneficios versaoBeneficios) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+    }
+
+    @Override
+    @Transactional
+    public void transferir(final Long fromId, final Long toId, final Money valor)
+            throws IllegalArgumentException, BusinessException {
+        ejbService.transferDireta(fromId, toId, valor);
+        versaoBeneficios.registrarNaTransacao();
+    }
+}
@@ -0,0 +1,556 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ParametrosTransferenciaEmMemoria;
+import com.example.backend.service.ContasEmMemoria.Conta;
+import com.example.backend.service.ContasEmMemoria.Faixa;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.Money;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Estratégia de transferência em memória, para volumes em que a ida ao banco por transferência é o gargalo.
+ * <p>
+ * Os saldos (em centavos) e o status dos benefícios ficam em memória, nas {@link ContasEmMemoria}; uma
+ * transferência bloqueia as faixas da origem e do destino, em ordem, valida e aplica os saldos e inclui o
+ * registro no {@link DiarioTransferencias} antes de retornar, sem acessar o banco e sem outro bloqueio
+ * global. Um checkpoint periódico grava no banco, em uma única transação, os lançamentos do histórico, a
+ * variação acumulada do saldo de cada benefício ({@code VALOR = VALOR + ?}) e a última sequência gravada
+ * (tabela DIARIO_TRANSFERENCIAS). Na inicialização, os registros do diário posteriores a essa sequência são
+ * reaplicados ao banco antes de qualquer transferência.
+ * <p>
+ * Apenas uma instância por banco aplica transferências em memória: a inicialização adquire a concessão do
+ * checkpoint e falha se outra instância a tiver válida; a concessão é renovada periodicamente e a cada
+ * gravação. Se for perdida, as transferências em memória são recusadas e as gravações desta instância falham.
+ * <p>
+ * Os benefícios são carregados do banco no primeiro uso e removidos da memória quando ficam sem uso. As
+ * demais operações que alteram saldo ou status (alteração, status, partições, remoção e transferência em
+ * lote, inclusive a da fila assíncrona) passam pela estratégia antes de ler os benefícios
+ * ({@link #alterandoBeneficios(Collection)}): as variações pendentes são gravadas e nenhuma transferência
+ * em memória com esses benefícios é aplicada até o fim da transação delas, de forma que a variação somada
+ * no checkpoint sempre foi validada contra o saldo atual. Apenas os benefícios alterados ficam bloqueados
+ * durante essa transação; transferências entre os demais seguem em memória. Consultas ao banco refletem
+ * as transferências após o checkpoint. Transferências que envolvem benefícios particionados são feitas no
+ * banco pela transferência pessimista, após um checkpoint.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "MEMORIA")
+@EnableConfigurationProperties(ParametrosTransferenciaEmMemoria.class)
+public class TransferenciaEmMemoria implements EstrategiaTransferencia {
+
+    public static final String MENSAGEM_DIARIO_CHEIO =
+            "Limite de transferências aguardando gravação atingido, tente novamente mais tarde";
+
+    public static final String MENSAGEM_SEM_CONCESSAO =
+            "Transferências indisponíveis nesta instância, tente novamente mais tarde";
+
+    /* Registros gravados por transação de checkpoint. */
+    private static final int REGISTROS_POR_CHECKPOINT = 10_000;
+
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    /* A concessão é renovada a cada terço da validade. */
+    private static final int RENOVACOES_POR_CONCESSAO = 3;
+
+    private final BancoTransferenciasEmMemoria banco;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    private final ParametrosTransferenciaEmMemoria parametros;
+
+    private final ContasEmMemoria contas;
+
+    /* Registros aguardando gravação a partir dos quais o checkpoint é antecipado: metade do diário. */
+    private final long limiteAntecipacao;
+
+    /*
+     * Exclusivo durante a gravação dos checkpoints e, quando gravados na transação de uma alteração de
+     * benefícios, até o fim dela; compartilhado na carga de benefícios, para que o saldo lido do banco e as
+     * variações pendentes correspondam ao mesmo checkpoint. Transferências em memória não o usam.
+     * Ordem de bloqueio: checkpoint e, em seguida, faixas (em ordem de índice).
+     */
+    private final ReentrantReadWriteLock checkpoint = new ReentrantReadWriteLock();
+
+    /*
+     * Última sequência gravada no banco; posterior ao último checkpoint do diário apenas até o fim da
+     * transação de alteração que a gravou. Protegida pelo bloqueio exclusivo de checkpoint.
+     */
+    private long ultimaGravada;
+
+    private final AtomicBoolean checkpointSolicitado = new AtomicBoolean();
+
+    /* Dono da concessão do checkpoint no banco. */
+    private final String dono;
+
+    private final AtomicBoolean concessaoValida = new AtomicBoolean(true);
+
+    private DiarioTransferencias diario;
+
+    private ScheduledExecutorService agendador;
+
+    public TransferenciaEmMemoria(
+            final BancoTransferenciasEmMemoria banco,
+            final VersaoBeneficios versaoBeneficios,
+            final ParametrosTransferenciaEmMemoria parametros) {
+        this.banco = Objects.requireNonNull(banco, "BancoTransferenciasEmMemoria não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+        this.parametros = Objects.requireNonNull(parametros, "Parâmetros não podem ser nulos");
+        this.contas = new ContasEmMemoria(parametros.faixas());
+        this.limiteAntecipacao = Math.max(1, parametros.diarioCapacidade() >> 1);
+        this.dono = parametros.dono();
+    }
+
+    /**
+     * Abre o diário, adquire a concessão do checkpoint, reaplica ao banco os registros posteriores ao último
+     * checkpoint e inicia os checkpoints e as remoções de benefícios sem uso periódicos.
+     *
+     * @throws IllegalStateException se outra instância tiver a concessão do checkpoint
+     */
+    @PostConstruct
+    public void iniciar() throws IOException, IllegalStateException {
+        diario = new DiarioTransferencias(
+                parametros.diario(), parametros.diarioCapacidade(), parametros.diarioSincronizar());
+        try {
+            recuperarDiario();
+        } catch (RuntimeException e) {
+            diario.close();
+            diario = null;
+            throw e;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "checkpoint-transferencias");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = parametros.checkpoint().toNanos();
+        agendador.scheduleWithFixedDelay(this::checkpoint, intervalo, intervalo, TimeUnit.NANOSECONDS);
+        long ociosidade = parametros.ociosidade().toNanos();
+        agendador.scheduleWithFixedDelay(this::removerOciosas, ociosidade, ociosidade, TimeUnit.NANOSECONDS);
+        long renovacao = parametros.concessao().toNanos() / RENOVACOES_POR_CONCESSAO;
+        agendador.scheduleWithFixedDelay(this::renovarConcessao, renovacao, renovacao, TimeUnit.NANOSECONDS);
+        log.info(
+                "Transferências em memória: instância={}, diário={}, capacidade={}, faixas={}, checkpoint={}",
+                dono,
+                parametros.diario().toAbsolutePath(),
+                parametros.diarioCapacidade(),
+                contas.getQuantidadeFaixas(),
+                parametros.checkpoint());
+    }
+
+    /**
+     * Interrompe os checkpoints periódicos, grava as transferências pendentes e fecha o diário. Se a gravação
+     * falhar, os registros são reaplicados na próxima inicialização; sem registros pendentes, a concessão é
+     * liberada.
+     */
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (agendador != null) {
+            agendador.shutdown();
+            agendador.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS);
+        }
+        if (diario != null) {
+            checkpoint();
+            liberarConcessao();
+            diario.close();
+        }
+    }
+
+    @Override
+    public void transferir(final Long fromId, final Long toId, final Money valor)
+            throws IllegalArgumentException, BusinessException {
+        long centavos = valor.getCentavos();
+        while (true) {
+            Conta from = carregar(fromId);
+            Conta to = carregar(toId);
+            Faixa faixaOrigem = contas.faixa(fromId);
+            Faixa faixaDestino = contas.faixa(toId);
+            ContasEmMemoria.bloquear(faixaOrigem, faixaDestino);
+            try {
+                if (!from.valida || !to.valida) {
+                    // Descartado entre a carga e o bloqueio: carrega novamente
+                    continue;
+                }
+                if (!from.particionado && !to.particionado) {
+                    aplicar(fromId, from, toId, to, centavos);
+                    versaoBeneficios.registrarAlteracao();
+                    return;
+                }
+            } finally {
+                ContasEmMemoria.desbloquear(faixaOrigem, faixaDestino);
+            }
+            transferirNoBanco(fromId, toId, valor);
+            return;
+        }
+    }
+
+    /**
+     * Descarta os benefícios da memória e grava as variações pendentes na transação corrente, sem outra
+     * conexão; até o fim dela, nenhum deles é recarregado e, portanto, nenhuma transferência em memória com
+     * eles é aplicada. Transferências com benefícios já em memória seguem; cargas de benefícios e os
+     * checkpoints seguintes aguardam o fim da transação, após o qual as variações gravadas são descontadas
+     * da memória (commit) ou permanecem pendentes (rollback).
+     *
+     * @throws IllegalStateException se não houver transação ativa
+     */
+    @Override
+    public void alterandoBeneficios(final Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Alteração de benefícios deve ocorrer em uma transação");
+        }
+        List<Long> alterados = List.copyOf(ids);
+        iniciarAlteracao(alterados);
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    concluirAlteracao(alterados);
+                }
+            });
+        } catch (RuntimeException e) {
+            concluirAlteracao(alterados);
+            throw e;
+        }
+        gravarNaTransacao();
+    }
+
+    /**
+     * Descarta da memória os benefícios alterados por outras operações; no próximo uso, o saldo é lido do
+     * banco e somado às variações ainda não gravadas.
+     */
+    @Override
+    public void beneficiosAlterados(final Collection<Long> ids) {
+        for (Long id : ids) {
+            Faixa faixa = contas.faixa(id);
+            faixa.trava.lock();
+            try {
+                faixa.descartar(id);
+            } finally {
+                faixa.trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Grava no banco as transferências ainda não gravadas. Executado periodicamente, ao encerrar e antes
+     * das transferências feitas no banco; em caso de falha, os registros permanecem pendentes.
+     */
+    public void checkpoint() {
+        checkpointSolicitado.set(false);
+        try {
+            gravarComBloqueio();
+        } catch (RuntimeException e) {
+            log.error("Falha no checkpoint das transferências em memória: {}", e.getMessage(), e);
+        }
+    }
+
+    /* Banco sem checkpoint: registros existentes no diário não pertencem a este banco. */
+    private void recuperarDiario() {
+        Long ultimoCheckpoint = banco.lerCheckpoint();
+        if (ultimoCheckpoint == null) {
+            diario.reiniciar(0);
+            banco.criarCheckpoint(dono, parametros.concessao());
+            return;
+        }
+        banco.adquirirConcessao(dono, parametros.concessao());
+        List<DiarioTransferencias.Registro> recuperados = diario.recuperar(ultimoCheckpoint);
+        if (!recuperados.isEmpty()) {
+            log.warn(
+                    "Reaplicando {} transferências do diário posteriores ao checkpoint {}",
+                    recuperados.size(),
+                    ultimoCheckpoint);
+            gravarComBloqueio();
+        }
+    }
+
+    /* Valida e aplica a transferência em memória; as faixas da origem e do destino já estão bloqueadas. */
+    private void aplicar(final Long fromId, final Conta from, final Long toId, final Conta to, final long centavos)
+            throws BusinessException {
+        if (!concessaoValida.get()) {
+            throw new BusinessException(MotivoRecusa.INDISPONIVEL, MENSAGEM_SEM_CONCESSAO);
+        }
+        validar(from, to, centavos);
+        DiarioTransferencias.Registro registro;
+        try {
+            registro = diario.anexar(fromId, toId, centavos, from.saldo - centavos, to.saldo + centavos);
+        } catch (IllegalStateException e) {
+            log.error("Transferência recusada: {}", e.getMessage());
+            throw new BusinessException(MotivoRecusa.INDISPONIVEL, MENSAGEM_SEM_CONCESSAO);
+        }
+        if (registro == null) {
+            solicitarCheckpoint();
+            throw new BusinessException(MotivoRecusa.INDISPONIVEL, MENSAGEM_DIARIO_CHEIO);
+        }
+        from.saldo -= centavos;
+        from.pendente -= centavos;
+        from.ultimaSequencia = registro.sequencia();
+        from.usada = true;
+        to.saldo += centavos;
+        to.pendente += centavos;
+        to.ultimaSequencia = registro.sequencia();
+        to.usada = true;
+        if (registro.sequencia() - diario.getUltimoCheckpoint() >= limiteAntecipacao) {
+            // Antecipa o checkpoint antes que o diário fique cheio
+            solicitarCheckpoint();
+        }
+    }
+
+    private static void validar(final Conta from, final Conta to, final long centavos) throws BusinessException {
+        if (!from.ativo) {
+            throw new BusinessException(MotivoRecusa.ORIGEM_CANCELADA, BeneficioEjbService.MENSAGEM_ORIGEM_CANCELADA);
+        }
+        if (!to.ativo) {
+            throw new BusinessException(MotivoRecusa.DESTINO_CANCELADO, BeneficioEjbService.MENSAGEM_DESTINO_CANCELADO);
+        }
+        if (from.saldo < centavos) {
+            throw new BusinessException(
+                    MotivoRecusa.SALDO_INSUFICIENTE, BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE);
+        }
+        if (to.saldo > Money.MAXIMO_COLUNA_CENTAVOS - centavos) {
+            throw new BusinessException(MotivoRecusa.SALDO_MAXIMO, BeneficioEjbService.MENSAGEM_SALDO_MAXIMO);
+        }
+    }
+
+    private void solicitarCheckpoint() {
+        if (!agendador.isShutdown() && checkpointSolicitado.compareAndSet(false, true)) {
+            agendador.execute(this::checkpoint);
+        }
+    }
+
+    private void removerOciosas() {
+        int removidas = contas.removerOciosas(diario.getUltimoCheckpoint());
+        if (removidas > 0) {
+            log.debug("{} benefícios sem uso removidos da memória", removidas);
+        }
+    }
+
+    /*
+     * Transferência envolvendo benefício particionado, feita no banco pela transferência pessimista. Os dois
+     * benefícios são descartados da memória antes do checkpoint: novas transferências em memória com eles
+     * aguardam a recarga, bloqueada até o fim desta transferência, e o banco reflete todas as variações.
+     */
+    private void transferirNoBanco(final Long fromId, final Long toId, final Money valor) {
+        List<Long> ids = List.of(fromId, toId);
+        iniciarAlteracao(ids);
+        try {
+            gravarComBloqueio();
+            banco.transferir(fromId, toId, valor);
+        } finally {
+            concluirAlteracao(ids);
+        }
+        versaoBeneficios.registrarAlteracao();
+    }
+
+    /* Descarta os benefícios e impede a sua carga até concluirAlteracao, bloqueando apenas as suas faixas. */
+    private void iniciarAlteracao(final List<Long> ids) {
+        for (Long id : ids) {
+            Faixa faixa = contas.faixa(id);
+            faixa.trava.lock();
+            try {
+                faixa.iniciarAlteracao(id);
+            } finally {
+                faixa.trava.unlock();
+            }
+        }
+    }
+
+    private void concluirAlteracao(final List<Long> ids) {
+        for (Long id : ids) {
+            Faixa faixa = contas.faixa(id);
+            faixa.trava.lock();
+            try {
+                faixa.concluirAlteracao(id);
+            } finally {
+                faixa.trava.unlock();
+            }
+        }
+    }
+
+    /* Renova periodicamente a concessão no banco; se outra instância a tiver, deixa de aplicar transferências. */
+    private void renovarConcessao() {
+        if (!concessaoValida.get()) {
+            return;
+        }
+        try {
+            if (!banco.renovarConcessao(dono, parametros.concessao())) {
+                concessaoValida.set(false);
+                log.error("Concessão do diário de transferências perdida pela instância {}", dono);
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha ao renovar a concessão do diário de transferências: {}", e.getMessage(), e);
+        }
+    }
+
+    /* Sem registros pendentes, outra instância pode iniciar sem aguardar o vencimento da concessão. */
+    private void liberarConcessao() {
+        if (!concessaoValida.get() || !diario.pendentes(1).isEmpty()) {
+            return;
+        }
+        try {
+            banco.liberarConcessao(dono);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao liberar a concessão do diário de transferências: {}", e.getMessage());
+        }
+    }
+
+    private void gravarComBloqueio() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            gravarNaTransacao();
+            return;
+        }
+        checkpoint.writeLock().lock();
+        try {
+            gravarTodos();
+        } finally {
+            checkpoint.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Grava todos os registros publicados no diário, em uma transação para cada REGISTROS_POR_CHECKPOINT,
+     * confirmando cada gravação. Deve ser chamado com o bloqueio exclusivo de checkpoint.
+     */
+    private void gravarTodos() {
+        boolean restantes = true;
+        while (restantes) {
+            List<Runnable> confirmacoes = new ArrayList<>(1);
+            restantes = gravarPendentes(confirmacoes);
+            confirmacoes.forEach(Runnable::run);
+        }
+    }
+
+    /*
+     * Grava todos os registros publicados no diário na transação corrente, mantendo o bloqueio exclusivo de
+     * checkpoint até o fim dela: outro checkpoint não grava os mesmos registros e nenhuma carga lê o saldo
+     * gravado antes de as variações serem descontadas da memória, o que ocorre após o commit.
+     */
+    private void gravarNaTransacao() {
+        checkpoint.writeLock().lock();
+        List<Runnable> confirmacoes = new ArrayList<>();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    confirmacoes.forEach(Runnable::run);
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    ultimaGravada = 0;
+                    checkpoint.writeLock().unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            checkpoint.writeLock().unlock();
+            throw e;
+        }
+        boolean restantes = true;
+        while (restantes) {
+            restantes = gravarPendentes(confirmacoes);
+        }
+    }
+
+    /*
+     * Grava no banco, na transação corrente ou em uma própria, até REGISTROS_POR_CHECKPOINT registros
+     * posteriores aos já gravados e inclui a sua confirmação, a executar após o commit. Retorna se podem
+     * restar registros pendentes.
+     */
+    private boolean gravarPendentes(final List<Runnable> confirmacoes) {
+        List<DiarioTransferencias.Registro> registros =
+                diario.pendentes(ultimaGravada, REGISTROS_POR_CHECKPOINT);
+        if (registros.isEmpty()) {
+            return false;
+        }
+        Map<Long, Long> variacoes = new ConcurrentHashMap<>();
+        for (DiarioTransferencias.Registro registro : registros) {
+            variacoes.merge(registro.origemId(), -registro.centavos(), Long::sum);
+            variacoes.merge(registro.destinoId(), registro.centavos(), Long::sum);
+        }
+        banco.gravar(registros, variacoes, dono, parametros.concessao());
+        long sequencia = registros.get(registros.size() - 1).sequencia();
+        ultimaGravada = sequencia;
+        confirmacoes.add(() -> confirmar(sequencia, variacoes));
+        return registros.size() == REGISTROS_POR_CHECKPOINT;
+    }
+
+    /* Libera no diário os registros gravados e desconta as variações gravadas das contas em memória. */
+    private void confirmar(final long sequencia, final Map<Long, Long> variacoes) {
+        diario.registrarCheckpoint(sequencia);
+        variacoes.forEach((id, variacao) -> {
+            Faixa faixa = contas.faixa(id);
+            faixa.trava.lock();
+            try {
+                Conta conta = faixa.buscar(id);
+                if (conta != null) {
+                    conta.pendente -= variacao;
+                }
+            } finally {
+                faixa.trava.unlock();
+            }
+        });
+        versaoBeneficios.registrarAlteracao();
+    }
+
+    /*
+     * Benefício em memória, carregado do banco se necessário. A conta devolvida deve ser verificada
+     * (válida) após o bloqueio da faixa, pois pode ter sido descartada nesse intervalo.
+     */
+    private Conta carregar(final Long id) throws IllegalArgumentException {
+        Faixa faixa = contas.faixa(id);
+        while (true) {
+            long geracao;
+            faixa.trava.lock();
+            try {
+                Conta conta = faixa.buscar(id);
+                if (conta != null && conta.valida) {
+                    return conta;
+                }
+                // Benefício alterado por outra transação: a carga aguarda o fim dela
+                faixa.aguardarAlteracoes(id);
+                geracao = faixa.getGeracao();
+            } finally {
+                faixa.trava.unlock();
+            }
+            Conta carregada = lerDoBanco(faixa, id, geracao);
+            if (carregada != null) {
+                return carregada;
+            }
+        }
+    }
+
+    /* Lê a conta do banco e a inclui na faixa; nulo se a faixa teve um descarte desde a geração informada. */
+    private Conta lerDoBanco(final Faixa faixa, final Long id, final long geracao) {
+        checkpoint.readLock().lock();
+        try {
+            Conta lida = banco.lerConta(id);
+            faixa.trava.lock();
+            try {
+                return faixa.getGeracao() == geracao ? faixa.carregar(id, lida) : null;
+            } finally {
+                faixa.trava.unlock();
+            }
+        } finally {
+            checkpoint.readLock().unlock();
+        }
+    }
+}
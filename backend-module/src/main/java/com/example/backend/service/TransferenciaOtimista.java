@@ -0,0 +1,150 @@
+package com.example.backend.service;
+
+import com.example.backend.config.ParametrosTransferenciaOtimista;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Estratégia otimista de transferência: os benefícios são lidos sem bloqueio e conflitos são
+ * detectados pela coluna VERSION no momento do flush. Cada tentativa ocorre em uma transação
+ * própria; em caso de conflito a transferência é repetida após uma espera exponencial com
+ * jitter, até o limite de tentativas configurado.
+ * <p>
+ * Indicada para baixa contenção, onde elimina as esperas por bloqueio. As métricas
+ * {@value #METRICA_TENTATIVAS}, {@value #METRICA_CONFLITOS} e {@value #METRICA_ESGOTADAS}
+ * permitem avaliar se a estratégia é adequada à carga.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "OTIMISTA")
+@EnableConfigurationProperties(ParametrosTransferenciaOtimista.class)
+public class TransferenciaOtimista implements EstrategiaTransferencia {
+
+    public static final String METRICA_TENTATIVAS = "beneficio.transferencia.tentativas";
+
+    public static final String METRICA_CONFLITOS = "beneficio.transferencia.conflitos";
+
+    public static final String METRICA_ESGOTADAS = "beneficio.transferencia.tentativas.esgotadas";
+
+    /* Limite das dobras da espera inicial, para que o deslocamento não estoure o long. */
+    private static final int MAXIMO_DOBRAS = 20;
+
+    private final BeneficioEjbService ejbService;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maximoTentativas;
+
+    private final Duration esperaInicial;
+
+    private final Duration esperaMaxima;
+
+    private final DistributionSummary tentativas;
+
+    private final Counter conflitos;
+
+    private final Counter esgotadas;
+
+    public TransferenciaOtimista(
+            final BeneficioEjbService ejbService,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry,
+            final ParametrosTransferenciaOtimista parametros,
+            final VersaoBeneficios versaoBeneficios) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maximoTentativas = parametros.tentativas();
+        this.esperaInicial = parametros.esperaInicial();
+        this.esperaMaxima = parametros.esperaMaxima();
+        this.tentativas = DistributionSummary.builder(METRICA_TENTATIVAS)
+                .description("Tentativas por transferência na estratégia otimista")
+                .tag("estrategia", "otimista")
+                .register(meterRegistry);
+        this.conflitos = Counter.builder(METRICA_CONFLITOS)
+                .description("Conflitos de versão detectados em transferências")
+                .tag("estrategia", "otimista")
+                .register(meterRegistry);
+        this.esgotadas = Counter.builder(METRICA_ESGOTADAS)
+                .description("Transferências recusadas após esgotar as tentativas")
+                .tag("estrategia", "otimista")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void transferir(final Long fromId, final Long toId, final Money valor)
+            throws IllegalArgumentException, BusinessException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> tentar(fromId, toId, valor));
+                tentativas.record(tentativa);
+                return;
+            } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+                conflitos.increment();
+                if (tentativa >= maximoTentativas) {
+                    tentativas.record(tentativa);
+                    esgotadas.increment();
+                    log.warn(
+                            "Transferência ID={} -> ID={} recusada após {} conflitos de versão",
+                            fromId,
+                            toId,
+                            tentativa);
+                    throw new BusinessException(MotivoRecusa.CONCORRENCIA, BeneficioEjbService.MENSAGEM_CONCORRENCIA);
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug(
+                            "Conflito de versão na tentativa {} da transferência ID={} -> ID={}",
+                            tentativa,
+                            fromId,
+                            toId);
+                }
+                aguardar(tentativa);
+            }
+        }
+    }
+
+    /* Uma tentativa, na transação aberta em transferir. */
+    private void tentar(final Long fromId, final Long toId, final Money valor) {
+        ejbService.transferOtimista(fromId, toId, valor);
+        versaoBeneficios.registrarNaTransacao();
+    }
+
+    /**
+     * Espera exponencial com jitter completo: um tempo aleatório entre zero e
+     * min(esperaMaxima, esperaInicial * 2^min(tentativa - 1, MAXIMO_DOBRAS)), evitando que transferências em conflito
+     * voltem a colidir em sincronia.
+     */
+    private void aguardar(final int tentativa) {
+        long limite =
+                Math.min(esperaMaxima.toNanos(), esperaInicial.toNanos() << Math.min(tentativa - 1, MAXIMO_DOBRAS));
+        if (limite <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(limite + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(
+                    MotivoRecusa.INDISPONIVEL, "Transferência interrompida. Por favor, tente novamente.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.service;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import java.util.Objects;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Estratégia padrão de transferência: bloqueio pessimista ("SELECT ... FOR UPDATE") dos benefícios
+ * envolvidos, em ordem de ID, realizado pelo serviço EJB.
+ */
+@Service
+@ConditionalOnProperty(name = EstrategiaTransferencia.PROPRIEDADE, havingValue = "PESSIMISTA", matchIfMissing = true)
+public class TransferenciaPessimista implements EstrategiaTransferencia {
+
+    private final BeneficioEjbService ejbService;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    public TransferenciaPessimista(final BeneficioEjbService ejbService, final VersaoBeneficios versaoBeneficios) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+    }
+
+    @Override
+    @Transactional
+    public void transferir(final Long fromId, final Long toId, final Money valor)
+            throws IllegalArgumentException, BusinessException {
+        ejbService.transfer(fromId, toId, valor);
+        versaoBeneficios.registrarNaTransacao();
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.FilaTransferenciasCheiaException;
+import com.example.backend.mapper.TransferenciaMapper;
+import com.example.backend.validator.BeneficioValidator;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.ResultadoTransferencia;
+import jakarta.persistence.OptimisticLockException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execução das transferências do {@link BeneficioServiceImpl}: validação, métricas, auditoria e
+ * tratamento de erros em torno da {@link EstrategiaTransferencia} configurada e da transferência em lote
+ * do serviço EJB. Também repassa à estratégia e ao serviço EJB as alterações de benefícios feitas pelas
+ * demais operações, para que o estado em memória deles (saldos e roteamento de partições) seja descartado.
+ * <p>
+ * Transação e cache ficam a cargo do {@link BeneficioServiceImpl}.
+ */
+@Component
+@Slf4j
+public class TransferenciasBeneficios {
+
+    private final BeneficioEjbService ejbService;
+
+    private final EstrategiaTransferencia estrategiaTransferencia;
+
+    private final MetricasTransferencia metricasTransferencia;
+
+    private final AuditoriaTransferencias auditoria;
+
+    private final VersaoBeneficios versaoBeneficios;
+
+    public TransferenciasBeneficios(
+            final BeneficioEjbService ejbService,
+            final EstrategiaTransferencia estrategiaTransferencia,
+            final MetricasTransferencia metricasTransferencia,
+            final AuditoriaTransferencias auditoria,
+            final VersaoBeneficios versaoBeneficios) {
+        this.ejbService = Objects.requireNonNull(ejbService, "BeneficioEjbService não pode ser nulo");
+        this.estrategiaTransferencia =
+                Objects.requireNonNull(estrategiaTransferencia, "EstrategiaTransferencia não pode ser nula");
+        this.metricasTransferencia =
+                Objects.requireNonNull(metricasTransferencia, "MetricasTransferencia não pode ser nula");
+        this.auditoria = Objects.requireNonNull(auditoria, "AuditoriaTransferencias não pode ser nula");
+        this.versaoBeneficios = Objects.requireNonNull(versaoBeneficios, "VersaoBeneficios não pode ser nulo");
+    }
+
+    /**
+     * Realiza uma transferência pela estratégia configurada, medindo e auditando o resultado.
+     *
+     * @param dto Dados da transferência contendo ID de origem, destino e valor
+     * @throws IllegalArgumentException se os dados forem inválidos
+     * @throws BusinessException se ocorrer erro na operação
+     */
+    public void transferir(final TransferenciaDto dto) throws IllegalArgumentException, BusinessException {
+        metricasTransferencia.medir(() -> executar(dto));
+    }
+
+    /**
+     * Aplica um lote de transferências pelo serviço EJB na transação corrente. Os saldos em memória dos
+     * benefícios envolvidos são gravados pela estratégia antes do lote e descartados após o commit.
+     *
+     * @param transferencias Itens da transferência em lote, aplicados na ordem recebida
+     * @return TransferenciaLoteResponseDto com o resultado de cada item
+     * @throws IllegalArgumentException se o lote for vazio ou exceder o tamanho máximo
+     * @throws BusinessException se ocorrer erro na operação
+     */
+    public TransferenciaLoteResponseDto transferirLote(final List<TransferenciaDto> transferencias)
+            throws IllegalArgumentException, BusinessException {
+        validarLote(transferencias);
+        log.debug("Iniciando transferência em lote com {} itens", transferencias.size());
+        List<ItemTransferencia> itens =
+                transferencias.stream().map(TransferenciaMapper::mapItem).collect(Collectors.toList());
+        Set<Long> envolvidos = envolvidos(transferencias);
+        estrategiaTransferencia.alterandoBeneficios(envolvidos);
+        try {
+            List<ResultadoTransferencia> resultados =
+                    metricasTransferencia.medirLote(() -> ejbService.transferLote(itens));
+            return concluirLote(resultados, envolvidos);
+        } catch (IllegalArgumentException | BusinessException ex) {
+            log.error("Erro ao realizar transferência em lote: {}", ex.getMessage());
+            throw ex;
+        } catch (OptimisticLockException e) {
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA, BeneficioEjbService.MENSAGEM_CONCORRENCIA);
+        } catch (Exception ex) {
+            log.error("Erro ao realizar transferência em lote: {}", ex.getMessage());
+            throw new BusinessException("Erro ao realizar transferência: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Avisa a estratégia de que os benefícios serão alterados na transação corrente, antes de lê-los.
+     *
+     * @param ids Identificadores dos benefícios
+     * @see EstrategiaTransferencia#alterandoBeneficios(Collection)
+     */
+    public void alterandoBeneficios(final Collection<Long> ids) {
+        estrategiaTransferencia.alterandoBeneficios(ids);
+    }
+
+    /**
+     * Descarta, após o commit, o estado em memória derivado do benefício alterado: os saldos mantidos pela
+     * estratégia de transferência e o roteamento dos créditos para benefícios particionados.
+     *
+     * @param id Identificador do benefício alterado
+     */
+    public void descartarAposCommit(final Long id) {
+        Transacoes.aposCommit(() -> {
+            estrategiaTransferencia.beneficiosAlterados(List.of(id));
+            ejbService.descartarRoteamentoParticoes();
+        });
+    }
+
+    /*
+     * Caminho crítico: recusas esperadas (argumento inválido, regra de negócio) já são contadas nas
+     * métricas e ficam em DEBUG; mensagens com mais de dois argumentos são protegidas pelo nível.
+     */
+    private void executar(final TransferenciaDto dto) {
+        MetricasTransferencia.Resultado resultado = MetricasTransferencia.Resultado.ERRO;
+        try {
+            validar(dto);
+            estrategiaTransferencia.transferir(dto.getFromId(), dto.getToId(), dto.getValor());
+            resultado = MetricasTransferencia.Resultado.SUCESSO;
+            logRealizada(dto);
+        } catch (IllegalArgumentException ex) {
+            resultado = MetricasTransferencia.Resultado.RECUSADA;
+            log.debug("Argumento inválido ao realizar transferência: {}", ex.getMessage());
+            throw ex;
+        } catch (BusinessException ex) {
+            resultado = MetricasTransferencia.Resultado.RECUSADA;
+            log.debug("Erro de negócio ao realizar transferência: {}", ex.getMessage());
+            throw ex;
+        } catch (OptimisticLockException | OptimisticLockingFailureException e) {
+            resultado = MetricasTransferencia.Resultado.RECUSADA;
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA, BeneficioEjbService.MENSAGEM_CONCORRENCIA);
+        } catch (FilaTransferenciasCheiaException ex) {
+            // Estratégia agrupada sobrecarregada: devolvida sem conversão para que a resposta seja 429
+            resultado = MetricasTransferencia.Resultado.RECUSADA;
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Erro ao realizar transferência: {}", ex.getMessage());
+            throw new BusinessException("Erro ao realizar transferência: " + ex.getMessage(), ex);
+        } finally {
+            auditoria.registrar(dto.getFromId(), dto.getToId(), dto.getValor(), resultado);
+        }
+    }
+
+    private static void logRealizada(final TransferenciaDto dto) {
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Transferência realizada ID={} -> ID={}, VALOR={}",
+                    dto.getFromId(),
+                    dto.getToId(),
+                    dto.getValor());
+        }
+    }
+
+    private static void validar(final TransferenciaDto dto) {
+        // Validação básica dos dados de transferência
+        if (null == dto.getFromId() || null == dto.getToId()) {
+            throw new IllegalArgumentException("IDs de origem e destino são obrigatórios");
+        }
+        if (dto.getFromId().equals(dto.getToId())) {
+            throw new IllegalArgumentException("Não é possível realizar transferência para o mesmo benefício");
+        }
+        if (dto.getValor() == null || dto.getValor().signum() <= 0) {
+            throw new IllegalArgumentException("Valor de transferência deve ser positivo");
+        }
+    }
+
+    private static void validarLote(final List<TransferenciaDto> transferencias) {
+        if (transferencias.isEmpty()) {
+            throw new IllegalArgumentException("Lote de transferências não pode ser vazio");
+        }
+        if (transferencias.size() > BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA) {
+            throw new IllegalArgumentException("Lote de transferências deve ter no máximo "
+                    + BeneficioValidator.MAX_ITENS_LOTE_TRANSFERENCIA + " itens");
+        }
+    }
+
+    private static Set<Long> envolvidos(final List<TransferenciaDto> transferencias) {
+        return transferencias.stream()
+                .filter(Objects::nonNull)
+                .flatMap(dto -> Stream.of(dto.getFromId(), dto.getToId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /* Registra as recusas nas métricas e, se algum item foi aplicado, descarta os saldos após o commit. */
+    private TransferenciaLoteResponseDto concluirLote(
+            final List<ResultadoTransferencia> resultados, final Set<Long> envolvidos) {
+        for (ResultadoTransferencia resultado : resultados) {
+            if (!resultado.isSucesso()) {
+                metricasTransferencia.registrarRecusa(MetricasTransferencia.Tipo.LOTE, resultado.getMotivo());
+            }
+        }
+        TransferenciaLoteResponseDto response = TransferenciaMapper.mapLote(resultados);
+        if (response.getSucessos() > 0) {
+            versaoBeneficios.registrarNaTransacao();
+            Transacoes.aposCommit(() -> estrategiaTransferencia.beneficiosAlterados(envolvidos));
+        }
+        log.info(
+                "Transferência em lote concluída: {} itens aplicados, {} recusados",
+                response.getSucessos(),
+                response.getFalhas());
+        return response;
+    }
+}
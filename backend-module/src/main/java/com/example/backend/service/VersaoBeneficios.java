@@ -0,0 +1,88 @@
+package com.example.backend.service;
+
+import com.example.backend.repository.BeneficioRepository;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Versões dos benefícios usadas nas ETags da API.
+ * <p>
+ * A versão de um benefício vem da coluna VERSION (@Version) e, nos benefícios particionados, também
+ * da soma das versões das partições, já que os créditos nas partições não alteram a linha principal.
+ * A versão da coleção combina um contador mantido no banco, a tabela VERSAO_COLECAO, com um contador de
+ * alterações desta instância. O contador do banco é incrementado na própria transação de cada escrita de
+ * benefícios, em qualquer instância, e lido em uma consulta de custo constante, sem percorrer os
+ * benefícios; ele é dividido em {@value #FATIAS} linhas (fatias) para que escritas simultâneas não
+ * aguardem umas às outras na mesma linha. O contador desta instância cobre os saldos mantidos apenas em
+ * memória (estratégia MEMORIA) e é prefixado por um identificador da instância: após um reinício, ou em
+ * outra instância, as versões anteriores deixam de corresponder e a resposta completa é enviada
+ * novamente. Escritas feitas fora da aplicação só alteram a versão se incrementarem uma fatia.
+ */
+@Component
+public class VersaoBeneficios {
+
+    /** Linhas de VERSAO_COLECAO, criadas pelo schema com FATIA de zero a FATIAS - 1. */
+    public static final int FATIAS = 16;
+
+    private final String instancia =
+            Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, Character.MAX_RADIX);
+
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    private final BeneficioRepository repository;
+
+    public VersaoBeneficios(final BeneficioRepository repository) {
+        this.repository = Objects.requireNonNull(repository, "BeneficioRepository não pode ser nulo");
+    }
+
+    /**
+     * @return versão atual da coleção de benefícios
+     */
+    public String getVersaoColecao() {
+        return instancia + "-" + alteracoes.get() + "-"
+                + Long.toString(repository.findVersaoColecao(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Registra uma alteração em benefícios gravada pela transação corrente: antes do commit, na mesma
+     * transação, incrementa uma fatia aleatória do contador do banco, uma única vez por transação. A linha
+     * da fatia fica bloqueada apenas durante o commit e, como é a última bloqueada, não forma ciclo com os
+     * bloqueios dos benefícios.
+     */
+    public void registrarNaTransacao() {
+        Transacoes.antesCommit(
+                this, () -> repository.incrementarVersaoColecao(ThreadLocalRandom.current().nextInt(FATIAS)));
+    }
+
+    /**
+     * Registra uma alteração em saldos mantidos apenas em memória. Deve ser chamado após a alteração, para
+     * que uma consulta concorrente não associe a nova versão aos dados anteriores.
+     */
+    public void registrarAlteracao() {
+        alteracoes.incrementAndGet();
+    }
+
+    /**
+     * @param version Versão da linha principal do benefício
+     * @param versaoParticoes Soma das versões das partições (zero se não particionado)
+     * @return versão do benefício
+     */
+    public static String versao(final long version, final long versaoParticoes) {
+        return versaoParticoes == 0 ? Long.toString(version) : version + "." + versaoParticoes;
+    }
+
+    /**
+     * @param versao Versão do benefício, obtida por {@link #versao(long, long)}
+     * @param version Versão da linha principal de um benefício já carregado
+     * @return se a versão corresponde à linha principal informada
+     */
+    public static boolean mesmaVersao(final String versao, final Long version) {
+        if (versao == null || version == null) {
+            return false;
+        }
+        String principal = version.toString();
+        return versao.equals(principal) || versao.startsWith(principal + ".");
+    }
+}
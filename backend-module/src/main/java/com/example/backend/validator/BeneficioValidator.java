@@ -1,6 +1,9 @@
 package com.example.backend.validator;
 
 import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.ejb.model.Money;
+import java.util.function.BiConsumer;
 
 public class BeneficioValidator extends ObjectsValidator<BeneficioRequestDto> {
 
@@ -9,4 +12,80 @@ public class BeneficioValidator extends ObjectsValidator<BeneficioRequestDto> {
     public static final int DESCRICAO_MAX_LENGTH = 255;
     public static final String MIN_VALOR_BENEFICIO = "0.00";
     public static final String MIN_VALOR_TRANSFERENCIA = "0.01";
+    public static final int MAX_ITENS_LOTE_TRANSFERENCIA = 5000;
+    public static final int LIMITE_PADRAO_PAGINA = 50;
+    public static final int LIMITE_MAXIMO_PAGINA = 1000;
+    public static final int LIMITE_PADRAO_BUSCA = 20;
+    public static final int LIMITE_MAXIMO_BUSCA = 100;
+
+    /* Mensagens das anotações dos DTOs, compartilhadas com as validações rápidas abaixo. */
+    public static final String MENSAGEM_NOME_OBRIGATORIO = "Nome é obrigatório";
+    public static final String MENSAGEM_NOME_TAMANHO =
+            "Nome deve ter entre " + NOME_MIN_LENGTH + " e " + NOME_MAX_LENGTH + " caracteres";
+    public static final String MENSAGEM_DESCRICAO_TAMANHO =
+            "Descrição deve ter no máximo " + DESCRICAO_MAX_LENGTH + " caracteres";
+    public static final String MENSAGEM_VALOR_OBRIGATORIO = "Valor é obrigatório";
+    public static final String MENSAGEM_VALOR_MINIMO = "Valor deve ser maior que " + MIN_VALOR_BENEFICIO;
+    public static final String MENSAGEM_STATUS_OBRIGATORIO = "Status é obrigatório";
+    public static final String MENSAGEM_ORIGEM_OBRIGATORIA = "ID de origem é obrigatório";
+    public static final String MENSAGEM_DESTINO_OBRIGATORIO = "ID de destino é obrigatório";
+    public static final String MENSAGEM_VALOR_TRANSFERENCIA_OBRIGATORIO = "Valor da transferência é obrigatório";
+    public static final String MENSAGEM_VALOR_TRANSFERENCIA_MINIMO =
+            "Valor de transferência deve ser maior que " + MIN_VALOR_TRANSFERENCIA;
+
+    private static final Money VALOR_MINIMO_BENEFICIO = Money.of(MIN_VALOR_BENEFICIO);
+
+    private static final Money VALOR_MINIMO_TRANSFERENCIA = Money.of(MIN_VALOR_TRANSFERENCIA);
+
+    /**
+     * Validação rápida de {@link BeneficioRequestDto}, equivalente às anotações da classe
+     * (@NotBlank, @Size, @NotNull e @DecimalMin).
+     *
+     * @param dto Benefício a validar
+     * @param violacao Recebe o campo e a mensagem de cada violação
+     */
+    public static void validarBeneficio(final BeneficioRequestDto dto, final BiConsumer<String, String> violacao) {
+        validarNome(dto.getNome(), violacao);
+        if (dto.getDescricao() != null && dto.getDescricao().length() > DESCRICAO_MAX_LENGTH) {
+            violacao.accept("descricao", MENSAGEM_DESCRICAO_TAMANHO);
+        }
+        if (dto.getValor() == null) {
+            violacao.accept("valor", MENSAGEM_VALOR_OBRIGATORIO);
+        } else if (dto.getValor().compareTo(VALOR_MINIMO_BENEFICIO) < 0) {
+            violacao.accept("valor", MENSAGEM_VALOR_MINIMO);
+        }
+        if (dto.getAtivo() == null) {
+            violacao.accept("ativo", MENSAGEM_STATUS_OBRIGATORIO);
+        }
+    }
+
+    private static void validarNome(final String nome, final BiConsumer<String, String> violacao) {
+        if (nome == null || nome.trim().isEmpty()) {
+            violacao.accept("nome", MENSAGEM_NOME_OBRIGATORIO);
+        }
+        if (nome != null && (nome.length() < NOME_MIN_LENGTH || nome.length() > NOME_MAX_LENGTH)) {
+            violacao.accept("nome", MENSAGEM_NOME_TAMANHO);
+        }
+    }
+
+    /**
+     * Validação rápida de {@link TransferenciaDto}, equivalente às anotações da classe
+     * (@NotNull e @DecimalMin).
+     *
+     * @param dto Transferência a validar
+     * @param violacao Recebe o campo e a mensagem de cada violação
+     */
+    public static void validarTransferencia(final TransferenciaDto dto, final BiConsumer<String, String> violacao) {
+        if (dto.getFromId() == null) {
+            violacao.accept("fromId", MENSAGEM_ORIGEM_OBRIGATORIA);
+        }
+        if (dto.getToId() == null) {
+            violacao.accept("toId", MENSAGEM_DESTINO_OBRIGATORIO);
+        }
+        if (dto.getValor() == null) {
+            violacao.accept("valor", MENSAGEM_VALOR_TRANSFERENCIA_OBRIGATORIO);
+        } else if (dto.getValor().compareTo(VALOR_MINIMO_TRANSFERENCIA) < 0) {
+            violacao.accept("valor", MENSAGEM_VALOR_TRANSFERENCIA_MINIMO);
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.backend.validator;
+
+import com.example.ejb.model.Money;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.constraints.DecimalMin;
+
+/**
+ * Validação de {@link DecimalMin} para campos {@link Money}, comparando os centavos. Registrada para o
+ * Bean Validation em META-INF/services/jakarta.validation.ConstraintValidator.
+ */
+public class DecimalMinMoneyValidator implements ConstraintValidator<DecimalMin, Money> {
+
+    private long minimo;
+
+    private boolean inclusivo;
+
+    /**
+     * @throws IllegalArgumentException se o mínimo da anotação tiver mais de duas casas decimais
+     */
+    @Override
+    public void initialize(final DecimalMin anotacao) throws IllegalArgumentException {
+        this.minimo = Money.of(anotacao.value()).getCentavos();
+        this.inclusivo = anotacao.inclusive();
+    }
+
+    @Override
+    public boolean isValid(final Money valor, final ConstraintValidatorContext context) {
+        if (valor == null) {
+            return true;
+        }
+        int comparacao = Long.compare(valor.getCentavos(), minimo);
+        return inclusivo ? comparacao >= 0 : comparacao > 0;
+    }
+}
@@ -1,31 +1,125 @@
 package com.example.backend.validator;
 
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.TransferenciaDto;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
-import jakarta.validation.ValidatorFactory;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+/**
+ * Validação dos DTOs de entrada, compartilhada pela aplicação.
+ * <p>
+ * Usa o {@link Validator} do contexto Spring (a mesma ValidatorFactory do @Valid) e, para os DTOs
+ * do caminho crítico ({@link BeneficioRequestDto} e {@link TransferenciaDto}), validações escritas à
+ * mão equivalentes às anotações, que não usam reflexão. Objetos já validados pelo Spring MVC na
+ * requisição atual ({@link ValidadorRequisicao}) não são validados novamente.
+ */
 @Component
 public class ObjectsValidator<T> {
 
-    private final ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+    /* Atributo da requisição com os objetos já validados no @Valid. */
+    static final String ATRIBUTO_VALIDADOS = ObjectsValidator.class.getName() + ".VALIDADOS";
 
-    private final Validator validator = factory.getValidator();
+    private static final Map<Class<?>, BiConsumer<Object, BiConsumer<String, String>>> VALIDACOES_RAPIDAS = Map.of(
+            BeneficioRequestDto.class,
+            (dto, violacao) -> BeneficioValidator.validarBeneficio((BeneficioRequestDto) dto, violacao),
+            TransferenciaDto.class,
+            (dto, violacao) -> BeneficioValidator.validarTransferencia((TransferenciaDto) dto, violacao));
 
-    public T validate(@NonNull final T objectToValidate) {
+    private final Validator validator;
+
+    @Autowired
+    public ObjectsValidator(@NonNull final Validator validator) {
+        this.validator = validator;
+    }
 
-        Set<ConstraintViolation<T>> violations = validator.validate(objectToValidate);
+    /* Fora do contexto Spring (ex.: benchmarks), usa uma ValidatorFactory padrão única, criada no primeiro uso. */
+    public ObjectsValidator() {
+        this(ValidatorPadrao.VALIDATOR);
+    }
 
-        if (!violations.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            violations.stream()
-                    .map((ConstraintViolation<T> v) -> v.getMessage())
-                    .forEach(sb::append);
+    public T validate(@NonNull final T objectToValidate) {
+        if (validadoNaRequisicao(objectToValidate)) {
+            return objectToValidate;
+        }
+        StringBuilder sb = new StringBuilder();
+        validar(objectToValidate, (campo, mensagem) -> sb.append(mensagem));
+        if (sb.length() > 0) {
             throw new IllegalArgumentException("Error occurred: " + sb.toString());
         }
         return objectToValidate;
     }
+
+    /**
+     * Valida o objeto sem lançar exceção, informando cada violação.
+     *
+     * @param objeto Objeto a validar
+     * @param violacao Recebe o caminho da propriedade e a mensagem de cada violação
+     */
+    public void validar(@NonNull final Object objeto, @NonNull final BiConsumer<String, String> violacao) {
+        BiConsumer<Object, BiConsumer<String, String>> rapida = VALIDACOES_RAPIDAS.get(objeto.getClass());
+        if (rapida != null) {
+            rapida.accept(objeto, violacao);
+            return;
+        }
+        for (ConstraintViolation<Object> v : validator.validate(objeto)) {
+            violacao.accept(v.getPropertyPath().toString(), v.getMessage());
+        }
+    }
+
+    /**
+     * @param tipo Classe do objeto
+     * @return se a classe tem validação escrita à mão
+     */
+    public static boolean possuiValidacaoRapida(final Class<?> tipo) {
+        return VALIDACOES_RAPIDAS.containsKey(tipo);
+    }
+
+    /**
+     * Registra que o objeto foi validado sem violações na requisição atual, para que a validação
+     * no serviço seja dispensada. Fora de uma requisição não tem efeito.
+     *
+     * @param objeto Objeto validado
+     */
+    @SuppressWarnings("unchecked")
+    public static void marcarValidado(@NonNull final Object objeto) {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao == null) {
+            return;
+        }
+        Set<Object> validados =
+                (Set<Object>) requisicao.getAttribute(ATRIBUTO_VALIDADOS, RequestAttributes.SCOPE_REQUEST);
+        if (validados == null) {
+            validados = Collections.newSetFromMap(new IdentityHashMap<>());
+            requisicao.setAttribute(ATRIBUTO_VALIDADOS, validados, RequestAttributes.SCOPE_REQUEST);
+        }
+        validados.add(objeto);
+    }
+
+    @SuppressWarnings("unchecked")
+    static boolean validadoNaRequisicao(final Object objeto) {
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao == null) {
+            return false;
+        }
+        Set<Object> validados =
+                (Set<Object>) requisicao.getAttribute(ATRIBUTO_VALIDADOS, RequestAttributes.SCOPE_REQUEST);
+        return validados != null && validados.contains(objeto);
+    }
+
+    /* Inicializada apenas se algum validador for criado fora do Spring. */
+    private static final class ValidatorPadrao {
+
+        private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    }
 }
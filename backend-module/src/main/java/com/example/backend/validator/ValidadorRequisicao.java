@@ -0,0 +1,45 @@
+package com.example.backend.validator;
+
+import org.springframework.lang.NonNull;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+/**
+ * Validador do Spring MVC (@Valid) que usa as validações rápidas do {@link ObjectsValidator} quando
+ * existem para o tipo e o Bean Validation nos demais casos (ou quando há grupos de validação).
+ * Objetos válidos ficam registrados na requisição, para que o serviço não os valide novamente.
+ */
+public class ValidadorRequisicao implements SmartValidator {
+
+    private final ObjectsValidator<Object> validador;
+
+    private final SpringValidatorAdapter beanValidation;
+
+    public ValidadorRequisicao(@NonNull final jakarta.validation.Validator validator) {
+        this.validador = new ObjectsValidator<>(validator);
+        this.beanValidation = new SpringValidatorAdapter(validator);
+    }
+
+    @Override
+    public boolean supports(@NonNull final Class<?> clazz) {
+        return beanValidation.supports(clazz);
+    }
+
+    @Override
+    public void validate(@NonNull final Object target, @NonNull final Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(@NonNull final Object target, @NonNull final Errors errors, @NonNull final Object... hints) {
+        if (hints.length == 0 && ObjectsValidator.possuiValidacaoRapida(target.getClass())) {
+            validador.validar(target, (campo, mensagem) -> errors.rejectValue(campo, "ValidacaoRapida", mensagem));
+        } else {
+            beanValidation.validate(target, errors, hints);
+        }
+        if (!errors.hasErrors()) {
+            ObjectsValidator.marcarValidado(target);
+        }
+    }
+}
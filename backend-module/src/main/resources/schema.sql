@@ -1,9 +1,67 @@
+-- IDs reservados em blocos de 50 (pooled-lo): quem inclui fora do Hibernate usa o valor lido e os 49 seguintes
+CREATE SEQUENCE BENEFICIO_SEQ START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE BENEFICIO (
-  ID BIGINT NOT NULL auto_increment,
+  ID BIGINT NOT NULL,
   NOME VARCHAR(100) NOT NULL,
   DESCRICAO VARCHAR(255),
   VALOR DECIMAL(15,2) NOT NULL,
   ATIVO BOOLEAN DEFAULT TRUE,
   VERSION BIGINT DEFAULT 0,
+  PARTICOES INT DEFAULT 0 NOT NULL,
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX IDX_BENEFICIO_ATIVO ON BENEFICIO (ATIVO, ID);
+
+CREATE TABLE BENEFICIO_PARTICAO (
+  ID BIGINT NOT NULL auto_increment,
+  BENEFICIO_ID BIGINT NOT NULL,
+  INDICE INT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  VERSION BIGINT DEFAULT 0,
+  PRIMARY KEY (id),
+  CONSTRAINT UK_BENEFICIO_PARTICAO UNIQUE (BENEFICIO_ID, INDICE),
+  CONSTRAINT FK_BENEFICIO_PARTICAO FOREIGN KEY (BENEFICIO_ID) REFERENCES BENEFICIO (ID)
+);
+
+CREATE SEQUENCE TRANSFERENCIA_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE TRANSFERENCIA (
+  ID BIGINT NOT NULL,
+  ORIGEM_ID BIGINT NOT NULL,
+  DESTINO_ID BIGINT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  DATA_HORA TIMESTAMP WITH TIME ZONE NOT NULL,
+  SALDO_ORIGEM DECIMAL(15,2),
+  SALDO_DESTINO DECIMAL(15,2),
   PRIMARY KEY (id)
 );
+
+CREATE INDEX IDX_TRANSFERENCIA_ORIGEM ON TRANSFERENCIA (ORIGEM_ID, ID);
+CREATE INDEX IDX_TRANSFERENCIA_DESTINO ON TRANSFERENCIA (DESTINO_ID, ID);
+
+-- Última sequência do diário de transferências gravada no banco (estratégia MEMORIA) e a concessão da
+-- instância que o grava (DONO, VALIDADE). Não é uma entidade JPA: permanece quando o Hibernate recria as
+-- tabelas (create-drop) e o script é executado novamente; as colunas da concessão são incluídas em bancos
+-- criados antes dela
+CREATE TABLE IF NOT EXISTS DIARIO_TRANSFERENCIAS (
+  ID INT NOT NULL,
+  SEQUENCIA BIGINT NOT NULL,
+  DONO VARCHAR(255),
+  VALIDADE TIMESTAMP WITH TIME ZONE,
+  PRIMARY KEY (ID)
+);
+ALTER TABLE DIARIO_TRANSFERENCIAS ADD COLUMN IF NOT EXISTS DONO VARCHAR(255);
+ALTER TABLE DIARIO_TRANSFERENCIAS ADD COLUMN IF NOT EXISTS VALIDADE TIMESTAMP WITH TIME ZONE;
+
+-- Versão da coleção de benefícios usada nas ETags (VersaoBeneficios): cada escrita de benefícios incrementa
+-- uma das 16 fatias (VersaoBeneficios.FATIAS) na própria transação e a versão é a soma delas. Não é uma
+-- entidade JPA; as fatias ausentes são incluídas sem alterar as existentes quando o script é executado novamente
+CREATE TABLE IF NOT EXISTS VERSAO_COLECAO (
+  FATIA INT NOT NULL,
+  VERSAO BIGINT NOT NULL,
+  PRIMARY KEY (FATIA)
+);
+INSERT INTO VERSAO_COLECAO (FATIA, VERSAO)
+SELECT X, 0 FROM SYSTEM_RANGE(0, 15) WHERE X NOT IN (SELECT FATIA FROM VERSAO_COLECAO);
@@ -1,3 +1,9 @@
-INSERT INTO BENEFICIO (NOME, DESCRICAO, VALOR, ATIVO) VALUES
-('Beneficio A', 'Descrição A', 1000.00, TRUE),
-('Beneficio B', 'Descrição B', 500.00, TRUE);
\ No newline at end of file
+-- H2, como o schema.sql deste módulo; a versão para PostgreSQL está em db/seed.sql.
+-- Um único bloco da sequence (INCREMENT BY 50, pooled-lo) para todas as linhas: IDs consecutivos 1 e 2,
+-- e o próximo bloco do Hibernate começa em 51. Um NEXT VALUE por linha consumiria um bloco cada (1 e 51).
+INSERT INTO BENEFICIO (ID, NOME, DESCRICAO, VALOR, ATIVO)
+SELECT BLOCO.ID + D.DESLOCAMENTO, D.NOME, D.DESCRICAO, D.VALOR, TRUE
+FROM (SELECT NEXT VALUE FOR BENEFICIO_SEQ AS ID) AS BLOCO
+CROSS JOIN (VALUES
+  (0, 'Beneficio A', 'Descrição A', 1000.00),
+  (1, 'Beneficio B', 'Descrição B', 500.00)) AS D (DESLOCAMENTO, NOME, DESCRICAO, VALOR);
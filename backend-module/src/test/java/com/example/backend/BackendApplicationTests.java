@@ -3,21 +3,29 @@ package com.example.backend;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.backend.controller.BeneficioController;
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.ResumoStatusDto;
 import com.example.backend.dto.TransferenciaDto;
 import com.example.backend.factory.AbstractIntegrationTest;
 import com.example.backend.factory.TestFactory;
 import com.example.backend.repository.BeneficioRepository;
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +37,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.context.WebApplicationContext;
 
 @ContextConfiguration(classes = BackendApplication.class)
@@ -55,9 +64,9 @@ class BackendApplicationTests extends AbstractIntegrationTest {
         startMockMvc(webApplicationContext);
         repository.deleteAll();
         // Cria beneficios para testes
-        beneficio1 = repository.save(TestFactory.gerarBeneficio(true, new BigDecimal("100.00")));
-        beneficio2 = repository.save(TestFactory.gerarBeneficio(true, new BigDecimal("200.00")));
-        beneficio3 = repository.save(TestFactory.gerarBeneficio(false, new BigDecimal("300.00")));
+        beneficio1 = repository.save(TestFactory.gerarBeneficio(true, Money.of("100.00")));
+        beneficio2 = repository.save(TestFactory.gerarBeneficio(true, Money.of("200.00")));
+        beneficio3 = repository.save(TestFactory.gerarBeneficio(false, Money.of("300.00")));
         beneficioAssets.addAll(Arrays.asList(beneficio1, beneficio2, beneficio3));
     }
 
@@ -70,7 +79,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
     @Test
     @DisplayName("Deve criar um novo benefício válido e retornar o benefício criado")
     void integradoAoCriarNovoBeneficioValido_RetornaBeneficioCriado() throws Exception {
-        BeneficioRequestDto dto = TestFactory.gerarBeneficioRequestDto(true, new BigDecimal("100.00"));
+        BeneficioRequestDto dto = TestFactory.gerarBeneficioRequestDto(true, Money.of("100.00"));
         BeneficioResponseDto response = performPostRequest(
                 TestFactory.BENEFICIOS_API_ENDPOINT,
                 dto,
@@ -78,7 +87,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
                 status().isCreated(),
                 jsonPath("$.nome", is(dto.getNome())),
                 jsonPath("$.descricao", is(dto.getDescricao())),
-                jsonPath("$.valor", is(dto.getValor().doubleValue())),
+                jsonPath("$.valor", is(dto.getValor().toBigDecimal().doubleValue())),
                 jsonPath("$.ativo", is(dto.getAtivo())));
         // then
         assertNotNull(response);
@@ -89,7 +98,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
     @Test
     @DisplayName("Deve retornar erro ao criar um novo benefício Sem nome e retornar status Bad Request")
     void integradoAoCriarNovoBeneficioInvalido_RetornaErro() throws Exception {
-        BeneficioRequestDto dto = TestFactory.gerarBeneficioRequestDto(false, new BigDecimal("100.00"));
+        BeneficioRequestDto dto = TestFactory.gerarBeneficioRequestDto(false, Money.of("100.00"));
         dto.setNome("");
 
         performPostRequest(
@@ -102,7 +111,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
         BeneficioRequestDto dto = BeneficioRequestDto.builder()
                 .nome("Beneficio Atualizado")
                 .descricao("Beneficio Atualizado")
-                .valor(new BigDecimal("1500.00"))
+                .valor(Money.of("1500.00"))
                 .ativo(!beneficio1.getAtivo())
                 .build();
 
@@ -115,7 +124,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
                 jsonPath("$.id", is(beneficio1.getId().intValue())),
                 jsonPath("$.nome", is(dto.getNome())),
                 jsonPath("$.descricao", is(dto.getDescricao())),
-                jsonPath("$.valor", is(dto.getValor().doubleValue())),
+                jsonPath("$.valor", is(dto.getValor().toBigDecimal().doubleValue())),
                 jsonPath("$.ativo", is(dto.getAtivo())));
         // then
         assertNotNull(response);
@@ -184,7 +193,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
                 status().isOk(),
                 jsonPath("$.id", is(beneficio1.getId().intValue())),
                 jsonPath("$.nome", is(beneficio1.getNome())),
-                jsonPath("$.valor", is(beneficio1.getValor().doubleValue())),
+                jsonPath("$.valor", is(beneficio1.getValor().toBigDecimal().doubleValue())),
                 jsonPath("$.ativo", is(beneficio1.getAtivo())));
         // then
         assertNotNull(response);
@@ -193,7 +202,7 @@ class BackendApplicationTests extends AbstractIntegrationTest {
     @Test
     @DisplayName("Deve realizar transferência válida entre benefícios e retornar status Ok")
     void integradoAoRealizarTransferenciaValida_RetornaStatusOk() throws Exception {
-        TransferenciaDto dto = new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), new BigDecimal("50.00"));
+        TransferenciaDto dto = new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("50.00"));
         performPostRequest(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir", dto, null, status().isOk());
 
         // Verifica se os saldos foram atualizados
@@ -202,10 +211,189 @@ class BackendApplicationTests extends AbstractIntegrationTest {
         assertTrue(origemDto.isPresent());
         assertTrue(destinoDto.isPresent());
         assertEquals(
-                beneficio1.getValor().subtract(new BigDecimal("50.00")),
+                beneficio1.getValor().subtrair(Money.of("50.00")),
                 origemDto.get().getValor());
         assertEquals(
-                beneficio2.getValor().add(new BigDecimal("50.00")),
+                beneficio2.getValor().somar(Money.of("50.00")),
                 destinoDto.get().getValor());
     }
+
+    @Test
+    @DisplayName("Deve registrar cada transferência no histórico e paginar do mais recente para o mais antigo")
+    void integradoAoRealizarTransferencias_RegistraHistorico() throws Exception {
+        TransferenciaDto ida = new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("30.00"));
+        TransferenciaDto volta = new TransferenciaDto(beneficio2.getId(), beneficio1.getId(), Money.of("10.00"));
+        performPostRequest(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir", ida, null, status().isOk());
+        performPostRequest(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir", volta, null, status().isOk());
+
+        performGetRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}/transferencias?limite=1",
+                beneficio1.getId(),
+                PaginaTransferenciaDto.class,
+                status().isOk(),
+                jsonPath("$.itens", hasSize(1)),
+                jsonPath("$.itens[0].fromId", is(beneficio2.getId().intValue())),
+                jsonPath("$.itens[0].saldoOrigem", is(220.0)),
+                jsonPath("$.itens[0].saldoDestino", is(80.0)),
+                jsonPath("$.proximoCursor", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o resumo por status ao criar e cancelar benefícios")
+    void integradoAoCriarECancelarBeneficio_AtualizaResumoPorStatus() throws Exception {
+        List<ResumoStatusDto> antes = performGetAllRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/resumo", ResumoStatusDto.class, status().isOk());
+
+        BeneficioRequestDto dto = TestFactory.gerarBeneficioRequestDto(true, Money.of("40.00"));
+        BeneficioResponseDto criado = performPostRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT, dto, BeneficioResponseDto.class, status().isCreated());
+        performPutRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}/cancelar",
+                criado.getId(),
+                null,
+                BeneficioResponseDto.class,
+                status().isOk());
+
+        List<ResumoStatusDto> depois = performGetAllRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/resumo", ResumoStatusDto.class, status().isOk());
+        assertEquals(antes.get(0).getQuantidade(), depois.get(0).getQuantidade());
+        assertEquals(0, antes.get(0).getValorTotal().compareTo(depois.get(0).getValorTotal()));
+        assertEquals(antes.get(1).getQuantidade() + 1, depois.get(1).getQuantidade());
+        assertEquals(
+                0,
+                antes.get(1).getValorTotal().add(new BigDecimal("40.00")).compareTo(depois.get(1).getValorTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar benefícios criados pela busca por nome, sem diferenciar acentos")
+    void integradoAoBuscarPorNome_RetornaMaisRelevantesPrimeiro() throws Exception {
+        BeneficioRequestDto creche = BeneficioRequestDto.builder()
+                .nome("Auxílio Creche")
+                .descricao("Reembolso mensal")
+                .valor(Money.of("100.00"))
+                .ativo(true)
+                .build();
+        BeneficioRequestDto escolar = BeneficioRequestDto.builder()
+                .nome("Material Escolar")
+                .descricao("Auxilio anual")
+                .valor(Money.of("100.00"))
+                .ativo(true)
+                .build();
+        performPostRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT, escolar, BeneficioResponseDto.class, status().isCreated());
+        performPostRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT, creche, BeneficioResponseDto.class, status().isCreated());
+
+        // Nome iniciado pelo termo vem antes da correspondência na descrição
+        performGetAllRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/busca?termo=auxilio",
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$", hasSize(2)),
+                jsonPath("$[0].nome", is("Auxílio Creche")),
+                jsonPath("$[1].nome", is("Material Escolar")));
+
+        // Termos curtos buscam pelo início das palavras
+        performGetAllRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/busca?termo=cr",
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$", hasSize(1)),
+                jsonPath("$[0].nome", is("Auxílio Creche")));
+    }
+
+    @Test
+    @DisplayName("Deve creditar partições de benefício particionado e exibir o saldo total")
+    void integradoAoTransferirParaBeneficioParticionado_RetornaSaldoTotal() throws Exception {
+        performPutRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}/particoes?quantidade=4",
+                beneficio2.getId(),
+                null,
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$.valor", is(200.0)));
+
+        // Crédito vai para uma partição: a linha principal do destino não é alterada
+        TransferenciaDto credito =
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("50.00"));
+        performPostRequest(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir", credito, null, status().isOk());
+        assertEquals(Money.of("200.00"), repository.findById(beneficio2.getId()).get().getValor());
+        assertEquals(new BigDecimal("50.00"), repository.sumParticoes(beneficio2.getId()));
+        performGetRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}",
+                beneficio2.getId(),
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$.valor", is(250.0)));
+
+        // Débito maior que a linha principal consome as partições
+        TransferenciaDto debito =
+                new TransferenciaDto(beneficio2.getId(), beneficio1.getId(), Money.of("220.00"));
+        performPostRequest(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir", debito, null, status().isOk());
+
+        // Desfazer o particionamento consolida o saldo na linha principal
+        performPutRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}/particoes?quantidade=0",
+                beneficio2.getId(),
+                null,
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$.valor", is(30.0)));
+        assertEquals(Money.of("30.00"), repository.findById(beneficio2.getId()).get().getValor());
+        assertEquals(0, BigDecimal.ZERO.compareTo(repository.sumParticoes(beneficio2.getId())));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o benefício atualizado após alteração, mesmo já estando em cache")
+    void integradoAoBuscarBeneficioAposAlteracao_RetornaBeneficioAtualizado() throws Exception {
+        // Consulta inicial popula o cache
+        performGetRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}",
+                beneficio1.getId(),
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$.nome", is(beneficio1.getNome())));
+
+        BeneficioRequestDto dto = BeneficioRequestDto.builder()
+                .nome("Beneficio Cacheado")
+                .descricao(beneficio1.getDescricao())
+                .valor(beneficio1.getValor())
+                .ativo(beneficio1.getAtivo())
+                .build();
+        performPutRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}",
+                beneficio1.getId(),
+                dto,
+                BeneficioResponseDto.class,
+                status().isOk());
+
+        // then
+        performGetRequest(
+                TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}",
+                beneficio1.getId(),
+                BeneficioResponseDto.class,
+                status().isOk(),
+                jsonPath("$.nome", is("Beneficio Cacheado")));
+    }
+
+    @Test
+    @DisplayName("Deve exportar em CSV apenas os benefícios do status filtrado, com o saldo")
+    void integradoAoExportarCsvPorStatus_RetornaApenasBeneficiosDoStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/exportacao")
+                        .param("formato", "CSV")
+                        .param("ativo", "false"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        String[] linhas = csv.split("\n");
+        assertEquals("id,nome,descricao,valor,ativo,version", linhas[0]);
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[1].startsWith(beneficio3.getId() + ","));
+        assertTrue(linhas[1].contains(",300.00,false,"));
+    }
 }
@@ -0,0 +1,122 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.factory.TestFactory;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Testes para o cache de benefícios versionado.
+ */
+public class CacheConfigTest {
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager(100, Duration.ofMinutes(1));
+        cache = cacheManager.getCache(CacheConfig.CACHE_BENEFICIOS);
+    }
+
+    @Test
+    @DisplayName("Não deve substituir benefício em cache por versão mais antiga")
+    void naoDeveSubstituir_quandoVersaoMaisAntiga() {
+        BeneficioResponseDto atual = TestFactory.gerarBeneficioResponseDto(true);
+        atual.setVersion(5L);
+        BeneficioResponseDto antigo = TestFactory.gerarBeneficioResponseDto(true);
+        antigo.setId(atual.getId());
+        antigo.setVersion(4L);
+
+        cache.put(atual.getId(), atual);
+        cache.put(atual.getId(), antigo);
+
+        Cache.ValueWrapper emCache = cache.get(atual.getId());
+        assertNotNull(emCache);
+        assertEquals(5L, ((BeneficioResponseDto) emCache.get()).getVersion());
+    }
+
+    @Test
+    @DisplayName("Deve substituir benefício em cache por versão mais recente")
+    void deveSubstituir_quandoVersaoMaisRecente() {
+        BeneficioResponseDto atual = TestFactory.gerarBeneficioResponseDto(true);
+        atual.setVersion(1L);
+        BeneficioResponseDto novo = TestFactory.gerarBeneficioResponseDto(true);
+        novo.setId(atual.getId());
+        novo.setVersion(2L);
+
+        cache.put(atual.getId(), atual);
+        cache.put(atual.getId(), novo);
+
+        assertEquals(2L, cache.get(atual.getId(), BeneficioResponseDto.class).getVersion());
+
+        cache.evict(atual.getId());
+        assertNull(cache.get(atual.getId()));
+    }
+
+    @Test
+    @DisplayName("Não deve gravar leitura iniciada antes da remoção do benefício")
+    void naoDeveGravar_quandoLeituraAnteriorARemocao() {
+        BeneficioResponseDto lido = TestFactory.gerarBeneficioResponseDto(true);
+        lido.setVersion(3L);
+
+        // Leitura lenta: não encontra o benefício e carrega a versão 3 antes da transferência
+        assertNull(cache.get(lido.getId()));
+        // Transferência grava a versão 4 e remove o benefício do cache
+        cache.evict(lido.getId());
+        cache.put(lido.getId(), lido);
+
+        assertNull(cache.get(lido.getId()));
+
+        // Leitura iniciada após a remoção é gravada normalmente
+        BeneficioResponseDto atual = TestFactory.gerarBeneficioResponseDto(true);
+        atual.setId(lido.getId());
+        atual.setVersion(4L);
+        assertNull(cache.get(lido.getId()));
+        cache.put(lido.getId(), atual);
+
+        assertEquals(4L, cache.get(lido.getId(), BeneficioResponseDto.class).getVersion());
+    }
+
+    @Test
+    @DisplayName("Deve recarregar benefício removido na leitura posterior, mesmo com a mesma versão")
+    void deveGravar_quandoLeituraPosteriorARemocaoComMesmaVersao() {
+        BeneficioResponseDto emCache = TestFactory.gerarBeneficioResponseDto(true);
+        emCache.setVersion(7L);
+        cache.put(emCache.getId(), emCache);
+        cache.evict(emCache.getId());
+
+        BeneficioResponseDto semConsulta = TestFactory.gerarBeneficioResponseDto(true);
+        semConsulta.setId(emCache.getId());
+        semConsulta.setVersion(8L);
+        cache.put(emCache.getId(), semConsulta);
+        assertNull(cache.get(emCache.getId()));
+
+        BeneficioResponseDto creditadoNaParticao = TestFactory.gerarBeneficioResponseDto(true);
+        creditadoNaParticao.setId(emCache.getId());
+        creditadoNaParticao.setVersion(7L);
+        cache.put(emCache.getId(), creditadoNaParticao);
+        assertNotNull(cache.get(emCache.getId()));
+        assertEquals(7L, cache.get(emCache.getId(), BeneficioResponseDto.class).getVersion());
+    }
+
+    @Test
+    @DisplayName("Não deve gravar leitura iniciada antes do esvaziamento do cache")
+    void naoDeveGravar_quandoLeituraAnteriorALimpeza() {
+        BeneficioResponseDto lido = TestFactory.gerarBeneficioResponseDto(true);
+        lido.setVersion(1L);
+
+        assertNull(cache.get(lido.getId()));
+        cache.clear();
+        cache.put(lido.getId(), lido);
+
+        assertNull(cache.get(lido.getId()));
+    }
+}
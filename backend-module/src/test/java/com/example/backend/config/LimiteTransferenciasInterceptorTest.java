@@ -0,0 +1,92 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.backend.exception.GlobalExceptionHandler;
+import com.example.backend.exception.LimiteTransferenciasException;
+import java.time.Duration;
+import org.hamcrest.CoreMatchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Testes para o limite de transferências síncronas simultâneas.
+ */
+public class LimiteTransferenciasInterceptorTest {
+
+    private final LimiteTransferenciasInterceptor interceptor =
+            new LimiteTransferenciasInterceptor(1, Duration.ofMillis(10));
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("Deve recusar transferência quando não houver permissão livre")
+    void deveRecusar_quandoLimiteAtingido() {
+        MockHttpServletRequest primeira = new MockHttpServletRequest();
+        assertTrue(interceptor.preHandle(primeira, response, new Object()));
+        assertEquals(0, interceptor.permissoesDisponiveis());
+
+        assertThrows(
+                LimiteTransferenciasException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, new Object()));
+    }
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After quando o limite estiver atingido")
+    void deveResponderTooManyRequests_quandoLimiteAtingido() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TransferenciaController())
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        mockMvc.perform(post("/transferir")).andExpect(status().isOk());
+        assertEquals(1, interceptor.permissoesDisponiveis());
+
+        // Uma transferência em andamento ocupa a única permissão
+        interceptor.preHandle(new MockHttpServletRequest(), response, new Object());
+
+        mockMvc.perform(post("/transferir"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.statusCode", CoreMatchers.is(429)));
+    }
+
+    @Test
+    @DisplayName("Deve liberar a permissão uma única vez ao final da requisição")
+    void deveLiberarPermissao_aoFinalDaRequisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(1, interceptor.permissoesDisponiveis());
+    }
+
+    @Test
+    @DisplayName("Não deve liberar permissão de requisição que não a obteve")
+    void naoDeveLiberar_quandoRequisicaoSemPermissao() {
+        interceptor.afterCompletion(new MockHttpServletRequest(), response, new Object(), null);
+
+        assertEquals(1, interceptor.permissoesDisponiveis());
+    }
+
+    @RestController
+    static class TransferenciaController {
+
+        @PostMapping("/transferir")
+        void transferir() {}
+    }
+}
@@ -1,30 +1,61 @@
 package com.example.backend.controller;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.ErroImportacaoDto;
+import com.example.backend.dto.ImportacaoResponseDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.PaginaTransferenciaDto;
+import com.example.backend.dto.ResumoStatusDto;
+import com.example.backend.dto.SolicitacaoTransferenciaDto;
 import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaHistoricoDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.FilaTransferenciasCheiaException;
+import com.example.backend.exception.VersaoDivergenteException;
 import com.example.backend.factory.TestFactory;
 import com.example.backend.mapper.BeneficioMapper;
 import com.example.backend.service.BeneficioService;
+import com.example.backend.service.ExportacaoBeneficios;
+import com.example.backend.service.FilaTransferencias;
+import com.example.backend.service.ImportacaoBeneficios;
+import com.example.ejb.model.Money;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 import lombok.extern.slf4j.Slf4j;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,12 +65,19 @@ import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
-@WebMvcTest(BeneficioController.class)
+@WebMvcTest({
+    BeneficioController.class,
+    CadastroBeneficioController.class,
+    TransferenciaController.class,
+    ImportacaoExportacaoController.class
+})
 // @AutoConfigureRestDocs(outputDir = "target/snippets")
 @ActiveProfiles("test")
 @Slf4j
@@ -51,6 +89,15 @@ public class BeneficioControllerTest {
     @MockBean
     private BeneficioService beneficioService;
 
+    @MockBean
+    private FilaTransferencias filaTransferencias;
+
+    @MockBean
+    private ImportacaoBeneficios importacaoBeneficios;
+
+    @MockBean
+    private ExportacaoBeneficios exportacaoBeneficios;
+
     @Autowired
     private ObjectMapper mapper;
 
@@ -113,10 +160,181 @@ public class BeneficioControllerTest {
                 .andExpect(jsonPath("$.nome", CoreMatchers.is(beneficioResponse1.getNome())))
                 .andExpect(jsonPath("$.descricao", CoreMatchers.is(beneficioResponse1.getDescricao())))
                 .andExpect(jsonPath(
-                        "$.valor", CoreMatchers.is(beneficioResponse1.getValor().doubleValue())))
+                        "$.valor", CoreMatchers.is(beneficioResponse1.getValor().toBigDecimal().doubleValue())))
                 .andExpect(jsonPath("$.ativo", CoreMatchers.is(beneficioResponse1.getAtivo())));
     }
 
+    @Test
+    @DisplayName("Deve retornar a ETag do benefício e responder 304 sem buscá-lo quando a ETag é a atual")
+    public void deveRetornarNaoModificado_quandoEtagDoBeneficioAtual() throws Exception {
+        beneficioResponse1.setVersion(3L);
+        when(beneficioService.buscarVersaoBeneficio(beneficioResponse1.getId())).thenReturn("3");
+        when(beneficioService.buscarBeneficioPorId(beneficioResponse1.getId())).thenReturn(beneficioResponse1);
+
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}", beneficioResponse1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        then(beneficioService).should(times(1)).buscarBeneficioPorId(beneficioResponse1.getId());
+
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}", beneficioResponse1.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2\", \"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        then(beneficioService).should(times(1)).buscarBeneficioPorId(beneficioResponse1.getId());
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 na listagem quando a ETag da coleção é a atual")
+    public void deveRetornarNaoModificado_quandoEtagDaColecaoAtual() throws Exception {
+        when(beneficioService.buscarVersaoBeneficios()).thenReturn("abc-5");
+
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, "\"abc-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5\""));
+        then(beneficioService).should(never()).buscarTodosBeneficios();
+
+        when(beneficioService.buscarTodosBeneficios()).thenReturn(List.of(beneficioResponse1));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, "\"abc-4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5\""))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Deve repassar a ETag de If-Match ao alterar e responder 412 quando a versão mudou")
+    public void deveRetornarPreCondicaoFalhou_quandoIfMatchDesatualizado() throws Exception {
+        BeneficioRequestDto beneficioRequest = BeneficioMapper.mapRequest(beneficioResponse1);
+        when(beneficioService.alterarBeneficio(
+                        eq(beneficioResponse1.getId()), any(BeneficioRequestDto.class), eq(Set.of("2", "4", "5"))))
+                .thenThrow(new VersaoDivergenteException("Benefício alterado por outra requisição"));
+
+        // Todas as ETags fortes são repassadas, sem o sufixo do CBOR; as fracas nunca correspondem em If-Match
+        mockMvc.perform(put(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}", beneficioResponse1.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"2\", W/\"3\", \"4\", \"5-cbor\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(beneficioRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.statusCode", CoreMatchers.is(412)));
+
+        // Com "*" a versão não é verificada
+        when(beneficioService.alterarBeneficio(
+                        eq(beneficioResponse1.getId()), any(BeneficioRequestDto.class), ArgumentMatchers.isNull()))
+                .thenReturn(beneficioResponse1);
+        mockMvc.perform(put(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}", beneficioResponse1.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(beneficioRequest)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve comparar If-None-Match de forma fraca e variar a resposta pelo Accept")
+    public void deveRetornarNaoModificado_quandoEtagFracaEVariarPeloAccept() throws Exception {
+        when(beneficioService.buscarVersaoBeneficios()).thenReturn("abc-5");
+
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.VARY, CoreMatchers.hasItem(HttpHeaders.ACCEPT)));
+
+        when(beneficioService.buscarTodosBeneficios()).thenReturn(List.of(beneficioResponse1));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5-cbor\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, CoreMatchers.hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    @DisplayName("Deve enviar ETags distintas para JSON e CBOR, validando cada uma apenas na sua representação")
+    public void deveEnviarEtagPorRepresentacao_quandoJsonOuCbor() throws Exception {
+        when(beneficioService.buscarVersaoBeneficios()).thenReturn("abc-5");
+        when(beneficioService.buscarTodosBeneficios()).thenReturn(List.of(beneficioResponse1));
+
+        // A ETag do JSON não valida a representação CBOR, e vice-versa
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc-5\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5-cbor\""));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc-5-cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5\""));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT).header(HttpHeaders.ACCEPT, "*/*, application/cbor"))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5-cbor\""));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT)
+                        .header(HttpHeaders.ACCEPT, "*/*, application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc-5-cbor\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5-cbor\""));
+
+        // A qualidade decide a representação, e a ETag acompanha a escolhida
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT)
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc-5\""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar benefício em CBOR com o valor em centavos quando solicitado no Accept")
+    public void deveRetornarBeneficioEmCbor() throws Exception {
+        when(beneficioService.buscarBeneficioPorId(eq(beneficioResponse1.getId())))
+                .thenReturn(beneficioResponse1);
+
+        MvcResult result = mockMvc.perform(
+                        get(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}", beneficioResponse1.getId())
+                                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode corpo = new ObjectMapper(new CBORFactory()).readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(beneficioResponse1.getNome(), corpo.get("nome").asText());
+        assertTrue(corpo.get("valor").isIntegralNumber());
+        assertEquals(beneficioResponse1.getValor().getCentavos(), corpo.get("valor").asLong());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar transferência em CBOR com o valor em centavos")
+    public void deveRealizarTransferenciaEmCbor() throws Exception {
+        Map<String, Object> dto = Map.of(
+                "fromId", beneficioResponse1.getId(), "toId", beneficioResponse2.getId(), "valor", 10050L);
+
+        mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir")
+                        .content(new ObjectMapper(new CBORFactory()).writeValueAsBytes(dto))
+                        .contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk());
+
+        then(beneficioService)
+                .should()
+                .realizarTransferencia(ArgumentMatchers.argThat(
+                        t -> Money.of("100.50").equals(t.getValor())
+                                && beneficioResponse1.getId().equals(t.getFromId())));
+    }
+
+    @Test
+    @DisplayName("Deve ler o valor em JSON como número decimal e recusar mais de duas casas sem arredondar")
+    public void deveLerValorDecimalEmJson() throws Exception {
+        String corpo = "{\"fromId\": %d, \"toId\": %d, \"valor\": %s}";
+
+        mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir")
+                        .content(corpo.formatted(beneficioResponse1.getId(), beneficioResponse2.getId(), "100.5"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir")
+                        .content(corpo.formatted(beneficioResponse1.getId(), beneficioResponse2.getId(), "0.001"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        then(beneficioService)
+                .should(times(1))
+                .realizarTransferencia(ArgumentMatchers.argThat(t -> Money.of("100.50").equals(t.getValor())));
+    }
+
     @Test
     @DisplayName("Deve ativar um benefício solicitado")
     public void deveAtivarBeneficioSolicitado() throws Exception {
@@ -137,13 +355,32 @@ public class BeneficioControllerTest {
                 .andExpect(jsonPath("$.descricao", CoreMatchers.is(beneficioResponseInativo.getDescricao())))
                 .andExpect(jsonPath(
                         "$.valor",
-                        CoreMatchers.is(beneficioResponseInativo.getValor().doubleValue())))
+                        CoreMatchers.is(beneficioResponseInativo.getValor().toBigDecimal().doubleValue())))
                 .andExpect(jsonPath("$.ativo", CoreMatchers.is(beneficioResponseInativo.getAtivo())));
 
         // Verifica se o método do serviço foi chamado com os parâmetros corretos
         then(beneficioService).should(times(1)).alterarStatusBeneficio(beneficioResponseInativo.getId(), true);
     }
 
+    @Test
+    @DisplayName("Deve particionar um benefício solicitado")
+    public void deveParticionarBeneficioSolicitado() throws Exception {
+        // Configura o mocks
+        when(beneficioService.particionarBeneficio(eq(beneficioResponse1.getId()), eq(8)))
+                .thenReturn(beneficioResponse1);
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(
+                put(TestFactory.BENEFICIOS_API_ENDPOINT + "/{id}/particoes", beneficioResponse1.getId())
+                        .param("quantidade", "8"));
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id", CoreMatchers.is(beneficioResponse1.getId().intValue())))
+                .andExpect(jsonPath(
+                        "$.valor", CoreMatchers.is(beneficioResponse1.getValor().toBigDecimal().doubleValue())));
+
+        then(beneficioService).should(times(1)).particionarBeneficio(beneficioResponse1.getId(), 8);
+    }
+
     @Test
     @DisplayName("Deve cancelar um benefício solicitado")
     public void deveCancelarBeneficioSolicitado() throws Exception {
@@ -163,7 +400,7 @@ public class BeneficioControllerTest {
                 .andExpect(jsonPath("$.nome", CoreMatchers.is(beneficioResponse2.getNome())))
                 .andExpect(jsonPath("$.descricao", CoreMatchers.is(beneficioResponse2.getDescricao())))
                 .andExpect(jsonPath(
-                        "$.valor", CoreMatchers.is(beneficioResponse2.getValor().doubleValue())))
+                        "$.valor", CoreMatchers.is(beneficioResponse2.getValor().toBigDecimal().doubleValue())))
                 .andExpect(jsonPath("$.ativo", CoreMatchers.is(beneficioResponse2.getAtivo())));
 
         // Verifica se o método do serviço foi chamado com os parâmetros corretos
@@ -207,7 +444,7 @@ public class BeneficioControllerTest {
                 .andExpect(jsonPath("$.nome", CoreMatchers.is(beneficioResponse1.getNome())))
                 .andExpect(jsonPath("$.descricao").value(CoreMatchers.is(beneficioResponse1.getDescricao())))
                 .andExpect(jsonPath("$.valor")
-                        .value(CoreMatchers.is(beneficioResponse1.getValor().doubleValue())))
+                        .value(CoreMatchers.is(beneficioResponse1.getValor().toBigDecimal().doubleValue())))
                 .andExpect(jsonPath("$.ativo").value(CoreMatchers.is(beneficioResponse1.getAtivo())));
     }
 
@@ -219,11 +456,12 @@ public class BeneficioControllerTest {
         beneficioRequest.setNome("Beneficio Alterado");
         beneficioRequest.setDescricao("Descricao Alterado");
         beneficioRequest.setAtivo(!beneficioResponse1.getAtivo());
-        beneficioRequest.setValor(new BigDecimal(new Random().nextDouble()).setScale(2, RoundingMode.HALF_UP));
+        beneficioRequest.setValor(Money.deCentavos(new Random().nextInt(100)));
 
         // Configura o mock
         // given(beneficioService).alterarBeneficio(beneficioResponse1.getId(), any(BeneficioRequestDto.class));
-        when(beneficioService.alterarBeneficio(eq(beneficioResponse1.getId()), any(BeneficioRequestDto.class)))
+        when(beneficioService.alterarBeneficio(
+                        eq(beneficioResponse1.getId()), any(BeneficioRequestDto.class), ArgumentMatchers.isNull()))
                 .thenReturn(beneficioResponse1);
         // Executa o teste para o comportamento esperado
         ResultActions response =
@@ -237,7 +475,7 @@ public class BeneficioControllerTest {
                 .andExpect(jsonPath("$.nome", CoreMatchers.is(beneficioResponse1.getNome())))
                 .andExpect(jsonPath("$.descricao", CoreMatchers.is(beneficioResponse1.getDescricao())))
                 .andExpect(jsonPath(
-                        "$.valor", CoreMatchers.is(beneficioResponse1.getValor().doubleValue())))
+                        "$.valor", CoreMatchers.is(beneficioResponse1.getValor().toBigDecimal().doubleValue())))
                 .andExpect(jsonPath("$.ativo", CoreMatchers.is(beneficioResponse1.getAtivo())));
     }
 
@@ -247,7 +485,7 @@ public class BeneficioControllerTest {
         // Cenário
         Long origemId = beneficioResponse1.getId();
         Long destinoId = beneficioResponse2.getId();
-        BigDecimal valorTransferencia = new BigDecimal("100.00");
+        Money valorTransferencia = Money.of("100.00");
         TransferenciaDto dto = new TransferenciaDto(origemId, destinoId, valorTransferencia);
 
         // Executa e verifica
@@ -261,4 +499,293 @@ public class BeneficioControllerTest {
         // Verifica se o método do serviço foi chamado com os parâmetros corretos
         then(beneficioService).should(times(1)).realizarTransferencia(any());
     }
+
+    @Test
+    @DisplayName("Deve enfileirar transferência assíncrona e retornar 202 com a localização da situação")
+    public void deveSubmeterTransferenciaAssincrona() throws Exception {
+        // Cenário
+        TransferenciaDto dto = new TransferenciaDto(
+                beneficioResponse1.getId(), beneficioResponse2.getId(), Money.of("100.00"));
+        when(filaTransferencias.submeter(eq("pedido-1"), any()))
+                .thenReturn(SolicitacaoTransferenciaDto.builder()
+                        .chave("pedido-1")
+                        .status(SolicitacaoTransferenciaDto.Status.PENDENTE)
+                        .build());
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir/async")
+                .header("Idempotency-Key", "pedido-1")
+                .content(mapper.writeValueAsString(dto))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(status().isAccepted())
+                .andExpect(header().string("Location", CoreMatchers.endsWith("/transferir/async/pedido-1")))
+                .andExpect(jsonPath("$.status", CoreMatchers.is("PENDENTE")));
+        then(beneficioService).should(times(0)).realizarTransferencia(any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar 429 quando a fila de transferências estiver cheia")
+    public void deveRetornarTooManyRequests_quandoFilaCheia() throws Exception {
+        // Cenário
+        TransferenciaDto dto = new TransferenciaDto(
+                beneficioResponse1.getId(), beneficioResponse2.getId(), Money.of("100.00"));
+        when(filaTransferencias.submeter(any(), any())).thenThrow(new FilaTransferenciasCheiaException("Fila cheia"));
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir/async")
+                .header("Idempotency-Key", "pedido-2")
+                .content(mapper.writeValueAsString(dto))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.statusCode", CoreMatchers.is(429)))
+                .andExpect(jsonPath("$.error", CoreMatchers.is("Fila cheia")));
+    }
+
+    @Test
+    @DisplayName("Deve consultar a situação de uma transferência assíncrona")
+    public void deveConsultarTransferenciaAssincrona() throws Exception {
+        when(filaTransferencias.consultar("pedido-1"))
+                .thenReturn(SolicitacaoTransferenciaDto.builder()
+                        .chave("pedido-1")
+                        .status(SolicitacaoTransferenciaDto.Status.CONCLUIDA)
+                        .build());
+
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir/async/pedido-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", CoreMatchers.is("CONCLUIDA")));
+    }
+
+    @Test
+    @DisplayName("Deve realizar transferência em lote e retornar o resumo dos itens")
+    public void testRealizarTransferenciaEmLote_Sucesso() throws Exception {
+        // Cenário
+        List<TransferenciaDto> lote = Arrays.asList(
+                new TransferenciaDto(beneficioResponse1.getId(), beneficioResponse2.getId(), Money.of("10.00")),
+                new TransferenciaDto(beneficioResponse2.getId(), beneficioResponse1.getId(), Money.of("5.00")));
+        when(beneficioService.realizarTransferenciaEmLote(anyList()))
+                .thenReturn(TransferenciaLoteResponseDto.builder()
+                        .total(2)
+                        .sucessos(2)
+                        .falhas(0)
+                        .resultados(List.of())
+                        .build());
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/transferir/lote")
+                .content(mapper.writeValueAsString(lote))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.sucessos", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.falhas", CoreMatchers.is(0)));
+
+        then(beneficioService).should(times(1)).realizarTransferenciaEmLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve retornar página de benefícios com cursor")
+    public void deveRetornarPaginaDeBeneficios() throws Exception {
+        // Configura o mock
+        when(beneficioService.buscarPaginaBeneficios(eq(10L), eq(2)))
+                .thenReturn(PaginaBeneficioDto.builder()
+                        .itens(Arrays.asList(beneficioResponse1, beneficioResponse2))
+                        .limite(2)
+                        .proximoCursor(beneficioResponse2.getId())
+                        .build());
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/pagina")
+                .param("cursor", "10")
+                .param("limite", "2"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.itens", hasSize(2)))
+                .andExpect(jsonPath("$.limite", CoreMatchers.is(2)))
+                .andExpect(jsonPath(
+                        "$.proximoCursor", CoreMatchers.is(beneficioResponse2.getId().intValue())));
+    }
+
+    @Test
+    @DisplayName("Deve enviar ETags distintas para páginas distintas da mesma versão da coleção")
+    public void deveEnviarEtagPorConsulta_quandoPaginasDistintas() throws Exception {
+        when(beneficioService.buscarVersaoBeneficios()).thenReturn("abc-5");
+        when(beneficioService.buscarPaginaBeneficios(any(), eq(2)))
+                .thenReturn(PaginaBeneficioDto.builder()
+                        .itens(List.of(beneficioResponse1))
+                        .limite(2)
+                        .build());
+
+        String etag = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/pagina")
+                        .param("cursor", "10")
+                        .param("limite", "2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // A ETag da página do cursor 10 não valida a página do cursor 20, apenas a própria
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/pagina")
+                        .param("cursor", "20")
+                        .param("limite", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, CoreMatchers.not(etag)));
+        mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/pagina")
+                        .param("cursor", "10")
+                        .param("limite", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Deve exportar benefícios em CSV compactado quando o cliente aceitar gzip")
+    public void deveExportarBeneficiosCsvCompactado() throws Exception {
+        // Configura o mock
+        doAnswer(invocation -> {
+                    OutputStream saida = invocation.getArgument(3);
+                    saida.write("id,nome\n1,Vale\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                })
+                .when(exportacaoBeneficios)
+                .exportar(eq(ExportacaoBeneficios.Formato.CSV), eq(true), eq("vale"), any());
+
+        // Executa e verifica
+        MvcResult result = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/exportacao")
+                        .param("formato", "CSV")
+                        .param("ativo", "true")
+                        .param("nome", "vale")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resposta = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andReturn();
+        byte[] compactado = resposta.getResponse().getContentAsByteArray();
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+            assertEquals("id,nome\n1,Vale\n", new String(entrada.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve importar benefícios a partir de CSV")
+    public void deveImportarBeneficiosCsv() throws Exception {
+        // Configura o mock
+        when(importacaoBeneficios.importar(eq(ImportacaoBeneficios.Formato.CSV), any()))
+                .thenReturn(ImportacaoResponseDto.builder()
+                        .total(2)
+                        .importados(1)
+                        .rejeitados(1)
+                        .erros(List.of(new ErroImportacaoDto(3, "Valor inválido: x")))
+                        .build());
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(post(TestFactory.BENEFICIOS_API_ENDPOINT + "/importacao")
+                .content("nome,valor,ativo\nVale,10.00,true\nCesta,x,true\n")
+                .contentType(ImportacaoBeneficios.TEXT_CSV_VALUE));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.erros[0].linha", CoreMatchers.is(3)));
+    }
+
+    @Test
+    @DisplayName("Deve resumir benefícios por status")
+    public void deveResumirBeneficiosPorStatus() throws Exception {
+        // Configura o mock
+        when(beneficioService.resumirPorStatus())
+                .thenReturn(List.of(
+                        new ResumoStatusDto(true, 2, new BigDecimal("300.00")),
+                        new ResumoStatusDto(false, 1, new BigDecimal("50.00"))));
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/resumo"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].ativo", CoreMatchers.is(true)))
+                .andExpect(jsonPath("$[0].quantidade", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[1].valorTotal", CoreMatchers.is(50.0)));
+    }
+
+    @Test
+    @DisplayName("Deve buscar benefícios por nome")
+    public void deveBuscarBeneficiosPorNome() throws Exception {
+        // Configura o mock
+        when(beneficioService.filtrarBeneficiosPorNome(eq("vale"), eq(5)))
+                .thenReturn(Arrays.asList(beneficioResponse2, beneficioResponse1));
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/busca")
+                .param("termo", "vale")
+                .param("limite", "5"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", CoreMatchers.is(beneficioResponse2.getId().intValue())));
+    }
+
+    @Test
+    @DisplayName("Deve retornar página do histórico de transferências do benefício")
+    public void deveRetornarPaginaDeTransferencias() throws Exception {
+        // Configura o mock
+        TransferenciaHistoricoDto lancamento = TransferenciaHistoricoDto.builder()
+                .id(7L)
+                .fromId(1L)
+                .toId(2L)
+                .valor(Money.of("10.00"))
+                .build();
+        when(beneficioService.buscarTransferencias(eq(1L), eq(8L), eq(1)))
+                .thenReturn(PaginaTransferenciaDto.builder()
+                        .itens(List.of(lancamento))
+                        .limite(1)
+                        .proximoCursor(7L)
+                        .build());
+
+        // Executa e verifica
+        ResultActions response = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/1/transferencias")
+                .param("cursor", "8")
+                .param("limite", "1"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].fromId", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.proximoCursor", CoreMatchers.is(7)));
+    }
+
+    @Test
+    @DisplayName("Deve transmitir todos os benefícios como array JSON")
+    @SuppressWarnings("unchecked")
+    public void deveTransmitirTodosBeneficios() throws Exception {
+        // Configura o mock
+        doAnswer(invocation -> {
+                    Consumer<BeneficioResponseDto> consumidor = invocation.getArgument(0);
+                    consumidor.accept(beneficioResponse1);
+                    consumidor.accept(beneficioResponse2);
+                    return null;
+                })
+                .when(beneficioService)
+                .percorrerTodosBeneficios(any());
+
+        // Executa e verifica
+        MvcResult result = mockMvc.perform(get(TestFactory.BENEFICIOS_API_ENDPOINT + "/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", CoreMatchers.is(beneficioResponse1.getId().intValue())))
+                .andExpect(jsonPath("$[1].id", CoreMatchers.is(beneficioResponse2.getId().intValue())));
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para a avaliação do cabeçalho Accept-Encoding.
+ */
+class CodificacaoAceitaTest {
+
+    @Test
+    @DisplayName("Deve aceitar gzip listado com peso maior que zero ou pelo curinga")
+    void deveAceitarGzip() {
+        assertTrue(CodificacaoAceita.gzip("gzip"));
+        assertTrue(CodificacaoAceita.gzip("br;q=1.0, GZIP ; q=0.5"));
+        assertTrue(CodificacaoAceita.gzip("identity, *;q=0.1"));
+    }
+
+    @Test
+    @DisplayName("Não deve aceitar gzip com peso zero, ausente ou apenas como x-gzip")
+    void naoDeveAceitarGzip() {
+        assertFalse(CodificacaoAceita.gzip(null));
+        assertFalse(CodificacaoAceita.gzip("gzip;q=0"));
+        assertFalse(CodificacaoAceita.gzip("gzip;q=0.000, *"));
+        assertFalse(CodificacaoAceita.gzip("x-gzip"));
+        assertFalse(CodificacaoAceita.gzip("deflate, br"));
+        assertFalse(CodificacaoAceita.gzip("*;q=0"));
+    }
+}
@@ -3,6 +3,7 @@ package com.example.backend.factory;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.backend.config.MoneyJsonConfig;
 import com.example.backend.exception.TesteIntegradoException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -44,6 +45,7 @@ public abstract class AbstractIntegrationTest {
     protected final ObjectMapper mapper = new ObjectMapper()
             .setTimeZone(TimeZone.getTimeZone("America/Sao_Paulo"))
             .findAndRegisterModules()
+            .registerModule(MoneyJsonConfig.modulo())
             .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
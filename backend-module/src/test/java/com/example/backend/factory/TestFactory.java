@@ -3,8 +3,7 @@ package com.example.backend.factory;
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
 import com.example.ejb.entity.Beneficio;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import com.example.ejb.model.Money;
 import java.text.Normalizer;
 import java.util.regex.Pattern;
 
@@ -19,7 +18,7 @@ public class TestFactory {
                 .id(regBeneficio)
                 .nome("Beneficio " + regBeneficio)
                 .descricao("Descrição da Beneficio " + regBeneficio)
-                .valor(new BigDecimal(Math.random() * 1000).setScale(2, RoundingMode.HALF_UP))
+                .valor(Money.deCentavos((long) (Math.random() * 100_000)))
                 .ativo(ativo)
                 .build();
         return produto;
@@ -28,11 +27,11 @@ public class TestFactory {
     public static BeneficioRequestDto gerarBeneficioRequestDto(boolean ativo) {
         Long regBeneficio = (long) (Math.random() * 999) + 1;
         BeneficioRequestDto produto =
-                gerarBeneficioRequestDto(ativo, new BigDecimal(Math.random() * 1000).setScale(2, RoundingMode.HALF_UP));
+                gerarBeneficioRequestDto(ativo, Money.deCentavos((long) (Math.random() * 100_000)));
         return produto;
     }
 
-    public static BeneficioRequestDto gerarBeneficioRequestDto(boolean ativo, BigDecimal valor) {
+    public static BeneficioRequestDto gerarBeneficioRequestDto(boolean ativo, Money valor) {
         Long regBeneficio = (long) (Math.random() * 999) + 1;
         BeneficioRequestDto produto = BeneficioRequestDto.builder()
                 .nome("Beneficio " + regBeneficio)
@@ -49,7 +48,7 @@ public class TestFactory {
                 .id(regBeneficio)
                 .nome("Beneficio " + regBeneficio)
                 .descricao("Descrição da Beneficio " + regBeneficio)
-                .valor(new BigDecimal(Math.random() * 1000).setScale(2, RoundingMode.HALF_UP))
+                .valor(Money.deCentavos((long) (Math.random() * 100_000)))
                 .ativo(Math.random() < 0.5) // 50% de chance de ser true
                 .version(1L)
                 .build();
@@ -58,11 +57,11 @@ public class TestFactory {
 
     public static Beneficio gerarBeneficio(boolean ativo) {
         Beneficio produto =
-                gerarBeneficio(ativo, new BigDecimal(Math.random() * 1000).setScale(2, RoundingMode.HALF_UP));
+                gerarBeneficio(ativo, Money.deCentavos((long) (Math.random() * 100_000)));
         return produto;
     }
 
-    public static Beneficio gerarBeneficio(boolean ativo, BigDecimal valor) {
+    public static Beneficio gerarBeneficio(boolean ativo, Money valor) {
         Long regBeneficio = (long) (Math.random() * 999) + 1;
         Beneficio produto = Beneficio.builder()
                 .id(regBeneficio)
@@ -5,8 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.example.backend.factory.TestFactory;
+import com.example.backend.service.VersaoBeneficios;
 import com.example.ejb.entity.Beneficio;
-import java.math.BigDecimal;
+import com.example.ejb.model.Money;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -65,7 +66,7 @@ public class BeneficioRepositoryIntegrationTest {
 
         beneficio1.setNome("Beneficio Alterado");
         beneficio1.setDescricao("Descrição Alterada");
-        beneficio1.setValor(new BigDecimal("1000.00"));
+        beneficio1.setValor(Money.of("1000.00"));
         beneficio1.setAtivo(!beneficio1.getAtivo());
         Beneficio saved = repository.save(beneficio1);
 
@@ -87,7 +88,7 @@ public class BeneficioRepositoryIntegrationTest {
 
         beneficio1.setNome("Beneficio Alterado");
         beneficio1.setDescricao("Descrição Alterada");
-        beneficio1.setValor(new BigDecimal("1000.00"));
+        beneficio1.setValor(Money.of("1000.00"));
         beneficio1.setAtivo(!beneficio1.getAtivo());
         repository.save(beneficio1);
 
@@ -105,6 +106,18 @@ public class BeneficioRepositoryIntegrationTest {
         repository.deleteById(Objects.requireNonNull(retrieved.get().getId()));
     }
 
+    @Test
+    @DisplayName("Deve incrementar a versão da coleção uma vez a cada fatia incrementada")
+    void aoIncrementarFatias_entaoVersaoColecaoAlterada() {
+        long inicial = repository.findVersaoColecao();
+
+        assertEquals(1, repository.incrementarVersaoColecao(0));
+        assertEquals(1, repository.incrementarVersaoColecao(VersaoBeneficios.FATIAS - 1));
+
+        assertEquals(inicial + 2, repository.findVersaoColecao());
+        assertEquals(0, repository.incrementarVersaoColecao(VersaoBeneficios.FATIAS));
+    }
+
     @Test
     @DisplayName("Deve remover benefício com ID válido")
     void aoRemoverBeneficioComIdValido_entaoRegistroRemovidoComSucesso() {
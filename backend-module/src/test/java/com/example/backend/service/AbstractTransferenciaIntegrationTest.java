@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.factory.AbstractIntegrationTest;
+import com.example.backend.factory.TestFactory;
+import com.example.backend.repository.BeneficioRepository;
+import com.example.backend.repository.TransferenciaRepository;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Base dos testes integrados das estratégias de transferência: cada teste parte de dois benefícios
+ * ativos com saldo de 1000.00 e sem histórico de transferências. A estratégia é escolhida pela
+ * subclasse com {@code @TestPropertySource}.
+ */
+@ContextConfiguration(classes = BackendApplication.class)
+@ActiveProfiles("integrado")
+abstract class AbstractTransferenciaIntegrationTest extends AbstractIntegrationTest {
+
+    protected static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+
+    @Autowired
+    protected BeneficioService service;
+
+    @Autowired
+    protected BeneficioRepository repository;
+
+    @Autowired
+    protected TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    protected EstrategiaTransferencia estrategia;
+
+    protected Beneficio beneficio1;
+    protected Beneficio beneficio2;
+
+    @BeforeEach
+    public void setUp() {
+        transferenciaRepository.deleteAll();
+        repository.deleteAll();
+        beneficio1 = repository.save(TestFactory.gerarBeneficio(true, Money.of(SALDO_INICIAL)));
+        beneficio2 = repository.save(TestFactory.gerarBeneficio(true, Money.of(SALDO_INICIAL)));
+    }
+
+    /**
+     * Executa 40 transferências de 1.00 entre os dois benefícios, em paralelo: 30 de beneficio1 para
+     * beneficio2 e 10 no sentido inverso. Aguarda todas e propaga a primeira falha.
+     *
+     * @param threads Quantidade de threads que executam as transferências
+     */
+    protected void transferirConcorrentemente(final int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> resultados = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                TransferenciaDto dto = i % 4 == 0
+                        ? new TransferenciaDto(beneficio2.getId(), beneficio1.getId(), Money.of("1.00"))
+                        : new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("1.00"));
+                resultados.add(executor.submit(() -> service.realizarTransferencia(dto)));
+            }
+            for (Future<?> resultado : resultados) {
+                resultado.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    protected BigDecimal saldo(final Beneficio beneficio) {
+        return repository.findById(beneficio.getId()).get().getValor().toBigDecimal();
+    }
+}
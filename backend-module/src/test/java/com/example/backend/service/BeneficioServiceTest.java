@@ -2,8 +2,10 @@ package com.example.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
@@ -11,25 +13,34 @@ import static org.mockito.Mockito.*;
 
 import com.example.backend.dto.BeneficioRequestDto;
 import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.dto.PaginaBeneficioDto;
+import com.example.backend.dto.ResumoStatusDto;
+import com.example.backend.exception.VersaoDivergenteException;
 import com.example.backend.factory.TestFactory;
 import com.example.backend.mapper.BeneficioMapper;
 import com.example.backend.repository.*;
 import com.example.backend.validator.ObjectsValidator;
 import com.example.ejb.BeneficioEjbService;
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 /**
@@ -43,13 +54,32 @@ public class BeneficioServiceTest {
     @Mock
     private BeneficioRepository repository;
 
+    @Mock
+    private TransferenciaRepository transferenciaRepository;
+
     @Mock
     private BeneficioEjbService ejbService;
 
     @Mock
-    private ObjectsValidator<BeneficioRequestDto> validator;
+    private EstrategiaTransferencia estrategiaTransferencia;
+
+    @Mock
+    private IndiceBuscaBeneficios indiceBusca;
+
+    @Mock
+    private ContadoresStatusBeneficio contadoresStatus;
+
+    @Mock
+    private AuditoriaTransferencias auditoria;
+
+    @Spy
+    private MetricasTransferencia metricasTransferencia =
+            new MetricasTransferencia(
+                    new SimpleMeterRegistry(), "PESSIMISTA", new EsperasBloqueio(Duration.ofMinutes(1), 100));
+
+    @Spy
+    private ObjectsValidator<BeneficioRequestDto> validator = new ObjectsValidator<>();
 
-    @InjectMocks
     private BeneficioServiceImpl service;
 
     private BeneficioResponseDto beneficioDto1;
@@ -58,6 +88,15 @@ public class BeneficioServiceTest {
 
     @BeforeEach
     void setUp() {
+        VersaoBeneficios versaoBeneficios = new VersaoBeneficios(repository);
+        service = new BeneficioServiceImpl(
+                repository,
+                ejbService,
+                validator,
+                new TransferenciasBeneficios(
+                        ejbService, estrategiaTransferencia, metricasTransferencia, auditoria, versaoBeneficios),
+                new ConsultasBeneficios(
+                        repository, transferenciaRepository, indiceBusca, contadoresStatus, versaoBeneficios));
         beneficioDto1 = TestFactory.gerarBeneficioResponseDto(true);
         beneficioDto2 = TestFactory.gerarBeneficioResponseDto(true);
         beneficioDtoInvalido = TestFactory.gerarBeneficioResponseDto(false);
@@ -79,7 +118,7 @@ public class BeneficioServiceTest {
         assertEquals(IllegalArgumentException.class, throwable.getClass());
         then(repository).should(never()).findById(any(Long.class));
         then(repository).should(never()).save(any(Beneficio.class));
-        then(validator).should(never()).validate(input); // Validação ocorre antes do validador
+        then(validator).should().validate(input); // Nome em branco é recusado pelo validador compartilhado
     }
 
     @Test
@@ -106,14 +145,14 @@ public class BeneficioServiceTest {
         Beneficio entity = BeneficioMapper.mapResponse(beneficioDto2, false);
         entity.setNome("BeneficioAlterado");
         entity.setDescricao("DescricaoAlterada");
-        entity.setValor(new BigDecimal(1000.00));
+        entity.setValor(Money.of("1000.00"));
         entity.setAtivo(true);
         BeneficioRequestDto beneficioRequest = BeneficioMapper.mapRequest(entity);
         given(repository.findById(entity.getId())).willReturn(Optional.of(entity));
         given(repository.saveAndFlush(any(Beneficio.class))).willReturn(entity);
 
         // Executa o método
-        BeneficioResponseDto tested = service.alterarBeneficio(entity.getId(), beneficioRequest);
+        BeneficioResponseDto tested = service.alterarBeneficio(entity.getId(), beneficioRequest, null);
 
         // Verifica o resultado
         assertNotNull(tested, "Beneficio salvo não deveria ser nulo");
@@ -129,6 +168,40 @@ public class BeneficioServiceTest {
         then(repository).should().saveAndFlush(any(Beneficio.class));
     }
 
+    @Test
+    @DisplayName("Deve recusar a alteração quando a versão esperada (If-Match) não é a atual")
+    public void deveGerarVersaoDivergenteException_quandoVersaoEsperadaDesatualizada() {
+        // given  - precondition or setup
+        Beneficio entity = BeneficioMapper.mapResponse(beneficioDto2, false);
+        BeneficioRequestDto beneficioRequest = BeneficioMapper.mapRequest(entity);
+        given(repository.findById(entity.getId())).willReturn(Optional.of(entity));
+        given(repository.findVersaoById(entity.getId())).willReturn(Optional.of(versao(3L, 0L)));
+
+        // Act & Assert
+        assertThrows(
+                VersaoDivergenteException.class,
+                () -> service.alterarBeneficio(entity.getId(), beneficioRequest, Set.of("2")));
+        then(repository).should(never()).saveAndFlush(any(Beneficio.class));
+
+        // Com a versão atual a alteração é gravada
+        given(repository.saveAndFlush(any(Beneficio.class))).willReturn(entity);
+        service.alterarBeneficio(entity.getId(), beneficioRequest, Set.of("3"));
+        then(repository).should().saveAndFlush(entity);
+    }
+
+    @Test
+    @DisplayName("Deve compor a versão do benefício com as versões das partições")
+    public void deveBuscarVersaoBeneficio_comVersoesDasParticoes() {
+        given(repository.findVersaoById(1L)).willReturn(Optional.of(versao(4L, 0L)));
+        given(repository.findVersaoById(2L)).willReturn(Optional.of(versao(4L, 7L)));
+        given(repository.findVersaoById(3L)).willReturn(Optional.empty());
+
+        assertEquals("4", service.buscarVersaoBeneficio(1L));
+        assertEquals("4.7", service.buscarVersaoBeneficio(2L));
+        assertThrows(EntityNotFoundException.class, () -> service.buscarVersaoBeneficio(3L));
+        then(repository).should(never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("Deve gerar IllegalArgumentException ao alterar benefício com dados inválidos")
     public void deveGerarIllegalArgumentException_quandoAlterarBeneficioInvalido() {
@@ -137,7 +210,7 @@ public class BeneficioServiceTest {
 
         // Act & Assert
         Throwable throwable = assertThrows(IllegalArgumentException.class, () -> {
-            service.alterarBeneficio(beneficioDtoInvalido.getId(), beneficioRequestInvalido);
+            service.alterarBeneficio(beneficioDtoInvalido.getId(), beneficioRequestInvalido, null);
         });
 
         assertEquals(IllegalArgumentException.class, throwable.getClass());
@@ -153,7 +226,7 @@ public class BeneficioServiceTest {
         // given  - precondition or setup
         Beneficio entity = BeneficioMapper.mapResponse(beneficioDto2, false);
         entity.setAtivo(!entity.getAtivo());
-        given(repository.findById(entity.getId())).willReturn(Optional.of(entity));
+        given(ejbService.bloquearComParticoes(entity.getId())).willReturn(entity);
         given(repository.saveAndFlush(entity)).willReturn(entity);
 
         // Executa o método
@@ -165,7 +238,7 @@ public class BeneficioServiceTest {
         assertEquals(entity.getAtivo(), tested.getAtivo(), "Beneficio salvo deveria ter status ativo");
 
         // Verifica se o método do repositório foi chamado
-        then(repository).should().findById(entity.getId());
+        then(ejbService).should().bloquearComParticoes(entity.getId());
         then(repository).should().saveAndFlush(entity);
     }
 
@@ -270,4 +343,268 @@ public class BeneficioServiceTest {
         then(repository).should(never()).findById(anyLong());
         then(repository).should(never()).deleteById(anyLong());
     }
+
+    @Test
+    @DisplayName("Deve retornar página de benefícios com cursor para a próxima página")
+    public void deveRetornarPaginaComProximoCursor_QuandoExistiremMaisBeneficios() {
+        // Configura o mock: limite 2, repositório devolve 3 registros (limite + 1)
+        Beneficio b1 = TestFactory.gerarBeneficio(true);
+        Beneficio b2 = TestFactory.gerarBeneficio(true);
+        Beneficio b3 = TestFactory.gerarBeneficio(true);
+        b1.setId(11L);
+        b2.setId(12L);
+        b3.setId(13L);
+        given(repository.searchPageAfter(10L, PageRequest.of(0, 3))).willReturn(Arrays.asList(b1, b2, b3));
+
+        // Executa o método
+        PaginaBeneficioDto pagina = service.buscarPaginaBeneficios(10L, 2);
+
+        // Verifica o resultado
+        assertEquals(2, pagina.getItens().size(), "Página deveria conter 2 beneficios");
+        assertEquals(12L, pagina.getProximoCursor(), "Cursor deveria apontar para o último item da página");
+        then(repository).should().searchPageAfter(10L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    @DisplayName("Deve retornar última página sem cursor")
+    public void deveRetornarUltimaPaginaSemCursor_QuandoNaoExistiremMaisBeneficios() {
+        // Configura o mock
+        Beneficio b1 = TestFactory.gerarBeneficio(true);
+        given(repository.searchPageAfter(0L, PageRequest.of(0, 51))).willReturn(List.of(b1));
+
+        // Executa o método
+        PaginaBeneficioDto pagina = service.buscarPaginaBeneficios(null, null);
+
+        // Verifica o resultado
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(50, pagina.getLimite());
+        assertNull(pagina.getProximoCursor(), "Última página não deveria ter cursor");
+    }
+
+    @Test
+    @DisplayName("Deve registrar nos contadores a mudança de status do benefício")
+    public void deveAtualizarContadores_QuandoStatusAlterado() {
+        // Configura o mock
+        Beneficio entity = TestFactory.gerarBeneficio(true, Money.of("100.00"));
+        given(ejbService.bloquearComParticoes(entity.getId())).willReturn(entity);
+        given(repository.saveAndFlush(entity)).willReturn(entity);
+
+        // Executa o método: cancela e, em seguida, repete o cancelamento
+        service.alterarStatusBeneficio(entity.getId(), false);
+        service.alterarStatusBeneficio(entity.getId(), false);
+
+        // Verifica o resultado: apenas a primeira chamada altera o status
+        then(contadoresStatus)
+                .should(times(1))
+                .alterar(true, new BigDecimal("100.00"), false, new BigDecimal("100.00"));
+    }
+
+    @Test
+    @DisplayName("Deve resumir benefícios por status a partir dos contadores")
+    public void deveResumirPorStatus_PelosContadores() {
+        // Configura o mock
+        List<ResumoStatusDto> resumo = List.of(
+                new ResumoStatusDto(true, 2, new BigDecimal("300.00")),
+                new ResumoStatusDto(false, 1, new BigDecimal("50.00")));
+        given(contadoresStatus.isPronto()).willReturn(true);
+        given(contadoresStatus.resumo()).willReturn(resumo);
+
+        // Executa e verifica
+        assertEquals(resumo, service.resumirPorStatus());
+        then(repository).should(never()).sumByStatus();
+    }
+
+    @Test
+    @DisplayName("Deve agregar no banco, somando as partições, enquanto os contadores não estiverem carregados")
+    public void deveResumirPorStatusNoBanco_QuandoContadoresNaoCarregados() {
+        // Configura o mock
+        BeneficioRepository.TotalStatus ativos = mock(BeneficioRepository.TotalStatus.class);
+        given(ativos.getAtivo()).willReturn(true);
+        given(ativos.getQuantidade()).willReturn(2L);
+        given(ativos.getValor()).willReturn(new BigDecimal("300.00"));
+        BeneficioRepository.SaldoStatus particoes = mock(BeneficioRepository.SaldoStatus.class);
+        given(particoes.getAtivo()).willReturn(true);
+        given(particoes.getValor()).willReturn(new BigDecimal("25.00"));
+        given(contadoresStatus.isPronto()).willReturn(false);
+        given(repository.sumByStatus()).willReturn(List.of(ativos));
+        given(repository.sumParticoesByStatus()).willReturn(List.of(particoes));
+
+        // Executa o método
+        List<ResumoStatusDto> resumo = service.resumirPorStatus();
+
+        // Verifica o resultado: cancelados aparecem zerados
+        assertEquals(2, resumo.size());
+        assertEquals(2L, resumo.get(0).getQuantidade());
+        assertEquals(new BigDecimal("325.00"), resumo.get(0).getValorTotal());
+        assertEquals(0L, resumo.get(1).getQuantidade());
+        assertEquals(BigDecimal.ZERO, resumo.get(1).getValorTotal());
+    }
+
+    @Test
+    @DisplayName("Deve buscar benefícios pelo índice mantendo a ordem de relevância")
+    public void deveBuscarPorNome_MantendoOrdemDoIndice() {
+        // Configura o mock: o índice devolve o ID 12 antes do 11; o banco devolve em ordem de ID
+        Beneficio b1 = TestFactory.gerarBeneficio(true);
+        Beneficio b2 = TestFactory.gerarBeneficio(true);
+        b1.setId(11L);
+        b2.setId(12L);
+        given(indiceBusca.isPronto()).willReturn(true);
+        given(indiceBusca.buscar("vale", 20)).willReturn(List.of(12L, 11L, 13L));
+        given(repository.findAllById(List.of(12L, 11L, 13L))).willReturn(List.of(b1, b2));
+
+        // Executa o método
+        List<BeneficioResponseDto> encontrados = service.filtrarBeneficiosPorNome(" vale ", null);
+
+        // Verifica o resultado: o ID 13, ausente no banco, é descartado
+        assertEquals(2, encontrados.size());
+        assertEquals(12L, encontrados.get(0).getId());
+        assertEquals(11L, encontrados.get(1).getId());
+        then(repository).should(never()).searchByNome(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar benefícios no banco enquanto o índice não estiver carregado")
+    public void deveBuscarPorNomeNoBanco_QuandoIndiceNaoCarregado() {
+        // Configura o mock
+        Beneficio b1 = TestFactory.gerarBeneficio(true);
+        given(indiceBusca.isPronto()).willReturn(false);
+        given(repository.searchByNome("vale", PageRequest.of(0, 5))).willReturn(List.of(b1));
+
+        // Executa o método
+        List<BeneficioResponseDto> encontrados = service.filtrarBeneficiosPorNome("vale", 5);
+
+        // Verifica o resultado
+        assertEquals(1, encontrados.size());
+        then(indiceBusca).should(never()).buscar(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve gerar IllegalArgumentException ao buscar com termo ou limite inválidos")
+    public void deveGerarIllegalArgumentException_quandoBuscaInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> service.filtrarBeneficiosPorNome("  ", null));
+        assertThrows(IllegalArgumentException.class, () -> service.filtrarBeneficiosPorNome(null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.filtrarBeneficiosPorNome("vale", 0));
+        assertThrows(IllegalArgumentException.class, () -> service.filtrarBeneficiosPorNome("vale", 101));
+        then(indiceBusca).should(never()).buscar(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve gerar IllegalArgumentException ao paginar com limite inválido")
+    public void deveGerarIllegalArgumentException_quandoLimitePaginaInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> service.buscarPaginaBeneficios(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.buscarPaginaBeneficios(-1L, 10));
+        then(repository).should(never()).searchPageAfter(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar saldo total do benefício particionado somando as partições")
+    public void deveRetornarSaldoTotal_QuandoBeneficioParticionado() {
+        // Configura o mock
+        Beneficio particionado = TestFactory.gerarBeneficio(true, Money.of("100.00"));
+        particionado.setParticoes(4);
+        given(repository.findById(particionado.getId())).willReturn(Optional.of(particionado));
+        given(repository.sumParticoes(particionado.getId())).willReturn(new BigDecimal("50.00"));
+
+        // Executa o método
+        BeneficioResponseDto response = service.buscarBeneficioPorId(particionado.getId());
+
+        // Verifica o resultado
+        assertEquals(Money.of("150.00"), response.getValor());
+    }
+
+    @Test
+    @DisplayName("Não deve consultar partições ao listar benefícios não particionados")
+    public void naoDeveConsultarParticoes_QuandoNenhumBeneficioParticionado() {
+        given(repository.findAll()).willReturn(List.of(TestFactory.gerarBeneficio(true)));
+
+        service.buscarTodosBeneficios();
+
+        then(repository).should(never()).sumParticoesPorBeneficio(any());
+        then(repository).should(never()).sumParticoes(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve somar apenas as partições dos benefícios particionados da lista")
+    public void deveSomarParticoesApenasDosParticionados_QuandoListarBeneficios() {
+        // Configura o mock
+        Beneficio particionado = TestFactory.gerarBeneficio(true, Money.of("100.00"));
+        particionado.setParticoes(4);
+        Beneficio simples = TestFactory.gerarBeneficio(true, Money.of("10.00"));
+        BeneficioRepository.SaldoParticoes saldo = mock(BeneficioRepository.SaldoParticoes.class);
+        given(saldo.getBeneficioId()).willReturn(particionado.getId());
+        given(saldo.getValor()).willReturn(new BigDecimal("50.00"));
+        given(repository.findAll()).willReturn(List.of(particionado, simples));
+        given(repository.sumParticoesPorBeneficio(List.of(particionado.getId()))).willReturn(List.of(saldo));
+
+        // Executa o método
+        List<BeneficioResponseDto> response = service.buscarTodosBeneficios();
+
+        // Verifica o resultado
+        assertEquals(Money.of("150.00"), response.get(0).getValor());
+        assertEquals(Money.of("10.00"), response.get(1).getValor());
+        then(repository).should().sumParticoesPorBeneficio(List.of(particionado.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve particionar benefício através do serviço EJB")
+    public void deveParticionarBeneficio() {
+        // Configura o mock
+        Beneficio beneficio = TestFactory.gerarBeneficio(true, Money.of("100.00"));
+        beneficio.setParticoes(8);
+        given(repository.existsById(beneficio.getId())).willReturn(true);
+        given(ejbService.particionar(beneficio.getId(), 8)).willReturn(beneficio);
+        given(repository.sumParticoes(beneficio.getId())).willReturn(BigDecimal.ZERO);
+
+        // Executa o método
+        BeneficioResponseDto response = service.particionarBeneficio(beneficio.getId(), 8);
+
+        // Verifica o resultado
+        assertEquals(Money.of("100.00"), response.getValor());
+        then(ejbService).should().particionar(beneficio.getId(), 8);
+    }
+
+    @Test
+    @DisplayName("Deve gerar exceção ao particionar com quantidade inválida ou benefício inexistente")
+    public void deveGerarException_quandoParticionamentoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> service.particionarBeneficio(1L, -1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> service.particionarBeneficio(1L, BeneficioEjbService.MAX_PARTICOES + 1));
+        given(repository.existsById(99L)).willReturn(false);
+        assertThrows(EntityNotFoundException.class, () -> service.particionarBeneficio(99L, 2));
+        then(ejbService).should(never()).particionar(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve consolidar partições antes de alterar o valor de um benefício particionado")
+    public void deveConsolidarParticoes_QuandoAlterarBeneficioParticionado() {
+        // Configura o mock
+        Beneficio particionado = TestFactory.gerarBeneficio(true, Money.of("100.00"));
+        particionado.setParticoes(2);
+        given(repository.findById(particionado.getId())).willReturn(Optional.of(particionado));
+        given(repository.saveAndFlush(particionado)).willReturn(particionado);
+        BeneficioRequestDto request = BeneficioMapper.mapRequest(particionado);
+        request.setValor(Money.of("80.00"));
+
+        // Executa o método
+        service.alterarBeneficio(particionado.getId(), request, null);
+
+        // Verifica o resultado
+        then(ejbService).should().consolidarParticoes(particionado.getId());
+        assertEquals(Money.of("80.00"), particionado.getValor());
+    }
+
+    private static BeneficioRepository.VersaoBeneficio versao(final long version, final long versaoParticoes) {
+        return new BeneficioRepository.VersaoBeneficio() {
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+
+            @Override
+            public Long getVersaoParticoes() {
+                return versaoParticoes;
+            }
+        };
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.ResumoStatusDto;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para os contadores de benefícios por status.
+ */
+public class ContadoresStatusBeneficioTest {
+
+    private ContadoresStatusBeneficio contadores;
+
+    @BeforeEach
+    void setUp() {
+        contadores = new ContadoresStatusBeneficio(Duration.ZERO);
+        contadores.reconstruir(List.of(new ResumoStatusDto(true, 2, new BigDecimal("300.00"))));
+    }
+
+    @Test
+    @DisplayName("Deve ficar pronto somente após a carga, com status ausentes zerados")
+    void deveFicarPronto_aposReconstruir() {
+        assertFalse(new ContadoresStatusBeneficio(Duration.ZERO).isPronto());
+        assertTrue(contadores.isPronto());
+        assertResumo(2, "300.00", 0, "0");
+    }
+
+    @Test
+    @DisplayName("Deve ajustar os totais na inclusão, alteração e remoção de benefícios")
+    void deveAjustarTotais() {
+        contadores.incluir(true, new BigDecimal("50.00"));
+        assertResumo(3, "350.00", 0, "0");
+
+        // Cancelamento com alteração de saldo
+        contadores.alterar(true, new BigDecimal("50.00"), false, new BigDecimal("20.00"));
+        assertResumo(2, "300.00", 1, "20.00");
+
+        contadores.excluir(false, new BigDecimal("20.00"));
+        assertResumo(2, "300.00", 0, "0.00");
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar os ajustes registrados durante a recarga sobre os totais lidos")
+    void deveReaplicarAjustes_quandoRegistradosDuranteRecarga() {
+        contadores.recarregar(() -> {
+            // Inclusão confirmada enquanto a consulta da recarga executa, fora dos totais lidos
+            contadores.incluir(false, new BigDecimal("10.00"));
+            return List.of(
+                    new ResumoStatusDto(true, 4, new BigDecimal("500.00")),
+                    new ResumoStatusDto(false, 1, new BigDecimal("5.00")));
+        });
+        assertResumo(4, "500.00", 2, "15.00");
+
+        contadores.incluir(false, new BigDecimal("1.00"));
+        contadores.reconstruir(List.of(new ResumoStatusDto(true, 4, new BigDecimal("500.00"))));
+        assertResumo(4, "500.00", 0, "0");
+    }
+
+    private void assertResumo(
+            final long ativos, final String valorAtivos, final long cancelados, final String valorCancelados) {
+        List<ResumoStatusDto> resumo = contadores.resumo();
+        assertTrue(resumo.get(0).isAtivo());
+        assertEquals(ativos, resumo.get(0).getQuantidade());
+        assertEquals(new BigDecimal(valorAtivos), resumo.get(0).getValorTotal());
+        assertFalse(resumo.get(1).isAtivo());
+        assertEquals(cancelados, resumo.get(1).getQuantidade());
+        assertEquals(new BigDecimal(valorCancelados), resumo.get(1).getValorTotal());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Testes para o diário das transferências em memória.
+ */
+class DiarioTransferenciasTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve recuperar, após reabrir o arquivo, os registros posteriores ao checkpoint")
+    void deveRecuperarRegistrosPosterioresAoCheckpoint() throws IOException {
+        Path arquivo = diretorio.resolve("diario.wal");
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            diario.reiniciar(0);
+            diario.anexar(1L, 2L, 1000L, 0L, 3000L);
+            diario.anexar(2L, 3L, 250L, 2750L, 250L);
+            diario.anexar(3L, 1L, 50L, 200L, 50L);
+        }
+
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            List<DiarioTransferencias.Registro> recuperados = diario.recuperar(1);
+
+            assertEquals(2, recuperados.size());
+            assertEquals(2, recuperados.get(0).sequencia());
+            assertEquals(250L, recuperados.get(0).centavos());
+            assertEquals(3L, recuperados.get(1).origemId());
+            assertEquals(200L, recuperados.get(1).saldoOrigem());
+            // A sequência continua após o último registro recuperado
+            assertEquals(4, diario.anexar(1L, 2L, 1L, 0L, 0L).sequencia());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a recuperação no registro corrompido")
+    void deveEncerrarRecuperacao_quandoRegistroCorrompido() throws IOException {
+        Path arquivo = diretorio.resolve("diario.wal");
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            diario.reiniciar(0);
+            diario.anexar(1L, 2L, 100L, 0L, 100L);
+            diario.anexar(1L, 2L, 200L, 0L, 300L);
+            diario.anexar(1L, 2L, 300L, 0L, 600L);
+        }
+        // Altera o valor do registro de sequência 2 sem atualizar o CRC (gravação interrompida)
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            long centavosSegundoRegistro = 2L * DiarioTransferencias.TAMANHO_REGISTRO + 24;
+            canal.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 999L), centavosSegundoRegistro);
+        }
+
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            List<DiarioTransferencias.Registro> recuperados = diario.recuperar(0);
+
+            assertEquals(1, recuperados.size());
+            assertEquals(100L, recuperados.get(0).centavos());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar os registros após a lacuna, sem reaplicá-los em uma recuperação seguinte")
+    void deveDescartarRegistrosAposLacuna_quandoSequenciaInterrompida() throws IOException {
+        Path arquivo = diretorio.resolve("diario.wal");
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            diario.reiniciar(0);
+            diario.anexar(1L, 2L, 100L, 0L, 100L);
+            diario.anexar(1L, 2L, 200L, 0L, 300L);
+            diario.anexar(1L, 2L, 300L, 0L, 600L);
+            diario.anexar(1L, 2L, 400L, 0L, 1000L);
+        }
+        // Registro de sequência 2 não publicado (inclusão interrompida): 3 e 4 ficam após a lacuna
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(Long.BYTES), 2L * DiarioTransferencias.TAMANHO_REGISTRO);
+        }
+
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            assertEquals(1, diario.recuperar(0).size());
+            // A sequência 2 é reutilizada; a 3 antiga não pode ser lida como sua continuação
+            assertEquals(2, diario.anexar(1L, 2L, 250L, 0L, 350L).sequencia());
+        }
+
+        try (DiarioTransferencias diario = new DiarioTransferencias(arquivo, 8, false)) {
+            List<DiarioTransferencias.Registro> recuperados = diario.recuperar(0);
+
+            assertEquals(2, recuperados.size());
+            assertEquals(250L, recuperados.get(1).centavos());
+            assertEquals(3, diario.anexar(1L, 2L, 1L, 0L, 0L).sequencia());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar registros com o diário cheio e reutilizar as posições após o checkpoint")
+    void deveRecusarRegistros_quandoDiarioCheio() throws IOException {
+        try (DiarioTransferencias diario = new DiarioTransferencias(diretorio.resolve("diario.wal"), 2, false)) {
+            diario.reiniciar(0);
+            assertNotNull(diario.anexar(1L, 2L, 1L, 0L, 0L));
+            assertNotNull(diario.anexar(1L, 2L, 1L, 0L, 0L));
+
+            assertNull(diario.anexar(1L, 2L, 1L, 0L, 0L));
+
+            diario.registrarCheckpoint(2);
+            assertEquals(3, diario.anexar(1L, 2L, 1L, 0L, 0L).sequencia());
+            assertEquals(1, diario.getPendentes());
+            assertEquals(List.of(), diario.recuperar(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve devolver como pendentes apenas os registros contínuos após o checkpoint")
+    void deveDevolverPendentesAposCheckpoint() throws Exception {
+        try (DiarioTransferencias diario = new DiarioTransferencias(diretorio.resolve("diario.wal"), 1024, false)) {
+            diario.reiniciar(0);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> inclusoes = new ArrayList<>();
+                for (int i = 0; i < 1000; i++) {
+                    long centavos = i + 1;
+                    inclusoes.add(executor.submit(() -> diario.anexar(1L, 2L, centavos, 0L, 0L)));
+                }
+                for (Future<?> inclusao : inclusoes) {
+                    inclusao.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            diario.registrarCheckpoint(400);
+
+            List<DiarioTransferencias.Registro> pendentes = diario.pendentes(10_000);
+
+            assertEquals(600, pendentes.size());
+            for (int i = 0; i < pendentes.size(); i++) {
+                assertEquals(401 + i, pendentes.get(i).sequencia());
+            }
+            // Nenhum registro incluído concorrentemente foi perdido ou sobrescrito
+            List<DiarioTransferencias.Registro> todos = diario.recuperar(0);
+            assertEquals(1000, todos.size());
+            assertEquals(1000L * 1001 / 2, todos.stream().mapToLong(DiarioTransferencias.Registro::centavos).sum());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.EsperaBloqueioDto;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para a janela de esperas por bloqueio.
+ */
+class EsperasBloqueioTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    private EsperasBloqueio esperas;
+
+    @BeforeEach
+    void setUp() {
+        relogio.set(1_000 * SEGUNDO);
+        esperas = new EsperasBloqueio(Duration.ofSeconds(60), 2, relogio::get);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar os benefícios pelo tempo total de espera")
+    void deveOrdenarPeloTempoTotalDeEspera() {
+        esperas.registrar(1L, TimeUnit.MILLISECONDS.toNanos(5));
+        esperas.registrar(2L, TimeUnit.MILLISECONDS.toNanos(8));
+        relogio.addAndGet(15 * SEGUNDO);
+        esperas.registrar(1L, TimeUnit.MILLISECONDS.toNanos(7));
+
+        List<EsperaBloqueioDto> disputados = esperas.maisDisputados(10);
+
+        assertEquals(2, disputados.size());
+        assertEquals(1L, disputados.get(0).getBeneficioId());
+        assertEquals(2, disputados.get(0).getEsperas());
+        assertEquals(12.0, disputados.get(0).getTempoTotalMs(), 0.001);
+        assertEquals(7.0, disputados.get(0).getTempoMaximoMs(), 0.001);
+        assertEquals(6.0, disputados.get(0).getTempoMedioMs(), 0.001);
+        assertEquals(2L, disputados.get(1).getBeneficioId());
+        assertEquals(1, esperas.maisDisputados(1).size());
+    }
+
+    @Test
+    @DisplayName("Deve descartar esperas fora da janela e benefícios além do limite")
+    void deveDescartarEsperasForaDaJanela() {
+        esperas.registrar(1L, SEGUNDO);
+        esperas.registrar(2L, SEGUNDO);
+        esperas.registrar(3L, SEGUNDO);
+        assertEquals(2, esperas.maisDisputados(10).size());
+
+        relogio.addAndGet(61 * SEGUNDO);
+        assertTrue(esperas.maisDisputados(10).isEmpty());
+
+        esperas.registrar(3L, SEGUNDO);
+        assertEquals(3L, esperas.maisDisputados(10).get(0).getBeneficioId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar configuração inválida")
+    void deveRecusarConfiguracaoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new EsperasBloqueio(Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new EsperasBloqueio(Duration.ofSeconds(60), 0));
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.config.ParametrosFilaTransferencias;
+import com.example.backend.dto.ResultadoTransferenciaDto;
+import com.example.backend.dto.SolicitacaoTransferenciaDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.exception.FilaTransferenciasCheiaException;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Testes para a fila de transferências assíncronas.
+ */
+@ExtendWith(MockitoExtension.class)
+class FilaTransferenciasTest {
+
+    @Mock
+    private BeneficioService beneficioService;
+
+    private final TransacoesSimuladas transacoes = new TransacoesSimuladas();
+
+    private FilaTransferencias fila;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (fila != null) {
+            fila.encerrar();
+        }
+    }
+
+    /* Fila sem workers iniciados: as solicitações permanecem pendentes até o processamento manual. */
+    private FilaTransferencias novaFila(final int capacidade) {
+        return new FilaTransferencias(
+                beneficioService,
+                transacoes,
+                new ParametrosFilaTransferencias(capacidade, 1, 10, Duration.ofMinutes(5), 100));
+    }
+
+    private static TransferenciaLoteResponseDto respostaLote() {
+        return TransferenciaLoteResponseDto.builder()
+                .resultados(List.of(
+                        ResultadoTransferenciaDto.builder().indice(0).sucesso(true).build(),
+                        ResultadoTransferenciaDto.builder().indice(1).sucesso(true).build()))
+                .build();
+    }
+
+    private TransferenciaDto transferencia(final Long fromId, final Long toId, final String valor) {
+        return new TransferenciaDto(fromId, toId, Money.of(valor));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a solicitação original quando a chave for repetida")
+    void deveDevolverSolicitacaoOriginal_quandoChaveRepetida() {
+        fila = novaFila(1);
+
+        SolicitacaoTransferenciaDto primeira = fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+        SolicitacaoTransferenciaDto repetida = fila.submeter("chave-1", transferencia(1L, 2L, "10.0"));
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.PENDENTE, primeira.getStatus());
+        assertEquals(primeira.getRecebidaEm(), repetida.getRecebidaEm());
+        // A repetição não ocupa a fila nem cria nova solicitação
+        assertEquals(SolicitacaoTransferenciaDto.Status.PENDENTE, fila.consultar("chave-1").getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve recusar chave repetida com outra transferência")
+    void deveRecusar_quandoChaveRepetidaComOutraTransferencia() {
+        fila = novaFila(10);
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+
+        assertThrows(
+                BusinessException.class, () -> fila.submeter("chave-1", transferencia(1L, 2L, "11.00")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com fila cheia e liberar a chave recusada")
+    void deveRecusar_quandoFilaCheia() {
+        fila = novaFila(1);
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+
+        assertThrows(
+                FilaTransferenciasCheiaException.class,
+                () -> fila.submeter("chave-2", transferencia(1L, 2L, "10.00")));
+        assertThrows(EntityNotFoundException.class, () -> fila.consultar("chave-2"));
+    }
+
+    @Test
+    @DisplayName("Deve recusar chave de idempotência inválida")
+    void deveRecusar_quandoChaveInvalida() {
+        fila = novaFila(10);
+
+        assertThrows(IllegalArgumentException.class, () -> fila.submeter(" ", transferencia(1L, 2L, "10.00")));
+        String chaveLonga = "x".repeat(FilaTransferencias.TAMANHO_MAXIMO_CHAVE + 1);
+        assertThrows(IllegalArgumentException.class, () -> fila.submeter(chaveLonga, transferencia(1L, 2L, "1")));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar várias solicitações com uma única transferência em lote")
+    void deveAplicarSolicitacoesEmLote() {
+        fila = novaFila(10);
+        given(beneficioService.realizarTransferenciaEmLote(anyList()))
+                .willReturn(TransferenciaLoteResponseDto.builder()
+                        .resultados(List.of(
+                                ResultadoTransferenciaDto.builder()
+                                        .indice(0)
+                                        .sucesso(true)
+                                        .build(),
+                                ResultadoTransferenciaDto.builder()
+                                        .indice(1)
+                                        .sucesso(false)
+                                        .mensagem("Saldo insuficiente para transferência")
+                                        .build()))
+                        .build());
+        FilaTransferencias.Solicitacao s1 = new FilaTransferencias.Solicitacao("a", transferencia(1L, 2L, "1.00"));
+        FilaTransferencias.Solicitacao s2 = new FilaTransferencias.Solicitacao("b", transferencia(2L, 3L, "9.00"));
+
+        fila.processar(List.of(s1, s2));
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, s1.mapResponse().getStatus());
+        assertEquals(SolicitacaoTransferenciaDto.Status.RECUSADA, s2.mapResponse().getStatus());
+        assertEquals("Saldo insuficiente para transferência", s2.mapResponse().getMensagem());
+        assertNotNull(s2.mapResponse().getProcessadaEm());
+        then(beneficioService).should(times(1)).realizarTransferenciaEmLote(anyList());
+        then(beneficioService).should(never()).realizarTransferencia(any());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar individualmente quando o lote inteiro falhar")
+    void deveAplicarIndividualmente_quandoLoteFalhar() {
+        fila = novaFila(10);
+        willThrow(new BusinessException("Tempo de espera por bloqueio esgotado"))
+                .given(beneficioService)
+                .realizarTransferenciaEmLote(anyList());
+        FilaTransferencias.Solicitacao s1 = new FilaTransferencias.Solicitacao("a", transferencia(1L, 2L, "1.00"));
+        FilaTransferencias.Solicitacao s2 = new FilaTransferencias.Solicitacao("b", transferencia(2L, 3L, "9.00"));
+
+        fila.processar(List.of(s1, s2));
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, s1.mapResponse().getStatus());
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, s2.mapResponse().getStatus());
+        then(beneficioService).should(times(2)).realizarTransferencia(any());
+    }
+
+    @Test
+    @DisplayName("Deve manter os resultados do lote quando a falha ocorrer após o commit")
+    void deveManterResultados_quandoFalhaAposCommit() {
+        fila = novaFila(10);
+        willAnswer(invocacao -> {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            throw new IllegalStateException("Falha após o commit");
+                        }
+                    });
+                    return respostaLote();
+                })
+                .given(beneficioService)
+                .realizarTransferenciaEmLote(anyList());
+        FilaTransferencias.Solicitacao s1 = new FilaTransferencias.Solicitacao("a", transferencia(1L, 2L, "1.00"));
+        FilaTransferencias.Solicitacao s2 = new FilaTransferencias.Solicitacao("b", transferencia(2L, 3L, "9.00"));
+
+        fila.processar(List.of(s1, s2));
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, s1.mapResponse().getStatus());
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, s2.mapResponse().getStatus());
+        then(beneficioService).should(never()).realizarTransferencia(any());
+    }
+
+    @Test
+    @DisplayName("Deve marcar o lote como indeterminado, sem reexecutar, se o desfecho do commit for desconhecido")
+    void deveMarcarIndeterminada_quandoDesfechoDoCommitDesconhecido() {
+        fila = novaFila(10);
+        transacoes.falhaCommit = new TransactionSystemException("Conexão perdida durante o commit");
+        given(beneficioService.realizarTransferenciaEmLote(anyList())).willReturn(respostaLote());
+        FilaTransferencias.Solicitacao s1 = new FilaTransferencias.Solicitacao("a", transferencia(1L, 2L, "1.00"));
+        FilaTransferencias.Solicitacao s2 = new FilaTransferencias.Solicitacao("b", transferencia(2L, 3L, "9.00"));
+
+        fila.processar(List.of(s1, s2));
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.INDETERMINADA, s1.mapResponse().getStatus());
+        assertEquals(SolicitacaoTransferenciaDto.Status.INDETERMINADA, s2.mapResponse().getStatus());
+        assertEquals(FilaTransferencias.MENSAGEM_INDETERMINADA, s2.mapResponse().getMensagem());
+        then(beneficioService).should(never()).realizarTransferencia(any());
+    }
+
+    @Test
+    @DisplayName("Não deve expirar a chave enquanto a solicitação estiver pendente")
+    void naoDeveExpirarChave_quandoSolicitacaoPendente() throws InterruptedException {
+        fila = new FilaTransferencias(
+                beneficioService, transacoes, new ParametrosFilaTransferencias(10, 1, 10, Duration.ofMillis(1), 100));
+
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        assertEquals(SolicitacaoTransferenciaDto.Status.PENDENTE, fila.consultar("chave-1").getStatus());
+        fila.iniciar();
+        verify(beneficioService, timeout(TimeUnit.SECONDS.toMillis(5))).realizarTransferencia(any());
+        // Após a conclusão, a chave expira com a retenção configurada
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (estaRetida("chave-1") && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThrows(EntityNotFoundException.class, () -> fila.consultar("chave-1"));
+    }
+
+    @Test
+    @DisplayName("Deve manter as chaves pendentes e descartar as concluídas acima do limite")
+    void deveDescartarChavesConcluidas_quandoAcimaDoLimite() throws InterruptedException {
+        fila = new FilaTransferencias(
+                beneficioService, transacoes, new ParametrosFilaTransferencias(10, 1, 1, Duration.ofMinutes(5), 1));
+
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+        fila.submeter("chave-2", transferencia(2L, 3L, "10.00"));
+        fila.submeter("chave-3", transferencia(3L, 1L, "10.00"));
+        assertEquals(SolicitacaoTransferenciaDto.Status.PENDENTE, fila.consultar("chave-1").getStatus());
+        assertEquals(SolicitacaoTransferenciaDto.Status.PENDENTE, fila.consultar("chave-3").getStatus());
+
+        fila.iniciar();
+        verify(beneficioService, timeout(TimeUnit.SECONDS.toMillis(5)).times(3)).realizarTransferencia(any());
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (chavesRetidas("chave-1", "chave-2", "chave-3") > 1 && System.nanoTime() < limite) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(1, chavesRetidas("chave-1", "chave-2", "chave-3"));
+    }
+
+    private long chavesRetidas(final String... chaves) {
+        return Arrays.stream(chaves).filter(this::estaRetida).count();
+    }
+
+    private boolean estaRetida(final String chave) {
+        try {
+            fila.consultar(chave);
+            return true;
+        } catch (EntityNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("Deve processar a solicitação pelos workers e expor a situação final")
+    void deveProcessarPelosWorkers() {
+        fila = novaFila(10);
+        fila.iniciar();
+
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+
+        verify(beneficioService, timeout(TimeUnit.SECONDS.toMillis(5))).realizarTransferencia(any());
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fila.consultar("chave-1").getStatus() == SolicitacaoTransferenciaDto.Status.PENDENTE
+                && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+        assertEquals(SolicitacaoTransferenciaDto.Status.CONCLUIDA, fila.consultar("chave-1").getStatus());
+        // Repetir a chave após o processamento não executa novamente
+        fila.submeter("chave-1", transferencia(1L, 2L, "10.00"));
+        verify(beneficioService, times(1)).realizarTransferencia(any());
+    }
+
+    /* Gerenciador de transações sem recurso, que permite simular falhas no commit. */
+    private static final class TransacoesSimuladas extends AbstractPlatformTransactionManager {
+
+        private RuntimeException falhaCommit;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(final Object transacao, final TransactionDefinition definicao) {
+            // Sem recurso a associar
+        }
+
+        @Override
+        protected void doCommit(final DefaultTransactionStatus status) {
+            if (falhaCommit != null) {
+                throw falhaCommit;
+            }
+        }
+
+        @Override
+        protected void doRollback(final DefaultTransactionStatus status) {
+            // Sem recurso a desfazer
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+import com.example.backend.config.MoneyJsonConfig;
+import com.example.backend.config.ParametrosImportacao;
+import com.example.backend.dto.ImportacaoResponseDto;
+import com.example.backend.dto.ResumoStatusDto;
+import com.example.backend.validator.ObjectsValidator;
+import com.example.ejb.entity.Beneficio;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes para a importação de benefícios em massa.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportacaoBeneficiosTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private VersaoBeneficios versaoBeneficios;
+
+    private final ContadoresStatusBeneficio contadoresStatus = new ContadoresStatusBeneficio(Duration.ZERO);
+
+    private final IndiceBuscaBeneficios indiceBusca = new IndiceBuscaBeneficios(true);
+
+    private ImportacaoBeneficios importacao;
+
+    @AfterEach
+    void tearDown() {
+        if (importacao != null) {
+            importacao.encerrar();
+        }
+    }
+
+    private ImportacaoBeneficios novaImportacao(final int tamanhoLote) {
+        contadoresStatus.reconstruir(List.of());
+        GravacaoImportacao gravacao = new GravacaoImportacao(
+                jdbcTemplate, transactionManager, indiceBusca, contadoresStatus, versaoBeneficios);
+        return new ImportacaoBeneficios(
+                new ObjectMapper().registerModule(MoneyJsonConfig.modulo()),
+                new ObjectsValidator<>(),
+                gravacao,
+                new ParametrosImportacao(tamanhoLote, 2, 10));
+    }
+
+    /* Sequence BENEFICIO_SEQ simulada: cada consulta reserva um bloco de IDs. */
+    private void simularSequence() {
+        AtomicLong proximo = new AtomicLong(1);
+        given(jdbcTemplate.queryForObject(GravacaoImportacao.SELECT_BLOCO_IDS, Long.class))
+                .willAnswer(invocacao -> proximo.getAndAdd(Beneficio.ALOCACAO_IDS));
+    }
+
+    private static InputStream conteudo(final String texto) {
+        return new ByteArrayInputStream(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV em lotes e relatar as linhas inválidas")
+    @SuppressWarnings("unchecked")
+    void deveImportarCsv_relatandoLinhasInvalidas() {
+        importacao = novaImportacao(2);
+        simularSequence();
+        String csv = "valor,nome,descricao,ativo\n"
+                + "100.00,Vale Refeição,\"Cartão, com vírgula\",true\n"
+                + "\n"
+                + "12,50,Valor com vírgula,,true\n"
+                + "50.00,Vale Cultura,,false\n"
+                + "10.00,,Sem nome,true\n"
+                + "20.00,Auxílio Creche,\"Aspas \"\"duplicadas\"\"\",true\n";
+
+        ImportacaoResponseDto resposta = importacao.importar(ImportacaoBeneficios.Formato.CSV, conteudo(csv));
+
+        assertEquals(5, resposta.getTotal());
+        assertEquals(3, resposta.getImportados());
+        assertEquals(2, resposta.getRejeitados());
+        assertEquals(4, resposta.getErros().get(0).getLinha());
+        assertEquals(6, resposta.getErros().get(1).getLinha());
+
+        // Lotes de dois registros lidos: [1, inválido], [3, inválido], [5]
+        ArgumentCaptor<Collection<?>> lotes = ArgumentCaptor.forClass(Collection.class);
+        then(jdbcTemplate)
+                .should(times(3))
+                .batchUpdate(
+                        eq(GravacaoImportacao.INSERT_BENEFICIO),
+                        lotes.capture(),
+                        anyInt(),
+                        any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(1, 1, 1), lotes.getAllValues().stream().map(Collection::size).toList());
+        // Um bloco de IDs reservado por lote gravado
+        then(jdbcTemplate).should(times(3)).queryForObject(GravacaoImportacao.SELECT_BLOCO_IDS, Long.class);
+
+        List<ResumoStatusDto> resumo = contadoresStatus.resumo();
+        assertEquals(2, resumo.get(0).getQuantidade());
+        assertEquals(new BigDecimal("120.00"), resumo.get(0).getValorTotal());
+        assertEquals(1, resumo.get(1).getQuantidade());
+        // Somente os benefícios incluídos entram no índice, com os IDs reservados na sequence
+        assertEquals(List.of(1L + Beneficio.ALOCACAO_IDS), indiceBusca.buscar("Vale Cultura", 10));
+        assertEquals(List.of(1L), indiceBusca.buscar("Refeição", 10));
+    }
+
+    @Test
+    @DisplayName("Deve reservar os IDs na sequence em blocos de Beneficio.ALOCACAO_IDS")
+    void deveReservarIdsEmBlocos() {
+        importacao = novaImportacao(1000);
+        simularSequence();
+        StringBuilder csv = new StringBuilder("nome,valor,ativo\n");
+        for (int i = 0; i < 2 * Beneficio.ALOCACAO_IDS + 1; i++) {
+            csv.append("Vale ").append(i).append(",1.00,true\n");
+        }
+
+        ImportacaoResponseDto resposta =
+                importacao.importar(ImportacaoBeneficios.Formato.CSV, conteudo(csv.toString()));
+
+        assertEquals(2 * Beneficio.ALOCACAO_IDS + 1, resposta.getImportados());
+        then(jdbcTemplate).should(times(3)).queryForObject(GravacaoImportacao.SELECT_BLOCO_IDS, Long.class);
+    }
+
+    @Test
+    @DisplayName("Deve importar o CSV da exportação com quebras de linha em campos entre aspas")
+    void deveImportarCsvExportado_comQuebraDeLinhaEntreAspas() {
+        importacao = novaImportacao(100);
+        simularSequence();
+        String csv = "id,nome,descricao,valor,ativo,version\n"
+                + "1,Vale Refeição,\"Primeira linha\nSegunda, com vírgula\",100.00,true,0\n"
+                + "2,Vale Cultura,,50.00,false,3\n"
+                + "3,Sem fechamento,\"Aspas abertas,1.00,true,0\n";
+
+        ImportacaoResponseDto resposta = importacao.importar(ImportacaoBeneficios.Formato.CSV, conteudo(csv));
+
+        assertEquals(3, resposta.getTotal());
+        assertEquals(2, resposta.getImportados());
+        // O registro é numerado pela primeira das suas linhas
+        assertEquals(5, resposta.getErros().get(0).getLinha());
+        assertEquals(List.of(1L), indiceBusca.buscar("Vale Refeição", 10));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON validando com as regras do BeneficioRequestDto")
+    void deveImportarNdjson_validandoRegras() {
+        importacao = novaImportacao(100);
+        simularSequence();
+        String ndjson = "{\"nome\":\"Vale Refeição\",\"valor\":10.00,\"ativo\":true}\n"
+                + "{\"nome\":\"Vale\",\"valor\":-1,\"ativo\":true}\n"
+                + "{\"nome\":\"Sem fechamento\"\n"
+                + "{\"nome\":\"Sem status\",\"valor\":1}\n";
+
+        ImportacaoResponseDto resposta = importacao.importar(ImportacaoBeneficios.Formato.NDJSON, conteudo(ndjson));
+
+        assertEquals(4, resposta.getTotal());
+        assertEquals(1, resposta.getImportados());
+        assertEquals(List.of(2L, 3L, 4L), resposta.getErros().stream().map(e -> e.getLinha()).toList());
+    }
+
+    @Test
+    @DisplayName("Deve recusar as linhas do lote quando a gravação falhar")
+    void deveRecusarLote_quandoGravacaoFalhar() {
+        importacao = novaImportacao(100);
+        simularSequence();
+        willThrow(new DataIntegrityViolationException("Violação"))
+                .given(jdbcTemplate)
+                .batchUpdate(
+                        any(String.class), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        ImportacaoResponseDto resposta = importacao.importar(
+                ImportacaoBeneficios.Formato.CSV, conteudo("nome,valor,ativo\nVale,1.00,true\nCesta,2.00,true\n"));
+
+        assertEquals(0, resposta.getImportados());
+        assertEquals(2, resposta.getRejeitados());
+        assertEquals(0, contadoresStatus.resumo().get(0).getQuantidade());
+        then(transactionManager).should().rollback(any());
+        assertEquals(List.of(), indiceBusca.buscar("Vale", 10));
+    }
+
+    @Test
+    @DisplayName("Deve gerar IllegalArgumentException quando o cabeçalho do CSV não tiver as colunas obrigatórias")
+    void deveGerarException_quandoCabecalhoInvalido() {
+        importacao = novaImportacao(100);
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> importacao.importar(ImportacaoBeneficios.Formato.CSV, conteudo("nome,descricao\nVale,x\n")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> importacao.importar(ImportacaoBeneficios.Formato.CSV, conteudo("")));
+    }
+
+    @Test
+    @DisplayName("Deve separar campos CSV com aspas, vírgulas e aspas duplicadas")
+    void deveSepararCamposCsv() {
+        assertEquals(
+                List.of("a", "b, c", "d \"e\"", ""),
+                ConversaoImportacao.separarCampos("a,\"b, c\",\"d \"\"e\"\"\","));
+        assertThrows(IllegalArgumentException.class, () -> ConversaoImportacao.separarCampos("a,\"b"));
+    }
+}
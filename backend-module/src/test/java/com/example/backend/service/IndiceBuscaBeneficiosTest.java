@@ -0,0 +1,106 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.BeneficioResponseDto;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para o índice de busca de benefícios em memória.
+ */
+public class IndiceBuscaBeneficiosTest {
+
+    private IndiceBuscaBeneficios indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaBeneficios(true);
+        indice.reconstruir(Stream.of(
+                beneficio(1L, "Vale Refeição", "Crédito diário para restaurantes"),
+                beneficio(2L, "Vale Alimentação", "Compras em supermercados"),
+                beneficio(3L, "Auxílio Creche", "Reembolso mensal"),
+                beneficio(4L, "Refeição", null),
+                beneficio(5L, "Plano de Saúde", "Cobertura nacional com refeição hospitalar")));
+    }
+
+    @Test
+    @DisplayName("Deve ficar pronto somente após a carga")
+    void deveFicarPronto_aposReconstruir() {
+        assertFalse(new IndiceBuscaBeneficios(true).isPronto());
+        assertTrue(indice.isPronto());
+    }
+
+    @Test
+    @DisplayName("Não deve carregar nem indexar benefícios quando desligado")
+    void naoDeveIndexar_quandoDesligado() {
+        IndiceBuscaBeneficios desligado = new IndiceBuscaBeneficios(false);
+        desligado.reconstruir(Stream.of(beneficio(1L, "Vale Refeição", null)));
+        desligado.indexar(2L, "Refeição", null);
+
+        assertFalse(desligado.isPronto());
+        assertEquals(List.of(), desligado.buscar("refeicao", 10));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por relevância: nome igual, início do nome, trecho do nome e descrição")
+    void deveOrdenarPorRelevancia() {
+        assertEquals(List.of(4L, 1L, 5L), indice.buscar("refeicao", 10));
+    }
+
+    @Test
+    @DisplayName("Deve encontrar trechos sem diferenciar maiúsculas e acentos")
+    void deveEncontrarTrecho_semDiferenciarAcentos() {
+        assertEquals(List.of(2L), indice.buscar("ALIMENTAÇ", 10));
+        assertEquals(List.of(3L), indice.buscar("uxili", 10));
+        assertEquals(List.of(1L, 2L), indice.buscar("vale", 10));
+    }
+
+    @Test
+    @DisplayName("Deve buscar termos curtos apenas pelo início das palavras")
+    void deveBuscarTermoCurto_peloInicioDasPalavras() {
+        assertEquals(List.of(3L, 1L), indice.buscar("cr", 10));
+        assertEquals(List.of(), indice.buscar("ch", 10));
+        assertEquals(List.of(1L, 2L), indice.buscar("v", 10));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite de resultados mantendo os mais relevantes")
+    void deveRespeitarLimite() {
+        assertEquals(List.of(4L), indice.buscar("refeicao", 1));
+        assertEquals(List.of(), indice.buscar("refeicao", 0));
+    }
+
+    @Test
+    @DisplayName("Deve refletir alterações e remoções de benefícios")
+    void deveRefletirAlteracoesERemocoes() {
+        indice.indexar(4L, "Cesta Básica", null);
+        indice.remover(1L);
+        indice.indexar(6L, "Refeição Noturna", null);
+
+        assertEquals(List.of(6L, 5L), indice.buscar("refeicao", 10));
+        assertEquals(List.of(4L), indice.buscar("basica", 10));
+    }
+
+    @Test
+    @DisplayName("Deve manter as listas de IDs ordenadas com inclusões fora de ordem e remoções")
+    void deveManterListasOrdenadas_comInclusoesForaDeOrdem() {
+        for (long id : new long[] {40L, 12L, 33L, 7L, 25L, 18L, 9L}) {
+            indice.indexar(id, "Bolsa " + id, null);
+        }
+        indice.remover(33L);
+        indice.indexar(12L, "Bolsa 12", null);
+
+        assertEquals(List.of(7L, 9L, 12L, 18L, 25L, 40L), indice.buscar("bolsa", 10));
+        assertEquals(List.of(18L), indice.buscar("bolsa 18", 10));
+    }
+
+    private static BeneficioResponseDto beneficio(final Long id, final String nome, final String descricao) {
+        return BeneficioResponseDto.builder().id(id).nome(nome).descricao(descricao).build();
+    }
+}
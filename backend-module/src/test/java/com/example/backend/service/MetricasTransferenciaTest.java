@@ -0,0 +1,101 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.MonitorTransferencia;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Testes para as métricas de transferências.
+ */
+class MetricasTransferenciaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EsperasBloqueio esperasBloqueio;
+
+    private MetricasTransferencia metricas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        esperasBloqueio = new EsperasBloqueio(Duration.ofMinutes(1), 100);
+        metricas = new MetricasTransferencia(meterRegistry, "DIRETA", esperasBloqueio);
+    }
+
+    @Test
+    @DisplayName("Deve identificar o motivo da recusa pelo código da exceção, sem depender da mensagem")
+    void deveIdentificarMotivoDaRecusa() {
+        assertEquals(
+                MotivoRecusa.SALDO_INSUFICIENTE,
+                MotivoRecusa.de(new BusinessException(
+                        MotivoRecusa.SALDO_INSUFICIENTE, BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE)));
+        assertEquals(
+                MotivoRecusa.CONCORRENCIA,
+                MotivoRecusa.de(new BusinessException(MotivoRecusa.CONCORRENCIA, "Partição %d não encontrada", 3)));
+        assertEquals(
+                MotivoRecusa.INDISPONIVEL,
+                MotivoRecusa.de(new BusinessException(MotivoRecusa.INDISPONIVEL, "Em encerramento, tente novamente")));
+        assertEquals(
+                MotivoRecusa.NAO_ENCONTRADO,
+                MotivoRecusa.de(new BeneficioNaoEncontradoException(BeneficioEjbService.MENSAGEM_NAO_ENCONTRADO)));
+        assertEquals(
+                MotivoRecusa.DADOS_INVALIDOS,
+                MotivoRecusa.de(new IllegalArgumentException("Valor de transferência deve ser positivo")));
+        assertEquals(MotivoRecusa.OUTRO, MotivoRecusa.de(new BusinessException("Erro ao validar objeto")));
+    }
+
+    @Test
+    @DisplayName("Deve medir transferências recusadas e lotes, com a estratégia como tag")
+    void deveMedirRecusasELotes() {
+        assertThrows(BusinessException.class, () -> metricas.medir(() -> {
+            throw new BusinessException(
+                    MotivoRecusa.DESTINO_CANCELADO, BeneficioEjbService.MENSAGEM_DESTINO_CANCELADO);
+        }));
+        assertEquals(List.of(1, 2), metricas.medirLote(() -> List.of(1, 2)));
+
+        assertEquals(1.0, meterRegistry
+                .get(MetricasTransferencia.METRICA_RECUSAS)
+                .tags("estrategia", "direta", "tipo", "individual", "motivo", "destino_cancelado")
+                .counter()
+                .count());
+        assertEquals(1, meterRegistry
+                .get(MetricasTransferencia.METRICA_DURACAO)
+                .tags("tipo", "lote", "resultado", "sucesso")
+                .timer()
+                .count());
+    }
+
+    @Test
+    @DisplayName("Deve registrar a duração das etapas informadas pelo serviço EJB")
+    void deveRegistrarDuracaoDasEtapas() {
+        metricas.registrar(MonitorTransferencia.Etapa.BLOQUEIO, TimeUnit.MILLISECONDS.toNanos(5));
+        metricas.registrar(MonitorTransferencia.Etapa.BLOQUEIO, TimeUnit.MILLISECONDS.toNanos(15));
+
+        assertEquals(20.0, meterRegistry
+                .get(MetricasTransferencia.METRICA_ETAPA)
+                .tags("etapa", "bloqueio")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve repassar as esperas por bloqueio de cada benefício")
+    void deveRepassarEsperasPorBloqueio() {
+        metricas.bloqueio(7L, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(1, esperasBloqueio.maisDisputados(10).size());
+        assertEquals(7L, esperasBloqueio.maisDisputados(10).get(0).getBeneficioId());
+    }
+}
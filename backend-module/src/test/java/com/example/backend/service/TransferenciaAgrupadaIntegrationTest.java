@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.TransferenciaDto;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Testes integrados da estratégia de transferência com commit agrupado.
+ */
+@TestPropertySource(
+        properties = {
+            EstrategiaTransferencia.PROPRIEDADE + "=AGRUPADA",
+            // Janela longa para que as transferências simultâneas do teste compartilhem commits
+            "beneficio.transferencia.agrupada.janela=PT0.05S"
+        })
+class TransferenciaAgrupadaIntegrationTest extends AbstractTransferenciaIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve aplicar as transferências concorrentes em menos commits, preservando o saldo total")
+    void integradoAoTransferirConcorrentemente_AgrupaCommits() throws Exception {
+        assertTrue(estrategia instanceof TransferenciaAgrupada);
+        double commitsAntes = commits();
+
+        transferirConcorrentemente(8);
+
+        // 30 débitos e 10 créditos em beneficio1, com um lançamento por transferência
+        assertEquals(new BigDecimal("980.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1020.00"), saldo(beneficio2));
+        assertEquals(40, transferenciaRepository.count());
+        assertTrue(commits() - commitsAntes < 40);
+    }
+
+    @Test
+    @DisplayName("Deve recusar apenas a transferência sem saldo quando agrupada com outras")
+    void integradoAoTransferirSemSaldoNoGrupo_RecusaSomenteEla() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<?> semSaldo = executor.submit(() -> service.realizarTransferencia(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("5000.00"))));
+        Future<?> valida = executor.submit(() -> service.realizarTransferencia(
+                new TransferenciaDto(beneficio2.getId(), beneficio1.getId(), Money.of("10.00"))));
+
+        valida.get(30, TimeUnit.SECONDS);
+        ExecutionException recusa = assertThrows(ExecutionException.class, () -> semSaldo.get(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertTrue(recusa.getCause() instanceof BusinessException);
+        assertEquals(BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE, recusa.getCause().getMessage());
+        assertEquals(new BigDecimal("1010.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("990.00"), saldo(beneficio2));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com IllegalArgumentException quando o benefício não existe")
+    void integradoAoTransferirParaInexistente_GeraIllegalArgumentException() {
+        TransferenciaDto dto = new TransferenciaDto(beneficio1.getId(), Long.MAX_VALUE, Money.of("5.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.realizarTransferencia(dto));
+
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+    }
+
+    private double commits() {
+        return meterRegistry.get(TransferenciaAgrupada.METRICA_TAMANHO_GRUPO).summary().count();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.config.ParametrosTransferenciaAgrupada;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.ResultadoTransferencia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes unitários da estratégia de transferência com commit agrupado.
+ */
+@ExtendWith(MockitoExtension.class)
+class TransferenciaAgrupadaTest {
+
+    @Mock
+    private BeneficioEjbService ejbService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private VersaoBeneficios versaoBeneficios;
+
+    @Test
+    @DisplayName("Deve recusar a transferência sem aplicá-la quando o coletor não responde no tempo de espera")
+    void deveRecusar_quandoCommitDoGrupoNaoOcorreNoTempoDeEspera() {
+        // Coletor não iniciado: o pedido nunca sai da fila
+        TransferenciaAgrupada estrategia = new TransferenciaAgrupada(
+                ejbService,
+                transactionManager,
+                new SimpleMeterRegistry(),
+                new ParametrosTransferenciaAgrupada(Duration.ZERO, 10, 10, Duration.ofMillis(50)),
+                versaoBeneficios);
+
+        BusinessException recusa = assertThrows(
+                BusinessException.class, () -> estrategia.transferir(1L, 2L, Money.of("1.00")));
+
+        assertTrue(recusa.getMessage().contains("não realizada"));
+        // O pedido foi retirado da fila: um coletor iniciado depois não o aplicaria
+        assertThrows(
+                BusinessException.class, () -> estrategia.transferir(1L, 2L, Money.of("1.00")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar cada pedido do grupo com a exceção da transferência individual")
+    void deveConcluirPedido_comExcecaoDoTipoDaRecusa() {
+        TransferenciaAgrupada.Pedido invalido = new TransferenciaAgrupada.Pedido(1L, 1L, Money.of("1.00"));
+        TransferenciaAgrupada.Pedido semSaldo = new TransferenciaAgrupada.Pedido(1L, 1L, Money.of("1.00"));
+        TransferenciaAgrupada.Pedido inexistente = new TransferenciaAgrupada.Pedido(1L, 1L, Money.of("1.00"));
+
+        invalido.concluir(
+                ResultadoTransferencia.falha(0, invalido.item(), new IllegalArgumentException("Mesmo benefício")));
+        semSaldo.concluir(ResultadoTransferencia.falha(
+                1, semSaldo.item(), new BusinessException(
+                        MotivoRecusa.SALDO_INSUFICIENTE, BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE)));
+        inexistente.concluir(ResultadoTransferencia.falha(
+                2,
+                inexistente.item(),
+                new BeneficioNaoEncontradoException(BeneficioEjbService.MENSAGEM_NAO_ENCONTRADO)));
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> invalido.resultado().get());
+        assertEquals(IllegalArgumentException.class, erro.getCause().getClass());
+        erro = assertThrows(ExecutionException.class, () -> semSaldo.resultado().get());
+        assertEquals(BusinessException.class, erro.getCause().getClass());
+        assertEquals(MotivoRecusa.SALDO_INSUFICIENTE, ((BusinessException) erro.getCause()).getMotivo());
+        erro = assertThrows(ExecutionException.class, () -> inexistente.resultado().get());
+        assertEquals(BeneficioNaoEncontradoException.class, erro.getCause().getClass());
+    }
+}
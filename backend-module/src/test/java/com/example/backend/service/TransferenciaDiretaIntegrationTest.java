@@ -0,0 +1,73 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.factory.TestFactory;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Testes integrados da estratégia de transferência por atualizações condicionais.
+ */
+@TestPropertySource(properties = EstrategiaTransferencia.PROPRIEDADE + "=DIRETA")
+class TransferenciaDiretaIntegrationTest extends AbstractTransferenciaIntegrationTest {
+
+    @Test
+    @DisplayName("Deve aplicar todas as transferências concorrentes preservando o saldo total")
+    void integradoAoTransferirConcorrentemente_AplicaTodas() throws Exception {
+        assertTrue(estrategia instanceof TransferenciaDireta);
+
+        transferirConcorrentemente(4);
+
+        // 30 débitos e 10 créditos em beneficio1
+        assertEquals(new BigDecimal("980.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1020.00"), saldo(beneficio2));
+    }
+
+    @Test
+    @DisplayName("Não deve alterar saldos quando a origem não tem saldo suficiente")
+    void integradoAoTransferirSemSaldo_NaoAlteraSaldos() {
+        TransferenciaDto dto =
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("1000.01"));
+
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(dto));
+
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+        assertEquals(SALDO_INICIAL, saldo(beneficio2));
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o débito quando o destino está cancelado")
+    void integradoAoTransferirParaCancelado_DesfazDebito() {
+        Beneficio cancelado = repository.save(TestFactory.gerarBeneficio(false, Money.of("10.00")));
+        TransferenciaDto dto = new TransferenciaDto(beneficio1.getId(), cancelado.getId(), Money.of("5.00"));
+
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(dto));
+
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+        assertEquals(new BigDecimal("10.00"), saldo(cancelado));
+    }
+
+    @Test
+    @DisplayName("Deve alterar a versão da coleção na transação da transferência, e só quando confirmada")
+    void integradoAoTransferir_AlteraVersaoColecaoApenasNoCommit() {
+        String inicial = service.buscarVersaoBeneficios();
+        TransferenciaDto semSaldo =
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("1000.01"));
+
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(semSaldo));
+        assertEquals(inicial, service.buscarVersaoBeneficios());
+
+        service.realizarTransferencia(new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("1.00")));
+        assertNotEquals(inicial, service.buscarVersaoBeneficios());
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.config.ParametrosTransferenciaEmMemoria;
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
+import com.example.backend.factory.TestFactory;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Testes integrados da estratégia de transferência em memória com diário.
+ */
+@TestPropertySource(
+        properties = {
+            EstrategiaTransferencia.PROPRIEDADE + "=MEMORIA",
+            "beneficio.transferencia.memoria.diario=target/transferencias-teste.wal",
+            "beneficio.transferencia.memoria.instancia=" + TransferenciaEmMemoriaIntegrationTest.INSTANCIA,
+            // Intervalo longo para que o checkpoint ocorra apenas quando solicitado pelo teste
+            "beneficio.transferencia.memoria.checkpoint=PT1H"
+        })
+class TransferenciaEmMemoriaIntegrationTest extends AbstractTransferenciaIntegrationTest {
+
+    static final String INSTANCIA = "teste-memoria";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BancoTransferenciasEmMemoria banco;
+
+    @Autowired
+    private VersaoBeneficios versaoBeneficios;
+
+    @Autowired
+    private ParametrosTransferenciaEmMemoria parametros;
+
+    @Test
+    @DisplayName("Deve gravar no banco, no checkpoint, as transferências concorrentes aplicadas em memória")
+    void integradoAoTransferirConcorrentemente_GravaNoCheckpoint() throws Exception {
+        assertTrue(estrategia instanceof TransferenciaEmMemoria);
+
+        transferirConcorrentemente(8);
+
+        // Antes do checkpoint o banco ainda tem os saldos iniciais
+        assertEquals(0, transferenciaRepository.count());
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+
+        // 30 débitos e 10 créditos em beneficio1, com um lançamento por transferência
+        assertEquals(new BigDecimal("980.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1020.00"), saldo(beneficio2));
+        assertEquals(40, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a transferência sem saldo considerando as transferências ainda não gravadas")
+    void integradoAoTransferirSemSaldoEmMemoria_GeraBusinessException() {
+        service.realizarTransferencia(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("900.00")));
+        TransferenciaDto semSaldo =
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("200.00"));
+
+        BusinessException recusa =
+                assertThrows(BusinessException.class, () -> service.realizarTransferencia(semSaldo));
+
+        assertEquals(BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE, recusa.getMessage());
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(new BigDecimal("100.00"), saldo(beneficio1));
+        assertEquals(1, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com IllegalArgumentException quando o benefício não existe")
+    void integradoAoTransferirParaInexistente_GeraIllegalArgumentException() {
+        TransferenciaDto dto = new TransferenciaDto(beneficio1.getId(), Long.MAX_VALUE, Money.of("5.00"));
+
+        assertThrows(IllegalArgumentException.class, () -> service.realizarTransferencia(dto));
+
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+        assertEquals(0, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve validar a transferência em memória com o valor definido pela alteração do benefício")
+    void integradoAoAlterarValor_ValidaComSaldoAlterado() {
+        service.realizarTransferencia(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("900.00")));
+
+        // A alteração grava antes a transferência pendente: o checkpoint não soma 900.00 ao novo valor
+        service.alterarBeneficio(
+                beneficio2.getId(),
+                BeneficioRequestDto.builder()
+                        .nome(beneficio2.getNome())
+                        .valor(Money.of("50.00"))
+                        .ativo(true)
+                        .build(),
+                null);
+        TransferenciaDto semSaldo =
+                new TransferenciaDto(beneficio2.getId(), beneficio1.getId(), Money.of("100.00"));
+
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(semSaldo));
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(new BigDecimal("50.00"), saldo(beneficio2));
+        assertEquals(new BigDecimal("100.00"), saldo(beneficio1));
+    }
+
+    @Test
+    @DisplayName("Deve recusar na transferência em lote o item sem saldo por transferências ainda não gravadas")
+    void integradoAoTransferirEmLote_ConsideraTransferenciasEmMemoria() {
+        service.realizarTransferencia(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("900.00")));
+
+        TransferenciaLoteResponseDto lote = service.realizarTransferenciaEmLote(List.of(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("200.00"))));
+
+        assertEquals(0, lote.getSucessos());
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(new BigDecimal("100.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1900.00"), saldo(beneficio2));
+    }
+
+    @Test
+    @DisplayName("Deve bloquear durante a alteração apenas as transferências com o benefício alterado")
+    void integradoAoAlterarBeneficio_BloqueiaApenasOBeneficioAlterado() throws Exception {
+        Beneficio beneficio3 = repository.save(TestFactory.gerarBeneficio(true, Money.of(SALDO_INICIAL)));
+        TransferenciaDto semAlteracao =
+                new TransferenciaDto(beneficio2.getId(), beneficio3.getId(), Money.of("10.00"));
+        TransferenciaDto comAlteracao =
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("10.00"));
+        CompletableFuture<Void>[] aguardando = new CompletableFuture[1];
+        // Carrega os demais benefícios: a carga aguarda o fim da transação que grava o checkpoint
+        service.realizarTransferencia(
+                new TransferenciaDto(beneficio3.getId(), beneficio2.getId(), Money.of("10.00")));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            estrategia.alterandoBeneficios(List.of(beneficio1.getId()));
+            // Outros benefícios seguem em memória enquanto a transação da alteração está aberta
+            assertTrue(CompletableFuture.runAsync(() -> service.realizarTransferencia(semAlteracao))
+                    .orTimeout(10, TimeUnit.SECONDS)
+                    .handle((ok, erro) -> erro == null)
+                    .join());
+            aguardando[0] = CompletableFuture.runAsync(() -> service.realizarTransferencia(comAlteracao));
+            assertThrows(
+                    Exception.class, () -> aguardando[0].get(300, TimeUnit.MILLISECONDS));
+            assertFalse(aguardando[0].isDone());
+        });
+
+        aguardando[0].get(10, TimeUnit.SECONDS);
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(new BigDecimal("990.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1010.00"), saldo(beneficio2));
+        assertEquals(new BigDecimal("1000.00"), saldo(beneficio3));
+    }
+
+    @Test
+    @DisplayName("Deve manter pendentes as transferências gravadas pela alteração de benefício desfeita")
+    void integradoAoDesfazerAlteracao_MantemTransferenciasPendentes() {
+        service.realizarTransferencia(
+                new TransferenciaDto(beneficio1.getId(), beneficio2.getId(), Money.of("100.00")));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            estrategia.alterandoBeneficios(List.of(beneficio1.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+        ((TransferenciaEmMemoria) estrategia).checkpoint();
+        assertEquals(new BigDecimal("900.00"), saldo(beneficio1));
+        assertEquals(new BigDecimal("1100.00"), saldo(beneficio2));
+        assertEquals(1, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve falhar a inicialização de outra instância enquanto a concessão do diário for válida")
+    void integradoAoIniciarOutraInstancia_FalhaComConcessaoEmUso() {
+        ParametrosTransferenciaEmMemoria outros = new ParametrosTransferenciaEmMemoria(
+                parametros.faixas(),
+                Path.of("target/transferencias-outra-instancia.wal"),
+                parametros.diarioCapacidade(),
+                false,
+                parametros.checkpoint(),
+                parametros.ociosidade(),
+                "outra-instancia",
+                parametros.concessao());
+        TransferenciaEmMemoria outra = new TransferenciaEmMemoria(banco, versaoBeneficios, outros);
+
+        IllegalStateException erro = assertThrows(IllegalStateException.class, outra::iniciar);
+
+        assertTrue(erro.getMessage().contains(INSTANCIA));
+    }
+
+    @Test
+    @DisplayName("Deve manter os registros pendentes quando um benefício não é atualizado no checkpoint")
+    void integradoAoGravarBeneficioInexistente_NaoGravaCheckpoint() {
+        DiarioTransferencias.Registro registro =
+                new DiarioTransferencias.Registro(1, beneficio1.getId(), Long.MAX_VALUE, 500, 0, 99_500, 500);
+        Map<Long, Long> variacoes = Map.of(beneficio1.getId(), -500L, Long.MAX_VALUE, 500L);
+        assertThrows(
+                IllegalStateException.class,
+                () -> banco.gravar(List.of(registro), variacoes, INSTANCIA, parametros.concessao()));
+        // Sem a concessão, a gravação também é desfeita
+        Map<Long, Long> existente = Map.of(beneficio1.getId(), -500L);
+        assertThrows(
+                IllegalStateException.class,
+                () -> banco.gravar(List.of(registro), existente, "outra-instancia", parametros.concessao()));
+
+        assertEquals(SALDO_INICIAL, saldo(beneficio1));
+        assertEquals(0, transferenciaRepository.count());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.TransferenciaDto;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Testes integrados da estratégia otimista de transferência, com transferências concorrentes
+ * entre os mesmos benefícios.
+ */
+@TestPropertySource(
+        properties = {
+            EstrategiaTransferencia.PROPRIEDADE + "=OTIMISTA",
+            "beneficio.transferencia.otimista.tentativas=50"
+        })
+class TransferenciaOtimistaIntegrationTest extends AbstractTransferenciaIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Deve preservar o saldo total com transferências otimistas concorrentes")
+    void integradoAoTransferirConcorrentemente_PreservaSaldoTotal() throws Exception {
+        assertTrue(estrategia instanceof TransferenciaOtimista);
+
+        int transferencias = 40;
+        AtomicInteger concluidas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> resultados = new ArrayList<>();
+        for (int i = 0; i < transferencias; i++) {
+            boolean ida = i % 2 == 0;
+            TransferenciaDto dto = new TransferenciaDto(
+                    ida ? beneficio1.getId() : beneficio2.getId(),
+                    ida ? beneficio2.getId() : beneficio1.getId(),
+                    Money.of("1.00"));
+            resultados.add(executor.submit(() -> {
+                try {
+                    service.realizarTransferencia(dto);
+                    concluidas.incrementAndGet();
+                } catch (BusinessException e) {
+                    // Tentativas esgotadas: a transferência não é aplicada
+                }
+            }));
+        }
+        for (Future<?> resultado : resultados) {
+            resultado.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(new BigDecimal("2000.00"), saldo(beneficio1).add(saldo(beneficio2)));
+        assertTrue(concluidas.get() > 0);
+        // Cada transferência registra o número de tentativas uma única vez
+        assertEquals(
+                transferencias,
+                meterRegistry
+                        .get(TransferenciaOtimista.METRICA_TENTATIVAS)
+                        .summary()
+                        .count());
+    }
+}
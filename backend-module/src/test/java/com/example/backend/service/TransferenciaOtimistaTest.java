@@ -0,0 +1,105 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+
+import com.example.backend.config.ParametrosTransferenciaOtimista;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Testes para a estratégia otimista de transferência.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TransferenciaOtimistaTest {
+
+    private static final Money VALOR = Money.of("10.00");
+
+    @Mock
+    private BeneficioEjbService ejbService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private VersaoBeneficios versaoBeneficios;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferenciaOtimista estrategia;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        estrategia = new TransferenciaOtimista(
+                ejbService,
+                transactionManager,
+                meterRegistry,
+                new ParametrosTransferenciaOtimista(3, Duration.ofMillis(1), Duration.ofMillis(2)),
+                versaoBeneficios);
+    }
+
+    @Test
+    @DisplayName("Deve repetir a transferência em nova transação após conflito de versão")
+    public void deveRepetirTransferencia_quandoConflitoDeVersao() {
+        // Given: conflito na primeira tentativa (flush) e na segunda (commit)
+        willThrow(new OptimisticLockException("conflito"))
+                .willThrow(new ObjectOptimisticLockingFailureException("Beneficio", 1L))
+                .willDoNothing()
+                .given(ejbService)
+                .transferOtimista(1L, 2L, VALOR);
+
+        // Executa o método
+        estrategia.transferir(1L, 2L, VALOR);
+
+        // Verifica o resultado
+        then(ejbService).should(times(3)).transferOtimista(1L, 2L, VALOR);
+        then(transactionManager).should(times(3)).getTransaction(any());
+        assertEquals(2.0, meterRegistry.get(TransferenciaOtimista.METRICA_CONFLITOS).counter().count());
+        assertEquals(
+                3.0,
+                meterRegistry.get(TransferenciaOtimista.METRICA_TENTATIVAS).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Deve gerar BusinessException ao esgotar as tentativas")
+    public void deveGerarBusinessException_quandoTentativasEsgotadas() {
+        willThrow(new OptimisticLockException("conflito")).given(ejbService).transferOtimista(1L, 2L, VALOR);
+
+        Throwable throwable = assertThrows(BusinessException.class, () -> estrategia.transferir(1L, 2L, VALOR));
+
+        assertEquals(
+                "Erro de concorrência ao realizar transferência. Por favor, tente novamente.", throwable.getMessage());
+        then(ejbService).should(times(3)).transferOtimista(1L, 2L, VALOR);
+        assertEquals(1.0, meterRegistry.get(TransferenciaOtimista.METRICA_ESGOTADAS).counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir a transferência recusada por regra de negócio")
+    public void naoDeveRepetirTransferencia_quandoErroDeNegocio() {
+        willThrow(new BusinessException("Saldo insuficiente para transferência"))
+                .given(ejbService)
+                .transferOtimista(1L, 2L, VALOR);
+
+        assertThrows(BusinessException.class, () -> estrategia.transferir(1L, 2L, VALOR));
+
+        then(ejbService).should(times(1)).transferOtimista(1L, 2L, VALOR);
+        assertEquals(0.0, meterRegistry.get(TransferenciaOtimista.METRICA_CONFLITOS).counter().count());
+    }
+}
@@ -1,26 +1,43 @@
 package com.example.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
+import com.example.backend.dto.PaginaTransferenciaDto;
 import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.dto.TransferenciaLoteResponseDto;
 import com.example.backend.factory.TestFactory;
 import com.example.backend.repository.*;
+import com.example.backend.validator.ObjectsValidator;
 import com.example.ejb.BeneficioEjbService;
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.Transferencia;
 import com.example.ejb.exception.BusinessException;
-import java.math.BigDecimal;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.ResultadoTransferencia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 /**
@@ -34,30 +51,55 @@ public class TransferenciaServiceTest {
     @Mock
     private BeneficioRepository repository;
 
+    @Mock
+    private TransferenciaRepository transferenciaRepository;
+
     @Mock
     private BeneficioEjbService ejbService;
 
-    @InjectMocks
+    private SimpleMeterRegistry meterRegistry;
+
     private BeneficioServiceImpl service;
 
     private Beneficio beneficioDto1;
     private Beneficio beneficioDto2;
     private TransferenciaDto transferenciaDto1;
     private TransferenciaDto transferenciaDto2;
+    private AuditoriaTransferencias auditoria;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditoria = spy(new AuditoriaTransferencias(0));
+        VersaoBeneficios versaoBeneficios = new VersaoBeneficios(repository);
+        service = new BeneficioServiceImpl(
+                repository,
+                ejbService,
+                new ObjectsValidator<>(),
+                new TransferenciasBeneficios(
+                        ejbService,
+                        new TransferenciaPessimista(ejbService, versaoBeneficios),
+                        new MetricasTransferencia(
+                                meterRegistry, "PESSIMISTA", new EsperasBloqueio(Duration.ofMinutes(1), 100)),
+                        auditoria,
+                        versaoBeneficios),
+                new ConsultasBeneficios(
+                        repository,
+                        transferenciaRepository,
+                        new IndiceBuscaBeneficios(true),
+                        new ContadoresStatusBeneficio(Duration.ZERO),
+                        versaoBeneficios));
         beneficioDto1 = TestFactory.gerarBeneficio(true);
         beneficioDto2 = TestFactory.gerarBeneficio(true);
         transferenciaDto1 = TransferenciaDto.builder()
                 .fromId(beneficioDto1.getId())
                 .toId(beneficioDto2.getId())
-                .valor(new BigDecimal("10.00"))
+                .valor(Money.of("10.00"))
                 .build();
         transferenciaDto2 = TransferenciaDto.builder()
                 .fromId(beneficioDto1.getId())
                 .toId(beneficioDto2.getId())
-                .valor(new BigDecimal("5000.00"))
+                .valor(Money.of("5000.00"))
                 .build();
     }
 
@@ -82,7 +124,7 @@ public class TransferenciaServiceTest {
         TransferenciaDto dto = TransferenciaDto.builder()
                 .fromId(2L)
                 .toId(2L)
-                .valor(new BigDecimal(100.00))
+                .valor(Money.of("100"))
                 .build();
 
         // Executa o método
@@ -115,4 +157,159 @@ public class TransferenciaServiceTest {
                 .should()
                 .transfer(transferenciaDto2.getFromId(), transferenciaDto2.getToId(), transferenciaDto2.getValor());
     }
+
+    @Test
+    @DisplayName("Deve medir a duração e contar as recusas por motivo")
+    public void deveRegistrarMetricas_quandoTransferenciaConcluidaOuRecusada() {
+        // Mesmos IDs nas duas transferências: cada valor tem seu próprio stub (strict stubs)
+        willDoNothing()
+                .given(ejbService)
+                .transfer(transferenciaDto1.getFromId(), transferenciaDto1.getToId(), transferenciaDto1.getValor());
+        willThrow(new BusinessException(
+                        MotivoRecusa.SALDO_INSUFICIENTE, BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE))
+                .given(ejbService)
+                .transfer(transferenciaDto2.getFromId(), transferenciaDto2.getToId(), transferenciaDto2.getValor());
+
+        service.realizarTransferencia(transferenciaDto1);
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(transferenciaDto2));
+
+        assertEquals(1, meterRegistry
+                .get(MetricasTransferencia.METRICA_DURACAO)
+                .tags("tipo", "individual", "resultado", "sucesso")
+                .timer()
+                .count());
+        assertEquals(1, meterRegistry
+                .get(MetricasTransferencia.METRICA_DURACAO)
+                .tags("tipo", "individual", "resultado", "recusada")
+                .timer()
+                .count());
+        assertEquals(1.0, meterRegistry
+                .get(MetricasTransferencia.METRICA_RECUSAS)
+                .tags("tipo", "individual", "motivo", "saldo_insuficiente")
+                .counter()
+                .count());
+        assertEquals(0.0, meterRegistry
+                .get(MetricasTransferencia.METRICA_EM_ANDAMENTO)
+                .gauge()
+                .value());
+    }
+
+    @Test
+    @DisplayName("Deve informar o resultado de cada transferência à auditoria")
+    public void deveAuditarTransferencia_quandoConcluidaOuRecusada() {
+        willDoNothing()
+                .given(ejbService)
+                .transfer(transferenciaDto1.getFromId(), transferenciaDto1.getToId(), transferenciaDto1.getValor());
+        willThrow(new BusinessException(BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE))
+                .given(ejbService)
+                .transfer(transferenciaDto2.getFromId(), transferenciaDto2.getToId(), transferenciaDto2.getValor());
+
+        service.realizarTransferencia(transferenciaDto1);
+        assertThrows(BusinessException.class, () -> service.realizarTransferencia(transferenciaDto2));
+
+        verify(auditoria).registrar(
+                transferenciaDto1.getFromId(),
+                transferenciaDto1.getToId(),
+                transferenciaDto1.getValor(),
+                MetricasTransferencia.Resultado.SUCESSO);
+        verify(auditoria).registrar(
+                transferenciaDto2.getFromId(),
+                transferenciaDto2.getToId(),
+                transferenciaDto2.getValor(),
+                MetricasTransferencia.Resultado.RECUSADA);
+    }
+
+    @Test
+    @DisplayName("Deve realizar transferência em lote reportando o resultado de cada item")
+    public void deveRealizarTransferenciaEmLote_quandoItensValidos() {
+        // Given
+        List<TransferenciaDto> lote = Arrays.asList(transferenciaDto1, transferenciaDto2);
+        given(ejbService.transferLote(anyList()))
+                .willReturn(Arrays.asList(
+                        ResultadoTransferencia.sucesso(
+                                0,
+                                new ItemTransferencia(
+                                        transferenciaDto1.getFromId(),
+                                        transferenciaDto1.getToId(),
+                                        transferenciaDto1.getValor())),
+                        ResultadoTransferencia.falha(
+                                1,
+                                new ItemTransferencia(
+                                        transferenciaDto2.getFromId(),
+                                        transferenciaDto2.getToId(),
+                                        transferenciaDto2.getValor()),
+                                "Saldo insuficiente para transferência")));
+
+        // Executa o método
+        TransferenciaLoteResponseDto response = service.realizarTransferenciaEmLote(lote);
+
+        // Verifica o resultado
+        assertEquals(2, response.getTotal());
+        assertEquals(1, response.getSucessos());
+        assertEquals(1, response.getFalhas());
+        assertEquals(
+                "Saldo insuficiente para transferência",
+                response.getResultados().get(1).getMensagem());
+        then(ejbService).should(times(1)).transferLote(anyList());
+        then(ejbService).should(never()).transfer(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve gerar IllegalArgumentException ao realizar transferência em lote vazia")
+    public void deveGerarIllegalArgumentException_quandoLoteVazio() {
+        Throwable throwable = assertThrows(IllegalArgumentException.class, () -> {
+            service.realizarTransferenciaEmLote(List.of());
+        });
+
+        assertEquals(IllegalArgumentException.class, throwable.getClass());
+        then(ejbService).should(never()).transferLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Deve retornar página do histórico de transferências com cursor para a próxima página")
+    void deveRetornarPaginaDeTransferencias_QuandoExistiremMaisLancamentos() {
+        // Configura o mock: limite 2, repositório devolve 3 lançamentos (limite + 1), do mais recente
+        List<Transferencia> lancamentos = Arrays.asList(lancamento(30L), lancamento(20L), lancamento(10L));
+        given(transferenciaRepository.searchPageByBeneficioBefore(1L, 40L, PageRequest.of(0, 3)))
+                .willReturn(lancamentos);
+
+        // Executa o método
+        PaginaTransferenciaDto pagina = service.buscarTransferencias(1L, 40L, 2);
+
+        // Verifica o resultado
+        assertEquals(2, pagina.getItens().size());
+        assertEquals(30L, pagina.getItens().get(0).getId());
+        assertEquals(20L, pagina.getProximoCursor(), "Cursor deveria apontar para o último item da página");
+    }
+
+    @Test
+    @DisplayName("Deve iniciar o histórico pelo lançamento mais recente quando não houver cursor")
+    void deveRetornarPrimeiraPaginaDeTransferencias_QuandoCursorNulo() {
+        given(transferenciaRepository.searchPageByBeneficioBefore(1L, Long.MAX_VALUE, PageRequest.of(0, 51)))
+                .willReturn(List.of(lancamento(5L)));
+
+        PaginaTransferenciaDto pagina = service.buscarTransferencias(1L, null, null);
+
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(50, pagina.getLimite());
+        assertNull(pagina.getProximoCursor(), "Última página não deveria ter cursor");
+    }
+
+    @Test
+    @DisplayName("Deve gerar IllegalArgumentException ao consultar histórico com parâmetros inválidos")
+    void deveGerarIllegalArgumentException_quandoConsultaHistoricoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> service.buscarTransferencias(0L, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.buscarTransferencias(1L, 0L, null));
+        assertThrows(IllegalArgumentException.class, () -> service.buscarTransferencias(1L, null, 0));
+        then(transferenciaRepository).should(never()).searchPageByBeneficioBefore(anyLong(), anyLong(), any());
+    }
+
+    private Transferencia lancamento(final Long id) {
+        return Transferencia.builder()
+                .id(id)
+                .origemId(1L)
+                .destinoId(2L)
+                .valor(Money.of("10.00"))
+                .build();
+    }
 }
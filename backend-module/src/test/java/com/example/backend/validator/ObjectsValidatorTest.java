@@ -0,0 +1,91 @@
+package com.example.backend.validator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.ejb.model.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Testes para a validação compartilhada dos DTOs.
+ */
+class ObjectsValidatorTest {
+
+    private static final Validator BEAN_VALIDATION = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private final ObjectsValidator<Object> validador = new ObjectsValidator<>(BEAN_VALIDATION);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Validação rápida deve reportar as mesmas violações que as anotações dos DTOs")
+    void deveReportarAsMesmasViolacoesQueAsAnotacoes() {
+        List<Object> dtos = List.of(
+                new BeneficioRequestDto("Beneficio A", "Descrição", Money.of("10.00"), true),
+                new BeneficioRequestDto(null, null, null, null),
+                new BeneficioRequestDto("", "x".repeat(256), Money.of("-0.01"), false),
+                new BeneficioRequestDto("   ", null, Money.ZERO, true),
+                new BeneficioRequestDto("Ab", null, Money.of("1"), true),
+                new BeneficioRequestDto("x".repeat(101), "x".repeat(255), Money.of("1"), true),
+                new TransferenciaDto(1L, 2L, Money.of("0.01")),
+                new TransferenciaDto(null, null, null),
+                new TransferenciaDto(1L, 2L, Money.ZERO));
+
+        for (Object dto : dtos) {
+            Set<String> rapida = new HashSet<>();
+            validador.validar(dto, (campo, mensagem) -> rapida.add(campo + ": " + mensagem));
+            Set<String> anotacoes = new HashSet<>();
+            for (ConstraintViolation<Object> v : BEAN_VALIDATION.validate(dto)) {
+                anotacoes.add(v.getPropertyPath() + ": " + v.getMessage());
+            }
+            assertEquals(anotacoes, rapida);
+        }
+    }
+
+    @Test
+    @DisplayName("Anotação DecimalMin deve valer para Money, comparando os centavos")
+    void deveValidarDecimalMinEmMoney() {
+        assertTrue(BEAN_VALIDATION.validate(new TransferenciaDto(1L, 2L, Money.of("0.01"))).isEmpty());
+        assertEquals(1, BEAN_VALIDATION.validate(new TransferenciaDto(1L, 2L, Money.ZERO)).size());
+        assertTrue(BEAN_VALIDATION.validate(new BeneficioRequestDto("Beneficio A", null, Money.ZERO, true)).isEmpty());
+        assertEquals(
+                1, BEAN_VALIDATION.validate(new BeneficioRequestDto("Beneficio A", null, Money.of("-0.01"), true)).size());
+    }
+
+    @Test
+    @DisplayName("Não deve validar novamente objeto já validado na requisição")
+    void naoDeveValidarNovamente_quandoValidadoNaRequisicao() {
+        BeneficioRequestDto invalido = new BeneficioRequestDto(null, null, null, null);
+        assertThrows(IllegalArgumentException.class, () -> validador.validate(invalido));
+
+        ObjectsValidator.marcarValidado(invalido);
+        assertThrows(IllegalArgumentException.class, () -> validador.validate(invalido));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertFalse(ObjectsValidator.validadoNaRequisicao(invalido));
+        ObjectsValidator.marcarValidado(invalido);
+        assertTrue(ObjectsValidator.validadoNaRequisicao(invalido));
+        assertSame(invalido, validador.validate(invalido));
+        assertThrows(IllegalArgumentException.class,
+                () -> validador.validate(new BeneficioRequestDto(null, null, null, null)));
+    }
+}
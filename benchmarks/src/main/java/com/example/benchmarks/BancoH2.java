@@ -0,0 +1,105 @@
+package com.example.benchmarks;
+
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.BeneficioParticao;
+import com.example.ejb.entity.Transferencia;
+import com.example.ejb.model.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Banco H2 em memória para os benchmarks de persistência.
+ * <p>
+ * O Hibernate é inicializado diretamente (sem persistence.xml) para não depender da unidade JTA
+ * declarada no ejb-module.
+ */
+final class BancoH2 {
+
+    static final Money SALDO_INICIAL = Money.of("1000000000.00");
+
+    private BancoH2() {}
+
+    /**
+     * Configurações de persistência comparadas nos benchmarks.
+     */
+    enum Persistencia {
+
+        /** Configuração do backend (application.properties): lotes JDBC ordenados, pooled-lo e caches. */
+        AJUSTADA(";QUERY_CACHE_SIZE=256", Map.of(
+                AvailableSettings.STATEMENT_BATCH_SIZE, "50",
+                AvailableSettings.ORDER_INSERTS, "true",
+                AvailableSettings.ORDER_UPDATES, "true",
+                AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo",
+                AvailableSettings.IN_CLAUSE_PARAMETER_PADDING, "true")),
+
+        /** Padrões do Hibernate e do H2: um comando por inclusão ou alteração, como com IDs IDENTITY. */
+        PADRAO("", Map.of());
+
+        private final String url;
+
+        private final Map<String, String> propriedades;
+
+        Persistencia(final String url, final Map<String, String> propriedades) {
+            this.url = url;
+            this.propriedades = propriedades;
+        }
+    }
+
+    /**
+     * Cria uma base isolada com a quantidade informada de benefícios ativos, com a configuração de
+     * persistência do backend.
+     * @param nome Nome da base em memória (uma por trial)
+     * @param beneficios Quantidade de benefícios a semear
+     * @param tamanhoPool Conexões disponíveis (ao menos uma por thread de benchmark)
+     * @return Fábrica de EntityManager pronta para uso
+     */
+    static EntityManagerFactory criar(final String nome, final int beneficios, final int tamanhoPool) {
+        return criar(nome, beneficios, tamanhoPool, Persistencia.AJUSTADA);
+    }
+
+    /**
+     * Cria uma base isolada com a quantidade informada de benefícios ativos.
+     * @param nome Nome da base em memória (uma por trial)
+     * @param beneficios Quantidade de benefícios a semear
+     * @param tamanhoPool Conexões disponíveis (ao menos uma por thread de benchmark)
+     * @param persistencia Configuração de persistência
+     * @return Fábrica de EntityManager pronta para uso
+     */
+    static EntityManagerFactory criar(
+            final String nome, final int beneficios, final int tamanhoPool, final Persistencia persistencia) {
+        Configuration configuracao = new Configuration()
+                .addAnnotatedClass(Beneficio.class)
+                .addAnnotatedClass(BeneficioParticao.class)
+                .addAnnotatedClass(Transferencia.class)
+                .setProperty(
+                        AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000" + persistencia.url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.POOL_SIZE, String.valueOf(tamanhoPool))
+                .setProperty(AvailableSettings.SHOW_SQL, "false");
+        persistencia.propriedades.forEach(configuracao::setProperty);
+        EntityManagerFactory emf = configuracao.buildSessionFactory();
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (int i = 0; i < beneficios; i++) {
+                em.persist(Beneficio.builder()
+                        .nome("Beneficio " + i)
+                        .descricao("Benefício de benchmark")
+                        .valor(SALDO_INICIAL)
+                        .ativo(true)
+                        .build());
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        return emf;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga HTTP contra um backend em execução, para comparar a execução em threads de plataforma e em
+ * threads virtuais (spring.threads.virtual.enabled).
+ * <p>
+ * Um grupo de clientes faz transferências contínuas entre poucos benefícios (alta contenção de
+ * bloqueios) enquanto outro grupo consulta páginas de benefícios, que dependem do banco mas não
+ * disputam bloqueios. O resultado mostra a vazão das transferências e a vazão e a latência das
+ * consultas: se as esperas por bloqueio esgotam threads ou conexões, as consultas degradam junto.
+ * <p>
+ * Parâmetros no formato {@code chave=valor}: {@code url}, {@code beneficios} (2), {@code transferidores}
+ * (200), {@code leitores} (20) e {@code segundos} (30). Exemplo:
+ * {@code java -cp benchmarks.jar com.example.benchmarks.CargaHttp transferidores=400 segundos=60}
+ */
+public final class CargaHttp {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+    private final String url;
+
+    private CargaHttp(final String url) {
+        this.url = url;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        Arrays.stream(args).map(arg -> arg.split("=", 2)).forEach(par -> parametros.put(par[0], par[1]));
+        String url = parametros.getOrDefault("url", "http://localhost:8081/api/v1/beneficios");
+        int beneficios = Integer.parseInt(parametros.getOrDefault("beneficios", "2"));
+        int transferidores = Integer.parseInt(parametros.getOrDefault("transferidores", "200"));
+        int leitores = Integer.parseInt(parametros.getOrDefault("leitores", "20"));
+        int segundos = Integer.parseInt(parametros.getOrDefault("segundos", "30"));
+
+        new CargaHttp(url).executar(beneficios, transferidores, leitores, segundos);
+        System.exit(0);
+    }
+
+    private void executar(final int beneficios, final int transferidores, final int leitores, final int segundos)
+            throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < beneficios; i++) {
+            ids.add(criarBeneficio("Carga " + i));
+        }
+
+        AtomicLong transferencias = new AtomicLong();
+        AtomicLong recusadas = new AtomicLong();
+        AtomicLong falhas = new AtomicLong();
+        AtomicLong consultas = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latenciasConsulta = new ConcurrentLinkedQueue<>();
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+
+        ExecutorService clientes = Executors.newFixedThreadPool(transferidores + leitores);
+        for (int i = 0; i < transferidores; i++) {
+            clientes.execute(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                while (System.nanoTime() < fim) {
+                    int origem = aleatorio.nextInt(ids.size());
+                    int destino = (origem + 1 + aleatorio.nextInt(ids.size() - 1)) % ids.size();
+                    int status = transferir(ids.get(origem), ids.get(destino));
+                    if (status == 200) {
+                        transferencias.incrementAndGet();
+                    } else if (status == 429 || status == 422) {
+                        recusadas.incrementAndGet();
+                    } else {
+                        falhas.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (int i = 0; i < leitores; i++) {
+            clientes.execute(() -> {
+                while (System.nanoTime() < fim) {
+                    long inicio = System.nanoTime();
+                    if (consultar() == 200) {
+                        latenciasConsulta.add(System.nanoTime() - inicio);
+                        consultas.incrementAndGet();
+                    } else {
+                        falhas.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clientes.shutdown();
+        clientes.awaitTermination(segundos + 60L, TimeUnit.SECONDS);
+
+        long[] latencias = latenciasConsulta.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("transferencias/s: %.1f (recusadas: %d, falhas: %d)%n",
+                transferencias.get() / (double) segundos, recusadas.get(), falhas.get());
+        System.out.printf("consultas/s: %.1f, p50: %.1f ms, p99: %.1f ms%n",
+                consultas.get() / (double) segundos, percentil(latencias, 0.50), percentil(latencias, 0.99));
+    }
+
+    private long criarBeneficio(final String nome) throws IOException, InterruptedException {
+        String corpo = "{\"nome\":\"" + nome + "\",\"descricao\":\"Carga HTTP\",\"valor\":1000000.00,\"ativo\":true}";
+        HttpResponse<String> resposta = cliente.send(
+                HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 201) {
+            throw new IllegalStateException(
+                    "Falha ao criar benefício: " + resposta.statusCode() + " " + resposta.body());
+        }
+        return MAPPER.readTree(resposta.body()).get("id").asLong();
+    }
+
+    private int transferir(final long origem, final long destino) {
+        String corpo = "{\"fromId\":" + origem + ",\"toId\":" + destino + ",\"valor\":0.01}";
+        return enviar(HttpRequest.newBuilder(URI.create(url + "/transferir"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpo))
+                .build());
+    }
+
+    private int consultar() {
+        return enviar(HttpRequest.newBuilder(URI.create(url + "/pagina?limite=10")).GET().build());
+    }
+
+    private int enviar(final HttpRequest requisicao) {
+        try {
+            return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static double percentil(final long[] ordenados, final double fracao) {
+        if (ordenados.length == 0) {
+            return Double.NaN;
+        }
+        int indice = Math.min(ordenados.length - 1, (int) Math.ceil(fracao * ordenados.length) - 1);
+        return ordenados[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.benchmarks;
+
+import com.example.backend.BackendApplication;
+import com.example.backend.dto.EsperaBloqueioDto;
+import com.example.backend.dto.ImportacaoResponseDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.service.BeneficioService;
+import com.example.backend.service.EsperasBloqueio;
+import com.example.backend.service.EstrategiaTransferencia;
+import com.example.backend.service.ImportacaoBeneficios;
+import com.example.backend.service.TransferenciaEmMemoria;
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.model.Money;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Carga e resistência (soak) das transferências concorrentes, com verificação de invariantes ao final.
+ * <p>
+ * Inicia o backend completo (Spring Boot com H2 em memória) no próprio processo, importa N benefícios
+ * e executa transferências aleatórias simultâneas pelo {@link BeneficioService}, sem HTTP, com a
+ * estratégia de transferência escolhida. Origem e destino seguem uma distribuição Zipf: poucos
+ * benefícios concentram a maior parte das transferências (expoente 0 distribui uniformemente).
+ * A vazão é informada a cada intervalo e, ao final, a vazão total, os percentis de latência, as
+ * recusas por motivo (saldo, conflito otimista, tempo limite de bloqueio, deadlock) e os benefícios
+ * mais disputados. Em seguida são verificados:
+ * <ul>
+ *   <li>a conservação do saldo total (benefícios e partições);</li>
+ *   <li>a ausência de saldos negativos;</li>
+ *   <li>um lançamento no histórico para cada transferência concluída, com a mesma soma de valores.</li>
+ * </ul>
+ * Uma violação encerra o processo com código 1, o que falha o build no perfil Maven {@code carga}.
+ * <p>
+ * Parâmetros no formato {@code chave=valor}: {@code beneficios} (1000), {@code threads} (32),
+ * {@code segundos} (60), {@code zipf} (1.1), {@code estrategia} (PESSIMISTA), {@code bloqueio} (tempo
+ * limite de bloqueio em ms, 2000; -1 usa o padrão do banco), {@code saldo} (1000.00), {@code valorMaximo}
+ * (10.00), {@code intervalo} (10 s) e {@code semente} (42). Exemplo:
+ * {@code mvn -pl benchmarks -am verify -DskipTests -Pcarga -Dcarga.threads=64 -Dcarga.segundos=1800}
+ */
+public final class CargaTransferencias {
+
+    private static final String PREFIXO_NOME = "Carga ";
+
+    private static final int MAIS_DISPUTADOS = 5;
+
+    /* SQLSTATE do H2 para deadlock detectado e para tempo limite de bloqueio esgotado. */
+    private static final String SQLSTATE_DEADLOCK = "40001";
+
+    private static final String SQLSTATE_TEMPO_LIMITE = "HYT00";
+
+    private final Map<String, String> parametros;
+
+    private final Map<Resultado, LongAdder> resultados = new EnumMap<>(Resultado.class);
+
+    /* Soma, em centavos, dos valores das transferências concluídas. */
+    private final LongAdder centavosConcluidos = new LongAdder();
+
+    private CargaTransferencias(final Map<String, String> parametros) {
+        this.parametros = parametros;
+        for (Resultado resultado : Resultado.values()) {
+            resultados.put(resultado, new LongAdder());
+        }
+    }
+
+    public static void main(final String[] args) throws Exception {
+        Map<String, String> parametros = new HashMap<>();
+        Arrays.stream(args).map(arg -> arg.split("=", 2)).forEach(par -> parametros.put(par[0], par[1]));
+        boolean valido = new CargaTransferencias(parametros).executar();
+        System.exit(valido ? 0 : 1);
+    }
+
+    private String parametro(final String nome, final String padrao) {
+        return parametros.getOrDefault(nome, padrao);
+    }
+
+    private boolean executar() throws Exception {
+        int beneficios = Integer.parseInt(parametro("beneficios", "1000"));
+        int threads = Integer.parseInt(parametro("threads", "32"));
+        int segundos = Integer.parseInt(parametro("segundos", "60"));
+        double zipf = Double.parseDouble(parametro("zipf", "1.1"));
+        String estrategia = parametro("estrategia", "PESSIMISTA");
+        BigDecimal saldo = new BigDecimal(parametro("saldo", "1000.00"));
+        long valorMaximo = new BigDecimal(parametro("valorMaximo", "10.00")).movePointRight(2).longValueExact();
+        int intervalo = Integer.parseInt(parametro("intervalo", "10"));
+        if (beneficios < 2 || threads < 1 || segundos < 1 || zipf < 0 || valorMaximo < 1 || intervalo < 1) {
+            throw new IllegalArgumentException("Parâmetros de carga inválidos: " + parametros);
+        }
+
+        // Argumentos de linha de comando têm precedência sobre o application.properties do backend
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BackendApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=256",
+                        "--spring.datasource.hikari.maximum-pool-size=" + (threads + 5),
+                        "--beneficio.transferencia.estrategia=" + estrategia,
+                        "--beneficio.transferencia.bloqueio.tempo-limite=" + parametro("bloqueio", "2000"),
+                        "--logging.level.root=WARN",
+                        // Recusas e falhas das transferências são classificadas e contadas pela carga
+                        "--logging.level.com.example=OFF")) {
+            JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+            List<Long> ids = importar(contexto.getBean(ImportacaoBeneficios.class), jdbc, beneficios, saldo);
+            // Embaralha as posições da distribuição para que os mais disputados não sejam os menores IDs
+            Collections.shuffle(ids, new Random(Long.parseLong(parametro("semente", "42"))));
+
+            BigDecimal saldoInicial = saldoTotal(jdbc);
+            long lancamentosIniciais = contarLancamentos(jdbc);
+            BigDecimal valorLancadoInicial = somarLancamentos(jdbc);
+
+            System.out.printf(
+                    "carga: %d beneficios, %d threads, %d s, zipf %.2f, estrategia %s%n",
+                    beneficios, threads, segundos, zipf, estrategia);
+            List<Histograma> latencias =
+                    transferir(contexto.getBean(BeneficioService.class), ids, new Zipf(beneficios, zipf), threads,
+                            segundos, valorMaximo, intervalo);
+
+            if (contexto.getBean(EstrategiaTransferencia.class) instanceof TransferenciaEmMemoria memoria) {
+                // Na estratégia em memória, as transferências chegam ao banco no checkpoint
+                memoria.checkpoint();
+            }
+            relatar(latencias, segundos);
+            if ("PESSIMISTA".equalsIgnoreCase(estrategia)) {
+                relatarMaisDisputados(contexto.getBean(EsperasBloqueio.class));
+            }
+            return verificar(jdbc, saldoInicial, lancamentosIniciais, valorLancadoInicial);
+        }
+    }
+
+    /* Importa os benefícios pela importação em massa do backend e retorna os IDs criados. */
+    private static List<Long> importar(
+            final ImportacaoBeneficios importacao,
+            final JdbcTemplate jdbc,
+            final int beneficios,
+            final BigDecimal saldo)
+            throws Exception {
+        StringBuilder csv = new StringBuilder("nome,descricao,valor,ativo\n");
+        for (int i = 0; i < beneficios; i++) {
+            csv.append(PREFIXO_NOME).append(i).append(",Carga de transferencias,")
+                    .append(saldo.toPlainString()).append(",true\n");
+        }
+        ImportacaoResponseDto importados = importacao.importar(
+                ImportacaoBeneficios.Formato.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        if (importados.getImportados() != beneficios) {
+            throw new IllegalStateException("Importação incompleta: " + importados.getErros());
+        }
+        return new ArrayList<>(jdbc.queryForList(
+                "SELECT ID FROM BENEFICIO WHERE NOME LIKE ? ORDER BY ID", Long.class, PREFIXO_NOME + "%"));
+    }
+
+    private List<Histograma> transferir(
+            final BeneficioService servico,
+            final List<Long> ids,
+            final Zipf distribuicao,
+            final int threads,
+            final int segundos,
+            final long valorMaximo,
+            final int intervalo)
+            throws Exception {
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ScheduledExecutorService relatorio = Executors.newSingleThreadScheduledExecutor();
+        long[] anterior = {0};
+        relatorio.scheduleAtFixedRate(
+                () -> {
+                    long total = totalTransferencias();
+                    System.out.printf(
+                            "  %d transferencias/s (concluidas: %d, recusadas: %d)%n",
+                            (total - anterior[0]) / intervalo,
+                            resultados.get(Resultado.CONCLUIDA).sum(),
+                            total - resultados.get(Resultado.CONCLUIDA).sum());
+                    anterior[0] = total;
+                },
+                intervalo,
+                intervalo,
+                TimeUnit.SECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Histograma>> trabalhadores = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            trabalhadores.add(executor.submit(() -> {
+                Histograma latencias = new Histograma();
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                while (System.nanoTime() < fim) {
+                    int origem = distribuicao.proxima(aleatorio);
+                    int destino = distribuicao.proxima(aleatorio);
+                    if (origem == destino) {
+                        continue;
+                    }
+                    long centavos = 1 + aleatorio.nextLong(valorMaximo);
+                    long inicio = System.nanoTime();
+                    Resultado resultado = transferir(servico, ids.get(origem), ids.get(destino), centavos);
+                    latencias.registrar(System.nanoTime() - inicio);
+                    resultados.get(resultado).increment();
+                    if (resultado == Resultado.CONCLUIDA) {
+                        centavosConcluidos.add(centavos);
+                    }
+                }
+                return latencias;
+            }));
+        }
+        List<Histograma> latencias = new ArrayList<>();
+        for (Future<Histograma> trabalhador : trabalhadores) {
+            latencias.add(trabalhador.get());
+        }
+        executor.shutdown();
+        relatorio.shutdownNow();
+        return latencias;
+    }
+
+    private static Resultado transferir(
+            final BeneficioService servico, final Long origem, final Long destino, final long centavos) {
+        try {
+            servico.realizarTransferencia(new TransferenciaDto(origem, destino, Money.deCentavos(centavos)));
+            return Resultado.CONCLUIDA;
+        } catch (RuntimeException e) {
+            return classificar(e);
+        }
+    }
+
+    /* Classifica uma recusa pela mensagem do serviço ou pelo SQLSTATE da causa. */
+    static Resultado classificar(final RuntimeException e) {
+        boolean bloqueio = false;
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                if (SQLSTATE_DEADLOCK.equals(sql.getSQLState())) {
+                    return Resultado.DEADLOCK;
+                }
+                if (SQLSTATE_TEMPO_LIMITE.equals(sql.getSQLState())) {
+                    return Resultado.TEMPO_LIMITE;
+                }
+            }
+            bloqueio |= causa instanceof LockTimeoutException || causa instanceof PessimisticLockException;
+        }
+        String mensagem = e.getMessage();
+        if (bloqueio || BeneficioEjbService.MENSAGEM_TEMPO_BLOQUEIO.equals(mensagem)) {
+            return Resultado.TEMPO_LIMITE;
+        }
+        if (BeneficioEjbService.MENSAGEM_CONCORRENCIA.equals(mensagem)) {
+            return Resultado.CONFLITO;
+        }
+        if (BeneficioEjbService.MENSAGEM_SALDO_INSUFICIENTE.equals(mensagem)) {
+            return Resultado.SALDO_INSUFICIENTE;
+        }
+        return Resultado.ERRO;
+    }
+
+    private long totalTransferencias() {
+        return resultados.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private void relatar(final List<Histograma> latencias, final int segundos) {
+        Histograma total = new Histograma();
+        latencias.forEach(total::somar);
+        System.out.printf(
+                "transferencias/s: %.1f (total: %d)%n", totalTransferencias() / (double) segundos, total.total());
+        System.out.printf(
+                "concluidas: %d, saldo insuficiente: %d, conflitos: %d, tempo limite de bloqueio: %d, deadlocks: %d,"
+                        + " erros: %d%n",
+                resultados.get(Resultado.CONCLUIDA).sum(),
+                resultados.get(Resultado.SALDO_INSUFICIENTE).sum(),
+                resultados.get(Resultado.CONFLITO).sum(),
+                resultados.get(Resultado.TEMPO_LIMITE).sum(),
+                resultados.get(Resultado.DEADLOCK).sum(),
+                resultados.get(Resultado.ERRO).sum());
+        System.out.printf(
+                "latencia (ms): p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                total.percentil(0.50),
+                total.percentil(0.90),
+                total.percentil(0.99),
+                total.percentil(0.999),
+                total.percentil(1.0));
+    }
+
+    private static void relatarMaisDisputados(final EsperasBloqueio esperas) {
+        System.out.printf("mais disputados (ultimos %d s):%n", esperas.getJanela().toSeconds());
+        for (EsperaBloqueioDto espera : esperas.maisDisputados(MAIS_DISPUTADOS)) {
+            System.out.printf(
+                    "  beneficio %d: %d esperas, total %.1f ms, max %.1f ms%n",
+                    espera.getBeneficioId(),
+                    espera.getEsperas(),
+                    espera.getTempoTotalMs(),
+                    espera.getTempoMaximoMs());
+        }
+    }
+
+    private boolean verificar(
+            final JdbcTemplate jdbc,
+            final BigDecimal saldoInicial,
+            final long lancamentosIniciais,
+            final BigDecimal valorLancadoInicial) {
+        BigDecimal saldoFinal = saldoTotal(jdbc);
+        Long negativos = jdbc.queryForObject(
+                "SELECT (SELECT COUNT(*) FROM BENEFICIO WHERE VALOR < 0)"
+                        + " + (SELECT COUNT(*) FROM BENEFICIO_PARTICAO WHERE VALOR < 0)",
+                Long.class);
+        long lancamentos = contarLancamentos(jdbc) - lancamentosIniciais;
+        BigDecimal valorLancado = somarLancamentos(jdbc).subtract(valorLancadoInicial);
+        long concluidas = resultados.get(Resultado.CONCLUIDA).sum();
+        BigDecimal valorConcluido = BigDecimal.valueOf(centavosConcluidos.sum(), 2);
+
+        boolean valido = true;
+        valido &= invariante(
+                "saldo total conservado", saldoInicial.compareTo(saldoFinal) == 0, saldoInicial + " -> " + saldoFinal);
+        valido &= invariante("nenhum saldo negativo", negativos != null && negativos == 0, negativos + " negativos");
+        valido &= invariante(
+                "um lancamento por transferencia concluida",
+                lancamentos == concluidas,
+                lancamentos + " lancamentos, " + concluidas + " concluidas");
+        valido &= invariante(
+                "valor lancado igual ao transferido",
+                valorLancado.compareTo(valorConcluido) == 0,
+                valorLancado + " lancado, " + valorConcluido + " transferido");
+        return valido;
+    }
+
+    private static boolean invariante(final String descricao, final boolean valido, final String detalhe) {
+        System.out.printf("%s %s (%s)%n", valido ? "OK   " : "FALHA", descricao, detalhe);
+        return valido;
+    }
+
+    private static BigDecimal saldoTotal(final JdbcTemplate jdbc) {
+        return jdbc.queryForObject(
+                "SELECT (SELECT COALESCE(SUM(VALOR), 0) FROM BENEFICIO)"
+                        + " + (SELECT COALESCE(SUM(VALOR), 0) FROM BENEFICIO_PARTICAO)",
+                BigDecimal.class);
+    }
+
+    private static long contarLancamentos(final JdbcTemplate jdbc) {
+        Long lancamentos = jdbc.queryForObject("SELECT COUNT(*) FROM TRANSFERENCIA", Long.class);
+        return lancamentos != null ? lancamentos : 0;
+    }
+
+    private static BigDecimal somarLancamentos(final JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT COALESCE(SUM(VALOR), 0) FROM TRANSFERENCIA", BigDecimal.class);
+    }
+
+    /** Resultado de uma transferência da carga. */
+    enum Resultado {
+        CONCLUIDA,
+        SALDO_INSUFICIENTE,
+        CONFLITO,
+        TEMPO_LIMITE,
+        DEADLOCK,
+        ERRO
+    }
+
+    /* Amostragem Zipf por busca binária na distribuição acumulada: a posição k tem peso 1 / k^expoente. */
+    static final class Zipf {
+
+        private final double[] acumulada;
+
+        Zipf(final int posicoes, final double expoente) {
+            acumulada = new double[posicoes];
+            double soma = 0;
+            for (int k = 0; k < posicoes; k++) {
+                soma += 1 / Math.pow(k + 1, expoente);
+                acumulada[k] = soma;
+            }
+            for (int k = 0; k < posicoes; k++) {
+                acumulada[k] /= soma;
+            }
+        }
+
+        int proxima(final Random aleatorio) {
+            int posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+            return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulada.length - 1);
+        }
+    }
+
+    /*
+     * Histograma de latências em microssegundos com erro relativo de até 1/32: 32 faixas por potência
+     * de dois. A memória é constante, independente da duração da carga.
+     */
+    static final class Histograma {
+
+        private static final int BITS_FAIXA = 5;
+
+        private static final int FAIXAS = 1 << BITS_FAIXA;
+
+        private final long[] contagens = new long[(Long.SIZE - BITS_FAIXA + 1) * FAIXAS];
+
+        void registrar(final long nanos) {
+            contagens[indice(Math.max(0, nanos / 1_000))]++;
+        }
+
+        void somar(final Histograma outro) {
+            for (int i = 0; i < contagens.length; i++) {
+                contagens[i] += outro.contagens[i];
+            }
+        }
+
+        long total() {
+            return Arrays.stream(contagens).sum();
+        }
+
+        /* Limite inferior, em milissegundos, da faixa que contém o percentil. */
+        double percentil(final double fracao) {
+            long total = total();
+            if (total == 0) {
+                return Double.NaN;
+            }
+            long alvo = Math.max(1, (long) Math.ceil(fracao * total));
+            long acumulado = 0;
+            for (int i = 0; i < contagens.length; i++) {
+                acumulado += contagens[i];
+                if (acumulado >= alvo) {
+                    return valor(i) / 1_000.0;
+                }
+            }
+            return valor(contagens.length - 1) / 1_000.0;
+        }
+
+        static int indice(final long micros) {
+            if (micros < FAIXAS) {
+                return (int) micros;
+            }
+            int expoente = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+            int faixa = (int) (micros >>> (expoente - BITS_FAIXA)) - FAIXAS;
+            return (expoente - BITS_FAIXA + 1) * FAIXAS + faixa;
+        }
+
+        static long valor(final int indice) {
+            if (indice < FAIXAS) {
+                return indice;
+            }
+            int expoente = indice / FAIXAS + BITS_FAIXA - 1;
+            return (long) (indice % FAIXAS + FAIXAS) << (expoente - BITS_FAIXA);
+        }
+    }
+}
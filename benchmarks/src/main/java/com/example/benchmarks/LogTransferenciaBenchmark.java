@@ -0,0 +1,86 @@
+package com.example.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compara o custo por transferência do log do {@link com.example.ejb.BeneficioEjbService}: a mensagem
+ * montada com {@code String.format} a cada chamada (forma anterior) e a mensagem parametrizada
+ * protegida pelo nível (forma atual), com o logger no nível de produção (INFO).
+ * <p>
+ * Execute com {@code -prof gc} e compare {@code gc.alloc.rate.norm} (bytes alocados por operação):
+ * com o nível desabilitado a forma atual não aloca.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogTransferenciaBenchmark {
+
+    private Logger logger;
+
+    private Long fromId;
+
+    private Long toId;
+
+    private BigDecimal valor;
+
+    @Setup
+    public void iniciar(final Blackhole blackhole) {
+        logger = Logger.getLogger(LogTransferenciaBenchmark.class.getName());
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        // Descarta os registros sem escrever: mede a criação da mensagem, não a saída
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(final LogRecord registro) {
+                blackhole.consume(registro);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        fromId = 1_000L;
+        toId = 2_000L;
+        valor = new BigDecimal("125.50");
+    }
+
+    /** Forma anterior: mensagem formatada e registrada em INFO em toda transferência. */
+    @Benchmark
+    public void formatadoInfo() {
+        logger.info(String.format("Transferindo: %d -> %d, valor: %s", fromId, toId, valor));
+    }
+
+    /** Forma atual: mensagem em FINE, só montada quando o nível está habilitado. */
+    @Benchmark
+    public void parametrizadoProtegido() {
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(
+                    Level.FINE,
+                    "Transferindo: {0} -> {1}, valor: {2}",
+                    new Object[] {fromId.toString(), toId.toString(), valor.toPlainString()});
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.benchmarks;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.backend.mapper.BeneficioMapper;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.Money;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mede as conversões entre Entity e DTO realizadas a cada requisição pelo {@link BeneficioMapper}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Beneficio beneficio;
+
+    private BeneficioRequestDto request;
+
+    @Setup
+    public void iniciar() {
+        beneficio = Beneficio.builder()
+                .id(1L)
+                .nome("Beneficio A")
+                .descricao("Descrição do benefício A")
+                .valor(Money.of("1000.00"))
+                .ativo(true)
+                .version(3L)
+                .build();
+        request = BeneficioMapper.mapRequest(beneficio);
+    }
+
+    @Benchmark
+    public BeneficioResponseDto entidadeParaResponse() {
+        return BeneficioMapper.mapResponse(beneficio);
+    }
+
+    @Benchmark
+    public Beneficio requestParaEntidade() {
+        return BeneficioMapper.mapRequest(request);
+    }
+
+    @Benchmark
+    public Beneficio atualizarEntidade() {
+        return BeneficioMapper.map(beneficio, request);
+    }
+}
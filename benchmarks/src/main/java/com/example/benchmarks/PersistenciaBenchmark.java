@@ -0,0 +1,119 @@
+package com.example.benchmarks;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.entity.Beneficio;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara a configuração de persistência padrão do Hibernate com a do backend (lotes JDBC ordenados,
+ * IDs por sequence em blocos e cache de comandos do H2).
+ * <p>
+ * Cada operação grava {@code operacoes} benefícios ou pernas de transferência em uma única transação,
+ * que é onde os lotes JDBC fazem diferença.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(1)
+public class PersistenciaBenchmark {
+
+    private static final Money VALOR = Money.of("0.01");
+
+    private static final int BENEFICIOS = 256;
+
+    /** Nome de uma constante de {@link BancoH2.Persistencia}. */
+    @Param({"PADRAO", "AJUSTADA"})
+    public String persistencia;
+
+    /** Inclusões ou pernas de transferência por transação. */
+    @Param({"100"})
+    public int operacoes;
+
+    private EntityManagerFactory emf;
+
+    private EntityManager em;
+
+    private BeneficioEjbService service;
+
+    private long primeiroId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        emf = BancoH2.criar(
+                "persistencia" + persistencia, BENEFICIOS, 1, BancoH2.Persistencia.valueOf(persistencia));
+        em = emf.createEntityManager();
+        service = new BeneficioEjbService(em);
+        primeiroId = em.createQuery("SELECT MIN(b.id) FROM Beneficio b", Long.class).getSingleResult();
+    }
+
+    @TearDown(Level.Trial)
+    public void finalizar() {
+        em.close();
+        emf.close();
+    }
+
+    @Benchmark
+    public void incluir() {
+        executar(entityManager -> {
+            for (int i = 0; i < operacoes; i++) {
+                entityManager.persist(Beneficio.builder()
+                        .nome("Inclusao " + i)
+                        .valor(VALOR)
+                        .ativo(true)
+                        .build());
+            }
+        });
+    }
+
+    @Benchmark
+    public void transferirLote() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<ItemTransferencia> itens = new ArrayList<>(operacoes);
+        for (int i = 0; i < operacoes; i++) {
+            long fromId = primeiroId + random.nextInt(BENEFICIOS);
+            long toId = primeiroId + (fromId - primeiroId + 1 + random.nextInt(BENEFICIOS - 1)) % BENEFICIOS;
+            itens.add(new ItemTransferencia(fromId, toId, VALOR));
+        }
+        executar(entityManager -> service.transferLote(itens));
+    }
+
+    private void executar(final Consumer<EntityManager> operacao) {
+        EntityTransaction tx = em.getTransaction();
+        tx.begin();
+        try {
+            operacao.accept(em);
+            tx.commit();
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            em.clear();
+        }
+    }
+}
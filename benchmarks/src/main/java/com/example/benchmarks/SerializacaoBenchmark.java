@@ -0,0 +1,94 @@
+package com.example.benchmarks;
+
+import com.example.backend.config.MoneyJsonConfig;
+import com.example.backend.dto.BeneficioResponseDto;
+import com.example.ejb.model.Money;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mede a serialização JSON das listagens de benefícios: lista materializada em bytes (GET /beneficios)
+ * versus escrita incremental com {@link JsonGenerator} (GET /beneficios/stream).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    /** Tamanho da listagem serializada. */
+    @Param({"10", "1000", "100000"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+
+    private List<BeneficioResponseDto> beneficios;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = new ObjectMapper().registerModule(MoneyJsonConfig.modulo());
+        beneficios = new ArrayList<>(tamanho);
+        for (long i = 1; i <= tamanho; i++) {
+            beneficios.add(new BeneficioResponseDto(
+                    i, "Beneficio " + i, "Descrição do benefício " + i, Money.deCentavos(i * 100), true, 0L));
+        }
+    }
+
+    @Benchmark
+    public byte[] listaMaterializada() throws IOException {
+        return objectMapper.writeValueAsBytes(beneficios);
+    }
+
+    @Benchmark
+    public void escritaIncremental(final Blackhole blackhole) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(new SaidaDescartada(blackhole))) {
+            generator.writeStartArray();
+            for (BeneficioResponseDto beneficio : beneficios) {
+                generator.writeObject(beneficio);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Saída que descarta os bytes no {@link Blackhole}, simulando o socket da resposta HTTP.
+     */
+    private static final class SaidaDescartada extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        SaidaDescartada(final Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(final int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.benchmarks;
+
+import com.example.ejb.BeneficioEjbService;
+import com.example.ejb.exception.BusinessException;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PessimisticLockException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mede o caminho de transferência do {@link BeneficioEjbService} sob diferentes níveis de contenção.
+ * <p>
+ * Com poucos benefícios ({@code beneficios = 2}) todas as threads disputam os mesmos bloqueios
+ * pessimistas; com muitos, as transferências raramente colidem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class TransferenciaBenchmark {
+
+    private static final Money VALOR = Money.of("0.01");
+
+    /** Quantidade de benefícios sobre os quais as transferências são sorteadas (nível de contenção). */
+    @Param({"2", "16", "1024"})
+    public int beneficios;
+
+    private EntityManagerFactory emf;
+
+    private long primeiroId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        emf = BancoH2.criar("transferencia" + beneficios, beneficios, 8);
+        EntityManager em = emf.createEntityManager();
+        try {
+            primeiroId = em.createQuery("SELECT MIN(b.id) FROM Beneficio b", Long.class).getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void finalizar() {
+        emf.close();
+    }
+
+    /**
+     * Estado por thread: cada thread de benchmark usa seu próprio EntityManager, como faria uma
+     * requisição HTTP no backend.
+     */
+    @State(Scope.Thread)
+    public static class Sessao {
+
+        EntityManager em;
+
+        BeneficioEjbService service;
+
+        @Setup(Level.Trial)
+        public void abrir(final TransferenciaBenchmark benchmark) {
+            em = benchmark.emf.createEntityManager();
+            service = new BeneficioEjbService(em);
+        }
+
+        @TearDown(Level.Trial)
+        public void fechar() {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public boolean transferir(final Sessao sessao) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long fromId = primeiroId + random.nextInt(beneficios);
+        long toId = primeiroId + (fromId - primeiroId + 1 + random.nextInt(beneficios - 1)) % beneficios;
+        return executar(sessao, () -> sessao.service.transfer(fromId, toId, VALOR));
+    }
+
+    @Benchmark
+    public boolean transferirLote(final Sessao sessao) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long base = primeiroId + random.nextInt(beneficios);
+        long proximo = primeiroId + (base - primeiroId + 1) % beneficios;
+        return executar(
+                sessao,
+                () -> sessao.service.transferLote(List.of(
+                        new ItemTransferencia(base, proximo, VALOR),
+                        new ItemTransferencia(proximo, base, VALOR))));
+    }
+
+    private static boolean executar(final Sessao sessao, final Runnable operacao) {
+        EntityTransaction tx = sessao.em.getTransaction();
+        tx.begin();
+        try {
+            operacao.run();
+            tx.commit();
+            return true;
+        } catch (BusinessException | PessimisticLockException e) {
+            return false;
+        } finally {
+            if (tx.isActive()) {
+                tx.rollback();
+            }
+            sessao.em.clear();
+        }
+    }
+}
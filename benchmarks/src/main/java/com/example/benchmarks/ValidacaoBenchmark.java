@@ -0,0 +1,94 @@
+package com.example.benchmarks;
+
+import com.example.backend.dto.BeneficioRequestDto;
+import com.example.backend.dto.TransferenciaDto;
+import com.example.backend.validator.ObjectsValidator;
+import com.example.ejb.model.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mede a validação dos DTOs de entrada via {@link ObjectsValidator}, que usa as validações escritas à
+ * mão de {@link com.example.backend.validator.BeneficioValidator}.
+ * <p>
+ * O cenário {@code beanValidation} valida o mesmo DTO pelas anotações, como antes da validação rápida,
+ * e {@code criarValidador} instancia um validador por uso (que compartilha a ValidatorFactory padrão).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+    private ObjectsValidator<BeneficioRequestDto> validadorBeneficio;
+
+    private ObjectsValidator<TransferenciaDto> validadorTransferencia;
+
+    private BeneficioRequestDto beneficioValido;
+
+    private BeneficioRequestDto beneficioInvalido;
+
+    private TransferenciaDto transferenciaValida;
+
+    private Validator beanValidation;
+
+    @Setup
+    public void iniciar() {
+        validadorBeneficio = new ObjectsValidator<>();
+        validadorTransferencia = new ObjectsValidator<>();
+        beneficioValido = BeneficioRequestDto.builder()
+                .nome("Beneficio A")
+                .descricao("Descrição do benefício A")
+                .valor(Money.of("1000.00"))
+                .ativo(true)
+                .build();
+        beneficioInvalido = BeneficioRequestDto.builder().nome("").build();
+        transferenciaValida = new TransferenciaDto(1L, 2L, Money.of("10.00"));
+        beanValidation = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public BeneficioRequestDto beneficioValido() {
+        return validadorBeneficio.validate(beneficioValido);
+    }
+
+    @Benchmark
+    public String beneficioInvalido() {
+        try {
+            validadorBeneficio.validate(beneficioInvalido);
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public TransferenciaDto transferenciaValida() {
+        return validadorTransferencia.validate(transferenciaValida);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BeneficioRequestDto>> beanValidation() {
+        return beanValidation.validate(beneficioValido);
+    }
+
+    @Benchmark
+    public BeneficioRequestDto criarValidador() {
+        return new ObjectsValidator<BeneficioRequestDto>().validate(beneficioValido);
+    }
+}
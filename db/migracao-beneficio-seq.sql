@@ -0,0 +1,10 @@
+-- Migração de bases existentes (PostgreSQL): o ID de BENEFICIO deixa de ser IDENTITY e passa a vir da sequence
+-- BENEFICIO_SEQ, reservada em blocos de 50 pelo Hibernate (pooled-lo). A sequence começa após o maior ID existente.
+-- Executar com a aplicação parada.
+
+CREATE SEQUENCE BENEFICIO_SEQ START WITH 1 INCREMENT BY 50;
+SELECT setval('beneficio_seq', COALESCE(MAX(ID), 0) + 1, false) FROM BENEFICIO;
+ALTER TABLE BENEFICIO ALTER COLUMN ID DROP IDENTITY;
+
+-- H2 (banco em arquivo do backend): substituir o setval acima por
+-- ALTER SEQUENCE BENEFICIO_SEQ RESTART WITH (SELECT COALESCE(MAX(ID), 0) + 1 FROM BENEFICIO);
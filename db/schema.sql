@@ -1,8 +1,60 @@
+-- PostgreSQL (os scripts H2 usados pelo backend ficam em backend-module/src/main/resources)
+-- IDs reservados em blocos de 50 (pooled-lo): quem inclui fora do Hibernate usa o valor lido e os 49 seguintes
+CREATE SEQUENCE BENEFICIO_SEQ START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE BENEFICIO (
-  ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  ID BIGINT PRIMARY KEY,
   NOME VARCHAR(100) NOT NULL,
   DESCRICAO VARCHAR(255),
   VALOR DECIMAL(15,2) NOT NULL,
   ATIVO BOOLEAN DEFAULT TRUE,
-  VERSION BIGINT DEFAULT 0
+  VERSION BIGINT DEFAULT 0,
+  PARTICOES INT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX IDX_BENEFICIO_ATIVO ON BENEFICIO (ATIVO, ID);
+
+CREATE TABLE BENEFICIO_PARTICAO (
+  ID BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  BENEFICIO_ID BIGINT NOT NULL REFERENCES BENEFICIO (ID),
+  INDICE INT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  VERSION BIGINT DEFAULT 0,
+  CONSTRAINT UK_BENEFICIO_PARTICAO UNIQUE (BENEFICIO_ID, INDICE)
+);
+
+CREATE SEQUENCE TRANSFERENCIA_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE TRANSFERENCIA (
+  ID BIGINT PRIMARY KEY,
+  ORIGEM_ID BIGINT NOT NULL,
+  DESTINO_ID BIGINT NOT NULL,
+  VALOR DECIMAL(15,2) NOT NULL,
+  DATA_HORA TIMESTAMP WITH TIME ZONE NOT NULL,
+  SALDO_ORIGEM DECIMAL(15,2),
+  SALDO_DESTINO DECIMAL(15,2)
+);
+
+CREATE INDEX IDX_TRANSFERENCIA_ORIGEM ON TRANSFERENCIA (ORIGEM_ID, ID);
+CREATE INDEX IDX_TRANSFERENCIA_DESTINO ON TRANSFERENCIA (DESTINO_ID, ID);
+
+-- Última sequência do diário de transferências gravada no banco (estratégia MEMORIA) e a concessão da
+-- instância que o grava (DONO, VALIDADE)
+CREATE TABLE DIARIO_TRANSFERENCIAS (
+  ID INT NOT NULL,
+  SEQUENCIA BIGINT NOT NULL,
+  DONO VARCHAR(255),
+  VALIDADE TIMESTAMP WITH TIME ZONE,
+  PRIMARY KEY (ID)
+);
+
+-- Versão da coleção de benefícios usada nas ETags: cada escrita de benefícios incrementa uma das 16 fatias
+-- na própria transação e a versão é a soma delas
+CREATE TABLE VERSAO_COLECAO (
+  FATIA INT NOT NULL,
+  VERSAO BIGINT NOT NULL,
+  PRIMARY KEY (FATIA)
 );
+INSERT INTO VERSAO_COLECAO (FATIA, VERSAO) VALUES
+(0, 0), (1, 0), (2, 0), (3, 0), (4, 0), (5, 0), (6, 0), (7, 0),
+(8, 0), (9, 0), (10, 0), (11, 0), (12, 0), (13, 0), (14, 0), (15, 0);
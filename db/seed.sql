@@ -1,3 +1,8 @@
-INSERT INTO BENEFICIO (NOME, DESCRICAO, VALOR, ATIVO) VALUES
-('Beneficio A', 'Descrição A', 1000.00, TRUE),
-('Beneficio B', 'Descrição B', 500.00, TRUE);
+-- Um único bloco da sequence (INCREMENT BY 50, pooled-lo) para todas as linhas: IDs consecutivos 1 e 2,
+-- e o próximo bloco do Hibernate começa em 51. Um nextval por linha consumiria um bloco cada (1 e 51).
+INSERT INTO BENEFICIO (ID, NOME, DESCRICAO, VALOR, ATIVO)
+SELECT BLOCO.ID + D.DESLOCAMENTO, D.NOME, D.DESCRICAO, D.VALOR, TRUE
+FROM (SELECT nextval('beneficio_seq') AS ID) AS BLOCO
+CROSS JOIN (VALUES
+  (0, 'Beneficio A', 'Descrição A', 1000.00),
+  (1, 'Beneficio B', 'Descrição B', 500.00)) AS D (DESLOCAMENTO, NOME, DESCRICAO, VALOR);
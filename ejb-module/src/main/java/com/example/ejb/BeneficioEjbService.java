@@ -2,14 +2,36 @@ package com.example.ejb;
 
 import jakarta.ejb.Stateless;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PessimisticLockException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import jakarta.annotation.Nonnull;
 
-import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.BeneficioParticao;
+import com.example.ejb.entity.Transferencia;
+import com.example.ejb.exception.BeneficioNaoEncontradoException;
 import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.ResultadoTransferencia;
 
 /* Serviço EJB para operações de negócio relacionadas a Benefícios. */
 @Stateless
@@ -17,6 +39,54 @@ public class BeneficioEjbService {
 
     private static final Logger logger = Logger.getLogger(BeneficioEjbService.class.getName());
 
+    /* Consulta única que bloqueia todos os benefícios envolvidos em um lote, em ordem crescente de ID. */
+    private static final String QUERY_BLOQUEIO_LOTE = "SELECT b FROM Beneficio b WHERE b.id IN :ids ORDER BY b.id";
+
+    /* Consulta dos benefícios ativos particionados e da quantidade de partições (roteamento do crédito). */
+    private static final String QUERY_PARTICIONADOS =
+            "SELECT b.id, b.particoes FROM Beneficio b WHERE b.ativo = true AND b.particoes > 0";
+
+    /* Consulta de uma partição específica de um benefício. */
+    private static final String QUERY_PARTICAO =
+            "SELECT p FROM BeneficioParticao p WHERE p.beneficioId = :id AND p.indice = :indice";
+
+    /* Consulta de todas as partições de um benefício, em ordem de índice (ordem de bloqueio). */
+    private static final String QUERY_PARTICOES =
+            "SELECT p FROM BeneficioParticao p WHERE p.beneficioId = :id ORDER BY p.indice";
+
+    /* Débito condicional: só altera a linha se o benefício estiver ativo e com saldo suficiente. */
+    private static final String UPDATE_DEBITO =
+            "UPDATE Beneficio b SET b.valor = b.valor - :valor, b.version = b.version + 1"
+            + " WHERE b.id = :id AND b.ativo = true AND b.valor >= :valor";
+
+    /* Crédito condicional: só altera a linha de benefício ativo e não particionado. */
+    private static final String UPDATE_CREDITO =
+            "UPDATE Beneficio b SET b.valor = b.valor + :valor, b.version = b.version + 1"
+            + " WHERE b.id = :id AND b.ativo = true AND b.particoes = 0";
+
+    /* Crédito em uma partição de benefício particionado. */
+    private static final String UPDATE_CREDITO_PARTICAO =
+            "UPDATE BeneficioParticao p"
+            + " SET p.valor = p.valor + :valor, p.version = p.version + 1"
+            + " WHERE p.beneficioId = :id AND p.indice = :indice";
+
+    /* Quantidade máxima de partições de um benefício. */
+    public static final int MAX_PARTICOES = 64;
+
+    /* Mensagens das recusas de transferência; também identificam o motivo da recusa nas métricas. */
+    public static final String MENSAGEM_NAO_ENCONTRADO = "Benefício não encontrado";
+    public static final String MENSAGEM_ORIGEM_CANCELADA = "Benefício de origem está cancelado";
+    public static final String MENSAGEM_DESTINO_CANCELADO = "Benefício de destino está cancelado";
+    public static final String MENSAGEM_SALDO_INSUFICIENTE = "Saldo insuficiente para transferência";
+    public static final String MENSAGEM_SALDO_MAXIMO = "Saldo do benefício de destino excederia o valor máximo";
+    public static final String MENSAGEM_CONCORRENCIA =
+            "Erro de concorrência ao realizar transferência. Por favor, tente novamente.";
+    public static final String MENSAGEM_TEMPO_BLOQUEIO =
+            "Tempo limite de espera por bloqueio excedido. Por favor, tente novamente.";
+
+    /* Dica JPA com o tempo máximo de espera por um bloqueio pessimista, em milissegundos. */
+    public static final String DICA_TEMPO_LIMITE_BLOQUEIO = "jakarta.persistence.lock.timeout";
+
     /* Construtor para injeção manual do EntityManager, utilizado na configuração do Spring. */
     public BeneficioEjbService(@Nonnull final EntityManager em) {
         this.em = em;
@@ -24,22 +94,67 @@ public class BeneficioEjbService {
 
     @PersistenceContext
     private EntityManager em;
+
+    private MonitorTransferencia monitor = MonitorTransferencia.NENHUM;
+
+    /* Propriedades dos bloqueios pessimistas das transferências; vazio usa a espera padrão do banco. */
+    private Map<String, Object> propriedadesBloqueio = Map.of();
+
+    /*
+     * Quantidade de partições dos benefícios ativos particionados, por ID; nulo até a próxima consulta.
+     *  Carregado sob demanda para rotear o crédito sem consultar o banco a cada transferência.
+     */
+    private volatile Map<Long, Integer> particionados;
+
+    /* Descartes do roteamento: uma carga iniciada antes de um descarte não é mantida. */
+    private final AtomicLong descartesParticionados = new AtomicLong();
+
+    /* Define o monitor que recebe a duração das etapas das transferências (bloqueio, validação e flush). */
+    public void setMonitor(MonitorTransferencia monitor) {
+        this.monitor = monitor != null ? monitor : MonitorTransferencia.NENHUM;
+    }
+
+    /*
+     * Define o tempo máximo de espera pelos bloqueios pessimistas das transferências, enviado como
+     *  {@value #DICA_TEMPO_LIMITE_BLOQUEIO}. Negativo mantém a espera padrão do banco e zero não espera
+     *  (NOWAIT). Esgotada a espera, a transferência é recusada com {@link #MENSAGEM_TEMPO_BLOQUEIO}
+     *  em vez de acumular conexões paradas. O suporte depende do banco e do dialeto do Hibernate.
+     */
+    public void setTempoLimiteBloqueio(long milissegundos) {
+        this.propriedadesBloqueio =
+                milissegundos < 0 ? Map.of() : Map.of(DICA_TEMPO_LIMITE_BLOQUEIO, milissegundos);
+    }
+    /*
+     * Descarta o roteamento dos créditos para benefícios particionados, que é recarregado na próxima
+     *  transferência. Deve ser chamado após o commit de alterações das partições ou do status de
+     *  benefícios feitas fora deste serviço; as alterações feitas por {@link #particionar} já o descartam.
+     */
+    public void descartarRoteamentoParticoes() {
+        descartesParticionados.incrementAndGet();
+        particionados = null;
+    }
+
     /**
      * Método deve transferir um valor de um benefício para outro, 
      *  garantindo que o saldo do benefício de origem não fique negativo. 
+     *  O crédito para benefício particionado é roteado pela quantidade de partições em memória
+     *  (ver {@link #particoesDestino}), também no lote ({@link #transferLote}) e no commit agrupado do
+     *  backend, que o utiliza.
     */ 
-    public void transfer( Long fromId, Long toId, BigDecimal amount) throws IllegalArgumentException, BusinessException {
-        if (fromId == null || toId == null) {
-            throw new IllegalArgumentException("IDs de origem e destino são obrigatórios");
-        }
-        if (amount == null || amount.signum() <= 0) {
-            throw new IllegalArgumentException("Valor de transferência deve ser positivo");
+    public void transfer( Long fromId, Long toId, Money amount) throws IllegalArgumentException, BusinessException {
+        validarParametros(fromId, toId, amount);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Transferindo: {0} -> {1}, valor: {2}", argumentos(fromId, toId, amount));
         }
-        if (fromId.equals(toId)) {
-            throw new IllegalArgumentException("Não é possível realizar transferência para o mesmo benefício");
+
+        /* Destino particionado: o crédito vai para uma partição, sem bloquear a linha principal do destino */
+        int particoesDestino = particoesDestino(toId);
+        if (particoesDestino > 0) {
+            transferirParaParticao(fromId, toId, amount, particoesDestino);
+            return;
         }
 
-        logger.info(String.format("Transferindo: %d -> %d, valor: %s", fromId, toId, amount));
         /*
          * Consulta dos Benefícios:
          *  Solicitação utilizando "pessimistic write lock" nas entidades envolvidas evitando race condition. 
@@ -48,40 +163,729 @@ public class BeneficioEjbService {
          */
         Beneficio from;
         Beneficio to;
-        if (fromId < toId) {
-            from = em.find(Beneficio.class, fromId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
-            to   = em.find(Beneficio.class, toId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
-        } else {
-            to   = em.find(Beneficio.class, toId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
-            from = em.find(Beneficio.class, fromId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE);
+        long inicio = System.nanoTime();
+        try {
+            if (fromId < toId) {
+                from = bloquear(fromId);
+                to   = bloquear(toId);
+            } else {
+                to   = bloquear(toId);
+                from = bloquear(fromId);
+            }
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.BLOQUEIO, inicio);
+        }
+        if (to != null && to.isParticionado()) {
+            /* Roteamento desatualizado: o crédito na linha principal continua correto, já bloqueada */
+            descartarRoteamentoParticoes();
+        }
+
+        inicio = System.nanoTime();
+        try {
+            aplicar(from, to, amount);
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.VALIDACAO, inicio);
+        }
+        registrar(fromId, toId, amount, from, to);
+
+        em.merge(from);
+        em.merge(to);
+        flush();
+    
+    }
+
+    /**
+     * Tentativa única de transferência com controle otimista de concorrência.
+     * Os benefícios são lidos sem bloqueio e a concorrência é detectada no flush pela coluna VERSION
+     *  ("UPDATE ... WHERE ID = ? AND VERSION = ?"). Em caso de conflito é lançada
+     *  {@link jakarta.persistence.OptimisticLockException} e a transação deve ser descartada;
+     *  a nova tentativa é responsabilidade de quem chama, em uma nova transação.
+     */
+    public void transferOtimista(Long fromId, Long toId, Money amount)
+            throws IllegalArgumentException, BusinessException {
+        validarParametros(fromId, toId, amount);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Transferindo (otimista): {0} -> {1}, valor: {2}", argumentos(fromId, toId, amount));
+        }
+        Beneficio from = em.find(Beneficio.class, fromId);
+        Beneficio to = em.find(Beneficio.class, toId);
+
+        long inicio = System.nanoTime();
+        try {
+            if (to != null && to.getAtivo() && to.isParticionado()) {
+                /* Destino particionado: o crédito vai para uma partição, também versionada; a versão da linha
+                 *  principal do destino é verificada no commit, recusando o crédito em benefício cancelado */
+                em.lock(to, LockModeType.OPTIMISTIC);
+                validarOrigem(from, amount);
+                int indice = indiceParticao(fromId, to.getParticoes());
+                BeneficioParticao destino = buscarParticao(toId, indice, LockModeType.NONE);
+                if (destino == null) {
+                    throw new BusinessException(MotivoRecusa.CONCORRENCIA,
+                            "Partição %d do benefício %d não encontrada, tente novamente", indice, toId);
+                }
+                Money saldoDestino = creditar(destino.getValor(), amount);
+                debitar(from, buscarParticoesParaDebito(from, amount, LockModeType.NONE), amount);
+                destino.setValor(saldoDestino);
+            } else {
+                aplicar(from, to, amount, LockModeType.NONE);
+            }
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.VALIDACAO, inicio);
+        }
+        registrar(fromId, toId, amount, from, to);
+
+        /* O conflito de versão é detectado aqui: o flush inclui a verificação da coluna VERSION */
+        flush();
+    }
+
+    /**
+     * Transferência por atualizações condicionais, sem carregar as entidades.
+     * O débito e o crédito são executados como um UPDATE cada, com as regras de negócio na cláusula
+     *  WHERE; a quantidade de linhas alteradas indica se a operação foi aceita. Somente quando uma
+     *  atualização não altera nenhuma linha o benefício é lido para identificar o motivo
+     *  (inexistente, cancelado, saldo insuficiente ou particionado).
+     *  As atualizações seguem a ordem crescente de ID, como os bloqueios da transferência pessimista, e
+     *  respeitam o mesmo tempo limite de espera por bloqueio ({@link #setTempoLimiteBloqueio}).
+     *  Deve ser executada em transação: a falha da segunda atualização exige o rollback da primeira.
+     */
+    public void transferDireta(Long fromId, Long toId, Money amount)
+            throws IllegalArgumentException, BusinessException {
+        validarParametros(fromId, toId, amount);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Transferindo (direta): {0} -> {1}, valor: {2}", argumentos(fromId, toId, amount));
+        }
+        /* As atualizações condicionais bloqueiam as linhas: medidas como a etapa de bloqueio */
+        long inicio = System.nanoTime();
+        try {
+            if (fromId < toId) {
+                debitarDireto(fromId, amount);
+                creditarDireto(fromId, toId, amount);
+            } else {
+                creditarDireto(fromId, toId, amount);
+                debitarDireto(fromId, amount);
+            }
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.BLOQUEIO, inicio);
+        }
+        /* Os saldos não são lidos nesta estratégia: o lançamento é incluído no flush do commit */
+        registrar(fromId, toId, amount, null, null);
+    }
+
+    /**
+     * Processa um lote de transferências em uma única transação.
+     * Todos os benefícios envolvidos são bloqueados de uma só vez ("SELECT ... FOR UPDATE"),
+     *  em ordem crescente de ID, e os itens são aplicados em memória na ordem recebida.
+     *  Itens inválidos são recusados individualmente sem interromper os demais, e as
+     *  alterações são enviadas ao banco com um único flush ao final.
+     *  Destinos particionados são roteados como em {@link #transfer}: a linha principal do destino não é
+     *  bloqueada, e as partições que recebem os créditos são bloqueadas após as linhas principais, em
+     *  ordem de (ID do benefício, índice).
+     *
+     * @param itens itens (pernas) da transferência em lote
+     * @return resultado de cada item, na mesma ordem do lote recebido
+     */
+    public List<ResultadoTransferencia> transferLote(List<ItemTransferencia> itens)
+            throws IllegalArgumentException, BusinessException {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Lote de transferências não pode ser vazio");
+        }
+
+        /*
+         * Coleta os IDs de todos os itens válidos e, dos destinos particionados, a quantidade de partições
+         *  do roteamento e os índices que recebem créditos, já ordenados para o bloqueio
+         */
+        TreeSet<Long> ids = new TreeSet<>();
+        Map<Long, Integer> roteados = new HashMap<>();
+        TreeMap<Long, TreeSet<Integer>> indicesDestino = new TreeMap<>();
+        for (ItemTransferencia item : itens) {
+            if (item != null && item.getFromId() != null && item.getToId() != null) {
+                ids.add(item.getFromId());
+                int particoes = particoesDestino(item.getToId());
+                if (particoes > 0) {
+                    roteados.put(item.getToId(), particoes);
+                    indicesDestino.computeIfAbsent(item.getToId(), id -> new TreeSet<>())
+                            .add(indiceParticao(item.getFromId(), particoes));
+                } else {
+                    ids.add(item.getToId());
+                }
+            }
+        }
+
+        Map<Long, Beneficio> bloqueados = new HashMap<>();
+        if (!ids.isEmpty()) {
+            long inicio = System.nanoTime();
+            List<Beneficio> beneficios;
+            try {
+                TypedQuery<Beneficio> query = em.createQuery(QUERY_BLOQUEIO_LOTE, Beneficio.class)
+                        .setParameter("ids", ids)
+                        .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+                propriedadesBloqueio.forEach(query::setHint);
+                beneficios = query.getResultList();
+            } catch (LockTimeoutException | PessimisticLockException e) {
+                throw new BusinessException(MotivoRecusa.TEMPO_BLOQUEIO, MENSAGEM_TEMPO_BLOQUEIO);
+            } finally {
+                registrarEtapa(MonitorTransferencia.Etapa.BLOQUEIO, inicio);
+            }
+            for (Beneficio beneficio : beneficios) {
+                bloqueados.put(beneficio.getId(), beneficio);
+            }
+        }
+        Map<Long, Map<Integer, BeneficioParticao>> particoesBloqueadas = bloquearParticoesLote(indicesDestino);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Transferindo lote: {0} itens, {1} benefícios bloqueados",
+                    new Object[] {itens.size(), bloqueados.size()});
+        }
+
+        List<ResultadoTransferencia> resultados = new ArrayList<>(itens.size());
+        boolean alterado = false;
+        long inicio = System.nanoTime();
+        for (int indice = 0; indice < itens.size(); indice++) {
+            ItemTransferencia item = itens.get(indice) != null ? itens.get(indice) : new ItemTransferencia();
+            try {
+                validarParametros(item.getFromId(), item.getToId(), item.getValor());
+                Integer particoes = roteados.get(item.getToId());
+                if (particoes != null) {
+                    aplicarEmParticao(item, bloqueados.get(item.getFromId()), particoesBloqueadas, particoes);
+                } else {
+                    aplicarItem(item, bloqueados);
+                }
+                resultados.add(ResultadoTransferencia.sucesso(indice, item));
+                alterado = true;
+            } catch (IllegalArgumentException | BusinessException e) {
+                resultados.add(ResultadoTransferencia.falha(indice, item, e));
+            }
+        }
+        registrarEtapa(MonitorTransferencia.Etapa.VALIDACAO, inicio);
+
+        /* Os benefícios bloqueados já são gerenciados pelo EntityManager: basta um único flush */
+        if (alterado) {
+            flush();
+        }
+        return resultados;
+    }
+
+    /*
+     * Bloqueia as partições de destino de um lote, em ordem de (ID do benefício, índice), após as linhas
+     *  principais. Partições inexistentes (reconfiguradas após a carga do roteamento) ficam ausentes do mapa.
+     */
+    private Map<Long, Map<Integer, BeneficioParticao>> bloquearParticoesLote(
+            TreeMap<Long, TreeSet<Integer>> indicesDestino) throws BusinessException {
+        Map<Long, Map<Integer, BeneficioParticao>> bloqueadas = new HashMap<>();
+        if (indicesDestino.isEmpty()) {
+            return bloqueadas;
+        }
+        long inicio = System.nanoTime();
+        try {
+            indicesDestino.forEach((id, indices) -> {
+                Map<Integer, BeneficioParticao> particoes = new HashMap<>();
+                for (Integer indice : indices) {
+                    BeneficioParticao particao = buscarParticao(id, indice, LockModeType.PESSIMISTIC_WRITE);
+                    if (particao != null) {
+                        particoes.put(indice, particao);
+                    }
+                }
+                bloqueadas.put(id, particoes);
+            });
+        } catch (LockTimeoutException | PessimisticLockException e) {
+            throw new BusinessException(MotivoRecusa.TEMPO_BLOQUEIO, MENSAGEM_TEMPO_BLOQUEIO);
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.BLOQUEIO, inicio);
+        }
+        return bloqueadas;
+    }
+
+    /* Item do lote com destino na linha principal, já bloqueada. */
+    private void aplicarItem(ItemTransferencia item, Map<Long, Beneficio> bloqueados)
+            throws IllegalArgumentException, BusinessException {
+        Beneficio from = bloqueados.get(item.getFromId());
+        Beneficio to = bloqueados.get(item.getToId());
+        aplicar(from, to, item.getValor());
+        if (to.isParticionado()) {
+            /* Roteamento desatualizado: o crédito na linha principal continua correto, já bloqueada */
+            descartarRoteamentoParticoes();
+        }
+        registrar(item.getFromId(), item.getToId(), item.getValor(), from, to);
+    }
+
+    /*
+     * Item do lote com destino particionado: credita a partição escolhida pela origem, já bloqueada, e valida
+     *  o status do destino como em {@link #transferirParaParticao}.
+     */
+    private void aplicarEmParticao(ItemTransferencia item, Beneficio from,
+            Map<Long, Map<Integer, BeneficioParticao>> particoesBloqueadas, int particoes)
+            throws IllegalArgumentException, BusinessException {
+        Long toId = item.getToId();
+        Money amount = item.getValor();
+        validarOrigem(from, amount);
+        int indice = indiceParticao(item.getFromId(), particoes);
+        BeneficioParticao destino = particoesBloqueadas.getOrDefault(toId, Map.of()).get(indice);
+        if (destino == null) {
+            descartarRoteamentoParticoes();
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA,
+                    "Partição %d do benefício %d não encontrada, tente novamente", indice, toId);
+        }
+        validarDestinoParticionado(toId);
+
+        Money saldoDestino = creditar(destino.getValor(), amount);
+        debitar(from, buscarParticoesParaDebito(from, amount, LockModeType.PESSIMISTIC_WRITE), amount);
+        destino.setValor(saldoDestino);
+        registrar(item.getFromId(), toId, amount, from, null);
+    }
+
+    /**
+     * Transferência para um benefício particionado.
+     * Apenas a linha principal da origem e uma partição do destino são bloqueadas, de forma que
+     *  créditos concorrentes para o mesmo benefício se distribuem entre as partições.
+     *  A partição é escolhida pelo hash do benefício de origem. Os bloqueios seguem a ordem global:
+     *  linhas principais por ID e, em seguida, partições por (ID do benefício, índice).
+     *  O status do destino é validado após o bloqueio da partição (ver {@link #validarDestinoParticionado}).
+     */
+    private void transferirParaParticao(Long fromId, Long toId, Money amount, int particoesDestino)
+            throws IllegalArgumentException, BusinessException {
+        int indice = indiceParticao(fromId, particoesDestino);
+        Beneficio from;
+        List<BeneficioParticao> particoesOrigem;
+        BeneficioParticao destino;
+        long inicio = System.nanoTime();
+        try {
+            from = bloquear(fromId);
+            validarOrigem(from, amount);
+
+            if (fromId < toId) {
+                particoesOrigem = buscarParticoesParaDebito(from, amount, LockModeType.PESSIMISTIC_WRITE);
+                destino = buscarParticao(toId, indice, LockModeType.PESSIMISTIC_WRITE);
+            } else {
+                destino = buscarParticao(toId, indice, LockModeType.PESSIMISTIC_WRITE);
+                particoesOrigem = buscarParticoesParaDebito(from, amount, LockModeType.PESSIMISTIC_WRITE);
+            }
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.BLOQUEIO, inicio);
+        }
+        if (destino == null) {
+            /* Partições reconfiguradas após a carga do roteamento: a nova tentativa usa o roteamento recarregado */
+            descartarRoteamentoParticoes();
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA,
+                    "Partição %d do benefício %d não encontrada, tente novamente", indice, toId);
+        }
+        validarDestinoParticionado(toId);
+
+        Money saldoDestino;
+        inicio = System.nanoTime();
+        try {
+            saldoDestino = creditar(destino.getValor(), amount);
+            debitar(from, particoesOrigem, amount);
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.VALIDACAO, inicio);
+        }
+        destino.setValor(saldoDestino);
+        registrar(fromId, toId, amount, from, null);
+
+        em.merge(from);
+        flush();
+    }
+
+    /**
+     * Altera a quantidade de partições de um benefício.
+     * Novas partições são criadas com saldo zero; partições removidas têm o saldo consolidado
+     *  na linha principal. Quantidade zero desfaz o particionamento. O saldo total não se altera.
+     *
+     * @param id identificador do benefício
+     * @param quantidade nova quantidade de partições (0 a {@link #MAX_PARTICOES})
+     * @return benefício atualizado (a linha principal)
+     */
+    public Beneficio particionar(Long id, int quantidade) throws IllegalArgumentException, BusinessException {
+        if (id == null) {
+            throw new IllegalArgumentException("Identificador do benefício é obrigatório");
+        }
+        if (quantidade < 0 || quantidade > MAX_PARTICOES) {
+            throw new IllegalArgumentException(
+                    String.format("Quantidade de partições deve estar entre 0 e %d", MAX_PARTICOES));
+        }
+        Beneficio beneficio = em.find(Beneficio.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (beneficio == null) {
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
+        }
+        logger.log(Level.INFO, "Particionando benefício {0}: {1} -> {2} partições",
+                new Object[] {id.toString(), beneficio.getParticoes(), quantidade});
+
+        Set<Integer> existentes = new HashSet<>();
+        for (BeneficioParticao particao : buscarParticoes(id, LockModeType.PESSIMISTIC_WRITE)) {
+            if (particao.getIndice() >= quantidade) {
+                beneficio.setValor(consolidar(beneficio, particao));
+                em.remove(particao);
+            } else {
+                existentes.add(particao.getIndice());
+            }
+        }
+        for (int indice = 0; indice < quantidade; indice++) {
+            if (!existentes.contains(indice)) {
+                em.persist(BeneficioParticao.builder()
+                        .beneficioId(id)
+                        .indice(indice)
+                        .valor(Money.ZERO)
+                        .build());
+            }
+        }
+        beneficio.setParticoes(quantidade);
+        em.flush();
+        descartarRoteamentoParticoes();
+        return beneficio;
+    }
+
+    /**
+     * Consolida o saldo das partições na linha principal do benefício, zerando as partições.
+     * O benefício continua particionado; utilizado antes de alterações diretas do VALOR.
+     *
+     * @param id identificador do benefício
+     * @return benefício atualizado (a linha principal)
+     */
+    public Beneficio consolidarParticoes(Long id) throws IllegalArgumentException {
+        if (id == null) {
+            throw new IllegalArgumentException("Identificador do benefício é obrigatório");
+        }
+        Beneficio beneficio = em.find(Beneficio.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (beneficio == null) {
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
+        }
+        for (BeneficioParticao particao : buscarParticoes(id, LockModeType.PESSIMISTIC_WRITE)) {
+            beneficio.setValor(consolidar(beneficio, particao));
+            particao.setValor(Money.ZERO);
+        }
+        em.flush();
+        return beneficio;
+    }
+
+    /**
+     * Bloqueia a linha principal de um benefício e, em seguida, todas as suas partições, na ordem global dos
+     * bloqueios. Utilizado antes de alterar o status: um crédito concorrente em uma partição, que mantém a
+     * partição bloqueada até o commit, termina antes da alteração ou é recusado pela verificação da versão
+     * da linha principal do destino.
+     *
+     * @param id identificador do benefício
+     * @return benefício bloqueado (a linha principal), ou nulo se não existir
+     */
+    public Beneficio bloquearComParticoes(Long id) throws IllegalArgumentException {
+        if (id == null) {
+            throw new IllegalArgumentException("Identificador do benefício é obrigatório");
+        }
+        Beneficio beneficio = em.find(Beneficio.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (beneficio != null && beneficio.isParticionado()) {
+            buscarParticoes(id, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return beneficio;
+    }
+
+    /* Débito por UPDATE condicional; em caso de recusa, identifica o motivo ou debita das partições da origem. */
+    private void debitarDireto(Long fromId, Money amount) throws IllegalArgumentException, BusinessException {
+        int atualizados = atualizar(em.createQuery(UPDATE_DEBITO)
+                .setParameter("id", fromId)
+                .setParameter("valor", amount), fromId);
+        if (atualizados == 1) {
+            return;
+        }
+        Beneficio from = bloquear(fromId);
+        validarOrigem(from, amount);
+
+        /* Origem particionada com saldo insuficiente na linha principal: debita das partições */
+        debitar(from, buscarParticoesParaDebito(from, amount, LockModeType.PESSIMISTIC_WRITE), amount);
+        em.flush();
+    }
+
+    /* Crédito por UPDATE condicional; em caso de recusa, identifica o motivo ou credita uma partição do destino. */
+    private void creditarDireto(Long fromId, Long toId, Money amount)
+            throws IllegalArgumentException, BusinessException {
+        int atualizados = atualizar(em.createQuery(UPDATE_CREDITO)
+                .setParameter("id", toId)
+                .setParameter("valor", amount), toId);
+        if (atualizados == 1) {
+            return;
+        }
+        /* Versão verificada no commit: o crédito na partição não é aceito se o destino for cancelado antes */
+        Beneficio to = em.find(Beneficio.class, toId, LockModeType.OPTIMISTIC);
+        if (to == null) {
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
+        }
+        if (!to.getAtivo()) {
+            throw new BusinessException(MotivoRecusa.DESTINO_CANCELADO, MENSAGEM_DESTINO_CANCELADO);
+        }
+        if (!to.isParticionado()) {
+            /* Particionamento desfeito entre a atualização e a leitura */
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA, MENSAGEM_CONCORRENCIA);
+        }
+
+        int indice = indiceParticao(fromId, to.getParticoes());
+        int creditadas = atualizar(em.createQuery(UPDATE_CREDITO_PARTICAO)
+                .setParameter("id", toId)
+                .setParameter("indice", indice)
+                .setParameter("valor", amount), toId);
+        if (creditadas != 1) {
+            throw new BusinessException(MotivoRecusa.CONCORRENCIA,
+                    "Partição %d do benefício %d não encontrada, tente novamente", indice, toId);
+        }
+    }
+
+    /*
+     * Inclui o lançamento da transferência no histórico. O persist apenas agenda a inclusão: o INSERT
+     *  é enviado no flush da transação, agrupado em lote com os demais lançamentos, e o ID vem do bloco
+     *  já reservado da sequence, sem ida adicional ao banco na maioria das transferências.
+     */
+    private void registrar(Long fromId, Long toId, Money amount, Beneficio from, Beneficio to) {
+        em.persist(Transferencia.builder()
+                .origemId(fromId)
+                .destinoId(toId)
+                .valor(amount)
+                .dataHora(Instant.now())
+                .saldoOrigem(saldoConhecido(from))
+                .saldoDestino(saldoConhecido(to))
+                .build());
+    }
+
+    /*
+     * Lê o benefício com bloqueio pessimista, informando ao monitor a espera por este benefício.
+     *  Com tempo limite configurado, a espera esgotada recusa a transferência.
+     */
+    private Beneficio bloquear(Long id) throws BusinessException {
+        long inicio = System.nanoTime();
+        try {
+            return propriedadesBloqueio.isEmpty()
+                    ? em.find(Beneficio.class, id, LockModeType.PESSIMISTIC_WRITE)
+                    : em.find(Beneficio.class, id, LockModeType.PESSIMISTIC_WRITE, propriedadesBloqueio);
+        } catch (LockTimeoutException | PessimisticLockException e) {
+            throw new BusinessException(MotivoRecusa.TEMPO_BLOQUEIO, MENSAGEM_TEMPO_BLOQUEIO);
+        } finally {
+            monitor.bloqueio(id, System.nanoTime() - inicio);
+        }
+    }
+
+    /*
+     * Executa uma atualização condicional da transferência direta, que bloqueia a linha alterada, com o tempo
+     *  limite dos bloqueios e informando ao monitor a espera pelo benefício, como em {@link #bloquear}.
+     */
+    private int atualizar(Query query, Long id) throws BusinessException {
+        propriedadesBloqueio.forEach(query::setHint);
+        long inicio = System.nanoTime();
+        try {
+            return query.executeUpdate();
+        } catch (LockTimeoutException | PessimisticLockException e) {
+            throw new BusinessException(MotivoRecusa.TEMPO_BLOQUEIO, MENSAGEM_TEMPO_BLOQUEIO);
+        } finally {
+            monitor.bloqueio(id, System.nanoTime() - inicio);
         }
+    }
+
+    /*
+     * Argumentos das mensagens de transferência, já como texto: o MessageFormat do java.util.logging
+     *  agruparia os dígitos dos IDs e arredondaria o valor. Só é chamado com o nível habilitado e após validar
+     *  os parâmetros.
+     */
+    private static Object[] argumentos(Long fromId, Long toId, Money amount) {
+        return new Object[] {fromId.toString(), toId.toString(), amount.toString()};
+    }
+
+    /* Envia as alterações ao banco, informando a duração ao monitor. */
+    private void flush() {
+        long inicio = System.nanoTime();
+        try {
+            em.flush();
+        } finally {
+            registrarEtapa(MonitorTransferencia.Etapa.FLUSH, inicio);
+        }
+    }
 
+    private void registrarEtapa(MonitorTransferencia.Etapa etapa, long inicio) {
+        monitor.registrar(etapa, System.nanoTime() - inicio);
+    }
+
+    /* Saldo resultante do benefício, quando está inteiro na linha principal; nulo se particionado ou não lido. */
+    private Money saldoConhecido(Beneficio beneficio) {
+        return beneficio == null || beneficio.isParticionado() ? null : beneficio.getValor();
+    }
+
+    /* Validação dos parâmetros de uma transferência, antes de qualquer acesso ao banco. */
+    /* O valor em Money já tem no máximo duas casas: a conversão recusa as excedentes em vez de arredondar. */
+    private void validarParametros(Long fromId, Long toId, Money amount) throws IllegalArgumentException {
+        if (fromId == null || toId == null) {
+            throw new IllegalArgumentException("IDs de origem e destino são obrigatórios");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Valor de transferência deve ser positivo");
+        }
+        if (!amount.cabeNaColuna()) {
+            throw new IllegalArgumentException("Valor de transferência excede o valor máximo");
+        }
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("Não é possível realizar transferência para o mesmo benefício");
+        }
+    }
+
+    /* Valida os benefícios envolvidos e aplica o débito/crédito nas entidades. */
+    private void aplicar(Beneficio from, Beneficio to, Money amount) throws IllegalArgumentException, BusinessException {
+        aplicar(from, to, amount, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /* Aplica o débito/crédito, obtendo as partições da origem (quando necessárias) com o modo de bloqueio informado. */
+    private void aplicar(Beneficio from, Beneficio to, Money amount, LockModeType modo)
+            throws IllegalArgumentException, BusinessException {
         /* Validação dos benefícios encontrados */
         if (from == null || to == null) {
-            throw new IllegalArgumentException("Benefício não encontrado");
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
         }
         if (!from.getAtivo()) {
-            throw new BusinessException("Benefício de origem está cancelado");
+            throw new BusinessException(MotivoRecusa.ORIGEM_CANCELADA, MENSAGEM_ORIGEM_CANCELADA);
         }
         if (!to.getAtivo()) {
-            throw new BusinessException("Benefício de destino está cancelado");
-        }
-        if (from.getValor().compareTo(amount) < 0) {
-            throw new BusinessException("Saldo insuficiente para transferência");
+            throw new BusinessException(MotivoRecusa.DESTINO_CANCELADO, MENSAGEM_DESTINO_CANCELADO);
         }
 
         /* Validação de saldo insuficiente para transferência entre benefícios*/
-        BigDecimal newFrom = from.getValor().subtract(amount);
-        if (newFrom.compareTo(BigDecimal.ZERO) < 0) {
-            throw new BusinessException("Saldo insuficiente para transferência");
+        Money saldoDestino = creditar(to.getValor(), amount);
+        debitar(from, buscarParticoesParaDebito(from, amount, modo), amount);
+        to.setValor(saldoDestino);
+    }
+
+    /*
+     * Saldo resultante do crédito, em centavos. Saldo e valor cabem na coluna DECIMAL(15,2), então a soma
+     *  não estoura o long. Recusa o crédito que não caberia na coluna: sem a verificação, o erro só surgiria
+     *  no flush e descartaria o lote inteiro.
+     */
+    private static Money creditar(Money saldo, Money amount) throws BusinessException {
+        Money resultado = saldo.somar(amount);
+        if (!resultado.cabeNaColuna()) {
+            throw new BusinessException(MotivoRecusa.SALDO_MAXIMO, MENSAGEM_SALDO_MAXIMO);
         }
+        return resultado;
+    }
 
-        from.setValor(newFrom);
-        to.setValor(to.getValor().add(amount));
+    /* Validação do benefício de origem em uma transferência para benefício particionado. */
+    private void validarOrigem(Beneficio from, Money amount) throws IllegalArgumentException, BusinessException {
+        if (from == null) {
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
+        }
+        if (!from.getAtivo()) {
+            throw new BusinessException(MotivoRecusa.ORIGEM_CANCELADA, MENSAGEM_ORIGEM_CANCELADA);
+        }
+        if (!from.isParticionado() && from.getValor().compareTo(amount) < 0) {
+            throw new BusinessException(MotivoRecusa.SALDO_INSUFICIENTE, MENSAGEM_SALDO_INSUFICIENTE);
+        }
+    }
 
-        em.merge(from);
-        em.merge(to);
-        em.flush();
-    
+    /*
+     * Debita o valor da linha principal e, se o saldo dela não for suficiente,
+     *  das partições informadas (já bloqueadas), em ordem de índice.
+     */
+    private void debitar(Beneficio from, List<BeneficioParticao> particoes, Money amount) throws BusinessException {
+        Money principal = from.getValor();
+        Money disponivel = principal;
+        for (BeneficioParticao particao : particoes) {
+            disponivel = disponivel.somar(particao.getValor());
+        }
+        if (disponivel.compareTo(amount) < 0) {
+            throw new BusinessException(MotivoRecusa.SALDO_INSUFICIENTE, MENSAGEM_SALDO_INSUFICIENTE);
+        }
+
+        Money restante = amount.subtrair(principal);
+        if (restante.signum() <= 0) {
+            from.setValor(principal.subtrair(amount));
+            return;
+        }
+        from.setValor(Money.ZERO);
+        for (BeneficioParticao particao : particoes) {
+            Money saldo = particao.getValor();
+            Money retirada = saldo.menor(restante);
+            particao.setValor(saldo.subtrair(retirada));
+            restante = restante.subtrair(retirada);
+            if (restante.signum() == 0) {
+                break;
+            }
+        }
+    }
+
+    /* Saldo da linha principal somado ao da partição, calculado em centavos. */
+    private static Money consolidar(Beneficio beneficio, BeneficioParticao particao) {
+        return beneficio.getValor().somar(particao.getValor());
+    }
+
+    /* Partições da origem a debitar: apenas quando o saldo da linha principal não cobre o débito. */
+    private List<BeneficioParticao> buscarParticoesParaDebito(Beneficio from, Money amount, LockModeType modo) {
+        if (!from.isParticionado() || from.getValor().compareTo(amount) >= 0) {
+            return List.of();
+        }
+        return buscarParticoes(from.getId(), modo);
+    }
+
+    /*
+     * Quantidade de partições do destino, pelo roteamento em memória; zero se não particionado, cancelado
+     *  ou inexistente. Um roteamento desatualizado não altera saldos indevidamente: o caminho da linha
+     *  principal valida o destino já bloqueado, e o caminho das partições recusa a transferência quando
+     *  a partição escolhida não existe mais ou o destino foi cancelado. Os dois caminhos descartam o
+     *  roteamento ao detectá-lo.
+     */
+    private int particoesDestino(Long toId) {
+        Map<Long, Integer> atual = particionados;
+        if (atual == null) {
+            atual = carregarParticionados();
+        }
+        return atual.getOrDefault(toId, 0);
+    }
+
+    private Map<Long, Integer> carregarParticionados() {
+        long descartes = descartesParticionados.get();
+        Map<Long, Integer> carregados = new HashMap<>();
+        for (Object[] linha : em.createQuery(QUERY_PARTICIONADOS, Object[].class).getResultList()) {
+            carregados.put((Long) linha[0], (Integer) linha[1]);
+        }
+        particionados = carregados;
+        if (descartesParticionados.get() != descartes) {
+            /* Descartado durante a carga: a próxima transferência recarrega */
+            particionados = null;
+        }
+        return carregados;
+    }
+
+    /*
+     * Lê a linha principal do destino particionado sem bloqueá-la, com a versão verificada no commit, e valida o
+     *  status dentro da transação. Com a partição de destino já bloqueada, um cancelamento concorrente (que
+     *  bloqueia as partições, ver {@link #bloquearComParticoes}) ou já terminou e é visto aqui ou na verificação
+     *  da versão, ou aguarda o commit deste crédito. A linha principal não é bloqueada: continua livre para os
+     *  créditos concorrentes nas demais partições.
+     */
+    private void validarDestinoParticionado(Long toId) throws IllegalArgumentException, BusinessException {
+        Beneficio to = em.find(Beneficio.class, toId, LockModeType.OPTIMISTIC);
+        if (to == null) {
+            throw new BeneficioNaoEncontradoException(MENSAGEM_NAO_ENCONTRADO);
+        }
+        if (!to.getAtivo()) {
+            /* Roteamento desatualizado: benefícios cancelados não são roteados para as partições */
+            descartarRoteamentoParticoes();
+            throw new BusinessException(MotivoRecusa.DESTINO_CANCELADO, MENSAGEM_DESTINO_CANCELADO);
+        }
+    }
+
+    /* Partição que recebe os créditos vindos de uma origem: escolhida pelo hash do ID de origem. */
+    private int indiceParticao(Long fromId, int particoes) {
+        return Math.floorMod(Long.hashCode(fromId), particoes);
+    }
+
+    private BeneficioParticao buscarParticao(Long beneficioId, int indice, LockModeType modo) {
+        TypedQuery<BeneficioParticao> query = em.createQuery(QUERY_PARTICAO, BeneficioParticao.class)
+                .setParameter("id", beneficioId)
+                .setParameter("indice", indice);
+        if (modo != LockModeType.NONE) {
+            query.setLockMode(modo);
+            propriedadesBloqueio.forEach(query::setHint);
+        }
+        List<BeneficioParticao> particoes = query.getResultList();
+        return particoes.isEmpty() ? null : particoes.get(0);
+    }
+
+    private List<BeneficioParticao> buscarParticoes(Long beneficioId, LockModeType modo) {
+        TypedQuery<BeneficioParticao> query = em.createQuery(QUERY_PARTICOES, BeneficioParticao.class)
+                .setParameter("id", beneficioId);
+        if (modo != LockModeType.NONE) {
+            query.setLockMode(modo);
+        }
+        return query.getResultList();
     }
 }
@@ -0,0 +1,41 @@
+package com.example.ejb;
+
+/**
+ * Recebe a duração de cada etapa de uma transferência executada pelo {@link BeneficioEjbService}.
+ * Permite medir onde a latência é gasta sem acoplar o serviço a uma biblioteca de métricas;
+ *  a implementação é chamada na thread da transferência e deve ser barata.
+ */
+@FunctionalInterface
+public interface MonitorTransferencia {
+
+    /* Monitor padrão, que descarta as medições. */
+    MonitorTransferencia NENHUM = (etapa, nanos) -> { };
+
+    /* Etapas medidas em uma transferência. */
+    enum Etapa {
+        /* Validação dos parâmetros e das regras de negócio, com a aplicação dos saldos em memória. */
+        VALIDACAO,
+        /* Leitura com bloqueio dos benefícios (ou atualizações condicionais, que também bloqueiam as linhas). */
+        BLOQUEIO,
+        /* Envio das alterações ao banco. */
+        FLUSH
+    }
+
+    /**
+     * Registra a duração de uma etapa.
+     *
+     * @param etapa etapa medida
+     * @param nanos duração em nanossegundos
+     */
+    void registrar(Etapa etapa, long nanos);
+
+    /**
+     * Registra a espera pelo bloqueio pessimista de um benefício em uma transferência
+     *  (inclui a leitura da linha, que é feita na mesma instrução).
+     *
+     * @param beneficioId benefício bloqueado
+     * @param nanos tempo até obter o bloqueio (ou desistir), em nanossegundos
+     */
+    default void bloqueio(Long beneficioId, long nanos) {
+    }
+}
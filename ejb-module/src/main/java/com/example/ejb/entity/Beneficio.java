@@ -5,10 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 
@@ -19,13 +22,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
-import java.math.BigDecimal;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.MoneyConverter;
 
 /**
  * Entidade que representa um benefício bancário.
  */
 @Entity
-@Table(name = "BENEFICIO")
+@Table(name = "BENEFICIO", indexes = @Index(name = "IDX_BENEFICIO_ATIVO", columnList = "ATIVO, ID"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,9 +39,18 @@ public class Beneficio {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /* Quantidade de IDs reservados a cada consulta da sequence (deve ser igual ao INCREMENT BY). */
+    public static final int ALOCACAO_IDS = 50;
+
+    /*
+     * ID obtido da sequence BENEFICIO_SEQ em blocos (otimizador pooled-lo: o valor lido é o primeiro ID do
+     * bloco). Com IDENTITY o Hibernate precisaria executar cada INSERT no persist para conhecer o ID,
+     * impedindo o envio das inclusões em lote (JDBC batch) no flush.
+     */
     @Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Long id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "BENEFICIO_SEQ")
+    @SequenceGenerator(name = "BENEFICIO_SEQ", sequenceName = "BENEFICIO_SEQ", allocationSize = ALOCACAO_IDS)
+    private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
     @Size(max = 100, message = "Nome deve ter no máximo 100 caracteres")
@@ -50,7 +63,8 @@ public class Beneficio {
     @NotNull(message = "Valor é obrigatório")
     @DecimalMin(value = "0.00", inclusive = true, message = "Valor deve ser positivo")
     @Column(nullable = false, precision = 15, scale = 2)
-    private BigDecimal valor;
+    @Convert(converter = MoneyConverter.class)
+    private Money valor;
 
     @NotNull(message = "Status é obrigatório")
     @Column(nullable = false)
@@ -64,6 +78,18 @@ public class Beneficio {
     @Version
     private Long version;
 
+    /*
+     * Quantidade de partições (sub-saldos) do benefício. Zero indica benefício não particionado;
+     * quando maior que zero, os créditos recebidos são distribuídos nas linhas de BENEFICIO_PARTICAO.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer particoes = 0;
+
+    public boolean isParticionado() {
+        return particoes != null && particoes > 0;
+    }
+
     public Beneficio updateData(Beneficio beneficio) {
         this.nome = beneficio.getNome();
         this.descricao = beneficio.getDescricao();
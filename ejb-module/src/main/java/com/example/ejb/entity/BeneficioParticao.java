@@ -0,0 +1,52 @@
+package com.example.ejb.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+import com.example.ejb.model.Money;
+import com.example.ejb.model.MoneyConverter;
+
+/**
+ * Entidade que representa uma partição (sub-saldo) de um benefício particionado.
+ * O saldo de um benefício é sempre o VALOR da linha principal somado ao VALOR de suas partições;
+ *  créditos são distribuídos entre as partições para que transferências concorrentes
+ *  para o mesmo benefício não disputem o bloqueio de uma única linha.
+ */
+@Entity
+@Table(name = "BENEFICIO_PARTICAO",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"BENEFICIO_ID", "INDICE"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BeneficioParticao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "BENEFICIO_ID", nullable = false)
+    private Long beneficioId;
+
+    /* Posição da partição no benefício, de 0 até (particoes - 1). */
+    @Column(nullable = false)
+    private Integer indice;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    private Money valor;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,73 @@
+package com.example.ejb.entity;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+import com.example.ejb.model.Money;
+import com.example.ejb.model.MoneyConverter;
+
+/**
+ * Entidade que representa um lançamento do histórico de transferências (somente inclusão).
+ * Cada transferência aplicada gera um registro, gravado na mesma transação que altera os saldos.
+ *  O ID é obtido de uma sequence com alocação em blocos, de forma que as inclusões não dependem
+ *  de uma ida ao banco por registro e podem ser enviadas em lote (JDBC batch) no flush.
+ *  Os saldos resultantes só são registrados quando conhecidos na transferência: ficam nulos
+ *  para benefícios particionados e para a estratégia por atualizações condicionais.
+ */
+@Entity
+@Table(name = "TRANSFERENCIA",
+        indexes = {
+            @Index(name = "IDX_TRANSFERENCIA_ORIGEM", columnList = "ORIGEM_ID, ID"),
+            @Index(name = "IDX_TRANSFERENCIA_DESTINO", columnList = "DESTINO_ID, ID")
+        })
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class Transferencia {
+
+    /* Quantidade de IDs reservados a cada consulta da sequence (deve ser igual ao INCREMENT BY). */
+    public static final int ALOCACAO_IDS = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "TRANSFERENCIA_SEQ")
+    @SequenceGenerator(name = "TRANSFERENCIA_SEQ", sequenceName = "TRANSFERENCIA_SEQ", allocationSize = ALOCACAO_IDS)
+    private Long id;
+
+    @Column(name = "ORIGEM_ID", nullable = false, updatable = false)
+    private Long origemId;
+
+    @Column(name = "DESTINO_ID", nullable = false, updatable = false)
+    private Long destinoId;
+
+    @Column(nullable = false, updatable = false, precision = 15, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    private Money valor;
+
+    @Column(name = "DATA_HORA", nullable = false, updatable = false)
+    private Instant dataHora;
+
+    @Column(name = "SALDO_ORIGEM", updatable = false, precision = 15, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    private Money saldoOrigem;
+
+    @Column(name = "SALDO_DESTINO", updatable = false, precision = 15, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    private Money saldoDestino;
+}
@@ -0,0 +1,8 @@
+package com.example.ejb.exception;
+
+/* Benefício de origem ou destino inexistente; tratado como argumento inválido da transferência. */
+public class BeneficioNaoEncontradoException extends IllegalArgumentException {
+    public BeneficioNaoEncontradoException(String mensagem) {
+        super(mensagem);
+    }
+}
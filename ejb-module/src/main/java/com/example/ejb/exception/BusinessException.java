@@ -1,11 +1,26 @@
 package com.example.ejb.exception;
 
-/* Exceção personalizada para erros de negócio. */
+/* Exceção personalizada para erros de negócio, com o motivo da recusa (OUTRO quando não informado). */
 public class BusinessException extends RuntimeException {
+
+    private final MotivoRecusa motivo;
+
     public BusinessException(String mensagem) {
-        super(mensagem);
+        this(MotivoRecusa.OUTRO, mensagem);
     }
     public BusinessException(String mensagem, Object ... params) {
+        this(MotivoRecusa.OUTRO, mensagem, params);
+    }
+    public BusinessException(MotivoRecusa motivo, String mensagem) {
+        super(mensagem);
+        this.motivo = motivo;
+    }
+    public BusinessException(MotivoRecusa motivo, String mensagem, Object ... params) {
         super(String.format(mensagem, params));
+        this.motivo = motivo;
+    }
+
+    public MotivoRecusa getMotivo() {
+        return motivo;
     }
 }
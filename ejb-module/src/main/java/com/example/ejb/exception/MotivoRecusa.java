@@ -0,0 +1,53 @@
+package com.example.ejb.exception;
+
+/**
+ * Motivo da recusa de uma transferência, definido onde a recusa é lançada. Permite classificar as
+ * recusas (ex.: nas métricas) sem depender do texto das mensagens.
+ */
+public enum MotivoRecusa {
+
+    /** Saldo da origem menor que o valor transferido. */
+    SALDO_INSUFICIENTE,
+
+    /** Saldo do destino excederia o valor máximo da coluna. */
+    SALDO_MAXIMO,
+
+    /** Benefício de origem cancelado. */
+    ORIGEM_CANCELADA,
+
+    /** Benefício de destino cancelado. */
+    DESTINO_CANCELADO,
+
+    /** Benefício de origem ou destino inexistente. */
+    NAO_ENCONTRADO,
+
+    /** Conflito com outra alteração (versão ou partições); uma nova tentativa pode ser aplicada. */
+    CONCORRENCIA,
+
+    /** Tempo de espera pelo bloqueio dos benefícios esgotado. */
+    TEMPO_BLOQUEIO,
+
+    /** Serviço sobrecarregado, em encerramento ou sem resposta dentro do tempo de espera. */
+    INDISPONIVEL,
+
+    /** Parâmetros da transferência inválidos. */
+    DADOS_INVALIDOS,
+
+    /** Recusa sem motivo classificado. */
+    OUTRO;
+
+    /**
+     * @param erro Exceção da recusa
+     * @return Motivo informado pela exceção: o da BusinessException, NAO_ENCONTRADO para
+     *      {@link BeneficioNaoEncontradoException} e DADOS_INVALIDOS para as demais IllegalArgumentException
+     */
+    public static MotivoRecusa de(final RuntimeException erro) {
+        if (erro instanceof BusinessException negocio) {
+            return negocio.getMotivo();
+        }
+        if (erro instanceof BeneficioNaoEncontradoException) {
+            return NAO_ENCONTRADO;
+        }
+        return erro instanceof IllegalArgumentException ? DADOS_INVALIDOS : OUTRO;
+    }
+}
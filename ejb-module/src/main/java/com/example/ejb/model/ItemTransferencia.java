@@ -0,0 +1,23 @@
+package com.example.ejb.model;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item (perna) de uma transferência processada em lote pelo serviço EJB.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemTransferencia {
+
+    private Long fromId;
+
+    private Long toId;
+
+    private Money valor;
+}
@@ -0,0 +1,154 @@
+package com.example.ejb.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Valor monetário exato com duas casas decimais, representado em centavos ({@code long}).
+ * <p>
+ * A aritmética é feita sobre inteiros, sem alocar BigDecimal, e falha com ArithmeticException em
+ * vez de estourar. A conversão a partir de BigDecimal não arredonda: valores com mais de duas casas
+ * significativas são recusados. As colunas de valor do banco são DECIMAL(15,2); valores que não cabem
+ * nelas são identificados por {@link #cabeNaColuna()}.
+ * <p>
+ * Nas entidades, {@link MoneyConverter} grava o valor nas colunas DECIMAL(15,2). Onde um BigDecimal é lido
+ * ou escrito diretamente (JSON e consultas JDBC), {@link #exato(BigDecimal)} e {@link #centavos(BigDecimal)}
+ * fazem as mesmas verificações sem criar um Money.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /* Casas decimais dos valores monetários. */
+    public static final int ESCALA = 2;
+
+    /* Maior valor, em centavos, de uma coluna DECIMAL(15,2): 9.999.999.999.999,99. */
+    public static final long MAXIMO_COLUNA_CENTAVOS = 999_999_999_999_999L;
+
+    public static final Money ZERO = new Money(0L);
+
+    public static final String MENSAGEM_CASAS_DECIMAIS = "Valor deve ter no máximo duas casas decimais";
+
+    private final long centavos;
+
+    private Money(final long centavos) {
+        this.centavos = centavos;
+    }
+
+    /**
+     * @param centavos Valor em centavos
+     * @return Valor correspondente
+     */
+    public static Money deCentavos(final long centavos) {
+        return centavos == 0L ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Converte um BigDecimal sem arredondamento.
+     *
+     * @param valor Valor com no máximo duas casas decimais significativas
+     * @return Valor correspondente
+     * @throws IllegalArgumentException se o valor tiver mais de duas casas decimais ou não couber em centavos
+     */
+    public static Money of(final BigDecimal valor) throws IllegalArgumentException {
+        return deCentavos(centavos(valor));
+    }
+
+    /**
+     * Converte um texto decimal sem arredondamento.
+     *
+     * @param valor Texto decimal com no máximo duas casas significativas, como "150.50"
+     * @return Valor correspondente
+     * @throws IllegalArgumentException se o texto não for um número, tiver mais de duas casas decimais ou
+     *         não couber em centavos
+     */
+    public static Money of(final String valor) throws IllegalArgumentException {
+        return of(new BigDecimal(valor));
+    }
+
+    /**
+     * Converte um BigDecimal para centavos sem arredondamento e sem criar um Money.
+     *
+     * @param valor Valor com no máximo duas casas decimais significativas
+     * @return Valor em centavos
+     * @throws IllegalArgumentException se o valor tiver mais de duas casas decimais ou não couber em centavos
+     */
+    public static long centavos(final BigDecimal valor) throws IllegalArgumentException {
+        try {
+            return valor.movePointRight(ESCALA).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(MENSAGEM_CASAS_DECIMAIS);
+        }
+    }
+
+    /**
+     * Verifica se o valor tem no máximo duas casas decimais significativas. Valores com escala até 2,
+     * como os lidos das colunas DECIMAL(15,2), são verificados sem alocação.
+     *
+     * @param valor Valor a verificar
+     * @return se o valor é representável em centavos sem arredondamento
+     */
+    public static boolean exato(final BigDecimal valor) {
+        return valor.scale() <= ESCALA || valor.stripTrailingZeros().scale() <= ESCALA;
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    public Money somar(final Money outro) throws ArithmeticException {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money subtrair(final Money outro) throws ArithmeticException {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    /**
+     * @param outro Valor a comparar
+     * @return o menor dos dois valores
+     */
+    public Money menor(final Money outro) {
+        return centavos <= outro.centavos ? this : outro;
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    /**
+     * @return se o valor cabe em uma coluna DECIMAL(15,2)
+     */
+    public boolean cabeNaColuna() {
+        return centavos >= -MAXIMO_COLUNA_CENTAVOS && centavos <= MAXIMO_COLUNA_CENTAVOS;
+    }
+
+    /**
+     * @return Valor como BigDecimal com escala 2
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(final Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof Money outro && centavos == outro.centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ejb.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Conversão JPA de {@link Money} para as colunas DECIMAL(15,2). A leitura não arredonda: um valor com
+ * mais de duas casas decimais significativas na coluna é recusado com IllegalArgumentException.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(final Money valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(final BigDecimal coluna) {
+        return coluna == null ? null : Money.of(coluna);
+    }
+}
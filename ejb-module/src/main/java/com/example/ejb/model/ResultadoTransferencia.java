@@ -0,0 +1,70 @@
+package com.example.ejb.model;
+
+
+import com.example.ejb.exception.MotivoRecusa;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado individual de um item de transferência processado em lote.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResultadoTransferencia {
+
+    /* Posição do item no lote recebido (iniciando em zero). */
+    private int indice;
+
+    private Long fromId;
+
+    private Long toId;
+
+    private Money valor;
+
+    private boolean sucesso;
+
+    /* Motivo da recusa quando o item não foi aplicado. */
+    private String mensagem;
+
+    /* Tipo da recusa, que corresponde à exceção da transferência individual; nulo quando aplicado. */
+    private Recusa recusa;
+
+    /* Código do motivo da recusa, para métricas e tratamento sem depender do texto; nulo quando aplicado. */
+    private MotivoRecusa motivo;
+
+    /**
+     * Tipo de recusa de um item do lote.
+     */
+    public enum Recusa {
+
+        /** Parâmetros inválidos ou benefício inexistente (IllegalArgumentException). */
+        ARGUMENTO_INVALIDO,
+
+        /** Regra de negócio, como saldo insuficiente ou benefício cancelado (BusinessException). */
+        NEGOCIO
+    }
+
+    public static ResultadoTransferencia sucesso(final int indice, final ItemTransferencia item) {
+        return new ResultadoTransferencia(
+                indice, item.getFromId(), item.getToId(), item.getValor(), true, null, null, null);
+    }
+
+    public static ResultadoTransferencia falha(final int indice, final ItemTransferencia item, final String mensagem) {
+        return new ResultadoTransferencia(
+                indice, item.getFromId(), item.getToId(), item.getValor(), false, mensagem, Recusa.NEGOCIO,
+                MotivoRecusa.OUTRO);
+    }
+
+    public static ResultadoTransferencia falha(
+            final int indice, final ItemTransferencia item, final RuntimeException erro) {
+        Recusa recusa = erro instanceof IllegalArgumentException ? Recusa.ARGUMENTO_INVALIDO : Recusa.NEGOCIO;
+        return new ResultadoTransferencia(
+                indice, item.getFromId(), item.getToId(), item.getValor(), false, erro.getMessage(), recusa,
+                MotivoRecusa.de(erro));
+    }
+}
@@ -1,18 +1,36 @@
 package com.example.ejb;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.example.ejb.entity.Beneficio;
+import com.example.ejb.entity.BeneficioParticao;
+import com.example.ejb.entity.Transferencia;
 import com.example.ejb.exception.BusinessException;
+import com.example.ejb.exception.MotivoRecusa;
+import com.example.ejb.model.ItemTransferencia;
+import com.example.ejb.model.Money;
+import com.example.ejb.model.ResultadoTransferencia;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 
-import java.math.BigDecimal;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
 
@@ -30,6 +48,33 @@ public class BeneficioEjbServiceTest {
     void setup() {
         em = mock(EntityManager.class);
         service = new BeneficioEjbService(em);
+        mockRoteamento();
+    }
+
+    /* Simula a carga do roteamento do crédito: sem argumentos, o destino (ID 2) não é particionado. */
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Object[]> mockRoteamento(Integer... particoesDestino) {
+        TypedQuery<Object[]> query = mock(TypedQuery.class);
+        List<Object[]> particionados = new ArrayList<>();
+        for (Integer particoes : particoesDestino) {
+            particionados.add(new Object[] {2L, particoes});
+        }
+        when(em.createQuery(anyString(), eq(Object[].class))).thenReturn(query);
+        when(query.getResultList()).thenReturn(particionados);
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockParticoes(List<BeneficioParticao> particoes) {
+        TypedQuery<BeneficioParticao> query = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(BeneficioParticao.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setLockMode(LockModeType.PESSIMISTIC_WRITE)).thenReturn(query);
+        when(query.getResultList()).thenReturn(particoes);
+    }
+
+    private BeneficioParticao particao(Long beneficioId, int indice, String valor) {
+        return BeneficioParticao.builder().beneficioId(beneficioId).indice(indice).valor(Money.of(valor)).build();
     }
 
     private void injectEntityManager(BeneficioEjbService target, EntityManager entityManager) {
@@ -46,30 +91,103 @@ public class BeneficioEjbServiceTest {
     void deveTransferir_quandoSaldoSuficiente() {
         Long fromId = 1L;
         Long toId = 2L;
-        BigDecimal amount = new BigDecimal("25.00");
+        Money amount = Money.of("25.00");
 
-        Beneficio from = Beneficio.builder().id(fromId).valor(new BigDecimal("100.00")).ativo(true).build();
-        Beneficio to   = Beneficio.builder().id(toId).valor(new BigDecimal("10.00")).ativo(true).build();
+        Beneficio from = Beneficio.builder().id(fromId).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(toId).valor(Money.of("10.00")).ativo(true).build();
 
         when(em.find(Beneficio.class, fromId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
         when(em.find(Beneficio.class, toId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
 
         service.transfer(fromId, toId, amount);
 
-        assertEquals(new BigDecimal("75.00"), from.getValor());
-        assertEquals(new BigDecimal("35.00"), to.getValor());
+        assertEquals(Money.of("75.00"), from.getValor());
+        assertEquals(Money.of("35.00"), to.getValor());
         verify(em).merge(from);
         verify(em).merge(to);
     }
 
+    @Test
+    void deveRegistrarTransferenciaNoHistorico_comSaldosResultantes() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        service.transfer(1L, 2L, Money.of("25.00"));
+
+        ArgumentCaptor<Transferencia> captor = ArgumentCaptor.forClass(Transferencia.class);
+        verify(em).persist(captor.capture());
+        Transferencia lancamento = captor.getValue();
+        assertEquals(1L, lancamento.getOrigemId());
+        assertEquals(2L, lancamento.getDestinoId());
+        assertEquals(Money.of("25.00"), lancamento.getValor());
+        assertEquals(Money.of("75.00"), lancamento.getSaldoOrigem());
+        assertEquals(Money.of("35.00"), lancamento.getSaldoDestino());
+        assertNotNull(lancamento.getDataHora());
+        /* O lançamento é incluído no mesmo flush que grava os saldos */
+        verify(em, times(1)).flush();
+    }
+
+    @Test
+    void deveInformarEtapasAoMonitor_mesmoQuandoTransferenciaRecusada() {
+        List<MonitorTransferencia.Etapa> etapas = new ArrayList<>();
+        service.setMonitor((etapa, nanos) -> {
+            assertTrue(nanos >= 0);
+            etapas.add(etapa);
+        });
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        service.transfer(1L, 2L, Money.of("25.00"));
+        assertEquals(List.of(
+                MonitorTransferencia.Etapa.BLOQUEIO,
+                MonitorTransferencia.Etapa.VALIDACAO,
+                MonitorTransferencia.Etapa.FLUSH), etapas);
+
+        etapas.clear();
+        assertThrows(BusinessException.class, () -> service.transfer(1L, 2L, Money.of("500.00")));
+        assertEquals(List.of(MonitorTransferencia.Etapa.BLOQUEIO, MonitorTransferencia.Etapa.VALIDACAO), etapas);
+    }
+
+    @Test
+    void deveRecusarTransferencia_quandoTempoLimiteDeBloqueioExcedido() {
+        List<Long> bloqueados = new ArrayList<>();
+        service.setMonitor(new MonitorTransferencia() {
+            @Override
+            public void registrar(Etapa etapa, long nanos) {
+            }
+
+            @Override
+            public void bloqueio(Long beneficioId, long nanos) {
+                bloqueados.add(beneficioId);
+            }
+        });
+        service.setTempoLimiteBloqueio(500);
+        Map<String, Object> dicas = Map.of(BeneficioEjbService.DICA_TEMPO_LIMITE_BLOQUEIO, 500L);
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE, dicas)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE, dicas))
+                .thenThrow(new LockTimeoutException("timeout"));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.transfer(1L, 2L, Money.of("25.00")));
+
+        assertEquals(BeneficioEjbService.MENSAGEM_TEMPO_BLOQUEIO, ex.getMessage());
+        assertEquals(List.of(1L, 2L), bloqueados);
+        verify(em, never()).find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE);
+    }
+
     @Test
     void naoDeveTransferir_quandoSaldoInsuficiente() {
         Long fromId = 1L;
         Long toId = 2L;
-        BigDecimal amount = new BigDecimal("200.00");
+        Money amount = Money.of("200.00");
 
-        Beneficio from = Beneficio.builder().id(fromId).valor(new BigDecimal("100.00")).ativo(true).build();
-        Beneficio to   = Beneficio.builder().id(toId).valor(new BigDecimal("10.00")).ativo(true).build();
+        Beneficio from = Beneficio.builder().id(fromId).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(toId).valor(Money.of("10.00")).ativo(true).build();
 
         when(em.find(Beneficio.class, fromId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
         when(em.find(Beneficio.class, toId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
@@ -85,10 +203,10 @@ public class BeneficioEjbServiceTest {
     void naoDeveTransferir_quandoBeneficioInativo() {
         Long fromId = 1L;
         Long toId = 2L;
-        BigDecimal amount = new BigDecimal("10.00");
+        Money amount = Money.of("10.00");
 
-        Beneficio from = Beneficio.builder().id(fromId).nome("Benef 1").valor(new BigDecimal("100.00")).ativo(false).build();
-        Beneficio to   = Beneficio.builder().id(toId).nome("Benef 2").valor(new BigDecimal("10.00")).ativo(true).build();
+        Beneficio from = Beneficio.builder().id(fromId).nome("Benef 1").valor(Money.of("100.00")).ativo(false).build();
+        Beneficio to   = Beneficio.builder().id(toId).nome("Benef 2").valor(Money.of("10.00")).ativo(true).build();
 
         when(em.find(Beneficio.class, fromId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
         when(em.find(Beneficio.class, toId, jakarta.persistence.LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
@@ -100,14 +218,450 @@ public class BeneficioEjbServiceTest {
     @Test
     void naoDeveTransferir_quandoParametrosInvalidos() {
         // identificadores nulos
-        assertThrows(IllegalArgumentException.class, () -> service.transfer(null, 1L, new BigDecimal("1.00")));
-        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, null, new BigDecimal("1.00")));
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(null, 1L, Money.of("1.00")));
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, null, Money.of("1.00")));
 
         // valor zerado/negativo 
-        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 2L, BigDecimal.ZERO));
-        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 2L, new BigDecimal("-1.00")));
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 2L, Money.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 2L, Money.of("-1.00")));
 
         // identificadores iguais
-        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 1L, new BigDecimal("1.00")));
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 1L, Money.of("1.00")));
+
+        // mais de duas casas decimais: não é arredondado
+        assertThrows(IllegalArgumentException.class, () -> service.transfer(1L, 2L, Money.of("1.005")));
+        verify(em, never()).find(any(), any(), any(LockModeType.class));
+    }
+
+    @Test
+    void naoDeveTransferir_quandoSaldoDestinoExcederColuna() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("9999999999999.50")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> service.transfer(1L, 2L, Money.of("1.00")));
+
+        assertEquals(BeneficioEjbService.MENSAGEM_SALDO_MAXIMO, e.getMessage());
+        /* Recusada antes do débito: nenhuma alteração parcial */
+        assertEquals(Money.of("100.00"), from.getValor());
+        verify(em, never()).merge(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Beneficio> mockBloqueioLote(List<Beneficio> beneficios) {
+        TypedQuery<Beneficio> query = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(Beneficio.class))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.setLockMode(LockModeType.PESSIMISTIC_WRITE)).thenReturn(query);
+        when(query.getResultList()).thenReturn(beneficios);
+        return query;
+    }
+
+    @Test
+    void deveTransferirLote_aplicandoItensEmMemoriaComUnicoFlush() {
+        Beneficio b1 = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio b2 = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).build();
+        Beneficio b3 = Beneficio.builder().id(3L).valor(Money.of("0.00")).ativo(true).build();
+        mockBloqueioLote(Arrays.asList(b1, b2, b3));
+
+        List<ResultadoTransferencia> resultados = service.transferLote(Arrays.asList(
+                new ItemTransferencia(1L, 2L, Money.of("50.00")),
+                new ItemTransferencia(2L, 3L, Money.of("60.00")),
+                new ItemTransferencia(3L, 1L, Money.of("10.00"))));
+
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.stream().allMatch(ResultadoTransferencia::isSucesso));
+        assertEquals(Money.of("60.00"), b1.getValor());
+        assertEquals(Money.of("0.00"), b2.getValor());
+        assertEquals(Money.of("50.00"), b3.getValor());
+        verify(em, times(3)).persist(any(Transferencia.class));
+        verify(em, times(1)).flush();
+        verify(em, never()).find(any(), any(), any(LockModeType.class));
+    }
+
+    @Test
+    void deveTransferirLote_recusandoApenasItensInvalidos() {
+        Beneficio b1 = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio b2 = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(false).build();
+        mockBloqueioLote(Arrays.asList(b1, b2));
+
+        List<ResultadoTransferencia> resultados = service.transferLote(Arrays.asList(
+                new ItemTransferencia(1L, 2L, Money.of("5.00")),
+                new ItemTransferencia(1L, 9L, Money.of("5.00")),
+                new ItemTransferencia(1L, 1L, Money.of("5.00")),
+                null));
+
+        assertEquals(4, resultados.size());
+        assertFalse(resultados.get(0).isSucesso());
+        assertEquals("Benefício de destino está cancelado", resultados.get(0).getMensagem());
+        assertEquals("Benefício não encontrado", resultados.get(1).getMensagem());
+        assertEquals("Não é possível realizar transferência para o mesmo benefício", resultados.get(2).getMensagem());
+        assertEquals("IDs de origem e destino são obrigatórios", resultados.get(3).getMensagem());
+        // O tipo da recusa corresponde à exceção da transferência individual
+        assertEquals(ResultadoTransferencia.Recusa.NEGOCIO, resultados.get(0).getRecusa());
+        assertEquals(ResultadoTransferencia.Recusa.ARGUMENTO_INVALIDO, resultados.get(1).getRecusa());
+        assertEquals(ResultadoTransferencia.Recusa.ARGUMENTO_INVALIDO, resultados.get(2).getRecusa());
+        assertEquals(MotivoRecusa.DESTINO_CANCELADO, resultados.get(0).getMotivo());
+        assertEquals(MotivoRecusa.NAO_ENCONTRADO, resultados.get(1).getMotivo());
+        assertEquals(MotivoRecusa.DADOS_INVALIDOS, resultados.get(2).getMotivo());
+        assertEquals(Money.of("100.00"), b1.getValor());
+        verify(em, never()).persist(any());
+        verify(em, never()).flush();
+    }
+
+    @Test
+    void deveTransferirLote_creditandoParticaoDoDestinoParticionado() {
+        Beneficio b1 = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).particoes(4).build();
+        BeneficioParticao destino = particao(2L, 1, "5.00");
+        mockRoteamento(4);
+        mockParticoes(List.of(destino));
+        TypedQuery<Beneficio> bloqueio = mockBloqueioLote(List.of(b1));
+        when(em.find(Beneficio.class, 2L, LockModeType.OPTIMISTIC)).thenReturn(to);
+
+        List<ResultadoTransferencia> resultados = service.transferLote(List.of(
+                new ItemTransferencia(1L, 2L, Money.of("25.00")),
+                new ItemTransferencia(1L, 2L, Money.of("5.00"))));
+
+        assertTrue(resultados.stream().allMatch(ResultadoTransferencia::isSucesso));
+        assertEquals(Money.of("70.00"), b1.getValor());
+        assertEquals(Money.of("35.00"), destino.getValor());
+        assertEquals(Money.of("10.00"), to.getValor());
+        /* A linha principal do destino não entra no bloqueio do lote */
+        ArgumentCaptor<Object> ids = ArgumentCaptor.forClass(Object.class);
+        verify(bloqueio).setParameter(eq("ids"), ids.capture());
+        assertEquals(List.of(1L), new ArrayList<>((java.util.Collection<?>) ids.getValue()));
+        verify(em, never()).find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE);
+        verify(em, times(1)).flush();
+    }
+
+    @Test
+    void naoDeveTransferirLote_quandoVazio() {
+        assertThrows(IllegalArgumentException.class, () -> service.transferLote(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> service.transferLote(null));
+    }
+
+    @Test
+    void deveTransferirParaBeneficioParticionado_semBloquearLinhaPrincipalDoDestino() {
+        Long fromId = 1L;
+        Long toId = 2L;
+        Beneficio from = Beneficio.builder().id(fromId).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(toId).valor(Money.of("10.00")).ativo(true).particoes(4).build();
+        BeneficioParticao destino = particao(toId, 1, "5.00");
+        mockRoteamento(4);
+        mockParticoes(List.of(destino));
+        when(em.find(Beneficio.class, fromId, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, toId, LockModeType.OPTIMISTIC)).thenReturn(to);
+
+        service.transfer(fromId, toId, Money.of("25.00"));
+
+        assertEquals(Money.of("75.00"), from.getValor());
+        assertEquals(Money.of("30.00"), destino.getValor());
+        verify(em, never()).find(Beneficio.class, toId, LockModeType.PESSIMISTIC_WRITE);
+        verify(em).find(Beneficio.class, toId, LockModeType.OPTIMISTIC);
+        verify(em).merge(from);
+        verify(em).flush();
+    }
+
+    @Test
+    void naoDeveTransferirParaBeneficioParticionado_quandoDestinoCanceladoAposCargaDoRoteamento() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(false).particoes(4).build();
+        BeneficioParticao destino = particao(2L, 1, "5.00");
+        TypedQuery<Object[]> roteamento = mockRoteamento(4);
+        mockParticoes(List.of(destino));
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.OPTIMISTIC)).thenReturn(to);
+
+        Throwable throwable = assertThrows(BusinessException.class, () -> service.transfer(1L, 2L, Money.of("25.00")));
+
+        assertEquals(MotivoRecusa.DESTINO_CANCELADO, ((BusinessException) throwable).getMotivo());
+        assertEquals(Money.of("100.00"), from.getValor());
+        assertEquals(Money.of("5.00"), destino.getValor());
+        verify(em, never()).merge(any());
+        /* O roteamento desatualizado é descartado e recarregado na próxima transferência */
+        assertThrows(BusinessException.class, () -> service.transfer(1L, 2L, Money.of("25.00")));
+        verify(roteamento, times(2)).getResultList();
+    }
+
+    @Test
+    void deveBloquearParticoes_aposALinhaPrincipal() {
+        Beneficio beneficio = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).particoes(2).build();
+        mockParticoes(List.of(particao(2L, 0, "1.00"), particao(2L, 1, "2.00")));
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(beneficio);
+
+        assertSame(beneficio, service.bloquearComParticoes(2L));
+
+        org.mockito.InOrder ordem = inOrder(em);
+        ordem.verify(em).find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE);
+        ordem.verify(em).createQuery(anyString(), eq(BeneficioParticao.class));
+        assertNull(service.bloquearComParticoes(3L));
+    }
+
+    @Test
+    void naoDeveTransferirParaBeneficioParticionado_quandoParticaoNaoEncontrada() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        mockRoteamento(4);
+        mockParticoes(List.of());
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+
+        assertThrows(BusinessException.class, () -> service.transfer(1L, 2L, Money.of("25.00")));
+        assertEquals(Money.of("100.00"), from.getValor());
+        verify(em, never()).merge(any());
+    }
+
+    @Test
+    void deveRotearCreditos_semConsultarParticoesACadaTransferencia() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).build();
+        TypedQuery<Object[]> roteamento = mockRoteamento();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        service.transfer(1L, 2L, Money.of("1.00"));
+        service.transfer(1L, 2L, Money.of("1.00"));
+        verify(roteamento, times(1)).getResultList();
+
+        service.descartarRoteamentoParticoes();
+        service.transfer(1L, 2L, Money.of("1.00"));
+        verify(roteamento, times(2)).getResultList();
+        assertEquals(Money.of("97.00"), from.getValor());
+    }
+
+    @Test
+    void deveCreditarLinhaPrincipal_eDescartarRoteamento_quandoDestinoParticionadoDepoisDaCarga() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).particoes(4).build();
+        TypedQuery<Object[]> roteamento = mockRoteamento();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        service.transfer(1L, 2L, Money.of("25.00"));
+
+        /* O destino bloqueado mostra as partições: o saldo total continua correto e o roteamento é recarregado */
+        assertEquals(Money.of("35.00"), to.getValor());
+        service.transfer(1L, 2L, Money.of("1.00"));
+        verify(roteamento, times(2)).getResultList();
+    }
+
+    @Test
+    void deveDebitarDasParticoes_quandoLinhaPrincipalInsuficiente() {
+        Long fromId = 1L;
+        Long toId = 2L;
+        Beneficio from = Beneficio.builder().id(fromId).valor(Money.of("10.00")).ativo(true).particoes(2).build();
+        Beneficio to   = Beneficio.builder().id(toId).valor(Money.of("0.00")).ativo(true).build();
+        BeneficioParticao p0 = particao(fromId, 0, "15.00");
+        BeneficioParticao p1 = particao(fromId, 1, "20.00");
+        mockParticoes(List.of(p0, p1));
+        when(em.find(Beneficio.class, fromId, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, toId, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        service.transfer(fromId, toId, Money.of("30.00"));
+
+        assertEquals(Money.of("0.00"), from.getValor());
+        assertEquals(Money.of("0.00"), p0.getValor());
+        assertEquals(Money.of("15.00"), p1.getValor());
+        assertEquals(Money.of("30.00"), to.getValor());
+    }
+
+    @Test
+    void naoDeveDebitarDasParticoes_quandoSaldoTotalInsuficiente() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("10.00")).ativo(true).particoes(1).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("0.00")).ativo(true).build();
+        BeneficioParticao p0 = particao(1L, 0, "15.00");
+        mockParticoes(List.of(p0));
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(to);
+
+        assertThrows(BusinessException.class, () -> service.transfer(1L, 2L, Money.of("30.00")));
+        assertEquals(Money.of("10.00"), from.getValor());
+        assertEquals(Money.of("15.00"), p0.getValor());
+        verify(em, never()).merge(any());
+    }
+
+    @Test
+    void deveParticionar_criandoParticoesEConsolidandoRemovidas() {
+        Beneficio beneficio = Beneficio.builder().id(1L).valor(Money.of("10.00")).ativo(true).particoes(3).build();
+        BeneficioParticao p0 = particao(1L, 0, "1.00");
+        BeneficioParticao p1 = particao(1L, 1, "2.00");
+        BeneficioParticao p2 = particao(1L, 2, "3.00");
+        mockParticoes(List.of(p0, p1, p2));
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(beneficio);
+
+        service.particionar(1L, 2);
+
+        assertEquals(2, beneficio.getParticoes());
+        assertEquals(Money.of("13.00"), beneficio.getValor());
+        verify(em).remove(p2);
+        verify(em, never()).persist(any());
+
+        service.particionar(1L, 4);
+        verify(em, times(1)).persist(any(BeneficioParticao.class));
+    }
+
+    @Test
+    void deveConsolidarParticoes_naLinhaPrincipal() {
+        Beneficio beneficio = Beneficio.builder().id(1L).valor(Money.of("10.00")).ativo(true).particoes(2).build();
+        BeneficioParticao p0 = particao(1L, 0, "1.00");
+        BeneficioParticao p1 = particao(1L, 1, "2.00");
+        mockParticoes(List.of(p0, p1));
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(beneficio);
+
+        service.consolidarParticoes(1L);
+
+        assertEquals(Money.of("13.00"), beneficio.getValor());
+        assertEquals(Money.ZERO, p0.getValor());
+        assertEquals(Money.ZERO, p1.getValor());
+        assertEquals(2, beneficio.getParticoes());
+    }
+
+    @Test
+    void naoDeveParticionar_quandoQuantidadeInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> service.particionar(1L, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.particionar(1L, BeneficioEjbService.MAX_PARTICOES + 1));
+        assertThrows(IllegalArgumentException.class, () -> service.particionar(null, 2));
+    }
+
+    @Test
+    void deveTransferirOtimista_lendoSemBloqueioEValidandoVersaoNoFlush() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).version(3L).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).version(7L).build();
+        when(em.find(Beneficio.class, 1L)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L)).thenReturn(to);
+
+        service.transferOtimista(1L, 2L, Money.of("25.00"));
+
+        assertEquals(Money.of("75.00"), from.getValor());
+        assertEquals(Money.of("35.00"), to.getValor());
+        verify(em).flush();
+        verify(em, never()).find(any(), any(), any(LockModeType.class));
+    }
+
+    @Test
+    void deveTransferirOtimista_creditandoParticaoDoDestinoParticionado() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("100.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).particoes(4).build();
+        BeneficioParticao destino = particao(2L, 1, "0.00");
+        mockParticoes(List.of(destino));
+        when(em.find(Beneficio.class, 1L)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L)).thenReturn(to);
+
+        service.transferOtimista(1L, 2L, Money.of("25.00"));
+
+        assertEquals(Money.of("75.00"), from.getValor());
+        assertEquals(Money.of("10.00"), to.getValor());
+        assertEquals(Money.of("25.00"), destino.getValor());
+        /* A versão da linha principal do destino é verificada no commit */
+        verify(em).lock(to, LockModeType.OPTIMISTIC);
+    }
+
+    @Test
+    void naoDeveTransferirOtimista_quandoSaldoInsuficiente() {
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("10.00")).ativo(true).build();
+        Beneficio to   = Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L)).thenReturn(from);
+        when(em.find(Beneficio.class, 2L)).thenReturn(to);
+
+        assertThrows(BusinessException.class, () -> service.transferOtimista(1L, 2L, Money.of("25.00")));
+        verify(em, never()).flush();
+    }
+
+    /* Simula os UPDATEs condicionais da transferência direta, identificados pelo início do comando. */
+    private Query mockAtualizacao(String inicio, int linhas) {
+        Query query = mock(Query.class);
+        when(em.createQuery(startsWith(inicio))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.executeUpdate()).thenReturn(linhas);
+        return query;
+    }
+
+    @Test
+    void deveTransferirDireta_comDuasAtualizacoesSemCarregarEntidades() {
+        Query debito = mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor -", 1);
+        Query credito = mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor +", 1);
+
+        service.transferDireta(1L, 2L, Money.of("25.00"));
+
+        verify(debito).setParameter("id", 1L);
+        verify(credito).setParameter("id", 2L);
+        verify(debito).executeUpdate();
+        verify(credito).executeUpdate();
+        verify(em, never()).find(any(), any());
+        verify(em, never()).find(any(), any(), any(LockModeType.class));
+        verify(em, never()).merge(any());
+        verify(em).persist(any(Transferencia.class));
+    }
+
+    @Test
+    void deveRecusarTransferenciaDireta_quandoTempoLimiteDeBloqueioExcedido() {
+        List<Long> bloqueados = new ArrayList<>();
+        service.setMonitor(new MonitorTransferencia() {
+            @Override
+            public void registrar(Etapa etapa, long nanos) {
+            }
+
+            @Override
+            public void bloqueio(Long beneficioId, long nanos) {
+                bloqueados.add(beneficioId);
+            }
+        });
+        service.setTempoLimiteBloqueio(500);
+        Query debito = mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor -", 1);
+        Query credito = mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor +", 1);
+        when(credito.executeUpdate()).thenThrow(new LockTimeoutException("timeout"));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> service.transferDireta(1L, 2L, Money.of("25.00")));
+
+        assertEquals(MotivoRecusa.TEMPO_BLOQUEIO, ex.getMotivo());
+        assertEquals(BeneficioEjbService.MENSAGEM_TEMPO_BLOQUEIO, ex.getMessage());
+        verify(debito).setHint(BeneficioEjbService.DICA_TEMPO_LIMITE_BLOQUEIO, 500L);
+        verify(credito).setHint(BeneficioEjbService.DICA_TEMPO_LIMITE_BLOQUEIO, 500L);
+        assertEquals(List.of(1L, 2L), bloqueados);
+        verify(em, never()).persist(any());
+    }
+
+    @Test
+    void naoDeveTransferirDireta_quandoSaldoInsuficiente() {
+        mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor -", 0);
+        Beneficio from = Beneficio.builder().id(1L).valor(Money.of("10.00")).ativo(true).build();
+        when(em.find(Beneficio.class, 1L, LockModeType.PESSIMISTIC_WRITE)).thenReturn(from);
+
+        Throwable throwable = assertThrows(BusinessException.class,
+                () -> service.transferDireta(1L, 2L, Money.of("25.00")));
+
+        assertEquals("Saldo insuficiente para transferência", throwable.getMessage());
+        assertEquals(Money.of("10.00"), from.getValor());
+    }
+
+    @Test
+    void naoDeveTransferirDireta_quandoDestinoCanceladoOuInexistente() {
+        mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor -", 1);
+        mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor +", 0);
+        when(em.find(Beneficio.class, 2L, LockModeType.OPTIMISTIC)).thenReturn(
+                Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(false).build());
+
+        Throwable cancelado = assertThrows(BusinessException.class,
+                () -> service.transferDireta(1L, 2L, Money.of("25.00")));
+        assertEquals("Benefício de destino está cancelado", cancelado.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> service.transferDireta(1L, 3L, Money.of("25.00")));
+    }
+
+    @Test
+    void deveTransferirDireta_creditandoParticaoDoDestinoParticionado() {
+        mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor -", 1);
+        mockAtualizacao("UPDATE Beneficio b SET b.valor = b.valor +", 0);
+        Query particao = mockAtualizacao("UPDATE BeneficioParticao p", 1);
+        when(em.find(Beneficio.class, 2L, LockModeType.OPTIMISTIC)).thenReturn(
+                Beneficio.builder().id(2L).valor(Money.of("10.00")).ativo(true).particoes(4).build());
+
+        service.transferDireta(1L, 2L, Money.of("25.00"));
+
+        verify(particao).setParameter("indice", 1);
+        verify(particao).executeUpdate();
     }
 }
@@ -0,0 +1,80 @@
+package com.example.ejb.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Testes unitários do valor monetário em centavos.
+ */
+public class MoneyTest {
+
+    @Test
+    void deveConverterDeEParaBigDecimal_semArredondar() {
+        assertEquals(12345L, Money.of(new BigDecimal("123.45")).getCentavos());
+        assertEquals(12300L, Money.of(new BigDecimal("123")).getCentavos());
+        assertEquals(12340L, Money.of(new BigDecimal("123.4000")).getCentavos());
+        assertEquals(new BigDecimal("123.40"), Money.deCentavos(12340L).toBigDecimal());
+        assertEquals("-0.05", Money.deCentavos(-5L).toString());
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("0.001")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    void deveSomarESubtrair_comVerificacaoDeEstouro() {
+        Money saldo = Money.of(new BigDecimal("100.00"));
+
+        assertEquals(Money.of(new BigDecimal("125.50")), saldo.somar(Money.deCentavos(2550L)));
+        assertEquals(-1, saldo.subtrair(Money.deCentavos(10001L)).signum());
+        assertSame(Money.ZERO, saldo.subtrair(saldo));
+
+        assertThrows(ArithmeticException.class, () -> Money.deCentavos(Long.MAX_VALUE).somar(Money.deCentavos(1L)));
+        assertThrows(ArithmeticException.class, () -> Money.deCentavos(Long.MIN_VALUE).subtrair(Money.deCentavos(1L)));
+    }
+
+    @Test
+    void deveIdentificarValoresForaDaColuna() {
+        Money maximo = Money.of(new BigDecimal("9999999999999.99"));
+
+        assertTrue(maximo.cabeNaColuna());
+        assertTrue(maximo.subtrair(maximo).subtrair(maximo).cabeNaColuna());
+        assertFalse(maximo.somar(Money.deCentavos(1L)).cabeNaColuna());
+        assertTrue(maximo.compareTo(Money.ZERO) > 0);
+    }
+
+    @Test
+    void deveVerificarBigDecimal_semCriarMoney() {
+        assertEquals(12340L, Money.centavos(new BigDecimal("123.4000")));
+        assertThrows(IllegalArgumentException.class, () -> Money.centavos(new BigDecimal("0.001")));
+
+        assertTrue(Money.exato(new BigDecimal("1.5")));
+        assertTrue(Money.exato(new BigDecimal("1.5000")));
+        assertFalse(Money.exato(new BigDecimal("1.005")));
+    }
+
+    @Test
+    void deveConverterTextoEEscolherOMenor() {
+        assertEquals(15050L, Money.of("150.50").getCentavos());
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("abc"));
+
+        Money um = Money.deCentavos(100L);
+        Money dois = Money.deCentavos(200L);
+        assertSame(um, um.menor(dois));
+        assertSame(um, dois.menor(um));
+    }
+
+    @Test
+    void deveConverterColunaJpa_semArredondar() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(new BigDecimal("150.50"), converter.convertToDatabaseColumn(Money.deCentavos(15050L)));
+        assertEquals(Money.deCentavos(15050L), converter.convertToEntityAttribute(new BigDecimal("150.50")));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(new BigDecimal("0.001")));
+    }
+}